@@ -0,0 +1,225 @@
+package com.envitia.analysis;
+
+import com.envitia.exception.GeometryValidationException;
+import com.envitia.geometry.CompactRectangle;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Computes union area and depth-of-coverage statistics of large rectangle sets.
+ * <p>
+ * A vertical line sweeps the plane from left to right, stopping at every {@code minX} and
+ * {@code maxX}. Between two stops, the covered part of the line is constant and is read from a
+ * segment tree over the compressed y coordinates, so the whole computation takes
+ * O(n log n) time for n rectangles instead of comparing rectangles pairwise. Each tree node keeps
+ * the number of rectangles covering its whole y range without pushing it down to its children,
+ * and derives from it:
+ * <ul>
+ *   <li>the covered length at each depth from 1 to the requested depth</li>
+ *   <li>the sums of the depth and of its square over its y range, from which the total pairwise
+ *       overlap follows as the sum of {@code depth * (depth - 1) / 2}</li>
+ *   <li>the maximum depth within its y range</li>
+ * </ul>
+ * </p>
+ * <p>
+ * Results are exact. An {@link ArithmeticException} is thrown if an area does not fit in a {@code long},
+ * which can only happen for rectangles spanning most of the int range.
+ * </p>
+ */
+public final class CoverageAnalyzer {
+
+    private CoverageAnalyzer() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    /**
+     * Computes the area covered by at least one of the rectangles.
+     *
+     * @param rectangles the validated rectangles
+     * @return the union area
+     * @throws GeometryValidationException if the rectangles collection or one of its elements is null
+     */
+    public static long unionArea(Collection<CompactRectangle> rectangles) {
+        return analyze(rectangles, 1).unionArea();
+    }
+
+    /**
+     * Computes the coverage statistics of the rectangles.
+     *
+     * @param rectangles the validated rectangles
+     * @param depth the number of coverage depths for which to report the covered area, at least 1
+     * @return the coverage statistics
+     * @throws GeometryValidationException if the rectangles collection or one of its elements is null
+     * @throws IllegalArgumentException if depth is less than 1
+     */
+    public static CoverageReport analyze(Collection<CompactRectangle> rectangles, int depth) {
+        if (rectangles == null) {
+            throw new GeometryValidationException("Rectangles cannot be null");
+        }
+        if (depth < 1) {
+            throw new IllegalArgumentException("Depth must be at least 1, found: " + depth);
+        }
+        List<CompactRectangle> nonEmpty = new ArrayList<>(rectangles.size());
+        for (CompactRectangle rectangle : rectangles) {
+            if (rectangle == null) {
+                throw new GeometryValidationException("Rectangle cannot be null");
+            }
+            if (rectangle.getMinX() < rectangle.getMaxX() && rectangle.getMinY() < rectangle.getMaxY()) {
+                nonEmpty.add(rectangle);
+            }
+        }
+        CompactRectangle[] withArea = nonEmpty.toArray(CompactRectangle[]::new);
+        if (withArea.length == 0) {
+            return new CoverageReport(0, new long[depth], 0, 0);
+        }
+
+        int[] ys = new int[withArea.length * 2];
+        for (int i = 0; i < withArea.length; i++) {
+            ys[2 * i] = withArea[i].getMinY();
+            ys[2 * i + 1] = withArea[i].getMaxY();
+        }
+        ys = distinctSorted(ys);
+
+        // Events are sorted by x through a key holding x in the high bits and the event index in the low bits
+        long[] events = new long[withArea.length * 2];
+        for (int i = 0; i < withArea.length; i++) {
+            events[2 * i] = ((long) withArea[i].getMinX() << 32) | (2L * i);
+            events[2 * i + 1] = ((long) withArea[i].getMaxX() << 32) | (2L * i + 1);
+        }
+        Arrays.sort(events);
+
+        SegmentTree tree = new SegmentTree(ys, depth);
+        long[] areaAtLeast = new long[depth];
+        long pairwiseOverlap = 0;
+        int maxDepth = 0;
+        int previousX = (int) (events[0] >> 32);
+        for (long event : events) {
+            int x = (int) (event >> 32);
+            if (x != previousX) {
+                long width = (long) x - previousX;
+                for (int k = 1; k <= depth; k++) {
+                    areaAtLeast[k - 1] = Math.addExact(areaAtLeast[k - 1], Math.multiplyExact(tree.coveredLength(k), width));
+                }
+                pairwiseOverlap = Math.addExact(pairwiseOverlap, Math.multiplyExact(tree.pairLength(), width));
+                maxDepth = Math.max(maxDepth, tree.maxDepth());
+                previousX = x;
+            }
+            int index = (int) event;
+            CompactRectangle rectangle = withArea[index >>> 1];
+            int from = Arrays.binarySearch(ys, rectangle.getMinY());
+            int to = Arrays.binarySearch(ys, rectangle.getMaxY());
+            tree.update(from, to, (index & 1) == 0 ? 1 : -1);
+        }
+        return new CoverageReport(areaAtLeast[0], areaAtLeast, pairwiseOverlap, maxDepth);
+    }
+
+    private static int[] distinctSorted(int[] values) {
+        Arrays.sort(values);
+        int size = 0;
+        for (int i = 0; i < values.length; i++) {
+            if (i == 0 || values[i] != values[i - 1]) {
+                values[size++] = values[i];
+            }
+        }
+        return Arrays.copyOf(values, size);
+    }
+
+    /**
+     * Segment tree over the elementary y intervals {@code [ys[i], ys[i + 1])}.
+     */
+    private static final class SegmentTree {
+
+        private final int[] ys;
+
+        private final int depth;
+
+        private final int leaves;
+
+        private final int[] count;
+
+        private final long[] covered;
+
+        private final long[] depthSum;
+
+        private final long[] depthSquareSum;
+
+        private final int[] maxDepth;
+
+        SegmentTree(int[] ys, int depth) {
+            this.ys = ys;
+            this.depth = depth;
+            this.leaves = Math.max(1, ys.length - 1);
+            int nodes = 4 * leaves;
+            this.count = new int[nodes];
+            this.covered = new long[nodes * depth];
+            this.depthSum = new long[nodes];
+            this.depthSquareSum = new long[nodes];
+            this.maxDepth = new int[nodes];
+        }
+
+        long coveredLength(int k) {
+            return covered[k - 1];
+        }
+
+        /**
+         * Returns the length of the sweep line weighted by the number of rectangle pairs covering it.
+         */
+        long pairLength() {
+            return (depthSquareSum[0] - depthSum[0]) / 2;
+        }
+
+        int maxDepth() {
+            return maxDepth[0];
+        }
+
+        void update(int from, int to, int delta) {
+            update(0, 0, leaves, from, to, delta);
+        }
+
+        private void update(int node, int nodeFrom, int nodeTo, int from, int to, int delta) {
+            if (to <= nodeFrom || nodeTo <= from) {
+                return;
+            }
+            if (from <= nodeFrom && nodeTo <= to) {
+                count[node] += delta;
+            } else {
+                int middle = (nodeFrom + nodeTo) >>> 1;
+                update(2 * node + 1, nodeFrom, middle, from, to, delta);
+                update(2 * node + 2, middle, nodeTo, from, to, delta);
+            }
+            pull(node, nodeFrom, nodeTo);
+        }
+
+        private void pull(int node, int nodeFrom, int nodeTo) {
+            long length = (long) ys[nodeTo] - ys[nodeFrom];
+            int nodeCount = count[node];
+            boolean leaf = nodeTo - nodeFrom == 1;
+            int left = 2 * node + 1;
+            int right = 2 * node + 2;
+            for (int k = 1; k <= depth; k++) {
+                long value;
+                if (nodeCount >= k) {
+                    value = length;
+                } else if (leaf) {
+                    value = 0;
+                } else {
+                    int childDepth = k - nodeCount;
+                    value = covered[left * depth + childDepth - 1] + covered[right * depth + childDepth - 1];
+                }
+                covered[node * depth + k - 1] = value;
+            }
+            long childSum = leaf ? 0 : depthSum[left] + depthSum[right];
+            long childSquareSum = leaf ? 0 : depthSquareSum[left] + depthSquareSum[right];
+            int childMax = leaf ? 0 : Math.max(maxDepth[left], maxDepth[right]);
+            depthSum[node] = Math.addExact(Math.multiplyExact(nodeCount, length), childSum);
+            // Sum of (c + d)^2 = c^2 * length + 2c * sum(d) + sum(d^2)
+            depthSquareSum[node] = Math.addExact(Math.addExact(
+                    Math.multiplyExact((long) nodeCount * nodeCount, length),
+                    Math.multiplyExact(2L * nodeCount, childSum)), childSquareSum);
+            maxDepth[node] = nodeCount + childMax;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.envitia.analysis;
+
+/**
+ * Coverage statistics of a set of rectangles, as computed by {@link CoverageAnalyzer}.
+ * <p>
+ * Areas are measured in the continuous plane: a rectangle covers
+ * {@code (maxX - minX) * (maxY - minY)} square units, so degenerate rectangles cover nothing.
+ * </p>
+ *
+ * @param unionArea the area covered by at least one rectangle
+ * @param areaAtLeastDepth the area covered by at least {@code k} rectangles at index {@code k - 1},
+ *                         for {@code k} from 1 to the requested depth
+ * @param pairwiseOverlapArea the sum, over all pairs of rectangles, of the area of their intersection
+ * @param maxDepth the largest number of rectangles covering a common region of non-zero area
+ */
+public record CoverageReport(
+        long unionArea,
+        long[] areaAtLeastDepth,
+        long pairwiseOverlapArea,
+        int maxDepth) {
+
+    /**
+     * Returns the area covered by at least the given number of rectangles.
+     *
+     * @param depth the minimum number of covering rectangles, between 1 and the depth requested from the analyzer
+     * @return the area covered by at least {@code depth} rectangles
+     * @throws IndexOutOfBoundsException if the depth was not computed
+     */
+    public long areaAtLeast(int depth) {
+        return areaAtLeastDepth[depth - 1];
+    }
+}
@@ -0,0 +1,17 @@
+package com.envitia.analysis;
+
+/**
+ * Callback receiving the pairs found by a {@link SpatialJoin}.
+ */
+@FunctionalInterface
+public interface JoinListener {
+
+    /**
+     * Called exactly once per related pair of rectangles.
+     *
+     * @param leftId the identifier of the left rectangle, its position in the left layer
+     * @param rightId the identifier of the right rectangle, its position in the right layer
+     * @param relation how the left rectangle relates to the right rectangle
+     */
+    void onPair(int leftId, int rightId, JoinRelation relation);
+}
@@ -0,0 +1,26 @@
+package com.envitia.analysis;
+
+/**
+ * Enum representing how a rectangle of the left layer of a {@link SpatialJoin} relates to a
+ * rectangle of the right layer.
+ * <p>
+ * Containment is strict, as for points: a rectangle contains another if every point of the
+ * other, edges included, is strictly inside it.
+ * </p>
+ */
+public enum JoinRelation {
+    /**
+     * The left rectangle strictly contains the right rectangle.
+     */
+    CONTAINS,
+
+    /**
+     * The left rectangle is strictly contained by the right rectangle.
+     */
+    WITHIN,
+
+    /**
+     * The interiors of the rectangles overlap, but neither strictly contains the other.
+     */
+    INTERSECTS
+}
@@ -0,0 +1,387 @@
+package com.envitia.analysis;
+
+import com.envitia.exception.GeometryValidationException;
+import com.envitia.geometry.CompactRectangle;
+import com.envitia.geometry.Rectangle;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Finds the related pairs between two rectangle layers, reporting each pair with its {@link JoinRelation}.
+ * <p>
+ * The join is a partition-based plane sweep. The part of the plane covered by both layers is cut
+ * into a grid of tiles sized so that a tile holds about {@value #TARGET_TILE_SIZE} rectangles, and
+ * every rectangle is assigned to each tile it overlaps. Within a tile, the rectangles of both layers
+ * are sorted by {@code minX} and swept from left to right: each rectangle is only compared with the
+ * rectangles of the other layer starting before it ends, and those are then filtered on y. A pair
+ * overlapping several tiles is found in each of them, so it is only reported by the tile holding the
+ * bottom-left corner of the intersection of the two rectangles, without remembering reported pairs.
+ * </p>
+ * <p>
+ * Rectangles overlapping many tiles are replicated into each of them. The grid is made coarser
+ * until the layers hold at most {@value #MAX_REPLICATION} times as many tile entries as rectangles,
+ * so layers made of a few very large rectangles degrade to a single sweep rather than exhausting memory.
+ * </p>
+ * <p>
+ * Pairs are reported in no particular order, each exactly once, and only if one rectangle strictly
+ * contains the other or their interiors overlap: rectangles merely touching along an edge or at a
+ * corner are not reported. All work is done on primitive arrays and the calling thread.
+ * </p>
+ */
+public final class SpatialJoin {
+
+    /**
+     * The number of rectangles of both layers the grid aims to place in each tile.
+     */
+    static final int TARGET_TILE_SIZE = 512;
+
+    /**
+     * The maximum number of tiles along each axis.
+     */
+    static final int MAX_GRID = 1024;
+
+    /**
+     * The maximum ratio of tile entries to rectangles before the grid is made coarser.
+     */
+    static final int MAX_REPLICATION = 4;
+
+    private SpatialJoin() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    /**
+     * Joins two layers of rectangles, evaluated on their bounding boxes.
+     *
+     * @param left the left layer, whose identifiers are the positions in the list
+     * @param right the right layer, whose identifiers are the positions in the list
+     * @param listener the callback receiving each related pair
+     * @return the number of pairs reported
+     * @throws GeometryValidationException if a layer, one of its elements or the listener is null
+     */
+    public static long join(List<Rectangle> left, List<Rectangle> right, JoinListener listener) {
+        return joinBounds(bounds(left), bounds(right), listener);
+    }
+
+    /**
+     * Joins two layers of rectangle bounds.
+     *
+     * @param left the left layer, whose identifiers are the positions in the list
+     * @param right the right layer, whose identifiers are the positions in the list
+     * @param listener the callback receiving each related pair
+     * @return the number of pairs reported
+     * @throws GeometryValidationException if a layer, one of its elements or the listener is null
+     */
+    public static long joinBounds(List<CompactRectangle> left, List<CompactRectangle> right, JoinListener listener) {
+        Layer leftLayer = Layer.of(left);
+        Layer rightLayer = Layer.of(right);
+        if (listener == null) {
+            throw new GeometryValidationException("Listener cannot be null");
+        }
+        if (leftLayer.size == 0 || rightLayer.size == 0) {
+            return 0;
+        }
+        // Only the part of the plane covered by both layers can hold pairs
+        int minX = Math.max(leftLayer.extentMinX, rightLayer.extentMinX);
+        int minY = Math.max(leftLayer.extentMinY, rightLayer.extentMinY);
+        int maxX = Math.min(leftLayer.extentMaxX, rightLayer.extentMaxX);
+        int maxY = Math.min(leftLayer.extentMaxY, rightLayer.extentMaxY);
+        if (minX > maxX || minY > maxY) {
+            return 0;
+        }
+
+        int total = leftLayer.size + rightLayer.size;
+        int tiles = (int) Math.min(MAX_GRID, Math.max(1, Math.ceil(Math.sqrt((double) total / TARGET_TILE_SIZE))));
+        Grid grid = new Grid(minX, minY, maxX, maxY, tiles);
+        while (tiles > 1 && leftLayer.entryCount(grid) + rightLayer.entryCount(grid) > (long) MAX_REPLICATION * total) {
+            tiles /= 2;
+            grid = new Grid(minX, minY, maxX, maxY, tiles);
+        }
+        int[][] leftTiles = leftLayer.partition(grid);
+        int[][] rightTiles = rightLayer.partition(grid);
+        return new Sweep(leftLayer, rightLayer, grid, listener).run(leftTiles, rightTiles);
+    }
+
+    /**
+     * Determines how a left rectangle relates to a right rectangle.
+     *
+     * @param left the left rectangle
+     * @param right the right rectangle
+     * @return the relation, or null if neither rectangle contains the other and their interiors do not overlap
+     * @throws GeometryValidationException if either rectangle is null
+     */
+    public static JoinRelation relate(CompactRectangle left, CompactRectangle right) {
+        if (left == null || right == null) {
+            throw new GeometryValidationException("Rectangles cannot be null");
+        }
+        return relate(left.getMinX(), left.getMinY(), left.getMaxX(), left.getMaxY(),
+                right.getMinX(), right.getMinY(), right.getMaxX(), right.getMaxY());
+    }
+
+    private static JoinRelation relate(int leftMinX, int leftMinY, int leftMaxX, int leftMaxY,
+                                       int rightMinX, int rightMinY, int rightMaxX, int rightMaxY) {
+        if (leftMinX < rightMinX && rightMaxX < leftMaxX && leftMinY < rightMinY && rightMaxY < leftMaxY) {
+            return JoinRelation.CONTAINS;
+        }
+        if (rightMinX < leftMinX && leftMaxX < rightMaxX && rightMinY < leftMinY && leftMaxY < rightMaxY) {
+            return JoinRelation.WITHIN;
+        }
+        if (Math.max(leftMinX, rightMinX) < Math.min(leftMaxX, rightMaxX)
+                && Math.max(leftMinY, rightMinY) < Math.min(leftMaxY, rightMaxY)) {
+            return JoinRelation.INTERSECTS;
+        }
+        return null;
+    }
+
+    private static List<CompactRectangle> bounds(List<Rectangle> rectangles) {
+        if (rectangles == null) {
+            throw new GeometryValidationException("Rectangles cannot be null");
+        }
+        List<CompactRectangle> bounds = new ArrayList<>(rectangles.size());
+        for (Rectangle rectangle : rectangles) {
+            if (rectangle == null) {
+                throw new GeometryValidationException("Rectangle cannot be null");
+            }
+            bounds.add(CompactRectangle.ofBounds(rectangle.getMinPoint().x(), rectangle.getMinPoint().y(),
+                    rectangle.getMaxPoint().x(), rectangle.getMaxPoint().y()));
+        }
+        return bounds;
+    }
+
+    /**
+     * Square grid of tiles over the common extent of the layers.
+     */
+    private static final class Grid {
+
+        private final int minX;
+
+        private final int minY;
+
+        private final int maxX;
+
+        private final int maxY;
+
+        private final long tileWidth;
+
+        private final long tileHeight;
+
+        private final int tiles;
+
+        Grid(int minX, int minY, int maxX, int maxY, int tiles) {
+            this.minX = minX;
+            this.minY = minY;
+            this.maxX = maxX;
+            this.maxY = maxY;
+            this.tileWidth = Math.ceilDiv((long) maxX - minX + 1, tiles);
+            this.tileHeight = Math.ceilDiv((long) maxY - minY + 1, tiles);
+            this.tiles = tiles;
+        }
+
+        int column(int x) {
+            return (int) Math.min(tiles - 1, Math.max(0, ((long) x - minX) / tileWidth));
+        }
+
+        int row(int y) {
+            return (int) Math.min(tiles - 1, Math.max(0, ((long) y - minY) / tileHeight));
+        }
+
+        int tile(int x, int y) {
+            return row(y) * tiles + column(x);
+        }
+    }
+
+    /**
+     * The bounds of one layer as primitive arrays.
+     */
+    private static final class Layer {
+
+        private final int size;
+
+        private final int[] minX;
+        private final int[] minY;
+        private final int[] maxX;
+        private final int[] maxY;
+
+        private int extentMinX = Integer.MAX_VALUE;
+        private int extentMinY = Integer.MAX_VALUE;
+        private int extentMaxX = Integer.MIN_VALUE;
+        private int extentMaxY = Integer.MIN_VALUE;
+
+        private Layer(int size) {
+            this.size = size;
+            this.minX = new int[size];
+            this.minY = new int[size];
+            this.maxX = new int[size];
+            this.maxY = new int[size];
+        }
+
+        static Layer of(List<CompactRectangle> rectangles) {
+            if (rectangles == null) {
+                throw new GeometryValidationException("Rectangles cannot be null");
+            }
+            Layer layer = new Layer(rectangles.size());
+            for (int id = 0; id < layer.size; id++) {
+                CompactRectangle rectangle = rectangles.get(id);
+                if (rectangle == null) {
+                    throw new GeometryValidationException("Rectangle cannot be null");
+                }
+                layer.minX[id] = rectangle.getMinX();
+                layer.minY[id] = rectangle.getMinY();
+                layer.maxX[id] = rectangle.getMaxX();
+                layer.maxY[id] = rectangle.getMaxY();
+                layer.extentMinX = Math.min(layer.extentMinX, rectangle.getMinX());
+                layer.extentMinY = Math.min(layer.extentMinY, rectangle.getMinY());
+                layer.extentMaxX = Math.max(layer.extentMaxX, rectangle.getMaxX());
+                layer.extentMaxY = Math.max(layer.extentMaxY, rectangle.getMaxY());
+            }
+            return layer;
+        }
+
+        boolean overlaps(int id, Grid grid) {
+            return maxX[id] >= grid.minX && minX[id] <= grid.maxX && maxY[id] >= grid.minY && minY[id] <= grid.maxY;
+        }
+
+        /**
+         * Counts the tile entries the layer would take in the grid.
+         */
+        long entryCount(Grid grid) {
+            long entries = 0;
+            for (int id = 0; id < size; id++) {
+                if (overlaps(id, grid)) {
+                    entries += (long) (grid.column(maxX[id]) - grid.column(minX[id]) + 1)
+                            * (grid.row(maxY[id]) - grid.row(minY[id]) + 1);
+                }
+            }
+            return entries;
+        }
+
+        /**
+         * Lists the rectangles overlapping each tile, indexed by {@code row * tiles + column}.
+         */
+        int[][] partition(Grid grid) {
+            int[] counts = new int[grid.tiles * grid.tiles];
+            for (int id = 0; id < size; id++) {
+                if (overlaps(id, grid)) {
+                    for (int row = grid.row(minY[id]); row <= grid.row(maxY[id]); row++) {
+                        for (int column = grid.column(minX[id]); column <= grid.column(maxX[id]); column++) {
+                            counts[row * grid.tiles + column]++;
+                        }
+                    }
+                }
+            }
+            int[][] tiles = new int[counts.length][];
+            for (int tile = 0; tile < counts.length; tile++) {
+                tiles[tile] = new int[counts[tile]];
+            }
+            Arrays.fill(counts, 0);
+            for (int id = 0; id < size; id++) {
+                if (overlaps(id, grid)) {
+                    for (int row = grid.row(minY[id]); row <= grid.row(maxY[id]); row++) {
+                        for (int column = grid.column(minX[id]); column <= grid.column(maxX[id]); column++) {
+                            int tile = row * grid.tiles + column;
+                            tiles[tile][counts[tile]++] = id;
+                        }
+                    }
+                }
+            }
+            return tiles;
+        }
+    }
+
+    /**
+     * Plane sweep over the tiles, reusing its sort buffers from one tile to the next.
+     */
+    private static final class Sweep {
+
+        private final Layer left;
+
+        private final Layer right;
+
+        private final Grid grid;
+
+        private final JoinListener listener;
+
+        private long[] leftOrder = new long[0];
+
+        private long[] rightOrder = new long[0];
+
+        private long reported;
+
+        Sweep(Layer left, Layer right, Grid grid, JoinListener listener) {
+            this.left = left;
+            this.right = right;
+            this.grid = grid;
+            this.listener = listener;
+        }
+
+        long run(int[][] leftTiles, int[][] rightTiles) {
+            for (int tile = 0; tile < leftTiles.length; tile++) {
+                if (leftTiles[tile].length > 0 && rightTiles[tile].length > 0) {
+                    leftOrder = sortByMinX(left, leftTiles[tile], leftOrder);
+                    rightOrder = sortByMinX(right, rightTiles[tile], rightOrder);
+                    sweep(tile, leftTiles[tile].length, rightTiles[tile].length);
+                }
+            }
+            return reported;
+        }
+
+        /**
+         * Sorts identifiers by {@code minX}, packed as {@code minX << 32 | id} so that a primitive sort suffices.
+         */
+        private static long[] sortByMinX(Layer layer, int[] ids, long[] buffer) {
+            long[] order = buffer.length >= ids.length ? buffer : new long[Math.max(ids.length, buffer.length * 2)];
+            for (int i = 0; i < ids.length; i++) {
+                order[i] = (long) layer.minX[ids[i]] << 32 | ids[i];
+            }
+            Arrays.sort(order, 0, ids.length);
+            return order;
+        }
+
+        private void sweep(int tile, int leftCount, int rightCount) {
+            int i = 0;
+            int j = 0;
+            while (i < leftCount && j < rightCount) {
+                int leftId = (int) leftOrder[i];
+                int rightId = (int) rightOrder[j];
+                if (left.minX[leftId] <= right.minX[rightId]) {
+                    // Right rectangles starting before this left rectangle ends overlap it on x
+                    int leftMaxX = left.maxX[leftId];
+                    for (int k = j; k < rightCount && (int) (rightOrder[k] >> 32) <= leftMaxX; k++) {
+                        report(tile, leftId, (int) rightOrder[k]);
+                    }
+                    i++;
+                } else {
+                    int rightMaxX = right.maxX[rightId];
+                    for (int k = i; k < leftCount && (int) (leftOrder[k] >> 32) <= rightMaxX; k++) {
+                        report(tile, (int) leftOrder[k], rightId);
+                    }
+                    j++;
+                }
+            }
+        }
+
+        private void report(int tile, int leftId, int rightId) {
+            int leftMinY = left.minY[leftId];
+            int leftMaxY = left.maxY[leftId];
+            int rightMinY = right.minY[rightId];
+            int rightMaxY = right.maxY[rightId];
+            if (leftMinY > rightMaxY || rightMinY > leftMaxY) {
+                return;
+            }
+            // The pair is seen in every tile both rectangles overlap; only the tile of the
+            // bottom-left corner of their intersection reports it
+            int cornerX = Math.max(left.minX[leftId], right.minX[rightId]);
+            int cornerY = Math.max(leftMinY, rightMinY);
+            if (grid.tile(cornerX, cornerY) != tile) {
+                return;
+            }
+            JoinRelation relation = relate(left.minX[leftId], leftMinY, left.maxX[leftId], leftMaxY,
+                    right.minX[rightId], rightMinY, right.maxX[rightId], rightMaxY);
+            if (relation != null) {
+                listener.onPair(leftId, rightId, relation);
+                reported++;
+            }
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.envitia.geometry;
+
+import com.envitia.exception.GeometryValidationException;
+import com.envitia.validation.GeometryValidator;
+import lombok.Getter;
+
+/**
+ * Immutable, bounds-only representation of a validated rectangle.
+ * <p>
+ * Unlike {@link Rectangle}, this class does not retain the vertex list that was used to
+ * describe the rectangle. Once a rectangle has been validated, containment only depends on
+ * its bounding box, so this class stores just the four bound coordinates and a precomputed
+ * hash code. Its footprint is therefore constant regardless of how many edge points the
+ * original rectangle was described with.
+ * </p>
+ * <p>
+ * Instances are created either from a {@link Rectangle} that passes
+ * {@link GeometryValidator#isValidRectangle}, or directly from bounds that are already known
+ * to describe a rectangle. Containment follows the same strict semantics as {@link Rectangle}:
+ * points on the edges are not considered inside.
+ * </p>
+ */
+@Getter
+public final class CompactRectangle implements Shape {
+
+    /**
+     * The minimum x coordinate of the rectangle.
+     */
+    private final int minX;
+
+    /**
+     * The minimum y coordinate of the rectangle.
+     */
+    private final int minY;
+
+    /**
+     * The maximum x coordinate of the rectangle.
+     */
+    private final int maxX;
+
+    /**
+     * The maximum y coordinate of the rectangle.
+     */
+    private final int maxY;
+
+    /**
+     * The hash code, computed once at construction time.
+     */
+    @Getter(lombok.AccessLevel.NONE)
+    private final int hash;
+
+    private CompactRectangle(int minX, int minY, int maxX, int maxY) {
+        this.minX = minX;
+        this.minY = minY;
+        this.maxX = maxX;
+        this.maxY = maxY;
+        this.hash = 31 * (31 * (31 * minX + minY) + maxX) + maxY;
+    }
+
+    /**
+     * Creates a CompactRectangle from a validated {@link Rectangle}.
+     * <p>
+     * The rectangle is validated with {@link GeometryValidator#isValidRectangle}; only its
+     * bounding box is retained, so the vertex list can be garbage collected afterwards.
+     * </p>
+     *
+     * @param rectangle the rectangle to compact
+     * @return a new CompactRectangle with the same bounds as the given rectangle
+     * @throws GeometryValidationException if the rectangle is null or is not a valid rectangle
+     */
+    public static CompactRectangle fromRectangle(Rectangle rectangle) {
+        if (rectangle == null) {
+            throw new GeometryValidationException("Rectangle cannot be null");
+        }
+        if (!GeometryValidator.isValidRectangle(rectangle)) {
+            throw new GeometryValidationException("Shape is not a valid rectangle");
+        }
+        Point minPoint = rectangle.getMinPoint();
+        Point maxPoint = rectangle.getMaxPoint();
+        return new CompactRectangle(minPoint.x(), minPoint.y(), maxPoint.x(), maxPoint.y());
+    }
+
+    /**
+     * Creates a CompactRectangle directly from its bounds.
+     * <p>
+     * This factory is intended for bounds that are already known to describe a rectangle,
+     * for example bounds read back from a store of previously validated rectangles.
+     * </p>
+     *
+     * @param minX the minimum x coordinate
+     * @param minY the minimum y coordinate
+     * @param maxX the maximum x coordinate
+     * @param maxY the maximum y coordinate
+     * @return a new CompactRectangle with the given bounds
+     * @throws GeometryValidationException if a minimum coordinate is greater than its maximum
+     */
+    public static CompactRectangle ofBounds(int minX, int minY, int maxX, int maxY) {
+        if (minX > maxX || minY > maxY) {
+            throw new GeometryValidationException(
+                "Rectangle bounds are inverted: [" + minX + ", " + minY + "] - [" + maxX + ", " + maxY + "]");
+        }
+        return new CompactRectangle(minX, minY, maxX, maxY);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * A point is considered inside the rectangle if its coordinates are strictly
+     * greater than the minimum bounds and strictly less than the maximum bounds.
+     * Points on the edges are not considered inside.
+     * </p>
+     */
+    @Override
+    public boolean containsPoint(Point point) {
+        return containsPoint(point.x(), point.y());
+    }
+
+    /**
+     * Determines if the rectangle strictly contains the point with the given coordinates.
+     * <p>
+     * This overload avoids creating a {@link Point} on hot paths.
+     * </p>
+     *
+     * @param x the x coordinate of the point
+     * @param y the y coordinate of the point
+     * @return true if the point is strictly inside the rectangle, false otherwise
+     */
+    public boolean containsPoint(int x, int y) {
+        return x > minX && x < maxX && y > minY && y < maxY;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * A point is on the boundary if it lies within the bounds and on at least one of the edges.
+     * </p>
+     */
+    @Override
+    public PointLocation classifyPoint(Point point) {
+        return classifyPoint(point.x(), point.y());
+    }
+
+    /**
+     * Determines where the point with the given coordinates lies relative to the rectangle.
+     *
+     * @param x the x coordinate of the point
+     * @param y the y coordinate of the point
+     * @return the location of the point, never {@link PointLocation#INVALID_SHAPE}
+     */
+    public PointLocation classifyPoint(int x, int y) {
+        return PointLocation.of(x, y, minX, minY, maxX, maxY);
+    }
+
+    /**
+     * Returns the minimum point (bottom-left corner) of the rectangle.
+     *
+     * @return a new Point holding the minimum bounds
+     */
+    public Point getMinPoint() {
+        return new Point(minX, minY);
+    }
+
+    /**
+     * Returns the maximum point (top-right corner) of the rectangle.
+     *
+     * @return a new Point holding the maximum bounds
+     */
+    public Point getMaxPoint() {
+        return new Point(maxX, maxY);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof CompactRectangle other)) {
+            return false;
+        }
+        return hash == other.hash && minX == other.minX && minY == other.minY
+                && maxX == other.maxX && maxY == other.maxY;
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return "CompactRectangle(minX=" + minX + ", minY=" + minY + ", maxX=" + maxX + ", maxY=" + maxY + ")";
+    }
+}
@@ -0,0 +1,406 @@
+package com.envitia.geometry;
+
+import com.envitia.exception.GeometryValidationException;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Immutable list of rectangle vertices stored as edge runs of variable-length integers.
+ * <p>
+ * Every vertex of a valid rectangle lies on one of the four edges of its bounding box, so it is
+ * fully described by the edge and its position along that edge. Consecutive vertices on the same
+ * edge form a run, stored as a header holding the run length and the edge, followed by the
+ * differences between successive positions, zig-zag encoded so that small steps in either
+ * direction take a single byte. A densified outline therefore costs one or two bytes per vertex
+ * instead of a {@link Point} and its reference. Vertices off the edges, which only occur in shapes
+ * that are not valid rectangles, are kept in runs of their own as offsets from the minimum bounds,
+ * so any vertex list round-trips exactly.
+ * </p>
+ * <p>
+ * Runs never cross a block of {@value #BLOCK_SIZE} vertices, and the byte offset of every block is
+ * kept, so {@link #get(int)} decodes at most one block while iteration decodes each vertex once.
+ * Whether all vertices lie on the edges and whether all four corners are present is recorded
+ * while encoding, so validating the list does not need to decode it.
+ * </p>
+ */
+public final class CompressedVertexList extends AbstractList<Point> implements RandomAccess {
+
+    /**
+     * The number of vertices per independently decodable block.
+     */
+    static final int BLOCK_SIZE = 64;
+
+    private static final int BOTTOM = 0;
+    private static final int RIGHT = 1;
+    private static final int TOP = 2;
+    private static final int LEFT = 3;
+    private static final int OFF_EDGES = 4;
+
+    private static final int EDGE_BITS = 3;
+
+    private static final int EDGE_MASK = (1 << EDGE_BITS) - 1;
+
+    private final int size;
+
+    private final int minX;
+    private final int minY;
+    private final int maxX;
+    private final int maxY;
+
+    private final byte[] data;
+
+    private final int[] blockOffsets;
+
+    private final boolean onEdges;
+
+    private final boolean allCorners;
+
+    private CompressedVertexList(int[] xs, int[] ys) {
+        this.size = xs.length;
+        int minX = xs[0], minY = ys[0], maxX = xs[0], maxY = ys[0];
+        for (int i = 1; i < size; i++) {
+            minX = Math.min(minX, xs[i]);
+            minY = Math.min(minY, ys[i]);
+            maxX = Math.max(maxX, xs[i]);
+            maxY = Math.max(maxY, ys[i]);
+        }
+        this.minX = minX;
+        this.minY = minY;
+        this.maxX = maxX;
+        this.maxY = maxY;
+
+        Encoder encoder = new Encoder(size * 2 + 16);
+        this.blockOffsets = new int[(size + BLOCK_SIZE - 1) / BLOCK_SIZE];
+        boolean offEdges = false;
+        int corners = 0;
+        for (int block = 0; block < blockOffsets.length; block++) {
+            blockOffsets[block] = encoder.length;
+            int end = Math.min(size, (block + 1) * BLOCK_SIZE);
+            int start = block * BLOCK_SIZE;
+            while (start < end) {
+                int edge = runEdge(xs, ys, start, end);
+                int runEnd = start + 1;
+                while (runEnd < end && (edge == OFF_EDGES ? edges(xs[runEnd], ys[runEnd]) == 0 : isOn(edge, xs[runEnd], ys[runEnd]))) {
+                    runEnd++;
+                }
+                encoder.write((long) (runEnd - start) << EDGE_BITS | edge);
+                long previous = 0;
+                for (int i = start; i < runEnd; i++) {
+                    if (edge == OFF_EDGES) {
+                        encoder.write((long) xs[i] - minX);
+                        encoder.write((long) ys[i] - minY);
+                        offEdges = true;
+                    } else {
+                        long position = position(edge, xs[i], ys[i]);
+                        encoder.write(zigZag(position - previous));
+                        previous = position;
+                    }
+                    corners |= cornerBit(xs[i], ys[i]);
+                }
+                start = runEnd;
+            }
+        }
+        this.data = encoder.toArray();
+        this.onEdges = !offEdges;
+        this.allCorners = corners == 0b1111;
+    }
+
+    /**
+     * Compresses a list of vertices.
+     *
+     * @param vertices the vertices, in perimeter order
+     * @return a new compressed list with the same vertices in the same order
+     * @throws GeometryValidationException if the list is null or empty, or one of its elements is null
+     */
+    public static CompressedVertexList of(List<Point> vertices) {
+        if (vertices == null || vertices.isEmpty()) {
+            throw new GeometryValidationException("Vertices cannot be null or empty");
+        }
+        int[] xs = new int[vertices.size()];
+        int[] ys = new int[vertices.size()];
+        int i = 0;
+        for (Point vertex : vertices) {
+            if (vertex == null) {
+                throw new GeometryValidationException("Vertex cannot be null");
+            }
+            xs[i] = vertex.x();
+            ys[i++] = vertex.y();
+        }
+        return new CompressedVertexList(xs, ys);
+    }
+
+    /**
+     * Compresses vertices given as an array of coordinate pairs, without creating a {@link Point} per vertex.
+     *
+     * @param coordinates a 2D array where each element is a point [x, y], as validated by
+     *                    {@link com.envitia.validation.GeometryValidator#validateRectangleCoordinates}
+     * @return a new compressed list of the vertices in the same order
+     * @throws GeometryValidationException if the array is null or empty
+     */
+    public static CompressedVertexList fromCoordinateArray(int[][] coordinates) {
+        if (coordinates == null || coordinates.length == 0) {
+            throw new GeometryValidationException("Vertices cannot be null or empty");
+        }
+        int[] xs = new int[coordinates.length];
+        int[] ys = new int[coordinates.length];
+        for (int i = 0; i < coordinates.length; i++) {
+            xs[i] = coordinates[i][0];
+            ys[i] = coordinates[i][1];
+        }
+        return new CompressedVertexList(xs, ys);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Decodes the vertices from the start of the block holding the index, so at most
+     * {@value #BLOCK_SIZE} vertices are decoded.
+     * </p>
+     */
+    @Override
+    public Point get(int index) {
+        Objects.checkIndex(index, size);
+        Decoder decoder = new Decoder(index / BLOCK_SIZE);
+        for (int skipped = index % BLOCK_SIZE; skipped > 0; skipped--) {
+            decoder.next();
+        }
+        decoder.next();
+        return new Point(decoder.x, decoder.y);
+    }
+
+    @Override
+    public Iterator<Point> iterator() {
+        return new Iterator<>() {
+
+            private final Decoder decoder = new Decoder(0);
+
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                return index < size;
+            }
+
+            @Override
+            public Point next() {
+                if (index == size) {
+                    throw new NoSuchElementException();
+                }
+                index++;
+                decoder.next();
+                return new Point(decoder.x, decoder.y);
+            }
+        };
+    }
+
+    /**
+     * Returns the minimum point (bottom-left corner) of the bounding box of the vertices.
+     *
+     * @return a new Point holding the minimum bounds
+     */
+    public Point getMinPoint() {
+        return new Point(minX, minY);
+    }
+
+    /**
+     * Returns the maximum point (top-right corner) of the bounding box of the vertices.
+     *
+     * @return a new Point holding the maximum bounds
+     */
+    public Point getMaxPoint() {
+        return new Point(maxX, maxY);
+    }
+
+    /**
+     * Determines if every vertex lies on an edge of the bounding box of the vertices.
+     *
+     * @return true if no vertex is off the edges, false otherwise
+     */
+    public boolean isOnEdges() {
+        return onEdges;
+    }
+
+    /**
+     * Determines if the four corners of the bounding box of the vertices are among the vertices.
+     *
+     * @return true if all four corners are present, false otherwise
+     */
+    public boolean hasAllCorners() {
+        return allCorners;
+    }
+
+    /**
+     * Returns the number of bytes of the encoded vertices and block offsets, excluding object headers.
+     *
+     * @return the encoded size in bytes
+     */
+    public int getEncodedSize() {
+        return data.length + blockOffsets.length * Integer.BYTES;
+    }
+
+    /**
+     * Returns the edges a point lies on, one bit per edge, or 0 if it is off the edges.
+     */
+    private int edges(int x, int y) {
+        if (x < minX || x > maxX || y < minY || y > maxY) {
+            return 0;
+        }
+        return (y == minY ? 1 << BOTTOM : 0) | (x == maxX ? 1 << RIGHT : 0)
+                | (y == maxY ? 1 << TOP : 0) | (x == minX ? 1 << LEFT : 0);
+    }
+
+    private boolean isOn(int edge, int x, int y) {
+        return (edges(x, y) & 1 << edge) != 0;
+    }
+
+    /**
+     * Chooses the edge of a run starting at a vertex; a corner lies on two edges, so the one shared
+     * with the next vertex is preferred to keep runs long.
+     */
+    private int runEdge(int[] xs, int[] ys, int start, int end) {
+        int edges = edges(xs[start], ys[start]);
+        if (edges == 0) {
+            return OFF_EDGES;
+        }
+        if (start + 1 < end) {
+            int shared = edges & edges(xs[start + 1], ys[start + 1]);
+            if (shared != 0) {
+                return Integer.numberOfTrailingZeros(shared);
+            }
+        }
+        return Integer.numberOfTrailingZeros(edges);
+    }
+
+    private int cornerBit(int x, int y) {
+        if (x == minX) {
+            return y == minY ? 0b0001 : y == maxY ? 0b0010 : 0;
+        }
+        if (x == maxX) {
+            return y == minY ? 0b0100 : y == maxY ? 0b1000 : 0;
+        }
+        return 0;
+    }
+
+    private long position(int edge, int x, int y) {
+        return edge == BOTTOM || edge == TOP ? (long) x - minX : (long) y - minY;
+    }
+
+    private static long zigZag(long value) {
+        return value << 1 ^ value >> 63;
+    }
+
+    private static long unZigZag(long value) {
+        return value >>> 1 ^ -(value & 1);
+    }
+
+    /**
+     * Growable byte buffer writing unsigned LEB128 variable-length integers.
+     */
+    private static final class Encoder {
+
+        private byte[] bytes;
+
+        private int length;
+
+        Encoder(int capacity) {
+            this.bytes = new byte[capacity];
+        }
+
+        void write(long value) {
+            if (length + 10 > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + 10));
+            }
+            while ((value & ~0x7FL) != 0) {
+                bytes[length++] = (byte) (value & 0x7F | 0x80);
+                value >>>= 7;
+            }
+            bytes[length++] = (byte) value;
+        }
+
+        byte[] toArray() {
+            return Arrays.copyOf(bytes, length);
+        }
+    }
+
+    /**
+     * Sequential decoder positioned at the start of a block.
+     */
+    private final class Decoder {
+
+        private int offset;
+
+        private int edge;
+
+        private int remaining;
+
+        private long previous;
+
+        private int x;
+
+        private int y;
+
+        Decoder(int block) {
+            this.offset = block < blockOffsets.length ? blockOffsets[block] : data.length;
+        }
+
+        /**
+         * Decodes the next vertex into {@link #x} and {@link #y}.
+         */
+        void next() {
+            if (remaining == 0) {
+                long header = read();
+                edge = (int) (header & EDGE_MASK);
+                remaining = (int) (header >>> EDGE_BITS);
+                previous = 0;
+            }
+            remaining--;
+            if (edge == OFF_EDGES) {
+                x = (int) (minX + read());
+                y = (int) (minY + read());
+                return;
+            }
+            previous += unZigZag(read());
+            switch (edge) {
+                case BOTTOM -> {
+                    x = (int) (minX + previous);
+                    y = minY;
+                }
+                case RIGHT -> {
+                    x = maxX;
+                    y = (int) (minY + previous);
+                }
+                case TOP -> {
+                    x = (int) (minX + previous);
+                    y = maxY;
+                }
+                default -> {
+                    x = minX;
+                    y = (int) (minY + previous);
+                }
+            }
+        }
+
+        private long read() {
+            long value = 0;
+            int shift = 0;
+            byte current;
+            do {
+                current = data[offset++];
+                value |= (long) (current & 0x7F) << shift;
+                shift += 7;
+            } while (current < 0);
+            return value;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.envitia.geometry;
+
+/**
+ * Represents a 2D point with {@code double} x and y coordinates, such as projected coordinates in meters.
+ * <p>
+ * This is the {@code double} counterpart of {@link Point}, used with {@link DoubleRectangle}. A point
+ * with a NaN coordinate is outside every rectangle.
+ * </p>
+ */
+public record DoublePoint(double x, double y) {
+}
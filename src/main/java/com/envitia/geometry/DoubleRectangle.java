@@ -0,0 +1,193 @@
+package com.envitia.geometry;
+
+import com.envitia.exception.GeometryValidationException;
+import com.envitia.validation.GeometryValidator;
+import lombok.Getter;
+
+/**
+ * Immutable, bounds-only representation of a validated rectangle with {@code double} coordinates.
+ * <p>
+ * This is the {@code double} counterpart of {@link CompactRectangle}, for fractional coordinates
+ * such as meters. It is produced by {@link GeometryValidator#validateRectangleVertices(double[], double[])}
+ * and keeps the same strict semantics: points on the edges are not considered inside, and neither
+ * are points with a NaN coordinate. Coordinates are only ever compared, never subtracted, so no
+ * rounding is involved. Bounds cannot be NaN, and {@code -0.0} is stored as {@code 0.0} so that
+ * equal rectangles have equal hash codes.
+ * </p>
+ */
+@Getter
+public final class DoubleRectangle {
+
+    /**
+     * The minimum x coordinate of the rectangle.
+     */
+    private final double minX;
+
+    /**
+     * The minimum y coordinate of the rectangle.
+     */
+    private final double minY;
+
+    /**
+     * The maximum x coordinate of the rectangle.
+     */
+    private final double maxX;
+
+    /**
+     * The maximum y coordinate of the rectangle.
+     */
+    private final double maxY;
+
+    private DoubleRectangle(double minX, double minY, double maxX, double maxY) {
+        // Adding 0.0 turns -0.0 into 0.0 and leaves every other value unchanged
+        this.minX = minX + 0.0;
+        this.minY = minY + 0.0;
+        this.maxX = maxX + 0.0;
+        this.maxY = maxY + 0.0;
+    }
+
+    /**
+     * Creates a DoubleRectangle directly from its bounds.
+     *
+     * @param minX the minimum x coordinate
+     * @param minY the minimum y coordinate
+     * @param maxX the maximum x coordinate
+     * @param maxY the maximum y coordinate
+     * @return a new DoubleRectangle with the given bounds
+     * @throws GeometryValidationException if a bound is NaN or a minimum coordinate is greater than its maximum
+     */
+    public static DoubleRectangle ofBounds(double minX, double minY, double maxX, double maxY) {
+        if (!(minX <= maxX && minY <= maxY)) {
+            throw new GeometryValidationException(
+                "Rectangle bounds are inverted or NaN: [" + minX + ", " + minY + "] - [" + maxX + ", " + maxY + "]");
+        }
+        return new DoubleRectangle(minX, minY, maxX, maxY);
+    }
+
+    /**
+     * Determines if the rectangle strictly contains the point.
+     *
+     * @param point the point to check
+     * @return true if the point is strictly inside the rectangle, false otherwise
+     */
+    public boolean containsPoint(DoublePoint point) {
+        return containsPoint(point.x(), point.y());
+    }
+
+    /**
+     * Determines if the rectangle strictly contains the point with the given coordinates.
+     *
+     * @param x the x coordinate of the point
+     * @param y the y coordinate of the point
+     * @return true if the point is strictly inside the rectangle, false otherwise
+     */
+    public boolean containsPoint(double x, double y) {
+        return x > minX && x < maxX && y > minY && y < maxY;
+    }
+
+    /**
+     * Determines for each point whether the rectangle strictly contains it.
+     * <p>
+     * The four comparisons are combined without branching, so the loop runs at the same speed
+     * whatever the proportion of points inside.
+     * </p>
+     *
+     * @param xCoordinates the x coordinates of the points
+     * @param yCoordinates the y coordinates of the points, in the same order
+     * @return the containment result of each point, in the order of the input
+     * @throws GeometryValidationException if either array is null or their lengths differ
+     */
+    public boolean[] containsPoints(double[] xCoordinates, double[] yCoordinates) {
+        checkBatch(xCoordinates == null || yCoordinates == null || xCoordinates.length != yCoordinates.length);
+        boolean[] results = new boolean[xCoordinates.length];
+        for (int i = 0; i < results.length; i++) {
+            double x = xCoordinates[i];
+            double y = yCoordinates[i];
+            results[i] = x > minX & x < maxX & y > minY & y < maxY;
+        }
+        return results;
+    }
+
+    /**
+     * Determines where the point lies relative to the rectangle; a point with a NaN coordinate is outside.
+     *
+     * @param point the point to classify
+     * @return the location of the point, never {@link PointLocation#INVALID_SHAPE}
+     */
+    public PointLocation classifyPoint(DoublePoint point) {
+        return classifyPoint(point.x(), point.y());
+    }
+
+    /**
+     * Determines where the point with the given coordinates lies relative to the rectangle.
+     *
+     * @param x the x coordinate of the point
+     * @param y the y coordinate of the point
+     * @return the location of the point, never {@link PointLocation#INVALID_SHAPE}
+     */
+    public PointLocation classifyPoint(double x, double y) {
+        return PointLocation.of(x, y, minX, minY, maxX, maxY);
+    }
+
+    /**
+     * Determines where each point lies relative to the rectangle.
+     *
+     * @param xCoordinates the x coordinates of the points
+     * @param yCoordinates the y coordinates of the points, in the same order
+     * @return the location of each point, in the order of the input
+     * @throws GeometryValidationException if either array is null or their lengths differ
+     */
+    public PackedPointLocations classifyPoints(double[] xCoordinates, double[] yCoordinates) {
+        checkBatch(xCoordinates == null || yCoordinates == null || xCoordinates.length != yCoordinates.length);
+        PackedPointLocations locations = new PackedPointLocations(xCoordinates.length);
+        for (int i = 0; i < xCoordinates.length; i++) {
+            locations.set(i, PointLocation.of(xCoordinates[i], yCoordinates[i], minX, minY, maxX, maxY));
+        }
+        return locations;
+    }
+
+    /**
+     * Returns the minimum point (bottom-left corner) of the rectangle.
+     *
+     * @return a new DoublePoint holding the minimum bounds
+     */
+    public DoublePoint getMinPoint() {
+        return new DoublePoint(minX, minY);
+    }
+
+    /**
+     * Returns the maximum point (top-right corner) of the rectangle.
+     *
+     * @return a new DoublePoint holding the maximum bounds
+     */
+    public DoublePoint getMaxPoint() {
+        return new DoublePoint(maxX, maxY);
+    }
+
+    private static void checkBatch(boolean invalid) {
+        if (invalid) {
+            throw new GeometryValidationException("Point coordinate arrays must be non-null and of the same length");
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof DoubleRectangle other)) {
+            return false;
+        }
+        return minX == other.minX && minY == other.minY && maxX == other.maxX && maxY == other.maxY;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * (31 * Double.hashCode(minX) + Double.hashCode(minY)) + Double.hashCode(maxX)) + Double.hashCode(maxY);
+    }
+
+    @Override
+    public String toString() {
+        return "DoubleRectangle(minX=" + minX + ", minY=" + minY + ", maxX=" + maxX + ", maxY=" + maxY + ")";
+    }
+}
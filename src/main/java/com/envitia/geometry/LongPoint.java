@@ -0,0 +1,10 @@
+package com.envitia.geometry;
+
+/**
+ * Represents a 2D point with {@code long} x and y coordinates, such as projected coordinates in micro-degrees.
+ * <p>
+ * This is the {@code long} counterpart of {@link Point}, used with {@link LongRectangle}.
+ * </p>
+ */
+public record LongPoint(long x, long y) {
+}
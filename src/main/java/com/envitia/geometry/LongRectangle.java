@@ -0,0 +1,191 @@
+package com.envitia.geometry;
+
+import com.envitia.exception.GeometryValidationException;
+import com.envitia.validation.GeometryValidator;
+import lombok.Getter;
+
+/**
+ * Immutable, bounds-only representation of a validated rectangle with {@code long} coordinates.
+ * <p>
+ * This is the {@code long} counterpart of {@link CompactRectangle}, for coordinates that do not fit
+ * in an {@code int}, such as micro-degrees. It is produced by
+ * {@link GeometryValidator#validateRectangleVertices(long[], long[])} and keeps the same strict
+ * semantics: points on the edges are not considered inside. Coordinates are only ever compared,
+ * never subtracted, so containment is exact over the whole {@code long} range.
+ * </p>
+ */
+@Getter
+public final class LongRectangle {
+
+    /**
+     * The minimum x coordinate of the rectangle.
+     */
+    private final long minX;
+
+    /**
+     * The minimum y coordinate of the rectangle.
+     */
+    private final long minY;
+
+    /**
+     * The maximum x coordinate of the rectangle.
+     */
+    private final long maxX;
+
+    /**
+     * The maximum y coordinate of the rectangle.
+     */
+    private final long maxY;
+
+    private LongRectangle(long minX, long minY, long maxX, long maxY) {
+        this.minX = minX;
+        this.minY = minY;
+        this.maxX = maxX;
+        this.maxY = maxY;
+    }
+
+    /**
+     * Creates a LongRectangle directly from its bounds.
+     *
+     * @param minX the minimum x coordinate
+     * @param minY the minimum y coordinate
+     * @param maxX the maximum x coordinate
+     * @param maxY the maximum y coordinate
+     * @return a new LongRectangle with the given bounds
+     * @throws GeometryValidationException if a minimum coordinate is greater than its maximum
+     */
+    public static LongRectangle ofBounds(long minX, long minY, long maxX, long maxY) {
+        if (minX > maxX || minY > maxY) {
+            throw new GeometryValidationException(
+                "Rectangle bounds are inverted: [" + minX + ", " + minY + "] - [" + maxX + ", " + maxY + "]");
+        }
+        return new LongRectangle(minX, minY, maxX, maxY);
+    }
+
+    /**
+     * Determines if the rectangle strictly contains the point.
+     *
+     * @param point the point to check
+     * @return true if the point is strictly inside the rectangle, false otherwise
+     */
+    public boolean containsPoint(LongPoint point) {
+        return containsPoint(point.x(), point.y());
+    }
+
+    /**
+     * Determines if the rectangle strictly contains the point with the given coordinates.
+     *
+     * @param x the x coordinate of the point
+     * @param y the y coordinate of the point
+     * @return true if the point is strictly inside the rectangle, false otherwise
+     */
+    public boolean containsPoint(long x, long y) {
+        return x > minX && x < maxX && y > minY && y < maxY;
+    }
+
+    /**
+     * Determines for each point whether the rectangle strictly contains it.
+     * <p>
+     * The four comparisons are combined without branching, so the loop runs at the same speed
+     * whatever the proportion of points inside.
+     * </p>
+     *
+     * @param xCoordinates the x coordinates of the points
+     * @param yCoordinates the y coordinates of the points, in the same order
+     * @return the containment result of each point, in the order of the input
+     * @throws GeometryValidationException if either array is null or their lengths differ
+     */
+    public boolean[] containsPoints(long[] xCoordinates, long[] yCoordinates) {
+        checkBatch(xCoordinates == null || yCoordinates == null || xCoordinates.length != yCoordinates.length);
+        boolean[] results = new boolean[xCoordinates.length];
+        for (int i = 0; i < results.length; i++) {
+            long x = xCoordinates[i];
+            long y = yCoordinates[i];
+            results[i] = x > minX & x < maxX & y > minY & y < maxY;
+        }
+        return results;
+    }
+
+    /**
+     * Determines where the point lies relative to the rectangle.
+     *
+     * @param point the point to classify
+     * @return the location of the point, never {@link PointLocation#INVALID_SHAPE}
+     */
+    public PointLocation classifyPoint(LongPoint point) {
+        return classifyPoint(point.x(), point.y());
+    }
+
+    /**
+     * Determines where the point with the given coordinates lies relative to the rectangle.
+     *
+     * @param x the x coordinate of the point
+     * @param y the y coordinate of the point
+     * @return the location of the point, never {@link PointLocation#INVALID_SHAPE}
+     */
+    public PointLocation classifyPoint(long x, long y) {
+        return PointLocation.of(x, y, minX, minY, maxX, maxY);
+    }
+
+    /**
+     * Determines where each point lies relative to the rectangle.
+     *
+     * @param xCoordinates the x coordinates of the points
+     * @param yCoordinates the y coordinates of the points, in the same order
+     * @return the location of each point, in the order of the input
+     * @throws GeometryValidationException if either array is null or their lengths differ
+     */
+    public PackedPointLocations classifyPoints(long[] xCoordinates, long[] yCoordinates) {
+        checkBatch(xCoordinates == null || yCoordinates == null || xCoordinates.length != yCoordinates.length);
+        PackedPointLocations locations = new PackedPointLocations(xCoordinates.length);
+        for (int i = 0; i < xCoordinates.length; i++) {
+            locations.set(i, PointLocation.of(xCoordinates[i], yCoordinates[i], minX, minY, maxX, maxY));
+        }
+        return locations;
+    }
+
+    /**
+     * Returns the minimum point (bottom-left corner) of the rectangle.
+     *
+     * @return a new LongPoint holding the minimum bounds
+     */
+    public LongPoint getMinPoint() {
+        return new LongPoint(minX, minY);
+    }
+
+    /**
+     * Returns the maximum point (top-right corner) of the rectangle.
+     *
+     * @return a new LongPoint holding the maximum bounds
+     */
+    public LongPoint getMaxPoint() {
+        return new LongPoint(maxX, maxY);
+    }
+
+    private static void checkBatch(boolean invalid) {
+        if (invalid) {
+            throw new GeometryValidationException("Point coordinate arrays must be non-null and of the same length");
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof LongRectangle other)) {
+            return false;
+        }
+        return minX == other.minX && minY == other.minY && maxX == other.maxX && maxY == other.maxY;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * (31 * Long.hashCode(minX) + Long.hashCode(minY)) + Long.hashCode(maxX)) + Long.hashCode(maxY);
+    }
+
+    @Override
+    public String toString() {
+        return "LongRectangle(minX=" + minX + ", minY=" + minY + ", maxX=" + maxX + ", maxY=" + maxY + ")";
+    }
+}
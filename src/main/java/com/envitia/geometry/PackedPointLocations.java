@@ -0,0 +1,118 @@
+package com.envitia.geometry;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Fixed-size sequence of {@link PointLocation}s packed at two bits per point.
+ * <p>
+ * Batch classifications return their results in this form, so that classifying a million
+ * points costs 250 KB of results instead of a million references. Each location is stored
+ * as its ordinal, 32 locations per {@code long}.
+ * </p>
+ */
+public final class PackedPointLocations {
+
+    private static final int BITS_PER_LOCATION = 2;
+
+    private static final int LOCATIONS_PER_WORD = Long.SIZE / BITS_PER_LOCATION;
+
+    private static final long LOCATION_MASK = (1L << BITS_PER_LOCATION) - 1;
+
+    private final long[] words;
+
+    private final int size;
+
+    /**
+     * Creates a sequence of the given size with every location set to {@link PointLocation#INSIDE}.
+     *
+     * @param size the number of locations
+     * @throws IllegalArgumentException if size is negative
+     */
+    public PackedPointLocations(int size) {
+        if (size < 0) {
+            throw new IllegalArgumentException("Size cannot be negative: " + size);
+        }
+        this.size = size;
+        this.words = new long[(size + LOCATIONS_PER_WORD - 1) / LOCATIONS_PER_WORD];
+    }
+
+    /**
+     * Creates a sequence of the given size with every location set to the given value.
+     *
+     * @param size the number of locations
+     * @param location the location of every point
+     * @return a new sequence filled with the given location
+     * @throws IllegalArgumentException if size is negative
+     */
+    public static PackedPointLocations filled(int size, PointLocation location) {
+        PackedPointLocations locations = new PackedPointLocations(size);
+        long pattern = 0;
+        for (int i = 0; i < LOCATIONS_PER_WORD; i++) {
+            pattern |= (long) location.ordinal() << (i * BITS_PER_LOCATION);
+        }
+        Arrays.fill(locations.words, pattern);
+        return locations;
+    }
+
+    /**
+     * Returns the number of locations.
+     *
+     * @return the number of locations
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the location at the given index.
+     *
+     * @param index the index of the point
+     * @return the location of the point
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public PointLocation get(int index) {
+        Objects.checkIndex(index, size);
+        int shift = (index % LOCATIONS_PER_WORD) * BITS_PER_LOCATION;
+        return PointLocation.fromOrdinal((int) ((words[index / LOCATIONS_PER_WORD] >>> shift) & LOCATION_MASK));
+    }
+
+    /**
+     * Sets the location at the given index.
+     *
+     * @param index the index of the point
+     * @param location the location of the point
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public void set(int index, PointLocation location) {
+        Objects.checkIndex(index, size);
+        int word = index / LOCATIONS_PER_WORD;
+        int shift = (index % LOCATIONS_PER_WORD) * BITS_PER_LOCATION;
+        words[word] = (words[word] & ~(LOCATION_MASK << shift)) | ((long) location.ordinal() << shift);
+    }
+
+    /**
+     * Counts the points with the given location.
+     *
+     * @param location the location to count
+     * @return the number of points with the given location
+     */
+    public int count(PointLocation location) {
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            if (get(i) == location) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns a copy of the packed words, 32 locations per {@code long} starting at the least significant bits.
+     *
+     * @return a copy of the packed representation
+     */
+    public long[] toLongArray() {
+        return words.clone();
+    }
+}
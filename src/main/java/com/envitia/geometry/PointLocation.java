@@ -0,0 +1,95 @@
+package com.envitia.geometry;
+
+/**
+ * Enum representing where a point lies relative to a shape.
+ * <p>
+ * The four values fit in two bits, which {@link PackedPointLocations} relies on
+ * to store batch classification results compactly.
+ * </p>
+ */
+public enum PointLocation {
+    /**
+     * The point is strictly inside the shape.
+     */
+    INSIDE,
+
+    /**
+     * The point lies exactly on the boundary of the shape.
+     */
+    BOUNDARY,
+
+    /**
+     * The point is outside the shape.
+     */
+    OUTSIDE,
+
+    /**
+     * The shape is not valid, so the point could not be located.
+     */
+    INVALID_SHAPE;
+
+    private static final PointLocation[] VALUES = values();
+
+    /**
+     * Classifies a point against axis-aligned rectangle bounds.
+     *
+     * @param x the x coordinate of the point
+     * @param y the y coordinate of the point
+     * @param minX the minimum x coordinate of the rectangle
+     * @param minY the minimum y coordinate of the rectangle
+     * @param maxX the maximum x coordinate of the rectangle
+     * @param maxY the maximum y coordinate of the rectangle
+     * @return the location of the point relative to the bounds
+     */
+    static PointLocation of(int x, int y, int minX, int minY, int maxX, int maxY) {
+        if (x < minX || x > maxX || y < minY || y > maxY) {
+            return OUTSIDE;
+        }
+        if (x == minX || x == maxX || y == minY || y == maxY) {
+            return BOUNDARY;
+        }
+        return INSIDE;
+    }
+
+    /**
+     * Classifies a point against axis-aligned rectangle bounds with {@code long} coordinates.
+     *
+     * @see #of(int, int, int, int, int, int)
+     */
+    static PointLocation of(long x, long y, long minX, long minY, long maxX, long maxY) {
+        if (x < minX || x > maxX || y < minY || y > maxY) {
+            return OUTSIDE;
+        }
+        if (x == minX || x == maxX || y == minY || y == maxY) {
+            return BOUNDARY;
+        }
+        return INSIDE;
+    }
+
+    /**
+     * Classifies a point against axis-aligned rectangle bounds with {@code double} coordinates.
+     * A point with a NaN coordinate is outside.
+     *
+     * @see #of(int, int, int, int, int, int)
+     */
+    static PointLocation of(double x, double y, double minX, double minY, double maxX, double maxY) {
+        // Written as negated inclusive tests so that NaN coordinates fall outside
+        if (!(x >= minX && x <= maxX && y >= minY && y <= maxY)) {
+            return OUTSIDE;
+        }
+        if (x == minX || x == maxX || y == minY || y == maxY) {
+            return BOUNDARY;
+        }
+        return INSIDE;
+    }
+
+    /**
+     * Returns the location with the given ordinal without copying {@link #values()}.
+     *
+     * @param ordinal the ordinal of the location
+     * @return the location with the given ordinal
+     */
+    static PointLocation fromOrdinal(int ordinal) {
+        return VALUES[ordinal];
+    }
+}
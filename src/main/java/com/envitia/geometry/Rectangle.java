@@ -17,10 +17,20 @@ import lombok.Value;
  * of the rectangle, and must include all four corners. The rectangle supports additional
  * points on its edges beyond the four corners.
  * </p>
+ * <p>
+ * Rectangles described by at least {@value #COMPRESSION_THRESHOLD} vertices keep them in a
+ * {@link CompressedVertexList}, which costs one or two bytes per edge point instead of one
+ * {@link Point} each. The vertex list behaves the same either way.
+ * </p>
  */
 @Value
 public class Rectangle implements Shape {
 
+    /**
+     * The vertex count from which the vertices are stored in a {@link CompressedVertexList}.
+     */
+    public static final int COMPRESSION_THRESHOLD = 64;
+
     /**
      * The minimum point (bottom-left corner) of the rectangle's bounding box.
      */
@@ -55,6 +65,17 @@ public class Rectangle implements Shape {
         this.maxPoint = bounds[1];
     }
 
+    /**
+     * Creates a new Rectangle from compressed vertices, whose bounding box is already known.
+     *
+     * @param vertices the compressed points that define the rectangle's perimeter
+     */
+    private Rectangle(CompressedVertexList vertices) {
+        this.vertices = vertices;
+        this.minPoint = vertices.getMinPoint();
+        this.maxPoint = vertices.getMaxPoint();
+    }
+
     /**
      * {@inheritDoc}
      * <p>
@@ -71,11 +92,24 @@ public class Rectangle implements Shape {
                 point.y() < maxPoint.y();
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * A point is on the boundary if it lies within the bounding box and on at least one of its edges.
+     * </p>
+     */
+    @Override
+    public PointLocation classifyPoint(Point point) {
+        return PointLocation.of(point.x(), point.y(), minPoint.x(), minPoint.y(), maxPoint.x(), maxPoint.y());
+    }
+
     /**
      * Creates a Rectangle from an array of coordinate pairs.
      * <p>
      * This factory method validates the input coordinates and converts them
-     * to a list of Point objects before creating a Rectangle.
+     * to a list of Point objects before creating a Rectangle. From
+     * {@value #COMPRESSION_THRESHOLD} coordinate pairs onwards, they are compressed directly
+     * without creating a Point per vertex.
      * </p>
      *
      * @param coordinates a 2D array where each element is a point [x,y] defining the rectangle
@@ -84,6 +118,9 @@ public class Rectangle implements Shape {
      */
     public static Rectangle fromCoordinateArray(int[][] coordinates) {
         GeometryValidator.validateRectangleCoordinates(coordinates);
+        if (coordinates.length >= COMPRESSION_THRESHOLD) {
+            return new Rectangle(CompressedVertexList.fromCoordinateArray(coordinates));
+        }
         List<Point> points = Arrays.stream(coordinates)
                 .map(Point::fromArray)
                 .toList();
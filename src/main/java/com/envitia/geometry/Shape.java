@@ -22,4 +22,20 @@ public interface Shape {
      * @return true if the point is strictly inside the shape, false otherwise
      */
     boolean containsPoint(Point point);
+
+    /**
+     * Determines where the specified point lies relative to the shape.
+     * <p>
+     * This method answers in one evaluation what would otherwise take a call to
+     * {@link #containsPoint(Point)} followed by a separate boundary test. A shape never
+     * reports {@link PointLocation#INVALID_SHAPE} itself; that value is reserved for
+     * callers that validate the shape first.
+     * </p>
+     *
+     * @param point the point to classify
+     * @return {@link PointLocation#INSIDE} if the point is strictly inside the shape,
+     *         {@link PointLocation#BOUNDARY} if it lies on the boundary, and
+     *         {@link PointLocation#OUTSIDE} otherwise
+     */
+    PointLocation classifyPoint(Point point);
 }
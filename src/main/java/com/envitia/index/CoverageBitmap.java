@@ -0,0 +1,310 @@
+package com.envitia.index;
+
+import com.envitia.exception.GeometryValidationException;
+import com.envitia.geometry.CompactRectangle;
+import com.envitia.geometry.Point;
+import com.envitia.geometry.Rectangle;
+import com.envitia.validation.GeometryValidator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Rasterized coverage of a set of rectangles over a bounded integer domain.
+ * <p>
+ * Every integer cell of the domain is marked if it lies strictly inside at least one rectangle,
+ * so answering "is this point inside any rectangle" takes a tile lookup and one or two array
+ * reads, regardless of how many rectangles there are. Cells on a rectangle's edges are only
+ * marked when they are strictly inside another rectangle, which keeps the strict containment
+ * semantics of {@link Rectangle#containsPoint}.
+ * </p>
+ * <p>
+ * The domain is split into tiles of 256 &times; 256 cells, each compressed into one of the
+ * container kinds used by roaring bitmaps:
+ * <ul>
+ *   <li>empty and full tiles hold no data at all</li>
+ *   <li>sparse tiles, with at most 4096 marked cells, hold a sorted array of 16-bit cell offsets</li>
+ *   <li>dense tiles hold a 65536-bit bitmap</li>
+ * </ul>
+ * </p>
+ * <p>
+ * Instances are immutable and safe for concurrent queries.
+ * </p>
+ */
+public final class CoverageBitmap {
+
+    private static final int TILE_SHIFT = 8;
+    private static final int TILE_SIZE = 1 << TILE_SHIFT;
+    private static final int TILE_MASK = TILE_SIZE - 1;
+    private static final int TILE_CELLS = TILE_SIZE * TILE_SIZE;
+    private static final int WORDS_PER_ROW = TILE_SIZE / Long.SIZE;
+    private static final int WORDS_PER_TILE = TILE_CELLS / Long.SIZE;
+
+    /**
+     * The cardinality up to which a tile is stored as a sorted array rather than a bitmap.
+     */
+    private static final int MAX_ARRAY_CARDINALITY = 4096;
+
+    private static final byte EMPTY = 0;
+    private static final byte FULL = 1;
+    private static final byte ARRAY = 2;
+    private static final byte BITMAP = 3;
+
+    private final int originX;
+
+    private final int originY;
+
+    private final int width;
+
+    private final int height;
+
+    private final int tilesX;
+
+    private final byte[] kinds;
+
+    private final char[][] arrays;
+
+    private final long[][] bitmaps;
+
+    private CoverageBitmap(int originX, int originY, int width, int height, int tilesX,
+                           byte[] kinds, char[][] arrays, long[][] bitmaps) {
+        this.originX = originX;
+        this.originY = originY;
+        this.width = width;
+        this.height = height;
+        this.tilesX = tilesX;
+        this.kinds = kinds;
+        this.arrays = arrays;
+        this.bitmaps = bitmaps;
+    }
+
+    /**
+     * Builds the coverage of a collection of rectangles.
+     * <p>
+     * Rectangles that fail {@link GeometryValidator#isValidRectangle} contain no points and are skipped.
+     * </p>
+     *
+     * @param rectangles the rectangles to rasterize
+     * @param originX the smallest x coordinate of the domain
+     * @param originY the smallest y coordinate of the domain
+     * @param width the number of cells of the domain along x
+     * @param height the number of cells of the domain along y
+     * @return the coverage of the valid rectangles
+     * @throws GeometryValidationException if the rectangles collection or one of its elements is null
+     * @throws IllegalArgumentException if the domain is empty or extends beyond the int range
+     */
+    public static CoverageBitmap build(Collection<Rectangle> rectangles, int originX, int originY, int width, int height) {
+        if (rectangles == null) {
+            throw new GeometryValidationException("Rectangles cannot be null");
+        }
+        List<CompactRectangle> bounds = new ArrayList<>(rectangles.size());
+        for (Rectangle rectangle : rectangles) {
+            if (rectangle == null) {
+                throw new GeometryValidationException("Rectangle cannot be null");
+            }
+            if (GeometryValidator.isValidRectangle(rectangle)) {
+                bounds.add(CompactRectangle.fromRectangle(rectangle));
+            }
+        }
+        return buildFromBounds(bounds, originX, originY, width, height);
+    }
+
+    /**
+     * Builds the coverage of a collection of already validated rectangles.
+     *
+     * @param rectangles the validated rectangles to rasterize
+     * @param originX the smallest x coordinate of the domain
+     * @param originY the smallest y coordinate of the domain
+     * @param width the number of cells of the domain along x
+     * @param height the number of cells of the domain along y
+     * @return the coverage of the rectangles
+     * @throws GeometryValidationException if the rectangles collection or one of its elements is null
+     * @throws IllegalArgumentException if the domain is empty or extends beyond the int range
+     */
+    public static CoverageBitmap buildFromBounds(Collection<CompactRectangle> rectangles,
+                                                 int originX, int originY, int width, int height) {
+        if (rectangles == null) {
+            throw new GeometryValidationException("Rectangles cannot be null");
+        }
+        if (width < 1 || height < 1
+                || (long) originX + width - 1 > Integer.MAX_VALUE || (long) originY + height - 1 > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid coverage domain: origin [" + originX + ", " + originY
+                    + "], size " + width + " x " + height);
+        }
+        int tilesX = (width + TILE_MASK) >>> TILE_SHIFT;
+        int tilesY = (height + TILE_MASK) >>> TILE_SHIFT;
+        long tileCount = (long) tilesX * tilesY;
+        if (tileCount > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Coverage domain is too large: " + width + " x " + height);
+        }
+        byte[] kinds = new byte[(int) tileCount];
+        long[][] bitmaps = new long[(int) tileCount][];
+
+        for (CompactRectangle rectangle : rectangles) {
+            if (rectangle == null) {
+                throw new GeometryValidationException("Rectangle cannot be null");
+            }
+            // Strictly interior cells, clipped to the domain, in domain-local coordinates
+            long fromX = Math.max((long) rectangle.getMinX() + 1, originX) - originX;
+            long toX = Math.min((long) rectangle.getMaxX() - 1, (long) originX + width - 1) - originX;
+            long fromY = Math.max((long) rectangle.getMinY() + 1, originY) - originY;
+            long toY = Math.min((long) rectangle.getMaxY() - 1, (long) originY + height - 1) - originY;
+            if (fromX > toX || fromY > toY) {
+                continue;
+            }
+            mark(kinds, bitmaps, tilesX, (int) fromX, (int) fromY, (int) toX, (int) toY);
+        }
+
+        char[][] arrays = new char[(int) tileCount][];
+        for (int tile = 0; tile < kinds.length; tile++) {
+            if (kinds[tile] != BITMAP) {
+                continue;
+            }
+            compress(tile, kinds, arrays, bitmaps);
+        }
+        return new CoverageBitmap(originX, originY, width, height, tilesX, kinds, arrays, bitmaps);
+    }
+
+    /**
+     * Determines if the point is strictly inside at least one of the rasterized rectangles.
+     *
+     * @param point the point to check
+     * @return true if the point is strictly inside a rectangle, false otherwise, including for points outside the domain
+     */
+    public boolean containsPoint(Point point) {
+        return containsPoint(point.x(), point.y());
+    }
+
+    /**
+     * Determines if the point with the given coordinates is strictly inside at least one of the rasterized rectangles.
+     *
+     * @param x the x coordinate of the point
+     * @param y the y coordinate of the point
+     * @return true if the point is strictly inside a rectangle, false otherwise, including for points outside the domain
+     */
+    public boolean containsPoint(int x, int y) {
+        long localX = (long) x - originX;
+        long localY = (long) y - originY;
+        if (localX < 0 || localX >= width || localY < 0 || localY >= height) {
+            return false;
+        }
+        int cellX = (int) localX;
+        int cellY = (int) localY;
+        int tile = (cellY >>> TILE_SHIFT) * tilesX + (cellX >>> TILE_SHIFT);
+        int offset = ((cellY & TILE_MASK) << TILE_SHIFT) | (cellX & TILE_MASK);
+        return switch (kinds[tile]) {
+            case FULL -> true;
+            case BITMAP -> (bitmaps[tile][offset >>> 6] & (1L << offset)) != 0;
+            case ARRAY -> Arrays.binarySearch(arrays[tile], (char) offset) >= 0;
+            default -> false;
+        };
+    }
+
+    /**
+     * Returns the number of tiles stored as each container kind.
+     *
+     * @return a four-element array with the number of empty, full, array and bitmap tiles
+     */
+    public int[] getContainerCounts() {
+        int[] counts = new int[4];
+        for (byte kind : kinds) {
+            counts[kind]++;
+        }
+        return counts;
+    }
+
+    /**
+     * Returns an estimate of the heap used by the coverage data, excluding object headers.
+     *
+     * @return the estimated size in bytes
+     */
+    public long getMemoryBytes() {
+        long bytes = kinds.length + 2L * kinds.length * Integer.BYTES;
+        for (int tile = 0; tile < kinds.length; tile++) {
+            if (kinds[tile] == ARRAY) {
+                bytes += (long) arrays[tile].length * Character.BYTES;
+            } else if (kinds[tile] == BITMAP) {
+                bytes += (long) WORDS_PER_TILE * Long.BYTES;
+            }
+        }
+        return bytes;
+    }
+
+    private static void mark(byte[] kinds, long[][] bitmaps, int tilesX, int fromX, int fromY, int toX, int toY) {
+        for (int tileY = fromY >>> TILE_SHIFT; tileY <= toY >>> TILE_SHIFT; tileY++) {
+            int rowFrom = Math.max(fromY, tileY << TILE_SHIFT) & TILE_MASK;
+            int rowTo = Math.min(toY, (tileY << TILE_SHIFT) + TILE_MASK) & TILE_MASK;
+            for (int tileX = fromX >>> TILE_SHIFT; tileX <= toX >>> TILE_SHIFT; tileX++) {
+                int tile = tileY * tilesX + tileX;
+                if (kinds[tile] == FULL) {
+                    continue;
+                }
+                int columnFrom = Math.max(fromX, tileX << TILE_SHIFT) & TILE_MASK;
+                int columnTo = Math.min(toX, (tileX << TILE_SHIFT) + TILE_MASK) & TILE_MASK;
+                if (rowFrom == 0 && columnFrom == 0 && rowTo == TILE_MASK && columnTo == TILE_MASK) {
+                    kinds[tile] = FULL;
+                    bitmaps[tile] = null;
+                    continue;
+                }
+                long[] bitmap = bitmaps[tile];
+                if (bitmap == null) {
+                    bitmap = new long[WORDS_PER_TILE];
+                    bitmaps[tile] = bitmap;
+                    kinds[tile] = BITMAP;
+                }
+                for (int row = rowFrom; row <= rowTo; row++) {
+                    setRange(bitmap, row * WORDS_PER_ROW, columnFrom, columnTo);
+                }
+            }
+        }
+    }
+
+    /**
+     * Sets the bits of columns {@code from} to {@code to} (inclusive) in the row starting at {@code rowWord}.
+     */
+    private static void setRange(long[] bitmap, int rowWord, int from, int to) {
+        int firstWord = from >>> 6;
+        int lastWord = to >>> 6;
+        long firstMask = -1L << (from & 63);
+        long lastMask = -1L >>> (63 - (to & 63));
+        if (firstWord == lastWord) {
+            bitmap[rowWord + firstWord] |= firstMask & lastMask;
+            return;
+        }
+        bitmap[rowWord + firstWord] |= firstMask;
+        for (int word = firstWord + 1; word < lastWord; word++) {
+            bitmap[rowWord + word] = -1L;
+        }
+        bitmap[rowWord + lastWord] |= lastMask;
+    }
+
+    private static void compress(int tile, byte[] kinds, char[][] arrays, long[][] bitmaps) {
+        long[] bitmap = bitmaps[tile];
+        int cardinality = 0;
+        for (long word : bitmap) {
+            cardinality += Long.bitCount(word);
+        }
+        if (cardinality == 0) {
+            kinds[tile] = EMPTY;
+            bitmaps[tile] = null;
+        } else if (cardinality == TILE_CELLS) {
+            kinds[tile] = FULL;
+            bitmaps[tile] = null;
+        } else if (cardinality <= MAX_ARRAY_CARDINALITY) {
+            char[] offsets = new char[cardinality];
+            int index = 0;
+            for (int word = 0; word < bitmap.length; word++) {
+                long bits = bitmap[word];
+                while (bits != 0) {
+                    offsets[index++] = (char) ((word << 6) | Long.numberOfTrailingZeros(bits));
+                    bits &= bits - 1;
+                }
+            }
+            kinds[tile] = ARRAY;
+            arrays[tile] = offsets;
+            bitmaps[tile] = null;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.envitia.index;
+
+import com.envitia.geometry.CompactRectangle;
+
+/**
+ * A rectangle found by a nearest-neighbour query, with its distance to the query point.
+ *
+ * @param id the identifier of the rectangle in the index
+ * @param rectangle the bounds of the rectangle
+ * @param squaredDistance the squared Euclidean distance from the query point to the rectangle's bounds,
+ *                        zero if the point is inside the rectangle or on its edges
+ */
+public record NearestRectangle(int id, CompactRectangle rectangle, long squaredDistance) {
+
+    /**
+     * Returns the Euclidean distance from the query point to the rectangle's bounds.
+     *
+     * @return the distance
+     */
+    public double distance() {
+        return Math.sqrt((double) squaredDistance);
+    }
+}
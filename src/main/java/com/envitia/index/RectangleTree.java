@@ -0,0 +1,565 @@
+package com.envitia.index;
+
+import com.envitia.exception.GeometryValidationException;
+import com.envitia.geometry.CompactRectangle;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+
+/**
+ * Static R-tree over validated rectangles, bulk-loaded with Sort-Tile-Recursive packing.
+ * <p>
+ * The tree is stored in flat int arrays: the rectangles (entries) in leaf order, followed by
+ * the nodes of each level from the leaves up to the root. Every node covers a contiguous range
+ * of entries (for leaves) or of nodes of the level below (for internal nodes), so traversals
+ * only read arrays and never follow object references.
+ * </p>
+ * <p>
+ * Two kinds of query are supported:
+ * <ul>
+ *   <li>containment: {@link #forEachContaining} reports every rectangle strictly containing a point,
+ *       with the same semantics as {@link CompactRectangle#containsPoint(int, int)}</li>
+ *   <li>nearest neighbours: {@link #nearest} performs a best-first search ordered by the squared
+ *       distance from the point to each rectangle's bounds, which is zero for points inside or on
+ *       the edges of a rectangle</li>
+ * </ul>
+ * </p>
+ * <p>
+ * Instances are immutable and safe for concurrent queries.
+ * </p>
+ */
+public final class RectangleTree {
+
+    /**
+     * The maximum number of children per node.
+     */
+    static final int NODE_CAPACITY = 16;
+
+    private final int[] entryIds;
+    private final int[] entryMinX;
+    private final int[] entryMinY;
+    private final int[] entryMaxX;
+    private final int[] entryMaxY;
+
+    private final int[] nodeMinX;
+    private final int[] nodeMinY;
+    private final int[] nodeMaxX;
+    private final int[] nodeMaxY;
+    private final int[] nodeFirst;
+    private final int[] nodeCount;
+
+    /**
+     * Nodes below this index are leaves, whose children are entries.
+     */
+    private final int leafNodes;
+
+    private RectangleTree(int[] entryIds, int[] entryMinX, int[] entryMinY, int[] entryMaxX, int[] entryMaxY,
+                  int[] nodeMinX, int[] nodeMinY, int[] nodeMaxX, int[] nodeMaxY,
+                  int[] nodeFirst, int[] nodeCount, int leafNodes) {
+        this.entryIds = entryIds;
+        this.entryMinX = entryMinX;
+        this.entryMinY = entryMinY;
+        this.entryMaxX = entryMaxX;
+        this.entryMaxY = entryMaxY;
+        this.nodeMinX = nodeMinX;
+        this.nodeMinY = nodeMinY;
+        this.nodeMaxX = nodeMaxX;
+        this.nodeMaxY = nodeMaxY;
+        this.nodeFirst = nodeFirst;
+        this.nodeCount = nodeCount;
+        this.leafNodes = leafNodes;
+    }
+
+    /**
+     * Builds a tree whose rectangle identifiers are their positions in the given list.
+     *
+     * @param rectangles the validated rectangles to index
+     * @return a new tree over the rectangles
+     * @throws GeometryValidationException if the list or one of its elements is null
+     */
+    public static RectangleTree build(List<CompactRectangle> rectangles) {
+        if (rectangles == null) {
+            throw new GeometryValidationException("Rectangles cannot be null");
+        }
+        int[] ids = new int[rectangles.size()];
+        Arrays.setAll(ids, i -> i);
+        return build(ids, rectangles.toArray(CompactRectangle[]::new));
+    }
+
+    /**
+     * Builds a tree over rectangles with explicit identifiers.
+     *
+     * @param ids the identifiers reported by queries, in the same order as {@code rectangles}
+     * @param rectangles the validated rectangles to index
+     * @return a new tree over the rectangles
+     * @throws GeometryValidationException if either array is null, their lengths differ or a rectangle is null
+     */
+    public static RectangleTree build(int[] ids, CompactRectangle[] rectangles) {
+        if (ids == null || rectangles == null) {
+            throw new GeometryValidationException("Ids and rectangles cannot be null");
+        }
+        if (ids.length != rectangles.length) {
+            throw new GeometryValidationException(
+                "Ids and rectangles must have the same length, found: " + ids.length + " and " + rectangles.length);
+        }
+        int size = rectangles.length;
+        int[] minX = new int[size], minY = new int[size], maxX = new int[size], maxY = new int[size];
+        for (int i = 0; i < size; i++) {
+            CompactRectangle rectangle = rectangles[i];
+            if (rectangle == null) {
+                throw new GeometryValidationException("Rectangle cannot be null");
+            }
+            minX[i] = rectangle.getMinX();
+            minY[i] = rectangle.getMinY();
+            maxX[i] = rectangle.getMaxX();
+            maxY[i] = rectangle.getMaxY();
+        }
+
+        // Leaf level: pack entries and reorder them so each leaf covers a contiguous range
+        int[][] groups = new int[1][];
+        int[] order = strOrder(minX, minY, maxX, maxY, size, groups);
+        int[] entryIds = permute(ids, order);
+        int[] entryMinX = permute(minX, order);
+        int[] entryMinY = permute(minY, order);
+        int[] entryMaxX = permute(maxX, order);
+        int[] entryMaxY = permute(maxY, order);
+        Level level = Level.over(groups[0], 0, entryMinX, entryMinY, entryMaxX, entryMaxY);
+
+        List<Level> levels = new ArrayList<>();
+        int offset = 0;
+        while (level.size() > 1) {
+            order = strOrder(level.minX, level.minY, level.maxX, level.maxY, level.size(), groups);
+            level = level.permute(order);
+            levels.add(level);
+            offset += level.size();
+            level = Level.over(groups[0], offset - level.size(), level.minX, level.minY, level.maxX, level.maxY);
+        }
+        levels.add(level);
+        return new RectangleTree(entryIds, entryMinX, entryMinY, entryMaxX, entryMaxY,
+                concat(levels, l -> l.minX), concat(levels, l -> l.minY),
+                concat(levels, l -> l.maxX), concat(levels, l -> l.maxY),
+                concat(levels, l -> l.first), concat(levels, l -> l.count), levels.getFirst().size());
+    }
+
+    /**
+     * Returns the number of rectangles in the tree.
+     *
+     * @return the number of indexed rectangles
+     */
+    public int size() {
+        return entryIds.length;
+    }
+
+    /**
+     * Reports the identifiers of all rectangles that strictly contain the point.
+     *
+     * @param x the x coordinate of the point
+     * @param y the y coordinate of the point
+     * @param action the consumer receiving the identifier of each containing rectangle
+     * @return the number of containing rectangles
+     */
+    public int forEachContaining(int x, int y, IntConsumer action) {
+        if (entryIds.length == 0) {
+            return 0;
+        }
+        int found = 0;
+        int[] stack = new int[64];
+        int top = 0;
+        stack[top++] = nodeMinX.length - 1;
+        while (top > 0) {
+            int node = stack[--top];
+            if (x <= nodeMinX[node] || x >= nodeMaxX[node] || y <= nodeMinY[node] || y >= nodeMaxY[node]) {
+                continue;
+            }
+            int first = nodeFirst[node];
+            int end = first + nodeCount[node];
+            if (node < leafNodes) {
+                for (int entry = first; entry < end; entry++) {
+                    if (x > entryMinX[entry] && x < entryMaxX[entry] && y > entryMinY[entry] && y < entryMaxY[entry]) {
+                        action.accept(entryIds[entry]);
+                        found++;
+                    }
+                }
+            } else {
+                if (top + NODE_CAPACITY > stack.length) {
+                    stack = Arrays.copyOf(stack, stack.length * 2);
+                }
+                for (int child = first; child < end; child++) {
+                    stack[top++] = child;
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Determines if at least one rectangle strictly contains the point.
+     *
+     * @param x the x coordinate of the point
+     * @param y the y coordinate of the point
+     * @return true if the point is strictly inside a rectangle, false otherwise
+     */
+    public boolean anyContains(int x, int y) {
+        return forEachContaining(x, y, id -> { }) > 0;
+    }
+
+    /**
+     * Determines for each point whether at least one rectangle strictly contains it, visiting the
+     * points in Hilbert curve order.
+     *
+     * @param xCoordinates the x coordinates of the points
+     * @param yCoordinates the y coordinates of the points, in the same order
+     * @return the containment result of each point, in the order of the input
+     * @throws GeometryValidationException if either array is null or their lengths differ
+     * @see #containsPoints(int[], int[], SpaceFillingCurve)
+     */
+    public boolean[] containsPoints(int[] xCoordinates, int[] yCoordinates) {
+        return containsPoints(xCoordinates, yCoordinates, SpaceFillingCurve.HILBERT);
+    }
+
+    /**
+     * Determines for each point whether at least one rectangle strictly contains it, visiting the
+     * points in the order of a space-filling curve.
+     * <p>
+     * Points arriving in random order make every query start from cold nodes. Sorting them along the
+     * curve first means that consecutive queries are close in the plane and mostly traverse the same
+     * nodes, which are then still in cache; the results are scattered back to the input positions.
+     * </p>
+     *
+     * @param xCoordinates the x coordinates of the points
+     * @param yCoordinates the y coordinates of the points, in the same order
+     * @param curve the curve ordering the queries
+     * @return the containment result of each point, in the order of the input
+     * @throws GeometryValidationException if either array is null or their lengths differ
+     */
+    public boolean[] containsPoints(int[] xCoordinates, int[] yCoordinates, SpaceFillingCurve curve) {
+        if (xCoordinates == null || yCoordinates == null || xCoordinates.length != yCoordinates.length) {
+            throw new GeometryValidationException("Point coordinate arrays must be non-null and of the same length");
+        }
+        boolean[] results = new boolean[xCoordinates.length];
+        if (entryIds.length == 0) {
+            return results;
+        }
+        int[][] stack = {new int[64]};
+        for (int position : curve.order(xCoordinates, yCoordinates)) {
+            results[position] = containsAny(xCoordinates[position], yCoordinates[position], stack);
+        }
+        return results;
+    }
+
+    /**
+     * Finds the rectangles nearest to a point, closest first.
+     * <p>
+     * The distance of a point to a rectangle is the Euclidean distance to its bounds, which is zero
+     * when the point is inside the rectangle or on its edges. Ties are reported in no particular order.
+     * </p>
+     *
+     * @param x the x coordinate of the point
+     * @param y the y coordinate of the point
+     * @param k the maximum number of rectangles to return
+     * @return up to {@code k} rectangles in increasing order of distance
+     * @throws IllegalArgumentException if k is negative
+     */
+    public List<NearestRectangle> nearest(int x, int y, int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k cannot be negative: " + k);
+        }
+        List<NearestRectangle> result = new ArrayList<>(Math.min(k, entryIds.length));
+        if (k == 0 || entryIds.length == 0) {
+            return result;
+        }
+        DistanceHeap heap = new DistanceHeap();
+        int root = nodeMinX.length - 1;
+        heap.push(squaredDistance(x, y, nodeMinX[root], nodeMinY[root], nodeMaxX[root], nodeMaxY[root]), root);
+        while (!heap.isEmpty() && result.size() < k) {
+            long distance = heap.peekDistance();
+            int reference = heap.pop();
+            if (reference < 0) {
+                int entry = ~reference;
+                result.add(new NearestRectangle(entryIds[entry], CompactRectangle.ofBounds(
+                        entryMinX[entry], entryMinY[entry], entryMaxX[entry], entryMaxY[entry]), distance));
+                continue;
+            }
+            int first = nodeFirst[reference];
+            int end = first + nodeCount[reference];
+            if (reference < leafNodes) {
+                for (int entry = first; entry < end; entry++) {
+                    heap.push(squaredDistance(x, y, entryMinX[entry], entryMinY[entry], entryMaxX[entry], entryMaxY[entry]),
+                            ~entry);
+                }
+            } else {
+                for (int child = first; child < end; child++) {
+                    heap.push(squaredDistance(x, y, nodeMinX[child], nodeMinY[child], nodeMaxX[child], nodeMaxY[child]),
+                            child);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Computes the squared Euclidean distance from a point to rectangle bounds.
+     * <p>
+     * Each axis distance is computed in {@code long} arithmetic, so it is exact across the whole int
+     * range. Squared distances that exceed {@link Long#MAX_VALUE}, which requires axis distances beyond
+     * about 3.04 &times; 10<sup>9</sup>, saturate at {@link Long#MAX_VALUE}.
+     * </p>
+     *
+     * @param x the x coordinate of the point
+     * @param y the y coordinate of the point
+     * @param minX the minimum x coordinate of the rectangle
+     * @param minY the minimum y coordinate of the rectangle
+     * @param maxX the maximum x coordinate of the rectangle
+     * @param maxY the maximum y coordinate of the rectangle
+     * @return the squared distance, zero if the point is inside the bounds or on their edges
+     */
+    public static long squaredDistance(int x, int y, int minX, int minY, int maxX, int maxY) {
+        long dx = axisDistance(x, minX, maxX);
+        long dy = axisDistance(y, minY, maxY);
+        long squareX = dx * dx;
+        long squareY = dy * dy;
+        // Axis distances are below 2^32, so a negative square or sum means the result exceeds 2^63 - 1
+        if (squareX < 0 || squareY < 0 || squareX + squareY < 0) {
+            return Long.MAX_VALUE;
+        }
+        return squareX + squareY;
+    }
+
+    /**
+     * Depth-first containment test stopping at the first containing rectangle, reusing the
+     * traversal stack held in {@code stack[0]} across calls.
+     */
+    private boolean containsAny(int x, int y, int[][] stack) {
+        int[] nodes = stack[0];
+        int top = 0;
+        nodes[top++] = nodeMinX.length - 1;
+        while (top > 0) {
+            int node = nodes[--top];
+            if (x <= nodeMinX[node] || x >= nodeMaxX[node] || y <= nodeMinY[node] || y >= nodeMaxY[node]) {
+                continue;
+            }
+            int first = nodeFirst[node];
+            int end = first + nodeCount[node];
+            if (node < leafNodes) {
+                for (int entry = first; entry < end; entry++) {
+                    if (x > entryMinX[entry] && x < entryMaxX[entry] && y > entryMinY[entry] && y < entryMaxY[entry]) {
+                        return true;
+                    }
+                }
+            } else {
+                if (top + NODE_CAPACITY > nodes.length) {
+                    nodes = Arrays.copyOf(nodes, nodes.length * 2);
+                    stack[0] = nodes;
+                }
+                for (int child = first; child < end; child++) {
+                    nodes[top++] = child;
+                }
+            }
+        }
+        return false;
+    }
+
+    int[][] entryArrays() {
+        return new int[][]{entryIds, entryMinX, entryMinY, entryMaxX, entryMaxY};
+    }
+
+    int[][] nodeArrays() {
+        return new int[][]{nodeMinX, nodeMinY, nodeMaxX, nodeMaxY, nodeFirst, nodeCount};
+    }
+
+    int leafNodes() {
+        return leafNodes;
+    }
+
+    private static long axisDistance(int value, int min, int max) {
+        if (value < min) {
+            return (long) min - value;
+        }
+        if (value > max) {
+            return (long) value - max;
+        }
+        return 0;
+    }
+
+    /**
+     * Computes the Sort-Tile-Recursive order of {@code size} boxes: boxes are sorted by the x of their
+     * centre, cut into vertical slices, and each slice is sorted by the y of their centre. The starts of
+     * the resulting groups of at most {@link #NODE_CAPACITY} boxes, followed by {@code size}, are stored
+     * in {@code groups[0]}.
+     */
+    private static int[] strOrder(int[] minX, int[] minY, int[] maxX, int[] maxY, int size, int[][] groups) {
+        int nodes = Math.max(1, (size + NODE_CAPACITY - 1) / NODE_CAPACITY);
+        int slices = (int) Math.ceil(Math.sqrt(nodes));
+        int sliceSize = slices * NODE_CAPACITY;
+
+        long[] keys = new long[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = sortKey((long) minX[i] + maxX[i], i);
+        }
+        Arrays.sort(keys);
+        int[] order = new int[size];
+        List<Integer> starts = new ArrayList<>();
+        for (int sliceFrom = 0; sliceFrom < size; sliceFrom += sliceSize) {
+            int sliceTo = Math.min(size, sliceFrom + sliceSize);
+            long[] sliceKeys = new long[sliceTo - sliceFrom];
+            for (int i = sliceFrom; i < sliceTo; i++) {
+                int box = sortIndex(keys[i]);
+                sliceKeys[i - sliceFrom] = sortKey((long) minY[box] + maxY[box], box);
+            }
+            Arrays.sort(sliceKeys);
+            for (int i = sliceFrom; i < sliceTo; i++) {
+                order[i] = sortIndex(sliceKeys[i - sliceFrom]);
+                if ((i - sliceFrom) % NODE_CAPACITY == 0) {
+                    starts.add(i);
+                }
+            }
+        }
+        starts.add(size);
+        groups[0] = starts.stream().mapToInt(Integer::intValue).toArray();
+        return order;
+    }
+
+    /**
+     * Packs a doubled centre coordinate (33 bits, signed) and an index (31 bits) into a sortable long.
+     */
+    private static long sortKey(long doubledCentre, int index) {
+        return (doubledCentre << 31) | index;
+    }
+
+    private static int sortIndex(long key) {
+        return (int) (key & Integer.MAX_VALUE);
+    }
+
+    private static int[] permute(int[] values, int[] order) {
+        int[] permuted = new int[order.length];
+        for (int i = 0; i < order.length; i++) {
+            permuted[i] = values[order[i]];
+        }
+        return permuted;
+    }
+
+    private static int[] concat(List<Level> levels, Function<Level, int[]> field) {
+        int total = levels.stream().mapToInt(Level::size).sum();
+        int[] result = new int[total];
+        int offset = 0;
+        for (Level level : levels) {
+            int[] values = field.apply(level);
+            System.arraycopy(values, 0, result, offset, values.length);
+            offset += values.length;
+        }
+        return result;
+    }
+
+    /**
+     * One level of nodes while the tree is being built.
+     */
+    private record Level(int[] minX, int[] minY, int[] maxX, int[] maxY, int[] first, int[] count) {
+
+        /**
+         * Creates the parent level of consecutive groups of children whose bounds are given,
+         * where children are numbered from {@code childOffset}.
+         */
+        static Level over(int[] groupStarts, int childOffset, int[] minX, int[] minY, int[] maxX, int[] maxY) {
+            int nodes = Math.max(1, groupStarts.length - 1);
+            Level level = new Level(new int[nodes], new int[nodes], new int[nodes], new int[nodes],
+                    new int[nodes], new int[nodes]);
+            for (int node = 0; node < groupStarts.length - 1; node++) {
+                int from = groupStarts[node];
+                int to = groupStarts[node + 1];
+                int boundsMinX = Integer.MAX_VALUE, boundsMinY = Integer.MAX_VALUE;
+                int boundsMaxX = Integer.MIN_VALUE, boundsMaxY = Integer.MIN_VALUE;
+                for (int child = from; child < to; child++) {
+                    boundsMinX = Math.min(boundsMinX, minX[child]);
+                    boundsMinY = Math.min(boundsMinY, minY[child]);
+                    boundsMaxX = Math.max(boundsMaxX, maxX[child]);
+                    boundsMaxY = Math.max(boundsMaxY, maxY[child]);
+                }
+                level.minX[node] = boundsMinX;
+                level.minY[node] = boundsMinY;
+                level.maxX[node] = boundsMaxX;
+                level.maxY[node] = boundsMaxY;
+                level.first[node] = childOffset + from;
+                level.count[node] = to - from;
+            }
+            return level;
+        }
+
+        int size() {
+            return minX.length;
+        }
+
+        Level permute(int[] order) {
+            return new Level(RectangleTree.permute(minX, order), RectangleTree.permute(minY, order),
+                    RectangleTree.permute(maxX, order), RectangleTree.permute(maxY, order),
+                    RectangleTree.permute(first, order), RectangleTree.permute(count, order));
+        }
+    }
+
+    /**
+     * Binary min-heap of (squared distance, reference) pairs held in primitive arrays.
+     * Non-negative references are nodes, negative ones are complemented entry positions.
+     */
+    private static final class DistanceHeap {
+
+        private long[] distances = new long[64];
+
+        private int[] references = new int[64];
+
+        private int size;
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        long peekDistance() {
+            return distances[0];
+        }
+
+        void push(long distance, int reference) {
+            if (size == distances.length) {
+                distances = Arrays.copyOf(distances, size * 2);
+                references = Arrays.copyOf(references, size * 2);
+            }
+            int index = size++;
+            while (index > 0) {
+                int parent = (index - 1) >>> 1;
+                if (distances[parent] <= distance) {
+                    break;
+                }
+                distances[index] = distances[parent];
+                references[index] = references[parent];
+                index = parent;
+            }
+            distances[index] = distance;
+            references[index] = reference;
+        }
+
+        int pop() {
+            int result = references[0];
+            long distance = distances[--size];
+            int reference = references[size];
+            int index = 0;
+            while (true) {
+                int child = 2 * index + 1;
+                if (child >= size) {
+                    break;
+                }
+                if (child + 1 < size && distances[child + 1] < distances[child]) {
+                    child++;
+                }
+                if (distances[child] >= distance) {
+                    break;
+                }
+                distances[index] = distances[child];
+                references[index] = references[child];
+                index = child;
+            }
+            distances[index] = distance;
+            references[index] = reference;
+            return result;
+        }
+    }
+}
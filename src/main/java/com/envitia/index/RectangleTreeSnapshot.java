@@ -0,0 +1,308 @@
+package com.envitia.index;
+
+import com.envitia.exception.GeometryValidationException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+import java.util.zip.CRC32C;
+
+/**
+ * Read-only {@link RectangleTree} opened from a memory-mapped snapshot file.
+ * <p>
+ * Building a tree requires validating every rectangle and sorting them, which takes long for
+ * large inputs. A snapshot stores the flat arrays of an already built tree, so opening it only
+ * maps the file and checks its header: queries read the mapped arrays directly, and the operating
+ * system pages the file in as the traversals touch it. Nothing is deserialized onto the heap.
+ * </p>
+ * <p>
+ * The file format, in little-endian byte order, is a 32-byte header followed by the payload:
+ * <ul>
+ *   <li>magic number {@code "ENVRTREE"} (8 bytes)</li>
+ *   <li>format version (4 bytes), currently {@value #VERSION}</li>
+ *   <li>number of entries, number of nodes and number of leaf nodes (4 bytes each)</li>
+ *   <li>CRC-32C of the payload (8 bytes)</li>
+ *   <li>payload: the entry identifier, minX, minY, maxX and maxY arrays, then the node minX, minY,
+ *       maxX, maxY, first child and child count arrays, each as consecutive ints</li>
+ * </ul>
+ * The whole file is mapped as a single buffer, so it cannot exceed 2 GiB, which is about
+ * 100 million rectangles.
+ * </p>
+ * <p>
+ * Containment queries follow the same strict semantics as {@link RectangleTree#forEachContaining}.
+ * Instances are immutable and safe for concurrent queries.
+ * </p>
+ */
+public final class RectangleTreeSnapshot {
+
+    /**
+     * The current version of the snapshot format.
+     */
+    public static final int VERSION = 1;
+
+    private static final long MAGIC = 0x4545525452564E45L;
+
+    private static final int HEADER_BYTES = 32;
+
+    private static final int ENTRY_ARRAYS = 5;
+
+    private static final int NODE_ARRAYS = 6;
+
+    private final int size;
+
+    private final IntBuffer entryIds;
+    private final IntBuffer entryMinX;
+    private final IntBuffer entryMinY;
+    private final IntBuffer entryMaxX;
+    private final IntBuffer entryMaxY;
+
+    private final IntBuffer nodeMinX;
+    private final IntBuffer nodeMinY;
+    private final IntBuffer nodeMaxX;
+    private final IntBuffer nodeMaxY;
+    private final IntBuffer nodeFirst;
+    private final IntBuffer nodeCount;
+
+    private final int root;
+
+    private final int leafNodes;
+
+    private RectangleTreeSnapshot(ByteBuffer payload, int entries, int nodes, int leafNodes) {
+        this.size = entries;
+        IntBuffer[] arrays = new IntBuffer[ENTRY_ARRAYS + NODE_ARRAYS];
+        int offset = 0;
+        for (int i = 0; i < arrays.length; i++) {
+            int length = i < ENTRY_ARRAYS ? entries : nodes;
+            arrays[i] = payload.slice(offset, length * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+            offset += length * Integer.BYTES;
+        }
+        this.entryIds = arrays[0];
+        this.entryMinX = arrays[1];
+        this.entryMinY = arrays[2];
+        this.entryMaxX = arrays[3];
+        this.entryMaxY = arrays[4];
+        this.nodeMinX = arrays[5];
+        this.nodeMinY = arrays[6];
+        this.nodeMaxX = arrays[7];
+        this.nodeMaxY = arrays[8];
+        this.nodeFirst = arrays[9];
+        this.nodeCount = arrays[10];
+        this.root = nodes - 1;
+        this.leafNodes = leafNodes;
+    }
+
+    /**
+     * Writes a snapshot of a tree.
+     * <p>
+     * The snapshot is first written to a temporary file next to {@code path}, which is then moved
+     * over {@code path}, so readers never observe a partially written snapshot. If writing or moving
+     * fails, the temporary file is deleted.
+     * </p>
+     *
+     * @param tree the tree to persist
+     * @param path the file to write
+     * @throws IOException if the file cannot be written
+     * @throws GeometryValidationException if the tree is null
+     * @throws IllegalArgumentException if the snapshot would exceed 2 GiB
+     */
+    public static void write(RectangleTree tree, Path path) throws IOException {
+        if (tree == null) {
+            throw new GeometryValidationException("Tree cannot be null");
+        }
+        int[][] entryArrays = tree.entryArrays();
+        int[][] nodeArrays = tree.nodeArrays();
+        long fileBytes = payloadBytes(entryArrays[0].length, nodeArrays[0].length) + HEADER_BYTES;
+        if (fileBytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Snapshot of " + tree.size() + " rectangles exceeds 2 GiB");
+        }
+
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 16).order(ByteOrder.LITTLE_ENDIAN);
+                CRC32C checksum = new CRC32C();
+                channel.position(HEADER_BYTES);
+                for (int[] array : entryArrays) {
+                    writeInts(channel, buffer, array, checksum);
+                }
+                for (int[] array : nodeArrays) {
+                    writeInts(channel, buffer, array, checksum);
+                }
+                buffer.clear();
+                buffer.putLong(MAGIC)
+                        .putInt(VERSION)
+                        .putInt(entryArrays[0].length)
+                        .putInt(nodeArrays[0].length)
+                        .putInt(tree.leafNodes())
+                        .putLong(checksum.getValue())
+                        .flip();
+                channel.position(0);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(true);
+            }
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (Throwable e) {
+            try {
+                Files.deleteIfExists(temporary);
+            } catch (IOException cleanup) {
+                e.addSuppressed(cleanup);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Opens a snapshot, verifying its checksum.
+     *
+     * @param path the snapshot file
+     * @return the mapped tree
+     * @throws IOException if the file cannot be read, is not a valid snapshot or fails checksum verification
+     */
+    public static RectangleTreeSnapshot open(Path path) throws IOException {
+        return open(path, true);
+    }
+
+    /**
+     * Opens a snapshot.
+     * <p>
+     * Verifying the checksum reads the whole file once. Skipping it makes opening constant-time,
+     * but a corrupted snapshot may then give wrong results or fail with an
+     * {@link IndexOutOfBoundsException} during queries.
+     * </p>
+     *
+     * @param path the snapshot file
+     * @param verifyChecksum whether to verify the checksum of the payload
+     * @return the mapped tree
+     * @throws IOException if the file cannot be read, is not a valid snapshot or fails checksum verification
+     */
+    public static RectangleTreeSnapshot open(Path path, boolean verifyChecksum) throws IOException {
+        MappedByteBuffer mapped;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long fileBytes = channel.size();
+            if (fileBytes < HEADER_BYTES || fileBytes > Integer.MAX_VALUE) {
+                throw new IOException("Not a rectangle tree snapshot, size is " + fileBytes + " bytes: " + path);
+            }
+            // The mapping stays valid after the channel is closed
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileBytes);
+        }
+        ByteBuffer header = mapped.slice(0, HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        if (header.getLong(0) != MAGIC) {
+            throw new IOException("Not a rectangle tree snapshot: " + path);
+        }
+        int version = header.getInt(8);
+        if (version != VERSION) {
+            throw new IOException("Unsupported snapshot version " + version + ", expected " + VERSION + ": " + path);
+        }
+        int entries = header.getInt(12);
+        int nodes = header.getInt(16);
+        int leafNodes = header.getInt(20);
+        if (entries < 0 || nodes < 1 || leafNodes < 1 || leafNodes > nodes
+                || HEADER_BYTES + payloadBytes(entries, nodes) != mapped.capacity()) {
+            throw new IOException("Corrupted snapshot header: " + entries + " entries, " + nodes + " nodes, "
+                    + leafNodes + " leaves in " + mapped.capacity() + " bytes: " + path);
+        }
+        ByteBuffer payload = mapped.slice(HEADER_BYTES, mapped.capacity() - HEADER_BYTES);
+        if (verifyChecksum) {
+            CRC32C checksum = new CRC32C();
+            checksum.update(payload.duplicate());
+            if (checksum.getValue() != header.getLong(24)) {
+                throw new IOException("Snapshot checksum mismatch: " + path);
+            }
+        }
+        return new RectangleTreeSnapshot(payload, entries, nodes, leafNodes);
+    }
+
+    /**
+     * Returns the number of rectangles in the snapshot.
+     *
+     * @return the number of indexed rectangles
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Reports the identifiers of all rectangles that strictly contain the point.
+     *
+     * @param x the x coordinate of the point
+     * @param y the y coordinate of the point
+     * @param action the consumer receiving the identifier of each containing rectangle
+     * @return the number of containing rectangles
+     */
+    public int forEachContaining(int x, int y, IntConsumer action) {
+        if (size == 0) {
+            return 0;
+        }
+        int found = 0;
+        int[] stack = new int[64];
+        int top = 0;
+        stack[top++] = root;
+        while (top > 0) {
+            int node = stack[--top];
+            if (x <= nodeMinX.get(node) || x >= nodeMaxX.get(node) || y <= nodeMinY.get(node) || y >= nodeMaxY.get(node)) {
+                continue;
+            }
+            int first = nodeFirst.get(node);
+            int end = first + nodeCount.get(node);
+            if (node < leafNodes) {
+                for (int entry = first; entry < end; entry++) {
+                    if (x > entryMinX.get(entry) && x < entryMaxX.get(entry)
+                            && y > entryMinY.get(entry) && y < entryMaxY.get(entry)) {
+                        action.accept(entryIds.get(entry));
+                        found++;
+                    }
+                }
+            } else {
+                if (top + (end - first) > stack.length) {
+                    stack = Arrays.copyOf(stack, Math.max(stack.length * 2, top + (end - first)));
+                }
+                for (int child = first; child < end; child++) {
+                    stack[top++] = child;
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Determines if at least one rectangle strictly contains the point.
+     *
+     * @param x the x coordinate of the point
+     * @param y the y coordinate of the point
+     * @return true if the point is strictly inside a rectangle, false otherwise
+     */
+    public boolean anyContains(int x, int y) {
+        return forEachContaining(x, y, id -> { }) > 0;
+    }
+
+    private static long payloadBytes(int entries, int nodes) {
+        return ((long) ENTRY_ARRAYS * entries + (long) NODE_ARRAYS * nodes) * Integer.BYTES;
+    }
+
+    private static void writeInts(FileChannel channel, ByteBuffer buffer, int[] values, CRC32C checksum) throws IOException {
+        int index = 0;
+        while (index < values.length) {
+            buffer.clear();
+            int count = Math.min(values.length - index, buffer.capacity() / Integer.BYTES);
+            buffer.asIntBuffer().put(values, index, count);
+            buffer.limit(count * Integer.BYTES);
+            index += count;
+            checksum.update(buffer.duplicate());
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+}
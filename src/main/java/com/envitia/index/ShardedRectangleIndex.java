@@ -0,0 +1,317 @@
+package com.envitia.index;
+
+import com.envitia.exception.GeometryValidationException;
+import com.envitia.geometry.CompactRectangle;
+import com.envitia.geometry.Point;
+import com.envitia.geometry.Rectangle;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.IntConsumer;
+
+/**
+ * Rectangle index partitioned into shards, each queried by its own worker thread.
+ * <p>
+ * The plane is cut into square tiles and every tile is owned by one shard, chosen by hashing
+ * the tile coordinates so that a dense region is spread over all shards. A rectangle is added
+ * to every shard owning a tile it overlaps, and each shard keeps its rectangles in its own
+ * {@link RectangleTree}. A point can only be strictly inside rectangles that overlap its tile,
+ * so a point query is routed to the single shard owning that tile, and a batch of queries is
+ * split by shard and evaluated with one task per shard on that shard's worker. Each worker only
+ * ever touches its own shard, which keeps the shards' data in separate caches instead of all
+ * cores contending for one index.
+ * </p>
+ * <p>
+ * Containment has the strict semantics of {@link Rectangle#containsPoint}, evaluated on each
+ * rectangle's bounding box, so results are identical to scanning the rectangles one by one.
+ * Rectangles overlapping more than {@value #MAX_TILES_PER_SHARD} tiles per shard are simply
+ * added to every shard rather than enumerating their tiles.
+ * </p>
+ * <p>
+ * Queries are safe to run concurrently. The shard workers are daemon threads that are stopped
+ * by {@link #close()}.
+ * </p>
+ */
+public final class ShardedRectangleIndex implements AutoCloseable {
+
+    /**
+     * Tiles per shard above which a rectangle is added to every shard without enumerating its tiles.
+     */
+    static final int MAX_TILES_PER_SHARD = 16;
+
+    /**
+     * Batches smaller than this are evaluated on the calling thread, where handing them off would cost more than it saves.
+     */
+    static final int PARALLEL_BATCH_THRESHOLD = 2048;
+
+    private final int tileSize;
+
+    private final RectangleTree[] shards;
+
+    private final ExecutorService[] workers;
+
+    private volatile boolean closed;
+
+    private ShardedRectangleIndex(int tileSize, RectangleTree[] shards) {
+        this.tileSize = tileSize;
+        this.shards = shards;
+        this.workers = new ExecutorService[shards.length];
+        for (int shard = 0; shard < shards.length; shard++) {
+            String name = "rectangle-shard-" + shard;
+            workers[shard] = Executors.newSingleThreadExecutor(task -> {
+                Thread thread = new Thread(task, name);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    /**
+     * Builds a sharded index over rectangles, whose identifiers are their positions in the collection.
+     *
+     * @param rectangles the rectangles to index
+     * @param tileSize the side of the tiles, in coordinate units
+     * @param shardCount the number of shards and worker threads
+     * @return a new sharded index
+     * @throws GeometryValidationException if the collection or one of its elements is null
+     * @throws IllegalArgumentException if tileSize or shardCount is not positive
+     */
+    public static ShardedRectangleIndex build(Collection<Rectangle> rectangles, int tileSize, int shardCount) {
+        if (rectangles == null) {
+            throw new GeometryValidationException("Rectangles cannot be null");
+        }
+        List<CompactRectangle> bounds = new ArrayList<>(rectangles.size());
+        for (Rectangle rectangle : rectangles) {
+            if (rectangle == null) {
+                throw new GeometryValidationException("Rectangle cannot be null");
+            }
+            bounds.add(CompactRectangle.ofBounds(rectangle.getMinPoint().x(), rectangle.getMinPoint().y(),
+                    rectangle.getMaxPoint().x(), rectangle.getMaxPoint().y()));
+        }
+        return buildFromBounds(bounds, tileSize, shardCount);
+    }
+
+    /**
+     * Builds a sharded index over rectangle bounds, whose identifiers are their positions in the list.
+     *
+     * @param rectangles the rectangle bounds to index
+     * @param tileSize the side of the tiles, in coordinate units
+     * @param shardCount the number of shards and worker threads
+     * @return a new sharded index
+     * @throws GeometryValidationException if the list or one of its elements is null
+     * @throws IllegalArgumentException if tileSize or shardCount is not positive
+     */
+    public static ShardedRectangleIndex buildFromBounds(List<CompactRectangle> rectangles, int tileSize, int shardCount) {
+        if (rectangles == null) {
+            throw new GeometryValidationException("Rectangles cannot be null");
+        }
+        if (tileSize < 1 || shardCount < 1) {
+            throw new IllegalArgumentException("Tile size and shard count must be positive, found: "
+                    + tileSize + " and " + shardCount);
+        }
+        int[][] shardIds = new int[shardCount][16];
+        int[] shardSizes = new int[shardCount];
+        boolean[] added = new boolean[shardCount];
+        long maxTiles = (long) MAX_TILES_PER_SHARD * shardCount;
+        for (int id = 0; id < rectangles.size(); id++) {
+            CompactRectangle rectangle = rectangles.get(id);
+            if (rectangle == null) {
+                throw new GeometryValidationException("Rectangle cannot be null");
+            }
+            int fromTileX = Math.floorDiv(rectangle.getMinX(), tileSize);
+            int toTileX = Math.floorDiv(rectangle.getMaxX(), tileSize);
+            int fromTileY = Math.floorDiv(rectangle.getMinY(), tileSize);
+            int toTileY = Math.floorDiv(rectangle.getMaxY(), tileSize);
+            long tiles = ((long) toTileX - fromTileX + 1) * ((long) toTileY - fromTileY + 1);
+            Arrays.fill(added, tiles > maxTiles);
+            if (tiles <= maxTiles) {
+                for (int tileY = fromTileY; tileY <= toTileY; tileY++) {
+                    for (int tileX = fromTileX; tileX <= toTileX; tileX++) {
+                        added[shardOfTile(tileX, tileY, shardCount)] = true;
+                    }
+                }
+            }
+            for (int shard = 0; shard < shardCount; shard++) {
+                if (added[shard]) {
+                    if (shardSizes[shard] == shardIds[shard].length) {
+                        shardIds[shard] = Arrays.copyOf(shardIds[shard], shardSizes[shard] * 2);
+                    }
+                    shardIds[shard][shardSizes[shard]++] = id;
+                }
+            }
+        }
+
+        RectangleTree[] shards = new RectangleTree[shardCount];
+        for (int shard = 0; shard < shardCount; shard++) {
+            int[] ids = Arrays.copyOf(shardIds[shard], shardSizes[shard]);
+            CompactRectangle[] members = new CompactRectangle[ids.length];
+            for (int i = 0; i < ids.length; i++) {
+                members[i] = rectangles.get(ids[i]);
+            }
+            shards[shard] = RectangleTree.build(ids, members);
+        }
+        return new ShardedRectangleIndex(tileSize, shards);
+    }
+
+    /**
+     * Returns the number of shards.
+     *
+     * @return the number of shards
+     */
+    public int getShardCount() {
+        return shards.length;
+    }
+
+    /**
+     * Returns the number of rectangles held by each shard; rectangles overlapping tiles of several
+     * shards are counted in each of them.
+     *
+     * @return the shard sizes, indexed by shard
+     */
+    public int[] getShardSizes() {
+        int[] sizes = new int[shards.length];
+        for (int shard = 0; shard < shards.length; shard++) {
+            sizes[shard] = shards[shard].size();
+        }
+        return sizes;
+    }
+
+    /**
+     * Returns the shard owning the tile of a point.
+     *
+     * @param x the x coordinate of the point
+     * @param y the y coordinate of the point
+     * @return the index of the shard answering queries for the point
+     */
+    public int shardOf(int x, int y) {
+        return shardOfTile(Math.floorDiv(x, tileSize), Math.floorDiv(y, tileSize), shards.length);
+    }
+
+    /**
+     * Determines if at least one rectangle strictly contains the point.
+     *
+     * @param point the point to check
+     * @return true if the point is strictly inside a rectangle, false otherwise
+     */
+    public boolean containsPoint(Point point) {
+        return containsPoint(point.x(), point.y());
+    }
+
+    /**
+     * Determines if at least one rectangle strictly contains the point with the given coordinates.
+     * The query runs on the calling thread against the owning shard only.
+     *
+     * @param x the x coordinate of the point
+     * @param y the y coordinate of the point
+     * @return true if the point is strictly inside a rectangle, false otherwise
+     */
+    public boolean containsPoint(int x, int y) {
+        return shards[shardOf(x, y)].anyContains(x, y);
+    }
+
+    /**
+     * Reports the identifiers of all rectangles that strictly contain the point.
+     *
+     * @param x the x coordinate of the point
+     * @param y the y coordinate of the point
+     * @param action the consumer receiving the identifier of each containing rectangle
+     * @return the number of containing rectangles
+     */
+    public int forEachContaining(int x, int y, IntConsumer action) {
+        return shards[shardOf(x, y)].forEachContaining(x, y, action);
+    }
+
+    /**
+     * Determines for each point whether at least one rectangle strictly contains it.
+     * <p>
+     * The points are grouped by owning shard and each group is evaluated by that shard's worker;
+     * the calling thread waits for all of them. Batches of fewer than {@value #PARALLEL_BATCH_THRESHOLD}
+     * points are evaluated on the calling thread.
+     * </p>
+     *
+     * @param xCoordinates the x coordinates of the points
+     * @param yCoordinates the y coordinates of the points, in the same order
+     * @return the containment result of each point, in the order of the input
+     * @throws GeometryValidationException if either array is null or their lengths differ
+     * @throws IllegalStateException if the index has been closed
+     */
+    public boolean[] containsPoints(int[] xCoordinates, int[] yCoordinates) {
+        if (xCoordinates == null || yCoordinates == null || xCoordinates.length != yCoordinates.length) {
+            throw new GeometryValidationException("Point coordinate arrays must be non-null and of the same length");
+        }
+        if (closed) {
+            throw new IllegalStateException("Index is closed");
+        }
+        int count = xCoordinates.length;
+        boolean[] results = new boolean[count];
+        if (count < PARALLEL_BATCH_THRESHOLD) {
+            for (int i = 0; i < count; i++) {
+                results[i] = containsPoint(xCoordinates[i], yCoordinates[i]);
+            }
+            return results;
+        }
+
+        // Counting sort of the query positions by shard
+        int[] owners = new int[count];
+        int[] starts = new int[shards.length + 1];
+        for (int i = 0; i < count; i++) {
+            owners[i] = shardOf(xCoordinates[i], yCoordinates[i]);
+            starts[owners[i] + 1]++;
+        }
+        for (int shard = 0; shard < shards.length; shard++) {
+            starts[shard + 1] += starts[shard];
+        }
+        int[] positions = new int[count];
+        int[] fill = Arrays.copyOf(starts, shards.length);
+        for (int i = 0; i < count; i++) {
+            positions[fill[owners[i]]++] = i;
+        }
+
+        List<CompletableFuture<Void>> tasks = new ArrayList<>(shards.length);
+        for (int shard = 0; shard < shards.length; shard++) {
+            if (starts[shard] == starts[shard + 1]) {
+                continue;
+            }
+            RectangleTree tree = shards[shard];
+            int from = starts[shard];
+            int to = starts[shard + 1];
+            Runnable task = () -> {
+                for (int i = from; i < to; i++) {
+                    int position = positions[i];
+                    results[position] = tree.anyContains(xCoordinates[position], yCoordinates[position]);
+                }
+            };
+            try {
+                tasks.add(CompletableFuture.runAsync(task, workers[shard]));
+            } catch (RejectedExecutionException e) {
+                throw new IllegalStateException("Index is closed", e);
+            }
+        }
+        // Completing the futures publishes the workers' writes to the results array
+        CompletableFuture.allOf(tasks.toArray(CompletableFuture[]::new)).join();
+        return results;
+    }
+
+    /**
+     * Stops the shard workers. Single-point queries keep working; batch queries throw afterwards.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        for (ExecutorService worker : workers) {
+            worker.shutdown();
+        }
+    }
+
+    private static int shardOfTile(int tileX, int tileY, int shardCount) {
+        int hash = tileX * 0x9E3779B1 + tileY * 0x85EBCA77;
+        hash ^= hash >>> 15;
+        return Math.floorMod(hash, shardCount);
+    }
+}
@@ -0,0 +1,155 @@
+package com.envitia.index;
+
+/**
+ * Enum representing the space-filling curves used to order points so that consecutive points are close in the plane.
+ * <p>
+ * Both curves map a point to a 64-bit key by {@link #key}, compared as an unsigned value; coordinates
+ * are offset by 2^31 so that negative coordinates order before positive ones.
+ * </p>
+ */
+public enum SpaceFillingCurve {
+    /**
+     * The Hilbert curve: consecutive keys are always adjacent cells, at the cost of a few more operations per key.
+     */
+    HILBERT {
+        @Override
+        long key(long x, long y, int bits) {
+            long key = 0;
+            long mask = (1L << bits) - 1;
+            for (long s = 1L << (bits - 1); s > 0; s >>>= 1) {
+                int rx = (x & s) != 0 ? 1 : 0;
+                int ry = (y & s) != 0 ? 1 : 0;
+                key += s * s * ((3 * rx) ^ ry);
+                // Rotate the quadrant so the lower bits follow the curve's orientation in it
+                if (ry == 0) {
+                    if (rx == 1) {
+                        x = ~x & mask;
+                        y = ~y & mask;
+                    }
+                    long swap = x;
+                    x = y;
+                    y = swap;
+                }
+            }
+            return key;
+        }
+    },
+
+    /**
+     * The Z-order (Morton) curve: the bits of x and y interleaved, cheap to compute but with long jumps between quadrants.
+     */
+    Z_ORDER {
+        @Override
+        long key(long x, long y, int bits) {
+            return spread(x) | spread(y) << 1;
+        }
+    };
+
+    /**
+     * The number of bits per axis of the grid on which {@link #order} computes keys.
+     */
+    static final int ORDER_BITS = 16;
+
+    private static final int RADIX_BITS = 11;
+
+    private static final int RADIX_MASK = (1 << RADIX_BITS) - 1;
+
+    /**
+     * Computes the position of a point along the curve.
+     *
+     * @param x the x coordinate of the point
+     * @param y the y coordinate of the point
+     * @return the curve key, to be compared as an unsigned value
+     */
+    public long key(int x, int y) {
+        return key(Integer.toUnsignedLong(x ^ Integer.MIN_VALUE), Integer.toUnsignedLong(y ^ Integer.MIN_VALUE), Integer.SIZE);
+    }
+
+    /**
+     * Computes the key of a cell of a {@code 2^bits} by {@code 2^bits} grid.
+     */
+    abstract long key(long x, long y, int bits);
+
+    /**
+     * Computes the order in which to visit points along the curve.
+     * <p>
+     * Keys are computed on a grid of {@code 2^16} by {@code 2^16} cells laid over the bounding box
+     * of the points: finer positions do not change which index nodes consecutive queries share, and
+     * 32-bit keys make the sort cheaper. Each key is packed with the position of its point into a
+     * long and sorted with a least-significant-digit radix sort over primitive arrays, 11 bits per
+     * pass, skipping the passes whose digit is the same for every key. Points in the same cell keep
+     * their input order.
+     * </p>
+     *
+     * @param xCoordinates the x coordinates of the points
+     * @param yCoordinates the y coordinates of the points, in the same order
+     * @return the positions of the points in curve order
+     * @throws IllegalArgumentException if the arrays differ in length
+     */
+    public int[] order(int[] xCoordinates, int[] yCoordinates) {
+        if (xCoordinates.length != yCoordinates.length) {
+            throw new IllegalArgumentException("Coordinate arrays must have the same length, found: "
+                    + xCoordinates.length + " and " + yCoordinates.length);
+        }
+        int count = xCoordinates.length;
+        int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE, maxX = Integer.MIN_VALUE, maxY = Integer.MIN_VALUE;
+        for (int i = 0; i < count; i++) {
+            minX = Math.min(minX, xCoordinates[i]);
+            maxX = Math.max(maxX, xCoordinates[i]);
+            minY = Math.min(minY, yCoordinates[i]);
+            maxY = Math.max(maxY, yCoordinates[i]);
+        }
+        long range = Math.max((long) maxX - minX, (long) maxY - minY);
+        // Same shift on both axes, so cells stay square
+        int shift = Math.max(0, Long.SIZE - Long.numberOfLeadingZeros(range) - ORDER_BITS);
+
+        long[] entries = new long[count];
+        int[][] histograms = new int[(Integer.SIZE + RADIX_BITS - 1) / RADIX_BITS][1 << RADIX_BITS];
+        for (int i = 0; i < count; i++) {
+            long key = key(((long) xCoordinates[i] - minX) >>> shift, ((long) yCoordinates[i] - minY) >>> shift, ORDER_BITS);
+            entries[i] = key << Integer.SIZE | i;
+            for (int digit = 0; digit < histograms.length; digit++) {
+                histograms[digit][(int) (key >>> (digit * RADIX_BITS)) & RADIX_MASK]++;
+            }
+        }
+
+        long[] sorted = new long[count];
+        for (int digit = 0; digit < histograms.length; digit++) {
+            int shiftBits = Integer.SIZE + digit * RADIX_BITS;
+            int[] histogram = histograms[digit];
+            if (count == 0 || histogram[(int) (entries[0] >>> shiftBits) & RADIX_MASK] == count) {
+                continue;
+            }
+            int offset = 0;
+            for (int bucket = 0; bucket < histogram.length; bucket++) {
+                int bucketCount = histogram[bucket];
+                histogram[bucket] = offset;
+                offset += bucketCount;
+            }
+            for (long entry : entries) {
+                sorted[histogram[(int) (entry >>> shiftBits) & RADIX_MASK]++] = entry;
+            }
+            long[] swap = entries;
+            entries = sorted;
+            sorted = swap;
+        }
+        int[] order = new int[count];
+        for (int i = 0; i < count; i++) {
+            order[i] = (int) entries[i];
+        }
+        return order;
+    }
+
+    /**
+     * Spreads the 32 bits of a value to the even bits of a long.
+     */
+    private static long spread(long value) {
+        long bits = value & 0xFFFFFFFFL;
+        bits = (bits | bits << 16) & 0x0000FFFF0000FFFFL;
+        bits = (bits | bits << 8) & 0x00FF00FF00FF00FFL;
+        bits = (bits | bits << 4) & 0x0F0F0F0F0F0F0F0FL;
+        bits = (bits | bits << 2) & 0x3333333333333333L;
+        bits = (bits | bits << 1) & 0x5555555555555555L;
+        return bits;
+    }
+}
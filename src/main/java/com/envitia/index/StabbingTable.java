@@ -0,0 +1,369 @@
+package com.envitia.index;
+
+import com.envitia.exception.GeometryValidationException;
+import com.envitia.geometry.CompactRectangle;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * Precomputed answers to "which rectangles strictly contain this point" for a static set of rectangles.
+ * <p>
+ * The distinct x coordinates of all rectangle bounds split the x axis into open gaps, and likewise
+ * for y. A grid cell is the product of an x gap and a y gap: every point strictly inside a cell is
+ * contained by exactly the same rectangles, so the table stores, for every cell, a reference to the
+ * sorted list of those rectangles. Identical lists are stored once and shared between cells. A
+ * point query takes one binary search per axis and one cell lookup, without traversing anything.
+ * </p>
+ * <p>
+ * A point lying exactly on one of the bound coordinates is strictly inside a rectangle if and only
+ * if the rectangle covers the gaps on both sides of that coordinate, so it is answered by
+ * intersecting the lists of the two (or, on both axes, four) adjacent cells. This keeps the strict
+ * semantics of {@link CompactRectangle#containsPoint(int, int)} while storing a quarter of the cells
+ * a grid of coordinates and gaps would need.
+ * </p>
+ * <p>
+ * The grid has up to {@code (2n - 1)^2} cells for {@code n} rectangles, and every distinct list
+ * is stored in full, so the lists hold up to the number of cells times the number of rectangles
+ * over a cell. For rectangles that rarely overlap, lists are short and mostly shared, and the table
+ * suits a few thousand rectangles; for rectangles that overlap heavily, nearly every cell has a
+ * list of its own and the storage grows with the overlap depth, which limits the table to a few
+ * hundred rectangles. Building fails with {@link IllegalArgumentException} beyond
+ * {@value #MAX_CELLS} cells or {@value #MAX_LIST_IDS} stored identifiers, rather than running out
+ * of memory. The build sweeps the columns from the sorted first and last column of each
+ * rectangle, and each column's rows from the sorted first and last row of the rectangles over it,
+ * adding and removing single identifiers as it goes. Instances are immutable and safe for
+ * concurrent queries.
+ * </p>
+ */
+public final class StabbingTable {
+
+    /**
+     * The maximum number of grid cells.
+     */
+    static final int MAX_CELLS = 1 << 26;
+
+    /**
+     * The maximum number of identifiers stored in the distinct lists of the cells.
+     */
+    static final int MAX_LIST_IDS = 1 << 26;
+
+    private static final int EMPTY_LIST = 0;
+
+    private final int[] xs;
+
+    private final int[] ys;
+
+    /**
+     * The number of y gaps, i.e. the number of cells per column.
+     */
+    private final int rows;
+
+    /**
+     * The list of each cell, at index {@code column * rows + row}.
+     */
+    private final int[] cellLists;
+
+    /**
+     * The ids of list {@code l} are {@code listIds[listStart[l]]} to {@code listIds[listStart[l + 1] - 1]}, sorted.
+     */
+    private final int[] listStart;
+
+    private final int[] listIds;
+
+    private StabbingTable(int[] xs, int[] ys, int rows, int[] cellLists, int[] listStart, int[] listIds) {
+        this.xs = xs;
+        this.ys = ys;
+        this.rows = rows;
+        this.cellLists = cellLists;
+        this.listStart = listStart;
+        this.listIds = listIds;
+    }
+
+    /**
+     * Builds the table of rectangles whose identifiers are their positions in the given list.
+     *
+     * @param rectangles the validated rectangles to index
+     * @return a new table over the rectangles
+     * @throws GeometryValidationException if the list or one of its elements is null
+     * @throws IllegalArgumentException if the grid would have more than {@value #MAX_CELLS} cells, or
+     *                                  its lists more than {@value #MAX_LIST_IDS} identifiers
+     */
+    public static StabbingTable build(List<CompactRectangle> rectangles) {
+        if (rectangles == null) {
+            throw new GeometryValidationException("Rectangles cannot be null");
+        }
+        int count = rectangles.size();
+        int[] allX = new int[2 * count];
+        int[] allY = new int[2 * count];
+        for (int i = 0; i < count; i++) {
+            CompactRectangle rectangle = rectangles.get(i);
+            if (rectangle == null) {
+                throw new GeometryValidationException("Rectangle cannot be null");
+            }
+            allX[2 * i] = rectangle.getMinX();
+            allX[2 * i + 1] = rectangle.getMaxX();
+            allY[2 * i] = rectangle.getMinY();
+            allY[2 * i + 1] = rectangle.getMaxY();
+        }
+        int[] xs = Arrays.stream(allX).sorted().distinct().toArray();
+        int[] ys = Arrays.stream(allY).sorted().distinct().toArray();
+        int columns = Math.max(0, xs.length - 1);
+        int rows = Math.max(0, ys.length - 1);
+        if ((long) columns * rows > MAX_CELLS) {
+            throw new IllegalArgumentException("Stabbing table would have " + (long) columns * rows
+                    + " cells, more than " + MAX_CELLS);
+        }
+
+        // Gap ranges covered by each rectangle: gap g lies between coordinates g and g + 1
+        int[] fromColumn = new int[count], toColumn = new int[count], fromRow = new int[count], toRow = new int[count];
+        int covering = 0;
+        for (int i = 0; i < count; i++) {
+            CompactRectangle rectangle = rectangles.get(i);
+            fromColumn[i] = Arrays.binarySearch(xs, rectangle.getMinX());
+            toColumn[i] = Arrays.binarySearch(xs, rectangle.getMaxX()) - 1;
+            fromRow[i] = Arrays.binarySearch(ys, rectangle.getMinY());
+            toRow[i] = Arrays.binarySearch(ys, rectangle.getMaxY()) - 1;
+            if (fromColumn[i] <= toColumn[i] && fromRow[i] <= toRow[i]) {
+                covering++;
+            }
+        }
+        // Column events: rectangles in order of their first column, and in order of the column after their last
+        long[] begins = new long[covering], ends = new long[covering];
+        for (int i = 0, e = 0; i < count; i++) {
+            if (fromColumn[i] <= toColumn[i] && fromRow[i] <= toRow[i]) {
+                begins[e] = (long) fromColumn[i] << Integer.SIZE | i;
+                ends[e++] = (long) (toColumn[i] + 1) << Integer.SIZE | i;
+            }
+        }
+        Arrays.sort(begins);
+        Arrays.sort(ends);
+
+        ListBuilder lists = new ListBuilder();
+        int[] cellLists = new int[columns * rows];
+        // Row events of the rectangles covering the current column, sorted: (row << 32) | (end << 31) | id
+        long[] rowEvents = new long[2 * covering];
+        int rowEventCount = 0;
+        int[] list = new int[covering];
+        for (int column = 0, nextBegin = 0, nextEnd = 0; column < columns; column++) {
+            boolean changed = false;
+            for (; nextEnd < ends.length && (int) (ends[nextEnd] >>> Integer.SIZE) == column; nextEnd++) {
+                int id = (int) ends[nextEnd];
+                rowEventCount = removeEvent(rowEvents, rowEventCount, rowEvent(fromRow[id], false, id));
+                rowEventCount = removeEvent(rowEvents, rowEventCount, rowEvent(toRow[id] + 1, true, id));
+                changed = true;
+            }
+            for (; nextBegin < begins.length && (int) (begins[nextBegin] >>> Integer.SIZE) == column; nextBegin++) {
+                int id = (int) begins[nextBegin];
+                rowEventCount = insertEvent(rowEvents, rowEventCount, rowEvent(fromRow[id], false, id));
+                rowEventCount = insertEvent(rowEvents, rowEventCount, rowEvent(toRow[id] + 1, true, id));
+                changed = true;
+            }
+            if (!changed) {
+                if (column > 0) {
+                    System.arraycopy(cellLists, (column - 1) * rows, cellLists, column * rows, rows);
+                }
+                continue;
+            }
+            // Sweep the rows, adding and removing single ids from the sorted list of the current row
+            int size = 0;
+            long hash = 0;
+            for (int e = 0; e < rowEventCount; ) {
+                int row = (int) (rowEvents[e] >>> Integer.SIZE);
+                for (; e < rowEventCount && (int) (rowEvents[e] >>> Integer.SIZE) == row; e++) {
+                    int id = (int) rowEvents[e] & Integer.MAX_VALUE;
+                    int position = Arrays.binarySearch(list, 0, size, id);
+                    if (position >= 0) {
+                        System.arraycopy(list, position + 1, list, position, --size - position);
+                    } else {
+                        position = -position - 1;
+                        System.arraycopy(list, position, list, position + 1, size++ - position);
+                        list[position] = id;
+                    }
+                    hash ^= ListBuilder.idHash(id);
+                }
+                if (row < rows && size > 0) {
+                    int end = e < rowEventCount ? (int) (rowEvents[e] >>> Integer.SIZE) : rows;
+                    Arrays.fill(cellLists, column * rows + row, column * rows + end, lists.intern(list, size, hash));
+                }
+            }
+        }
+        return new StabbingTable(xs, ys, rows, cellLists, lists.starts(), lists.ids());
+    }
+
+    private static long rowEvent(int row, boolean end, int id) {
+        return (long) row << Integer.SIZE | (end ? 1L << Integer.SIZE - 1 : 0) | id;
+    }
+
+    private static int insertEvent(long[] events, int size, long event) {
+        int position = -Arrays.binarySearch(events, 0, size, event) - 1;
+        System.arraycopy(events, position, events, position + 1, size - position);
+        events[position] = event;
+        return size + 1;
+    }
+
+    private static int removeEvent(long[] events, int size, long event) {
+        int position = Arrays.binarySearch(events, 0, size, event);
+        System.arraycopy(events, position + 1, events, position, size - position - 1);
+        return size - 1;
+    }
+
+    /**
+     * Reports the identifiers of all rectangles that strictly contain the point, in increasing order.
+     *
+     * @param x the x coordinate of the point
+     * @param y the y coordinate of the point
+     * @param action the consumer receiving the identifier of each containing rectangle
+     * @return the number of containing rectangles
+     */
+    public int forEachContaining(int x, int y, IntConsumer action) {
+        int column = Arrays.binarySearch(xs, x);
+        int row = Arrays.binarySearch(ys, y);
+        boolean onX = column >= 0;
+        boolean onY = row >= 0;
+        // Index of the gap holding or ending just after the coordinate
+        int lowColumn = onX ? column - 1 : -column - 2;
+        int lowRow = onY ? row - 1 : -row - 2;
+        int first = listAt(lowColumn, lowRow);
+        if (!onX && !onY) {
+            for (int i = listStart[first]; i < listStart[first + 1]; i++) {
+                action.accept(listIds[i]);
+            }
+            return listStart[first + 1] - listStart[first];
+        }
+        int second = onX ? listAt(lowColumn + 1, lowRow) : first;
+        int third = onY ? listAt(lowColumn, lowRow + 1) : first;
+        int fourth = onX && onY ? listAt(lowColumn + 1, lowRow + 1) : first;
+        int found = 0;
+        for (int i = listStart[first]; i < listStart[first + 1]; i++) {
+            int id = listIds[i];
+            if (contains(second, id) && contains(third, id) && contains(fourth, id)) {
+                action.accept(id);
+                found++;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Determines if at least one rectangle strictly contains the point.
+     *
+     * @param x the x coordinate of the point
+     * @param y the y coordinate of the point
+     * @return true if the point is strictly inside a rectangle, false otherwise
+     */
+    public boolean anyContains(int x, int y) {
+        return forEachContaining(x, y, id -> { }) > 0;
+    }
+
+    /**
+     * Returns the number of grid cells.
+     *
+     * @return the number of cells
+     */
+    public int getCellCount() {
+        return cellLists.length;
+    }
+
+    /**
+     * Returns the number of distinct non-empty rectangle lists shared by the cells.
+     *
+     * @return the number of distinct lists
+     */
+    public int getDistinctListCount() {
+        return listStart.length - 2;
+    }
+
+    private int listAt(int column, int row) {
+        if (column < 0 || row < 0 || column >= xs.length - 1 || row >= rows) {
+            return EMPTY_LIST;
+        }
+        return cellLists[column * rows + row];
+    }
+
+    private boolean contains(int list, int id) {
+        return Arrays.binarySearch(listIds, listStart[list], listStart[list + 1], id) >= 0;
+    }
+
+    /**
+     * Interns sorted id lists, numbering them from 1 after the empty list 0, and stores them back to back.
+     * <p>
+     * Lists are looked up by a hash combining the hashes of their ids with exclusive or, which the
+     * sweep updates as it adds and removes single ids, so that a list seen before is found without
+     * hashing it again; only a list not seen before is copied.
+     * </p>
+     */
+    private static final class ListBuilder {
+
+        private int[] starts = new int[16];
+
+        private long[] hashes = new long[16];
+
+        private int listCount = 1;
+
+        private int[] ids = new int[64];
+
+        /**
+         * Open-addressing table of list numbers, 0 marking a free slot.
+         */
+        private int[] table = new int[64];
+
+        static long idHash(int id) {
+            long value = (id + 1) * 0x9E3779B97F4A7C15L;
+            value = (value ^ value >>> 33) * 0xFF51AFD7ED558CCDL;
+            return value ^ value >>> 33;
+        }
+
+        int intern(int[] list, int size, long hash) {
+            int mask = table.length - 1;
+            int slot = (int) hash & mask;
+            for (int number; (number = table[slot]) != 0; slot = slot + 1 & mask) {
+                if (hashes[number] == hash && Arrays.equals(ids, starts[number], starts[number + 1], list, 0, size)) {
+                    return number;
+                }
+            }
+            int start = starts[listCount];
+            if ((long) start + size > MAX_LIST_IDS) {
+                throw new IllegalArgumentException("Stabbing table lists would hold more than " + MAX_LIST_IDS
+                        + " identifiers; the rectangles overlap too much");
+            }
+            if (start + size > ids.length) {
+                ids = Arrays.copyOf(ids, (int) Math.min(MAX_LIST_IDS, Math.max(2L * ids.length, start + size)));
+            }
+            System.arraycopy(list, 0, ids, start, size);
+            if (listCount + 1 == starts.length) {
+                starts = Arrays.copyOf(starts, 2 * starts.length);
+                hashes = Arrays.copyOf(hashes, 2 * hashes.length);
+            }
+            int number = listCount++;
+            starts[listCount] = start + size;
+            hashes[number] = hash;
+            table[slot] = number;
+            if (2 * listCount > table.length) {
+                rehash();
+            }
+            return number;
+        }
+
+        private void rehash() {
+            table = new int[2 * table.length];
+            int mask = table.length - 1;
+            for (int number = 1; number < listCount; number++) {
+                int slot = (int) hashes[number] & mask;
+                while (table[slot] != 0) {
+                    slot = slot + 1 & mask;
+                }
+                table[slot] = number;
+            }
+        }
+
+        int[] starts() {
+            return Arrays.copyOf(starts, listCount + 1);
+        }
+
+        int[] ids() {
+            return Arrays.copyOf(ids, starts[listCount]);
+        }
+    }
+}
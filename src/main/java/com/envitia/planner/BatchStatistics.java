@@ -0,0 +1,14 @@
+package com.envitia.planner;
+
+/**
+ * Statistics of a batch of query points against a layer, gathered by a {@link QueryPlanner}.
+ * <p>
+ * Points outside the extent of the layer cannot be inside any rectangle and are answered without
+ * consulting an engine, so only the points within the extent count towards the cost of a strategy.
+ * </p>
+ *
+ * @param pointCount the number of points in the batch
+ * @param pointsInExtent the number of points strictly inside the extent of the layer
+ */
+public record BatchStatistics(int pointCount, int pointsInExtent) {
+}
@@ -0,0 +1,34 @@
+package com.envitia.planner;
+
+import com.envitia.index.CoverageBitmap;
+import com.envitia.index.RectangleTree;
+import com.envitia.index.StabbingTable;
+
+/**
+ * Enum representing the engines a {@link QueryPlanner} can evaluate a batch of containment queries with.
+ */
+public enum ExecutionStrategy {
+    /**
+     * Every rectangle is compared with the point, stopping at the first that contains it.
+     * Nothing is built, so it wins for a handful of rectangles or a handful of points.
+     */
+    LINEAR_SCAN,
+
+    /**
+     * A coordinate-compressed grid storing the containing rectangles of every cell, a {@link StabbingTable}.
+     * Queries take two binary searches, but the grid grows with the square of the rectangle count.
+     */
+    GRID,
+
+    /**
+     * A bulk-loaded {@link RectangleTree}, queried in space-filling-curve order. Its cost grows
+     * logarithmically with the rectangle count whatever their distribution.
+     */
+    R_TREE,
+
+    /**
+     * A {@link CoverageBitmap} over the extent of the layer. Queries are a tile lookup, but the
+     * extent must be small enough to rasterize.
+     */
+    BITMAP
+}
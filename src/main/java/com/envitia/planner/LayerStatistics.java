@@ -0,0 +1,34 @@
+package com.envitia.planner;
+
+/**
+ * Statistics of a rectangle layer gathered by a {@link QueryPlanner} in a single pass.
+ * <p>
+ * The extent is the bounding box of the valid rectangles; it is empty, with every bound 0, when
+ * there are none. The mean depth is the total area of the rectangles divided by the area of the
+ * extent, which is the average number of rectangles covering a point of the extent: close to 0 for
+ * sparse layers and above 1 for heavily overlapping ones.
+ * </p>
+ *
+ * @param rectangleCount the number of valid rectangles
+ * @param rejectedCount the number of shapes that are not valid rectangles, which contain no points
+ * @param minX the minimum x coordinate of the extent
+ * @param minY the minimum y coordinate of the extent
+ * @param maxX the maximum x coordinate of the extent
+ * @param maxY the maximum y coordinate of the extent
+ * @param totalArea the sum of the areas of the valid rectangles
+ * @param meanDepth the total area divided by the area of the extent, 0 for an extent without area
+ * @param totalVertexCount the number of vertices of all shapes, valid or not
+ * @param maxVertexCount the largest number of vertices of a single shape
+ */
+public record LayerStatistics(int rectangleCount, int rejectedCount, int minX, int minY, int maxX, int maxY,
+                              double totalArea, double meanDepth, long totalVertexCount, int maxVertexCount) {
+
+    /**
+     * Returns the number of integer cells of the extent, edges included.
+     *
+     * @return the number of cells, 0 if there are no valid rectangles
+     */
+    public double extentCells() {
+        return rectangleCount == 0 ? 0 : ((double) maxX - minX + 1) * ((double) maxY - minY + 1);
+    }
+}
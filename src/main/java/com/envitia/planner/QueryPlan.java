@@ -0,0 +1,51 @@
+package com.envitia.planner;
+
+import java.util.Map;
+
+/**
+ * The strategy a {@link QueryPlanner} chose for a batch, with the estimates it was chosen from and,
+ * once executed, its measured cost.
+ *
+ * @param strategy the chosen strategy
+ * @param layer the statistics of the layer
+ * @param batch the statistics of the batch
+ * @param estimatedNanos the estimated cost of every feasible strategy, in nanoseconds, including
+ *                       building its engine if it was not built yet
+ * @param buildNanos the measured time spent building the engine for this batch, 0 if it was already
+ *                   built, or -1 if the plan has not been executed
+ * @param queryNanos the measured time spent answering the batch, or -1 if the plan has not been executed
+ */
+public record QueryPlan(ExecutionStrategy strategy, LayerStatistics layer, BatchStatistics batch,
+                        Map<ExecutionStrategy, Double> estimatedNanos, long buildNanos, long queryNanos) {
+
+    /**
+     * Returns the estimated cost of the chosen strategy.
+     *
+     * @return the estimate in nanoseconds
+     */
+    public double estimatedCost() {
+        return estimatedNanos.get(strategy);
+    }
+
+    /**
+     * Returns the measured cost of the plan, building included.
+     *
+     * @return the measured time in nanoseconds, or -1 if the plan has not been executed
+     */
+    public long measuredCost() {
+        return queryNanos < 0 ? -1 : buildNanos + queryNanos;
+    }
+
+    /**
+     * Returns whether the plan has been executed.
+     *
+     * @return true if the measured costs are available, false otherwise
+     */
+    public boolean isExecuted() {
+        return queryNanos >= 0;
+    }
+
+    QueryPlan withMeasurement(long buildNanos, long queryNanos) {
+        return new QueryPlan(strategy, layer, batch, estimatedNanos, buildNanos, queryNanos);
+    }
+}
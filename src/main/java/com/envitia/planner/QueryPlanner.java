@@ -0,0 +1,514 @@
+package com.envitia.planner;
+
+import com.envitia.exception.GeometryValidationException;
+import com.envitia.geometry.CompactRectangle;
+import com.envitia.index.CoverageBitmap;
+import com.envitia.index.RectangleTree;
+import com.envitia.index.StabbingTable;
+import com.envitia.service.GeometryService;
+import com.envitia.validation.GeometryValidator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Answers batches of containment queries against a rectangle layer, choosing for each batch the
+ * engine expected to answer it fastest.
+ * <p>
+ * A point is contained by the layer if at least one of its rectangles strictly contains it, that is
+ * if {@link GeometryService#isPointInRectangle} is true for one of the rectangles; shapes that are not
+ * valid rectangles contain nothing. The planner validates the layer once and gathers
+ * {@link LayerStatistics} while doing so. For every batch it gathers {@link BatchStatistics}, estimates
+ * the cost of each feasible {@link ExecutionStrategy} from both, picks the cheapest, builds its engine
+ * if needed and answers the batch. The {@link QueryPlan} returned with the results holds the estimates,
+ * the choice and the measured build and query times.
+ * </p>
+ * <p>
+ * The cost model counts the time to build an engine only until it has been built, since engines are
+ * kept for later batches: a few small batches are answered by scanning, and once a batch is large
+ * enough to pay for an index, later batches reuse it. Its per-point costs are rough constants
+ * calibrated on this project's benchmarks; after each batch of at least {@value #FEEDBACK_MIN_POINTS}
+ * points, the ratio of measured to estimated query time of the chosen strategy is folded into a
+ * correction factor for that strategy, so estimates adapt to the machine and the data. Strategies
+ * not measured yet use the correction of all measurements, so that a slow machine does not make the
+ * strategies already tried look worse than the others.
+ * </p>
+ * <p>
+ * The cost and size of a grid grow with the overlap of the rectangles as well as with their number,
+ * since its cells store the lists of rectangles over them; both are estimated from the mean depth.
+ * Should a grid still exceed the limits of {@link StabbingTable} when built, the batch is planned
+ * again without it, and GRID is not considered again.
+ * </p>
+ * <p>
+ * Instances are safe for concurrent use.
+ * </p>
+ */
+public final class QueryPlanner {
+
+    /**
+     * The largest extent, in cells, rasterized by the {@link ExecutionStrategy#BITMAP} strategy.
+     */
+    static final double MAX_BITMAP_CELLS = 1L << 28;
+
+    /**
+     * The minimum number of points evaluated by an engine for its measured cost to adjust its estimates.
+     */
+    static final int FEEDBACK_MIN_POINTS = 1024;
+
+    /**
+     * The largest grid, in cells, built by the {@link ExecutionStrategy#GRID} strategy, the limit of {@link StabbingTable}.
+     */
+    private static final double MAX_GRID_CELLS = 1 << 26;
+
+    /**
+     * The most identifiers the lists of a {@link StabbingTable} may hold, the other limit of the table.
+     */
+    private static final double MAX_GRID_LIST_IDS = 1 << 26;
+
+    /**
+     * How far above its estimate the list storage of a grid may turn out; layers of rectangles about
+     * as large as their extent, where the overlap is deepest in the middle, reach about 4 times it.
+     */
+    private static final double GRID_LIST_IDS_MARGIN = 4;
+
+    private static final double TILE_CELLS = 1 << 16;
+
+    private static final double SCAN_NANOS_PER_RECTANGLE = 3;
+    private static final double GRID_BUILD_NANOS_PER_CELL = 1.5;
+    private static final double GRID_BUILD_NANOS_PER_SWEEP_STEP = 80;
+    private static final double GRID_BUILD_NANOS_PER_LIST_ID = 25;
+    private static final double GRID_NANOS_PER_SEARCH_STEP = 15;
+    private static final double TREE_BUILD_NANOS_PER_SORT_STEP = 30;
+    private static final double TREE_NANOS_PER_LEVEL = 40;
+    private static final double BITMAP_BUILD_NANOS_PER_TILE = 200;
+    private static final double BITMAP_BUILD_NANOS_PER_WORD = 1;
+    private static final double BITMAP_NANOS_PER_QUERY = 30;
+    private static final double BATCH_NANOS_PER_POINT = 2;
+
+    private static final double FEEDBACK_WEIGHT = 0.3;
+    private static final double MIN_CORRECTION = 0.05;
+    private static final double MAX_CORRECTION = 20;
+
+    private final LayerStatistics statistics;
+
+    private final CompactRectangle[] rectangles;
+
+    private final int[] minX;
+    private final int[] minY;
+    private final int[] maxX;
+    private final int[] maxY;
+
+    private final double[] corrections = new double[ExecutionStrategy.values().length];
+
+    private final int[] executions = new int[ExecutionStrategy.values().length];
+
+    private double sharedCorrection = 1.0;
+
+    /**
+     * Whether building the grid failed on a limit of {@link StabbingTable}, which makes GRID infeasible.
+     */
+    private boolean gridTooLarge;
+
+    private volatile StabbingTable grid;
+
+    private volatile RectangleTree tree;
+
+    private volatile CoverageBitmap bitmap;
+
+    private QueryPlanner(List<CompactRectangle> rectangles, int rejectedCount, long totalVertexCount, int maxVertexCount) {
+        this.rectangles = rectangles.toArray(CompactRectangle[]::new);
+        int count = this.rectangles.length;
+        this.minX = new int[count];
+        this.minY = new int[count];
+        this.maxX = new int[count];
+        this.maxY = new int[count];
+        int extentMinX = Integer.MAX_VALUE, extentMinY = Integer.MAX_VALUE;
+        int extentMaxX = Integer.MIN_VALUE, extentMaxY = Integer.MIN_VALUE;
+        double totalArea = 0;
+        for (int i = 0; i < count; i++) {
+            CompactRectangle rectangle = this.rectangles[i];
+            minX[i] = rectangle.getMinX();
+            minY[i] = rectangle.getMinY();
+            maxX[i] = rectangle.getMaxX();
+            maxY[i] = rectangle.getMaxY();
+            extentMinX = Math.min(extentMinX, minX[i]);
+            extentMinY = Math.min(extentMinY, minY[i]);
+            extentMaxX = Math.max(extentMaxX, maxX[i]);
+            extentMaxY = Math.max(extentMaxY, maxY[i]);
+            totalArea += ((double) maxX[i] - minX[i]) * ((double) maxY[i] - minY[i]);
+        }
+        if (count == 0) {
+            extentMinX = extentMinY = extentMaxX = extentMaxY = 0;
+        }
+        double extentArea = ((double) extentMaxX - extentMinX) * ((double) extentMaxY - extentMinY);
+        this.statistics = new LayerStatistics(count, rejectedCount, extentMinX, extentMinY, extentMaxX, extentMaxY,
+                totalArea, extentArea > 0 ? totalArea / extentArea : 0, totalVertexCount, maxVertexCount);
+        Arrays.fill(corrections, 1.0);
+    }
+
+    /**
+     * Creates a planner over rectangles given as coordinate arrays, as accepted by {@link GeometryService}.
+     * <p>
+     * Each shape is validated with {@link GeometryValidator#validateRectangle}; shapes that are not
+     * valid rectangles are counted in the statistics and otherwise ignored.
+     * </p>
+     *
+     * @param rectangleCoordinates the shapes of the layer, each a 2D array of [x, y] points
+     * @return a new planner over the valid rectangles
+     * @throws GeometryValidationException if the list, one of its shapes or one of their points is null or malformed
+     */
+    public static QueryPlanner forRectangles(List<int[][]> rectangleCoordinates) {
+        if (rectangleCoordinates == null) {
+            throw new GeometryValidationException("Rectangles cannot be null");
+        }
+        List<CompactRectangle> valid = new ArrayList<>(rectangleCoordinates.size());
+        int rejected = 0;
+        long totalVertexCount = 0;
+        int maxVertexCount = 0;
+        for (int[][] coordinates : rectangleCoordinates) {
+            Optional<CompactRectangle> rectangle = GeometryValidator.validateRectangle(coordinates);
+            if (rectangle.isPresent()) {
+                valid.add(rectangle.get());
+            } else {
+                rejected++;
+            }
+            totalVertexCount += coordinates.length;
+            maxVertexCount = Math.max(maxVertexCount, coordinates.length);
+        }
+        return new QueryPlanner(valid, rejected, totalVertexCount, maxVertexCount);
+    }
+
+    /**
+     * Creates a planner over already validated rectangle bounds, counted as four vertices each.
+     *
+     * @param rectangles the validated rectangles of the layer
+     * @return a new planner over the rectangles
+     * @throws GeometryValidationException if the list or one of its elements is null
+     */
+    public static QueryPlanner forBounds(List<CompactRectangle> rectangles) {
+        if (rectangles == null) {
+            throw new GeometryValidationException("Rectangles cannot be null");
+        }
+        for (CompactRectangle rectangle : rectangles) {
+            if (rectangle == null) {
+                throw new GeometryValidationException("Rectangle cannot be null");
+            }
+        }
+        return new QueryPlanner(rectangles, 0, 4L * rectangles.size(), rectangles.isEmpty() ? 0 : 4);
+    }
+
+    /**
+     * Returns the statistics of the layer.
+     *
+     * @return the layer statistics
+     */
+    public LayerStatistics getStatistics() {
+        return statistics;
+    }
+
+    /**
+     * Chooses the strategy for a batch without executing it.
+     *
+     * @param xCoordinates the x coordinates of the points
+     * @param yCoordinates the y coordinates of the points, in the same order
+     * @return the plan, not executed
+     * @throws GeometryValidationException if either array is null or their lengths differ
+     */
+    public QueryPlan plan(int[] xCoordinates, int[] yCoordinates) {
+        checkBatch(xCoordinates, yCoordinates);
+        return plan(batchStatistics(xCoordinates, yCoordinates));
+    }
+
+    /**
+     * Answers a batch with the strategy the planner chooses for it.
+     *
+     * @param xCoordinates the x coordinates of the points
+     * @param yCoordinates the y coordinates of the points, in the same order
+     * @return the containment of each point and the executed plan
+     * @throws GeometryValidationException if either array is null or their lengths differ
+     */
+    public QueryResult execute(int[] xCoordinates, int[] yCoordinates) {
+        checkBatch(xCoordinates, yCoordinates);
+        BatchStatistics batch = batchStatistics(xCoordinates, yCoordinates);
+        QueryPlan plan = plan(batch);
+        try {
+            return execute(xCoordinates, yCoordinates, plan);
+        } catch (IllegalArgumentException e) {
+            if (plan.strategy() != ExecutionStrategy.GRID) {
+                throw e;
+            }
+            // The grid outgrew its estimate and is infeasible from now on
+            return execute(xCoordinates, yCoordinates, plan(batch));
+        }
+    }
+
+    /**
+     * Answers a batch with a given strategy, for instance to compare it with the planner's choice.
+     *
+     * @param xCoordinates the x coordinates of the points
+     * @param yCoordinates the y coordinates of the points, in the same order
+     * @param strategy the strategy to execute
+     * @return the containment of each point and the executed plan
+     * @throws GeometryValidationException if either array is null or their lengths differ
+     * @throws IllegalArgumentException if the strategy is not feasible for this layer
+     */
+    public QueryResult execute(int[] xCoordinates, int[] yCoordinates, ExecutionStrategy strategy) {
+        checkBatch(xCoordinates, yCoordinates);
+        QueryPlan chosen = plan(batchStatistics(xCoordinates, yCoordinates));
+        if (!chosen.estimatedNanos().containsKey(strategy)) {
+            throw new IllegalArgumentException("Strategy " + strategy + " is not feasible for a layer of "
+                    + statistics.rectangleCount() + " rectangles over " + statistics.extentCells() + " cells");
+        }
+        QueryPlan forced = new QueryPlan(strategy, statistics, chosen.batch(), chosen.estimatedNanos(), -1, -1);
+        return execute(xCoordinates, yCoordinates, forced);
+    }
+
+    private QueryPlan plan(BatchStatistics batch) {
+        Map<ExecutionStrategy, Double> estimates = new EnumMap<>(ExecutionStrategy.class);
+        double overhead = batch.pointCount() * BATCH_NANOS_PER_POINT;
+        synchronized (this) {
+            for (ExecutionStrategy strategy : ExecutionStrategy.values()) {
+                if (isFeasible(strategy)) {
+                    estimates.put(strategy, overhead + buildEstimate(strategy)
+                            + correction(strategy) * queryEstimate(strategy, batch.pointsInExtent()));
+                }
+            }
+        }
+        ExecutionStrategy cheapest = ExecutionStrategy.LINEAR_SCAN;
+        for (Map.Entry<ExecutionStrategy, Double> estimate : estimates.entrySet()) {
+            if (estimate.getValue() < estimates.get(cheapest)) {
+                cheapest = estimate.getKey();
+            }
+        }
+        return new QueryPlan(cheapest, statistics, batch, Map.copyOf(estimates), -1, -1);
+    }
+
+    private boolean isFeasible(ExecutionStrategy strategy) {
+        double count = statistics.rectangleCount();
+        return switch (strategy) {
+            case LINEAR_SCAN, R_TREE -> true;
+            // The grid has at most (2n - 1)^2 cells
+            case GRID -> !gridTooLarge && (2 * count - 1) * (2 * count - 1) <= MAX_GRID_CELLS
+                    && GRID_LIST_IDS_MARGIN * gridListIds() <= MAX_GRID_LIST_IDS;
+            case BITMAP -> count > 0 && statistics.extentCells() <= MAX_BITMAP_CELLS;
+        };
+    }
+
+    /**
+     * Estimates the time to build the engine of a strategy, 0 if it is already built.
+     */
+    private double buildEstimate(ExecutionStrategy strategy) {
+        double count = statistics.rectangleCount();
+        return switch (strategy) {
+            case LINEAR_SCAN -> 0;
+            case GRID -> grid != null ? 0 : 4 * count * count * GRID_BUILD_NANOS_PER_CELL
+                    + gridSweepSteps() * GRID_BUILD_NANOS_PER_SWEEP_STEP + gridListIds() * GRID_BUILD_NANOS_PER_LIST_ID;
+            case R_TREE -> tree != null ? 0 : count * log2(count) * TREE_BUILD_NANOS_PER_SORT_STEP;
+            case BITMAP -> {
+                if (bitmap != null) {
+                    yield 0;
+                }
+                double cells = statistics.extentCells();
+                // Overlapping rectangles are rasterized once each, so the words written grow with the total area
+                double words = (cells + statistics.totalArea()) / Long.SIZE;
+                yield cells / TILE_CELLS * BITMAP_BUILD_NANOS_PER_TILE + words * BITMAP_BUILD_NANOS_PER_WORD;
+            }
+        };
+    }
+
+    /**
+     * Estimates the number of row events a {@link StabbingTable} build sweeps: each rectangle is swept
+     * twice in every column it spans, about {@code 2n * sqrt(d / n)} of them for {@code n} rectangles
+     * of mean depth {@code d} and of about the shape of the extent.
+     */
+    private double gridSweepSteps() {
+        double count = statistics.rectangleCount();
+        return 4 * count * Math.sqrt(count * statistics.meanDepth());
+    }
+
+    /**
+     * Estimates the number of identifiers in the lists of a {@link StabbingTable}. The distinct lists
+     * are about the faces of the arrangement of the rectangles, one per rectangle and about four per
+     * overlapping pair, {@code n (1 + 4d)} for {@code n} rectangles of mean depth {@code d}, each
+     * holding about {@code 1 + d} identifiers.
+     */
+    private double gridListIds() {
+        double count = statistics.rectangleCount();
+        double depth = statistics.meanDepth();
+        return count * (1 + 4 * depth) * (1 + depth);
+    }
+
+    /**
+     * Estimates the time for a strategy to answer points inside the extent, before correction.
+     */
+    private double queryEstimate(ExecutionStrategy strategy, int points) {
+        double count = statistics.rectangleCount();
+        double depth = statistics.meanDepth();
+        return points * switch (strategy) {
+            // With d rectangles covering a point on average, a scan stops after about (1 - e^-d) / d of them
+            case LINEAR_SCAN -> count * SCAN_NANOS_PER_RECTANGLE * (depth > 0 ? -Math.expm1(-depth) / depth : 1);
+            case GRID -> (2 * log2(2 * count) + 2) * GRID_NANOS_PER_SEARCH_STEP;
+            // Overlapping nodes make the search visit more than one path
+            case R_TREE -> (log2(count) + 1) * TREE_NANOS_PER_LEVEL * (1 + Math.min(depth, log2(count)));
+            case BITMAP -> BITMAP_NANOS_PER_QUERY;
+        };
+    }
+
+    private static double log2(double value) {
+        return Math.log(value + 1) / Math.log(2);
+    }
+
+    private QueryResult execute(int[] xCoordinates, int[] yCoordinates, QueryPlan plan) {
+        long buildStart = System.nanoTime();
+        boolean built = ensureEngine(plan.strategy());
+        long buildNanos = built ? System.nanoTime() - buildStart : 0;
+
+        long queryStart = System.nanoTime();
+        boolean[] contained = new boolean[xCoordinates.length];
+        int[] positions = new int[plan.batch().pointsInExtent()];
+        int inExtent = 0;
+        for (int i = 0; i < xCoordinates.length; i++) {
+            if (inExtent(xCoordinates[i], yCoordinates[i])) {
+                positions[inExtent++] = i;
+            }
+        }
+        switch (plan.strategy()) {
+            case LINEAR_SCAN -> {
+                for (int position : positions) {
+                    contained[position] = scan(xCoordinates[position], yCoordinates[position]);
+                }
+            }
+            case GRID -> {
+                StabbingTable grid = this.grid;
+                for (int position : positions) {
+                    contained[position] = grid.anyContains(xCoordinates[position], yCoordinates[position]);
+                }
+            }
+            case R_TREE -> {
+                int[] xs = new int[positions.length];
+                int[] ys = new int[positions.length];
+                for (int i = 0; i < positions.length; i++) {
+                    xs[i] = xCoordinates[positions[i]];
+                    ys[i] = yCoordinates[positions[i]];
+                }
+                boolean[] results = tree.containsPoints(xs, ys);
+                for (int i = 0; i < positions.length; i++) {
+                    contained[positions[i]] = results[i];
+                }
+            }
+            case BITMAP -> {
+                CoverageBitmap bitmap = this.bitmap;
+                for (int position : positions) {
+                    contained[position] = bitmap.containsPoint(xCoordinates[position], yCoordinates[position]);
+                }
+            }
+        }
+        long queryNanos = System.nanoTime() - queryStart;
+        if (positions.length >= FEEDBACK_MIN_POINTS) {
+            recordFeedback(plan, queryNanos);
+        }
+        return new QueryResult(contained, plan.withMeasurement(buildNanos, queryNanos));
+    }
+
+    /**
+     * Folds the measured query time of an executed plan into the correction of its strategy. The
+     * first batch of each strategy is ignored, since it runs partly interpreted and would make the
+     * planner turn away from the strategy it just built an engine for.
+     */
+    private synchronized void recordFeedback(QueryPlan plan, long queryNanos) {
+        if (executions[plan.strategy().ordinal()]++ == 0) {
+            return;
+        }
+        double estimate = queryEstimate(plan.strategy(), plan.batch().pointsInExtent());
+        if (estimate <= 0) {
+            return;
+        }
+        double ratio = queryNanos / estimate;
+        int strategy = plan.strategy().ordinal();
+        corrections[strategy] = Math.clamp((1 - FEEDBACK_WEIGHT) * corrections[strategy] + FEEDBACK_WEIGHT * ratio,
+                MIN_CORRECTION, MAX_CORRECTION);
+        sharedCorrection = Math.clamp((1 - FEEDBACK_WEIGHT) * sharedCorrection + FEEDBACK_WEIGHT * ratio,
+                MIN_CORRECTION, MAX_CORRECTION);
+    }
+
+    /**
+     * Returns the correction of a strategy: its own once it has been measured, otherwise the one of
+     * all measurements, which mostly reflects the speed of the machine.
+     */
+    private double correction(ExecutionStrategy strategy) {
+        return executions[strategy.ordinal()] > 1 ? corrections[strategy.ordinal()] : sharedCorrection;
+    }
+
+    /**
+     * Builds the engine of a strategy unless it already exists.
+     *
+     * @return true if the engine was built by this call
+     */
+    private synchronized boolean ensureEngine(ExecutionStrategy strategy) {
+        switch (strategy) {
+            case GRID -> {
+                if (grid == null) {
+                    try {
+                        grid = StabbingTable.build(List.of(rectangles));
+                    } catch (IllegalArgumentException e) {
+                        gridTooLarge = true;
+                        throw e;
+                    }
+                    return true;
+                }
+            }
+            case R_TREE -> {
+                if (tree == null) {
+                    tree = RectangleTree.build(List.of(rectangles));
+                    return true;
+                }
+            }
+            case BITMAP -> {
+                if (bitmap == null) {
+                    bitmap = CoverageBitmap.buildFromBounds(List.of(rectangles), statistics.minX(), statistics.minY(),
+                            statistics.maxX() - statistics.minX() + 1, statistics.maxY() - statistics.minY() + 1);
+                    return true;
+                }
+            }
+            case LINEAR_SCAN -> {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    private boolean scan(int x, int y) {
+        for (int i = 0; i < minX.length; i++) {
+            // Non-short-circuit operators leave a single, mostly not taken, branch per rectangle
+            if (x > minX[i] & x < maxX[i] & y > minY[i] & y < maxY[i]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean inExtent(int x, int y) {
+        return statistics.rectangleCount() > 0 && x > statistics.minX() && x < statistics.maxX()
+                && y > statistics.minY() && y < statistics.maxY();
+    }
+
+    private BatchStatistics batchStatistics(int[] xCoordinates, int[] yCoordinates) {
+        int inExtent = 0;
+        for (int i = 0; i < xCoordinates.length; i++) {
+            if (inExtent(xCoordinates[i], yCoordinates[i])) {
+                inExtent++;
+            }
+        }
+        return new BatchStatistics(xCoordinates.length, inExtent);
+    }
+
+    private static void checkBatch(int[] xCoordinates, int[] yCoordinates) {
+        if (xCoordinates == null || yCoordinates == null || xCoordinates.length != yCoordinates.length) {
+            throw new GeometryValidationException("Point coordinate arrays must be non-null and of the same length");
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.envitia.planner;
+
+/**
+ * The answers to a batch of containment queries, with the executed plan that produced them.
+ *
+ * @param contained for each point, in the order of the batch, whether at least one rectangle strictly contains it
+ * @param plan the executed plan, holding the measured costs
+ */
+public record QueryResult(boolean[] contained, QueryPlan plan) {
+}
@@ -0,0 +1,37 @@
+package com.envitia.service;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Asynchronous counterpart of {@link GeometryService}.
+ * <p>
+ * Implementations run the geometric operations off the calling thread and return
+ * {@link CompletableFuture}s, so callers such as event loops are never blocked by the
+ * computation itself. Errors, including validation errors and rejected submissions,
+ * are reported by completing the returned future exceptionally.
+ * </p>
+ */
+public interface AsyncGeometryService extends AutoCloseable {
+
+    /**
+     * Asynchronously determines if a point is inside a rectangle.
+     * <p>
+     * The semantics are those of {@link GeometryService#isPointInRectangle}: the point must be
+     * strictly inside the rectangle, and a shape that is not a valid rectangle yields false.
+     * </p>
+     *
+     * @param rectangleCoordinates a 2D array where each element is a point [x,y] defining the rectangle
+     * @param pointCoordinates an array [x,y] representing the point to check
+     * @return a future completed with true if the point is strictly inside the rectangle and false otherwise,
+     *         or completed exceptionally with a {@link com.envitia.exception.GeometryValidationException} if the
+     *         input coordinates are invalid, or a {@link java.util.concurrent.RejectedExecutionException} if the
+     *         request could not be accepted
+     */
+    CompletableFuture<Boolean> isPointInRectangle(int[][] rectangleCoordinates, int[] pointCoordinates);
+
+    /**
+     * Stops accepting new requests and waits for the accepted ones to finish.
+     */
+    @Override
+    void close();
+}
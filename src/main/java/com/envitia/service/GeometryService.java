@@ -1,5 +1,14 @@
 package com.envitia.service;
 
+import com.envitia.exception.GeometryValidationException;
+import com.envitia.geometry.CompactRectangle;
+import com.envitia.geometry.PackedPointLocations;
+import com.envitia.geometry.Point;
+import com.envitia.geometry.PointLocation;
+import com.envitia.validation.GeometryValidator;
+
+import java.util.Optional;
+
 /**
  * Service interface for performing geometric operations.
  * <p>
@@ -29,4 +38,54 @@ public interface GeometryService {
      * @throws com.envitia.exception.GeometryValidationException if the input coordinates are invalid
      */
     boolean isPointInRectangle(int[][] rectangleCoordinates, int[] pointCoordinates);
+
+    /**
+     * Determines where a point lies relative to a rectangle.
+     * <p>
+     * The rectangle is validated once and the point is classified in a single evaluation,
+     * instead of calling {@link #isPointInRectangle} and then testing the edges separately.
+     * </p>
+     *
+     * @param rectangleCoordinates a 2D array where each element is a point [x,y] defining the rectangle
+     * @param pointCoordinates an array [x,y] representing the point to classify
+     * @return {@link PointLocation#INSIDE}, {@link PointLocation#BOUNDARY} or {@link PointLocation#OUTSIDE},
+     *         or {@link PointLocation#INVALID_SHAPE} if the coordinates do not form a valid rectangle
+     * @throws GeometryValidationException if the input coordinates are invalid
+     */
+    default PointLocation classifyPoint(int[][] rectangleCoordinates, int[] pointCoordinates) {
+        Optional<CompactRectangle> rectangle = GeometryValidator.validateRectangle(rectangleCoordinates);
+        Point point = Point.fromArray(pointCoordinates);
+        return rectangle.map(bounds -> bounds.classifyPoint(point)).orElse(PointLocation.INVALID_SHAPE);
+    }
+
+    /**
+     * Determines where each of a batch of points lies relative to a rectangle.
+     * <p>
+     * The rectangle is validated once for the whole batch. Results are packed at two bits per point.
+     * </p>
+     *
+     * @param rectangleCoordinates a 2D array where each element is a point [x,y] defining the rectangle
+     * @param pointsCoordinates a 2D array where each element is a point [x,y] to classify
+     * @return the location of each point, in the same order as {@code pointsCoordinates}; every location
+     *         is {@link PointLocation#INVALID_SHAPE} if the coordinates do not form a valid rectangle
+     * @throws GeometryValidationException if the rectangle coordinates, the points array or any point is invalid
+     */
+    default PackedPointLocations classifyPoints(int[][] rectangleCoordinates, int[][] pointsCoordinates) {
+        Optional<CompactRectangle> rectangle = GeometryValidator.validateRectangle(rectangleCoordinates);
+        if (pointsCoordinates == null) {
+            throw new GeometryValidationException("Points coordinates cannot be null");
+        }
+        for (int[] pointCoordinates : pointsCoordinates) {
+            GeometryValidator.validatePointCoordinates(pointCoordinates);
+        }
+        if (rectangle.isEmpty()) {
+            return PackedPointLocations.filled(pointsCoordinates.length, PointLocation.INVALID_SHAPE);
+        }
+        CompactRectangle bounds = rectangle.get();
+        PackedPointLocations locations = new PackedPointLocations(pointsCoordinates.length);
+        for (int i = 0; i < pointsCoordinates.length; i++) {
+            locations.set(i, bounds.classifyPoint(pointsCoordinates[i][0], pointsCoordinates[i][1]));
+        }
+        return locations;
+    }
 }
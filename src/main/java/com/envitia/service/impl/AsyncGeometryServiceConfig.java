@@ -0,0 +1,48 @@
+package com.envitia.service.impl;
+
+import java.time.Duration;
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Configuration of an {@link AsyncGeometryServiceImpl}.
+ * <p>
+ * The service runs requests on a fixed number of worker threads, which are either platform
+ * threads or virtual threads, fed by a bounded submission queue. When the queue is full the
+ * {@link BackpressurePolicy} decides what happens to new requests.
+ * </p>
+ */
+@Value
+@Builder
+public class AsyncGeometryServiceConfig {
+
+    /**
+     * The number of worker threads.
+     */
+    @Builder.Default
+    int workerThreads = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Whether the workers are virtual threads instead of platform threads.
+     */
+    @Builder.Default
+    boolean virtualThreads = false;
+
+    /**
+     * The maximum number of requests waiting for a worker.
+     */
+    @Builder.Default
+    int queueCapacity = 10_000;
+
+    /**
+     * The policy applied when the queue is full.
+     */
+    @Builder.Default
+    BackpressurePolicy backpressurePolicy = BackpressurePolicy.REJECT;
+
+    /**
+     * How long a submitting thread waits for queue space under {@link BackpressurePolicy#BLOCK}.
+     */
+    @Builder.Default
+    Duration blockTimeout = Duration.ofMillis(100);
+}
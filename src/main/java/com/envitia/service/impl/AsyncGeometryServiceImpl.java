@@ -0,0 +1,168 @@
+package com.envitia.service.impl;
+
+import com.envitia.service.AsyncGeometryService;
+import com.envitia.service.GeometryService;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Default implementation of the {@link AsyncGeometryService} interface.
+ * <p>
+ * This implementation runs each request through a delegate {@link GeometryService} on a
+ * fixed set of worker threads fed by a bounded queue, as described by an
+ * {@link AsyncGeometryServiceConfig}. When the queue is full, the configured
+ * {@link BackpressurePolicy} either rejects the request, runs it on the submitting thread,
+ * or makes the submitting thread wait for space. Queue depth and request counters are
+ * exposed through {@link #getMetrics()}.
+ * </p>
+ */
+public class AsyncGeometryServiceImpl implements AsyncGeometryService {
+
+    private static final String THREAD_NAME_PREFIX = "geometry-async-";
+
+    private final GeometryService geometryService;
+
+    private final ThreadPoolExecutor executor;
+
+    private final BlockingQueue<Runnable> queue;
+
+    private final AtomicInteger maxQueueDepth = new AtomicInteger();
+
+    private final LongAdder submitted = new LongAdder();
+
+    private final LongAdder completed = new LongAdder();
+
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * Constructs an AsyncGeometryServiceImpl with the default configuration, delegating to a
+     * new {@link GeometryServiceImpl}.
+     */
+    public AsyncGeometryServiceImpl() {
+        this(new GeometryServiceImpl(), AsyncGeometryServiceConfig.builder().build());
+    }
+
+    /**
+     * Constructs an AsyncGeometryServiceImpl.
+     *
+     * @param geometryService the synchronous service executing the requests
+     * @param config the executor, queue and backpressure configuration
+     * @throws IllegalArgumentException if the configuration has no workers or no queue capacity
+     */
+    public AsyncGeometryServiceImpl(GeometryService geometryService, AsyncGeometryServiceConfig config) {
+        if (config.getWorkerThreads() < 1 || config.getQueueCapacity() < 1) {
+            throw new IllegalArgumentException("Worker threads and queue capacity must be positive");
+        }
+        this.geometryService = geometryService;
+        this.queue = new ArrayBlockingQueue<>(config.getQueueCapacity());
+        ThreadFactory threadFactory = config.isVirtualThreads()
+                ? Thread.ofVirtual().name(THREAD_NAME_PREFIX, 0).factory()
+                : Thread.ofPlatform().name(THREAD_NAME_PREFIX, 0).factory();
+        this.executor = new ThreadPoolExecutor(config.getWorkerThreads(), config.getWorkerThreads(),
+                0L, TimeUnit.MILLISECONDS, queue, threadFactory, rejectionHandler(config));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * A request that is rejected, because the queue is full or the service has been closed,
+     * does not throw but completes the returned future exceptionally. So does a request whose
+     * execution throws, including an {@link Error}, so that the future never stays incomplete.
+     * </p>
+     */
+    @Override
+    public CompletableFuture<Boolean> isPointInRectangle(int[][] rectangleCoordinates, int[] pointCoordinates) {
+        CompletableFuture<Boolean> result = new CompletableFuture<>();
+        submitted.increment();
+        try {
+            executor.execute(() -> {
+                try {
+                    result.complete(geometryService.isPointInRectangle(rectangleCoordinates, pointCoordinates));
+                } catch (Throwable e) {
+                    result.completeExceptionally(e);
+                } finally {
+                    completed.increment();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            result.completeExceptionally(e);
+        }
+        maxQueueDepth.accumulateAndGet(queue.size(), Math::max);
+        return result;
+    }
+
+    /**
+     * Returns a snapshot of the service's queue depth and request counters.
+     *
+     * @return the current metrics
+     */
+    public AsyncGeometryServiceMetrics getMetrics() {
+        return new AsyncGeometryServiceMetrics(queue.size(), maxQueueDepth.get(), executor.getActiveCount(),
+                submitted.sum(), completed.sum(), rejected.sum());
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Requests submitted after this call are rejected. If the calling thread is interrupted while
+     * waiting, the pending requests are cancelled.
+     * </p>
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            while (!executor.awaitTermination(1, TimeUnit.SECONDS)) {
+                // Keep waiting for the accepted requests to finish
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static RejectedExecutionHandler rejectionHandler(AsyncGeometryServiceConfig config) {
+        return switch (config.getBackpressurePolicy()) {
+            case REJECT -> (task, executor) -> {
+                throw new RejectedExecutionException(executor.isShutdown()
+                        ? "Geometry service has been closed"
+                        : "Geometry service queue is full");
+            };
+            case CALLER_RUNS -> (task, executor) -> {
+                if (executor.isShutdown()) {
+                    throw new RejectedExecutionException("Geometry service has been closed");
+                }
+                task.run();
+            };
+            case BLOCK -> (task, executor) -> {
+                long timeoutNanos = config.getBlockTimeout().toNanos();
+                try {
+                    if (executor.isShutdown()) {
+                        throw new RejectedExecutionException("Geometry service has been closed");
+                    }
+                    if (!executor.getQueue().offer(task, timeoutNanos, TimeUnit.NANOSECONDS)) {
+                        throw new RejectedExecutionException("Geometry service queue is full");
+                    }
+                    // The service may have been closed while waiting, after its workers drained the
+                    // queue; take the task back, as ThreadPoolExecutor.execute does, so it is not lost
+                    if (executor.isShutdown() && executor.remove(task)) {
+                        throw new RejectedExecutionException("Geometry service has been closed");
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new RejectedExecutionException("Interrupted while waiting for queue space", e);
+                }
+            };
+        };
+    }
+}
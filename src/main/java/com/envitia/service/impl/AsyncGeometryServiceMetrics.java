@@ -0,0 +1,20 @@
+package com.envitia.service.impl;
+
+/**
+ * Point-in-time snapshot of the activity of an {@link AsyncGeometryServiceImpl}.
+ *
+ * @param queueDepth the number of requests currently waiting for a worker
+ * @param maxQueueDepth the highest queue depth observed since the service was created
+ * @param activeWorkers the number of workers currently executing a request
+ * @param submitted the number of requests submitted, including rejected ones
+ * @param completed the number of accepted requests that have finished, successfully or not
+ * @param rejected the number of requests rejected because the queue was full or the service was closed
+ */
+public record AsyncGeometryServiceMetrics(
+        int queueDepth,
+        int maxQueueDepth,
+        int activeWorkers,
+        long submitted,
+        long completed,
+        long rejected) {
+}
@@ -0,0 +1,24 @@
+package com.envitia.service.impl;
+
+/**
+ * Policy applied by {@link AsyncGeometryServiceImpl} when its submission queue is full.
+ */
+public enum BackpressurePolicy {
+    /**
+     * The request is rejected immediately; its future completes exceptionally with a
+     * {@link java.util.concurrent.RejectedExecutionException}.
+     */
+    REJECT,
+
+    /**
+     * The request is executed on the submitting thread, which slows the producer down
+     * to the rate the service can sustain.
+     */
+    CALLER_RUNS,
+
+    /**
+     * The submitting thread waits for space in the queue, up to the configured timeout,
+     * and the request is rejected if none becomes available.
+     */
+    BLOCK
+}
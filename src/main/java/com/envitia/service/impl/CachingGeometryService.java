@@ -0,0 +1,279 @@
+package com.envitia.service.impl;
+
+import com.envitia.exception.GeometryValidationException;
+import com.envitia.geometry.PackedPointLocations;
+import com.envitia.geometry.PointLocation;
+import com.envitia.service.GeometryService;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * {@link GeometryService} implementation that remembers the results of recent
+ * {@link #isPointInRectangle} calls.
+ * <p>
+ * When the same positions are checked against the same rectangles over and over, each call would
+ * otherwise validate the rectangle again. This implementation keys each result on a 64-bit hash of
+ * the rectangle coordinates and on the point coordinates packed into a long, and answers repeated
+ * calls from a fixed-size table without validating anything. Calls that miss are forwarded to a
+ * delegate, by default a {@link GeometryServiceImpl}, and their result is stored. Malformed input is
+ * always forwarded, so it fails exactly as it would without the cache; rectangles are not validated
+ * again on hits, so {@link com.envitia.validation.GeometryValidator} only reports a rejected shape
+ * the first time it is seen. {@link #classifyPoint} and {@link #classifyPoints} are forwarded
+ * without caching. This service can be passed to {@link com.envitia.RectanglePointChecker} like any
+ * other {@link GeometryService}.
+ * </p>
+ * <p>
+ * The table is a single array of longs, two per entry, and does not allocate per call. It is
+ * set-associative: a key hashes to a bucket of {@value #WAYS} slots, which share a 64-byte cache
+ * line and are probed in order, and a new result replaces a pseudo-randomly chosen slot when its
+ * bucket is full. The first word of a slot holds the rectangle hash with its two low bits replaced
+ * by the state of the slot (empty, outside or inside), and the second the packed point. Buckets are
+ * spread over up to {@value #MAX_STRIPES} stripes, each guarded by a {@link StampedLock}: lookups
+ * read optimistically and only take the read lock if a store raced with them, and stores take the
+ * write lock of their stripe only.
+ * </p>
+ * <p>
+ * Two different rectangles whose coordinates hash to the same 62 stored bits would share cached
+ * results. The hash mixes every coordinate, so this does not happen by accident, but it is not a
+ * cryptographic hash and must not be relied on against coordinates crafted to collide.
+ * </p>
+ */
+public class CachingGeometryService implements GeometryService {
+
+    /**
+     * The number of slots per bucket.
+     */
+    static final int WAYS = 4;
+
+    /**
+     * The largest capacity: its slots take two longs each, and {@code 2 * 2^30} would overflow the array size.
+     */
+    static final int MAX_CAPACITY = 1 << 29;
+
+    private static final int WAY_BITS = Integer.numberOfTrailingZeros(WAYS);
+
+    private static final int MAX_STRIPES = 64;
+
+    private static final int EMPTY = 0;
+    private static final int OUTSIDE = 1;
+    private static final int INSIDE = 2;
+
+    /**
+     * The low bits of the first word of a slot, holding the state of the slot in place of hash bits.
+     */
+    private static final long STATE_MASK = 0b11;
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private final GeometryService delegate;
+
+    private final long[] slots;
+
+    private final int capacity;
+
+    private final StampedLock[] locks;
+
+    private final int bucketMask;
+
+    private final int stripeMask;
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Constructs a CachingGeometryService in front of a {@link GeometryServiceImpl}.
+     *
+     * @param capacity the number of results to keep, rounded up to a power of two of at least {@value #WAYS}
+     * @throws IllegalArgumentException if capacity is not positive or larger than 2^29
+     */
+    public CachingGeometryService(int capacity) {
+        this(new GeometryServiceImpl(), capacity);
+    }
+
+    /**
+     * Constructs a CachingGeometryService in front of another service.
+     *
+     * @param delegate the service answering the calls that miss the cache
+     * @param capacity the number of results to keep, rounded up to a power of two of at least {@value #WAYS}
+     * @throws IllegalArgumentException if delegate is null, or capacity is not positive or larger than 2^29
+     */
+    public CachingGeometryService(GeometryService delegate, int capacity) {
+        if (delegate == null || capacity < 1 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Delegate must not be null and capacity must be between 1 and 2^29");
+        }
+        int slots = Math.max(WAYS, Integer.highestOneBit(capacity - 1) << 1);
+        int buckets = slots / WAYS;
+        int stripes = Math.min(MAX_STRIPES, buckets);
+        this.delegate = delegate;
+        this.slots = new long[2 * slots];
+        this.capacity = slots;
+        this.locks = new StampedLock[stripes];
+        Arrays.setAll(locks, i -> new StampedLock());
+        this.bucketMask = buckets - 1;
+        this.stripeMask = stripes - 1;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Repeated calls with the same rectangle and point coordinates are answered from the cache.
+     * </p>
+     *
+     * @throws GeometryValidationException if the input coordinates are invalid
+     */
+    @Override
+    public boolean isPointInRectangle(int[][] rectangleCoordinates, int[] pointCoordinates) {
+        if (!isWellFormed(rectangleCoordinates, pointCoordinates)) {
+            return delegate.isPointInRectangle(rectangleCoordinates, pointCoordinates);
+        }
+        long rectangleHash = hashRectangle(rectangleCoordinates) & ~STATE_MASK;
+        long point = pack(pointCoordinates[0], pointCoordinates[1]);
+        long hash = mix(rectangleHash ^ point * GOLDEN_GAMMA);
+        int bucket = (int) hash & bucketMask;
+        StampedLock lock = locks[bucket & stripeMask];
+
+        long stamp = lock.tryOptimisticRead();
+        int result = find(bucket, rectangleHash, point);
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                result = find(bucket, rectangleHash, point);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        if (result != EMPTY) {
+            hits.increment();
+            return result == INSIDE;
+        }
+
+        misses.increment();
+        boolean inside = delegate.isPointInRectangle(rectangleCoordinates, pointCoordinates);
+        stamp = lock.writeLock();
+        try {
+            store(bucket, (int) (hash >>> Long.SIZE - WAY_BITS), rectangleHash, point, inside ? INSIDE : OUTSIDE);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        return inside;
+    }
+
+    @Override
+    public PointLocation classifyPoint(int[][] rectangleCoordinates, int[] pointCoordinates) {
+        return delegate.classifyPoint(rectangleCoordinates, pointCoordinates);
+    }
+
+    @Override
+    public PackedPointLocations classifyPoints(int[][] rectangleCoordinates, int[][] pointsCoordinates) {
+        return delegate.classifyPoints(rectangleCoordinates, pointsCoordinates);
+    }
+
+    /**
+     * Returns a snapshot of the cache activity since the service was created.
+     *
+     * @return the cache metrics
+     */
+    public CachingGeometryServiceMetrics getMetrics() {
+        return new CachingGeometryServiceMetrics(hits.sum(), misses.sum(), evictions.sum(), capacity);
+    }
+
+    /**
+     * Removes every cached result; the metrics are kept.
+     */
+    public void clear() {
+        for (StampedLock lock : locks) {
+            lock.asWriteLock().lock();
+        }
+        try {
+            Arrays.fill(slots, 0);
+        } finally {
+            for (StampedLock lock : locks) {
+                lock.asWriteLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Returns the cached result of a key in a bucket, or {@link #EMPTY} if it is not cached.
+     */
+    private int find(int bucket, long rectangleHash, long point) {
+        int base = bucket << WAY_BITS + 1;
+        for (int slot = base; slot < base + 2 * WAYS; slot += 2) {
+            long word = slots[slot];
+            if ((word & ~STATE_MASK) == rectangleHash && slots[slot + 1] == point && (word & STATE_MASK) != EMPTY) {
+                return (int) (word & STATE_MASK);
+            }
+        }
+        return EMPTY;
+    }
+
+    /**
+     * Stores a result in a bucket, in its first empty slot or else in the given victim slot.
+     */
+    private void store(int bucket, int victim, long rectangleHash, long point, int result) {
+        int base = bucket << WAY_BITS + 1;
+        int target = -1;
+        for (int slot = base; slot < base + 2 * WAYS; slot += 2) {
+            long word = slots[slot];
+            if ((word & STATE_MASK) == EMPTY) {
+                if (target < 0) {
+                    target = slot;
+                }
+            } else if ((word & ~STATE_MASK) == rectangleHash && slots[slot + 1] == point) {
+                // Another thread stored it after our lookup
+                return;
+            }
+        }
+        if (target < 0) {
+            target = base + 2 * victim;
+            evictions.increment();
+        }
+        slots[target] = rectangleHash | result;
+        slots[target + 1] = point;
+    }
+
+    private static boolean isWellFormed(int[][] rectangleCoordinates, int[] pointCoordinates) {
+        if (rectangleCoordinates == null || pointCoordinates == null || pointCoordinates.length != 2) {
+            return false;
+        }
+        for (int[] vertex : rectangleCoordinates) {
+            if (vertex == null || vertex.length != 2) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Hashes rectangle coordinates to 64 bits, depending on every coordinate and on their order.
+     * <p>
+     * Each round is a bijection of the running hash for a given vertex, so two coordinate arrays of
+     * the same length differing in a single vertex never collide; the final mix spreads the bits.
+     * </p>
+     */
+    static long hashRectangle(int[][] coordinates) {
+        long hash = coordinates.length * GOLDEN_GAMMA;
+        for (int[] vertex : coordinates) {
+            hash = (Long.rotateLeft(hash, 29) ^ pack(vertex[0], vertex[1])) * GOLDEN_GAMMA;
+        }
+        return mix(hash);
+    }
+
+    private static long pack(int x, int y) {
+        return (long) x << Integer.SIZE | y & 0xFFFFFFFFL;
+    }
+
+    /**
+     * The 64-bit finalizer of MurmurHash3, spreading every input bit over the whole output.
+     */
+    private static long mix(long value) {
+        value = (value ^ value >>> 33) * 0xFF51AFD7ED558CCDL;
+        value = (value ^ value >>> 33) * 0xC4CEB9FE1A85EC53L;
+        return value ^ value >>> 33;
+    }
+}
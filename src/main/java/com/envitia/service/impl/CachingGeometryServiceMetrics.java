@@ -0,0 +1,26 @@
+package com.envitia.service.impl;
+
+/**
+ * Point-in-time snapshot of the activity of a {@link CachingGeometryService}.
+ *
+ * @param hits the number of calls answered from the cache
+ * @param misses the number of well-formed calls forwarded to the delegate
+ * @param evictions the number of cached results replaced by newer ones
+ * @param capacity the number of results the cache can hold
+ */
+public record CachingGeometryServiceMetrics(
+        long hits,
+        long misses,
+        long evictions,
+        int capacity) {
+
+    /**
+     * Returns the fraction of calls answered from the cache.
+     *
+     * @return the hit rate between 0 and 1, or 0 if there were no calls
+     */
+    public double hitRate() {
+        long calls = hits + misses;
+        return calls == 0 ? 0 : (double) hits / calls;
+    }
+}
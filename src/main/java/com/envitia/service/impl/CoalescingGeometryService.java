@@ -0,0 +1,250 @@
+package com.envitia.service.impl;
+
+import com.envitia.exception.GeometryValidationException;
+import com.envitia.geometry.CompactRectangle;
+import com.envitia.geometry.Point;
+import com.envitia.service.GeometryService;
+import com.envitia.validation.GeometryValidator;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link GeometryService} implementation that coalesces concurrent requests for the same rectangle.
+ * <p>
+ * When many threads check single points against a few hot rectangles, each call would otherwise
+ * validate the same rectangle again. This implementation gathers concurrent requests whose
+ * rectangle coordinates are equal into a batch. The first caller of a batch becomes its leader:
+ * it waits until either the batch holds {@code maxBatchSize} points or {@code maxWait} has
+ * elapsed, then validates the rectangle once, evaluates all points of the batch in one loop and
+ * wakes the other callers with their results. Calls stay synchronous, so this service can be
+ * passed to {@link com.envitia.RectanglePointChecker} like any other {@link GeometryService}.
+ * </p>
+ * <p>
+ * Each caller validates the structure of the rectangle coordinates and then its point before
+ * joining a batch, in the same order as {@link GeometryServiceImpl}, so malformed input only fails
+ * its own call, with the same {@link GeometryValidationException} the default service throws.
+ * Should the rectangle still fail validation when the batch is evaluated, every call of the batch
+ * fails with the same exception.
+ * </p>
+ */
+public class CoalescingGeometryService implements GeometryService {
+
+    private final long maxWaitNanos;
+
+    private final int maxBatchSize;
+
+    private final ConcurrentMap<RectangleKey, Batch> openBatches = new ConcurrentHashMap<>();
+
+    private final LongAdder batches = new LongAdder();
+
+    private final LongAdder requests = new LongAdder();
+
+    /**
+     * Constructs a CoalescingGeometryService.
+     *
+     * @param maxWait the longest time a batch leader waits for other requests to join
+     * @param maxBatchSize the number of points after which a batch is evaluated without waiting further
+     * @throws IllegalArgumentException if maxWait is negative or maxBatchSize is not positive
+     */
+    public CoalescingGeometryService(Duration maxWait, int maxBatchSize) {
+        if (maxWait.isNegative() || maxBatchSize < 1) {
+            throw new IllegalArgumentException("Max wait must not be negative and max batch size must be positive");
+        }
+        this.maxWaitNanos = maxWait.toNanos();
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The calling thread blocks until the batch it joined has been evaluated, which takes at most
+     * about {@code maxWait} plus the evaluation time of the batch.
+     * </p>
+     *
+     * @throws GeometryValidationException if the input coordinates are invalid
+     */
+    @Override
+    public boolean isPointInRectangle(int[][] rectangleCoordinates, int[] pointCoordinates) {
+        GeometryValidator.validateRectangleCoordinates(rectangleCoordinates);
+        Point point = Point.fromArray(pointCoordinates);
+        requests.increment();
+        RectangleKey key = new RectangleKey(rectangleCoordinates);
+        while (true) {
+            Batch batch = openBatches.computeIfAbsent(key, k -> new Batch(rectangleCoordinates, maxBatchSize));
+            int slot = batch.join(point);
+            if (slot < 0) {
+                // The batch closed before we could join it; a new one will be opened
+                openBatches.remove(key, batch);
+                continue;
+            }
+            if (slot == 0) {
+                lead(key, batch);
+            }
+            return batch.awaitResult(slot);
+        }
+    }
+
+    /**
+     * Returns the number of batches evaluated so far.
+     *
+     * @return the number of evaluated batches
+     */
+    public long getBatchCount() {
+        return batches.sum();
+    }
+
+    /**
+     * Returns the number of requests that went through batching so far.
+     *
+     * @return the number of batched requests
+     */
+    public long getRequestCount() {
+        return requests.sum();
+    }
+
+    private void lead(RectangleKey key, Batch batch) {
+        batch.awaitFullOrTimeout(maxWaitNanos);
+        openBatches.remove(key, batch);
+        batches.increment();
+        batch.evaluate();
+    }
+
+    /**
+     * Map key comparing rectangle coordinates by content, with the hash computed once.
+     */
+    private static final class RectangleKey {
+
+        private final int[][] coordinates;
+
+        private final int hash;
+
+        RectangleKey(int[][] coordinates) {
+            this.coordinates = coordinates;
+            this.hash = Arrays.deepHashCode(coordinates);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof RectangleKey other
+                    && hash == other.hash
+                    && (coordinates == other.coordinates || Arrays.deepEquals(coordinates, other.coordinates));
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * Points gathered for one rectangle, evaluated together by the batch leader.
+     */
+    private static final class Batch {
+
+        private final int[][] rectangleCoordinates;
+
+        private final int[] xCoordinates;
+
+        private final int[] yCoordinates;
+
+        private final boolean[] results;
+
+        private int size;
+
+        private boolean closed;
+
+        private boolean done;
+
+        private RuntimeException error;
+
+        Batch(int[][] rectangleCoordinates, int capacity) {
+            this.rectangleCoordinates = rectangleCoordinates;
+            this.xCoordinates = new int[capacity];
+            this.yCoordinates = new int[capacity];
+            this.results = new boolean[capacity];
+        }
+
+        /**
+         * Adds a point to the batch and returns its slot, or -1 if the batch no longer accepts points.
+         */
+        synchronized int join(Point point) {
+            if (closed) {
+                return -1;
+            }
+            int slot = size++;
+            xCoordinates[slot] = point.x();
+            yCoordinates[slot] = point.y();
+            if (size == xCoordinates.length) {
+                closed = true;
+                notifyAll();
+            }
+            return slot;
+        }
+
+        synchronized void awaitFullOrTimeout(long maxWaitNanos) {
+            long deadline = System.nanoTime() + maxWaitNanos;
+            boolean interrupted = false;
+            long remaining;
+            while (!closed && (remaining = deadline - System.nanoTime()) > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.timedWait(this, remaining);
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            closed = true;
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        void evaluate() {
+            // No point joins once the batch is closed, so size and coordinates are stable here
+            int count;
+            synchronized (this) {
+                count = size;
+            }
+            RuntimeException failure = null;
+            try {
+                Optional<CompactRectangle> rectangle = GeometryValidator.validateRectangle(rectangleCoordinates);
+                if (rectangle.isPresent()) {
+                    CompactRectangle bounds = rectangle.get();
+                    for (int i = 0; i < count; i++) {
+                        results[i] = bounds.containsPoint(xCoordinates[i], yCoordinates[i]);
+                    }
+                }
+            } catch (RuntimeException e) {
+                failure = e;
+            }
+            synchronized (this) {
+                error = failure;
+                done = true;
+                notifyAll();
+            }
+        }
+
+        synchronized boolean awaitResult(int slot) {
+            boolean interrupted = false;
+            while (!done) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+            if (error != null) {
+                throw error;
+            }
+            return results[slot];
+        }
+    }
+}
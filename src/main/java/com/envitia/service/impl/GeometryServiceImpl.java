@@ -1,10 +1,13 @@
 package com.envitia.service.impl;
 
+import com.envitia.geometry.CompactRectangle;
 import com.envitia.geometry.Point;
 import com.envitia.geometry.Rectangle;
 import com.envitia.service.GeometryService;
 import com.envitia.validation.GeometryValidator;
 
+import java.util.Optional;
+
 /**
  * Default implementation of the {@link GeometryService} interface.
  * <p>
@@ -26,11 +29,20 @@ public class GeometryServiceImpl implements GeometryService {
      * If the shape is not a valid rectangle (as determined by {@link GeometryValidator#isValidRectangle}),
      * this method returns false.
      * </p>
+     * <p>
+     * Rectangles with at least {@link GeometryValidator#PARALLEL_VALIDATION_THRESHOLD} vertices are
+     * validated from primitive coordinate arrays with
+     * {@link GeometryValidator#validateRectangle(int[][])}, which avoids a {@link Point} per vertex and
+     * spreads the work across the common fork-join pool.
+     * </p>
      *
      * @throws com.envitia.exception.GeometryValidationException if the input coordinates are invalid
      */
     @Override
     public boolean isPointInRectangle(int[][] rectangleCoordinates, int[] pointCoordinates) {
+        if (rectangleCoordinates != null && rectangleCoordinates.length >= GeometryValidator.PARALLEL_VALIDATION_THRESHOLD) {
+            return isPointInLargeRectangle(rectangleCoordinates, pointCoordinates);
+        }
         Rectangle rectangle = Rectangle.fromCoordinateArray(rectangleCoordinates);
         Point point = Point.fromArray(pointCoordinates);
         if (!GeometryValidator.isValidRectangle(rectangle)) {
@@ -38,4 +50,10 @@ public class GeometryServiceImpl implements GeometryService {
         }
         return rectangle.containsPoint(point);
     }
+
+    private boolean isPointInLargeRectangle(int[][] rectangleCoordinates, int[] pointCoordinates) {
+        Optional<CompactRectangle> rectangle = GeometryValidator.validateRectangle(rectangleCoordinates);
+        Point point = Point.fromArray(pointCoordinates);
+        return rectangle.map(bounds -> bounds.containsPoint(point)).orElse(false);
+    }
 }
@@ -0,0 +1,238 @@
+package com.envitia.service.impl;
+
+import com.envitia.exception.GeometryValidationException;
+import com.envitia.geometry.Rectangle;
+import com.envitia.service.GeometryService;
+import com.envitia.validation.GeometryValidator;
+
+import java.lang.management.CompilationMXBean;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.SplittableRandom;
+
+/**
+ * Opt-in warm-up of the hot paths of a {@link GeometryService}, meant to run once after startup
+ * and before the service receives traffic.
+ * <p>
+ * Until the JIT compilers have compiled them, the first calls through {@link GeometryServiceImpl},
+ * {@link Rectangle#fromCoordinateArray} and the corner checks of {@link GeometryValidator} run
+ * interpreted, which shows as a latency spike after every deploy. {@link #run} calls the service
+ * with a synthetic workload until compilation settles, so that this happens before real traffic
+ * arrives. The workload covers every branch real traffic takes, so that the compiled code is not
+ * specialized for a subset and later deoptimized:
+ * </p>
+ * <ul>
+ *   <li>valid rectangles of 4 vertices in every order, densified ones with edge points, ones at and
+ *       above {@link Rectangle#COMPRESSION_THRESHOLD} vertices, and one of
+ *       {@link GeometryValidator#PARALLEL_VALIDATION_THRESHOLD} vertices per round</li>
+ *   <li>shapes rejected for too few vertices, a vertex off the edges or a missing corner</li>
+ *   <li>points inside, on the boundary and outside, through {@link GeometryService#isPointInRectangle},
+ *       {@link GeometryService#classifyPoint} and {@link GeometryService#classifyPoints}</li>
+ *   <li>a few malformed calls, which throw {@link GeometryValidationException}</li>
+ * </ul>
+ * <p>
+ * The workload runs in rounds of {@value #OPERATIONS_PER_ROUND} calls. Compilation is considered
+ * settled once the total compilation time reported by the {@link CompilationMXBean} has not grown
+ * for {@value #STABLE_ROUNDS} consecutive rounds; if the JVM does not report it, a fixed number of
+ * rounds is run. Either way the warm-up stops at the given maximum duration.
+ * </p>
+ * <p>
+ * Rejected synthetic shapes go through the validator like any other, so the warm-up should run
+ * before a {@link com.envitia.validation.RejectionEventLog} is installed. Coordinates are drawn
+ * at random from a wide range, so a {@link CachingGeometryService} is warmed through its delegate
+ * rather than answering from its own entries.
+ * </p>
+ */
+public final class GeometryServiceWarmup {
+
+    /**
+     * The maximum duration used by {@link #run(GeometryService)}.
+     */
+    public static final Duration DEFAULT_MAX_DURATION = Duration.ofSeconds(10);
+
+    /**
+     * The number of service calls per round.
+     */
+    static final int OPERATIONS_PER_ROUND = 10_000;
+
+    /**
+     * The number of consecutive rounds without compilation after which compilation is settled.
+     */
+    static final int STABLE_ROUNDS = 3;
+
+    /**
+     * The number of rounds run when the JVM does not report compilation time.
+     */
+    static final int FALLBACK_ROUNDS = 50;
+
+    private static final int MALFORMED_PERIOD = 64;
+
+    private static final int BATCH_SIZE = 16;
+
+    private static final int DOMAIN = 1 << 24;
+
+    private GeometryServiceWarmup() {
+    }
+
+    /**
+     * Warms up a service for at most {@link #DEFAULT_MAX_DURATION}.
+     *
+     * @param service the service to warm up
+     * @return a summary of the warm-up
+     * @throws IllegalArgumentException if service is null
+     */
+    public static GeometryServiceWarmupReport run(GeometryService service) {
+        return run(service, DEFAULT_MAX_DURATION);
+    }
+
+    /**
+     * Warms up a service until compilation settles or the maximum duration has elapsed.
+     *
+     * @param service the service to warm up
+     * @param maxDuration the longest time to spend warming up
+     * @return a summary of the warm-up
+     * @throws IllegalArgumentException if service is null or maxDuration is negative
+     */
+    public static GeometryServiceWarmupReport run(GeometryService service, Duration maxDuration) {
+        if (service == null || maxDuration == null || maxDuration.isNegative()) {
+            throw new IllegalArgumentException("Service must not be null and max duration must not be negative");
+        }
+        CompilationMXBean compiler = ManagementFactory.getCompilationMXBean();
+        boolean monitored = compiler != null && compiler.isCompilationTimeMonitoringSupported();
+        long compilationStart = monitored ? compiler.getTotalCompilationTime() : 0;
+        long start = System.nanoTime();
+        long deadline = start + maxDuration.toNanos();
+
+        SplittableRandom random = new SplittableRandom(0x5EED);
+        int[][] largeRectangle = densified(random, GeometryValidator.PARALLEL_VALIDATION_THRESHOLD);
+        long lastCompilation = compilationStart;
+        int rounds = 0;
+        int stableRounds = 0;
+        long checksum = 0;
+        boolean settled = false;
+        while (System.nanoTime() - deadline < 0) {
+            for (int i = 0; i < OPERATIONS_PER_ROUND; i++) {
+                checksum += operation(service, random, i);
+            }
+            checksum += service.isPointInRectangle(largeRectangle, point(random, largeRectangle)) ? 1 : 0;
+            rounds++;
+            if (monitored) {
+                long compilation = compiler.getTotalCompilationTime();
+                stableRounds = compilation == lastCompilation ? stableRounds + 1 : 0;
+                lastCompilation = compilation;
+                settled = stableRounds >= STABLE_ROUNDS;
+            } else {
+                settled = rounds >= FALLBACK_ROUNDS;
+            }
+            if (settled) {
+                break;
+            }
+        }
+        // Keeps the results observable so that the calls cannot be optimized away
+        if (checksum == Long.MIN_VALUE) {
+            throw new IllegalStateException("Unreachable");
+        }
+        return new GeometryServiceWarmupReport(rounds, (long) rounds * (OPERATIONS_PER_ROUND + 1),
+                Duration.ofNanos(System.nanoTime() - start),
+                monitored ? compiler.getTotalCompilationTime() - compilationStart : -1, settled);
+    }
+
+    /**
+     * Makes one synthetic service call and returns a value derived from its result.
+     */
+    private static int operation(GeometryService service, SplittableRandom random, int index) {
+        int[][] rectangle = shape(random);
+        if (index % MALFORMED_PERIOD == MALFORMED_PERIOD - 1) {
+            try {
+                return service.isPointInRectangle(rectangle, new int[]{random.nextInt()}) ? 1 : 0;
+            } catch (GeometryValidationException e) {
+                return 2;
+            }
+        }
+        int kind = random.nextInt(16);
+        if (kind < 12) {
+            return service.isPointInRectangle(rectangle, point(random, rectangle)) ? 1 : 0;
+        }
+        if (kind < 15) {
+            return service.classifyPoint(rectangle, point(random, rectangle)).ordinal();
+        }
+        int[][] points = new int[BATCH_SIZE][];
+        for (int i = 0; i < points.length; i++) {
+            points[i] = point(random, rectangle);
+        }
+        return service.classifyPoints(rectangle, points).get(random.nextInt(BATCH_SIZE)).ordinal();
+    }
+
+    /**
+     * Draws a shape: mostly valid rectangles of various vertex counts, a fifth of invalid shapes.
+     */
+    private static int[][] shape(SplittableRandom random) {
+        int kind = random.nextInt(20);
+        if (kind < 8) {
+            return densified(random, 4);
+        }
+        if (kind < 13) {
+            return densified(random, 5 + random.nextInt(12));
+        }
+        if (kind < 16) {
+            return densified(random, Rectangle.COMPRESSION_THRESHOLD + random.nextInt(Rectangle.COMPRESSION_THRESHOLD));
+        }
+        int[][] shape = densified(random, 4 + random.nextInt(8));
+        switch (kind) {
+            // Too few vertices
+            case 16 -> shape = new int[][]{shape[0], shape[1], shape[2]};
+            // A vertex strictly inside, off the edges
+            case 17 -> shape[random.nextInt(shape.length)] = new int[]{
+                    (shape[0][0] + shape[2][0]) >>> 1, (shape[0][1] + shape[2][1]) >>> 1};
+            // A corner moved along its edge, so that it is missing
+            default -> shape[random.nextInt(4)][0] += 1;
+        }
+        return shape;
+    }
+
+    /**
+     * Draws a valid rectangle with its four corners, rotated to a random starting corner, and extra
+     * points on its edges.
+     */
+    private static int[][] densified(SplittableRandom random, int vertexCount) {
+        int minX = random.nextInt(DOMAIN) - DOMAIN / 2, minY = random.nextInt(DOMAIN) - DOMAIN / 2;
+        int maxX = minX + 2 + random.nextInt(1 << 16), maxY = minY + 2 + random.nextInt(1 << 16);
+        int[][] corners = {{minX, minY}, {maxX, minY}, {maxX, maxY}, {minX, maxY}};
+        int first = random.nextInt(4);
+        boolean clockwise = random.nextBoolean();
+        int[][] shape = new int[vertexCount][];
+        for (int i = 0; i < 4; i++) {
+            shape[i] = corners[(first + (clockwise ? i : 4 - i)) % 4].clone();
+        }
+        for (int i = 4; i < vertexCount; i++) {
+            int x = minX + random.nextInt(maxX - minX + 1), y = minY + random.nextInt(maxY - minY + 1);
+            shape[i] = switch (random.nextInt(4)) {
+                case 0 -> new int[]{x, minY};
+                case 1 -> new int[]{maxX, y};
+                case 2 -> new int[]{x, maxY};
+                default -> new int[]{minX, y};
+            };
+        }
+        return shape;
+    }
+
+    /**
+     * Draws a point inside, on the boundary of or outside the bounds of a shape, in equal proportions.
+     */
+    private static int[] point(SplittableRandom random, int[][] shape) {
+        int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE, maxX = Integer.MIN_VALUE, maxY = Integer.MIN_VALUE;
+        for (int i = 0; i < Math.min(shape.length, 4); i++) {
+            minX = Math.min(minX, shape[i][0]);
+            minY = Math.min(minY, shape[i][1]);
+            maxX = Math.max(maxX, shape[i][0]);
+            maxY = Math.max(maxY, shape[i][1]);
+        }
+        int x = minX + 1 + random.nextInt(Math.max(1, maxX - minX - 1));
+        int y = minY + 1 + random.nextInt(Math.max(1, maxY - minY - 1));
+        return switch (random.nextInt(3)) {
+            case 0 -> new int[]{x, y};
+            case 1 -> random.nextBoolean() ? new int[]{minX, y} : new int[]{x, maxY};
+            default -> new int[]{maxX + 1 + random.nextInt(1 << 10), y};
+        };
+    }
+}
@@ -0,0 +1,21 @@
+package com.envitia.service.impl;
+
+import java.time.Duration;
+
+/**
+ * Summary of a {@link GeometryServiceWarmup} run.
+ *
+ * @param rounds the number of rounds of synthetic operations executed
+ * @param operations the number of service calls made
+ * @param elapsed the time spent warming up
+ * @param compilationMillis the time the JIT compilers spent compiling during the warm-up, in
+ *                          milliseconds, or -1 if the JVM does not report it
+ * @param settled whether compilation settled before the maximum duration was reached
+ */
+public record GeometryServiceWarmupReport(
+        int rounds,
+        long operations,
+        Duration elapsed,
+        long compilationMillis,
+        boolean settled) {
+}
@@ -0,0 +1,384 @@
+package com.envitia.store;
+
+import com.envitia.exception.GeometryValidationException;
+import com.envitia.geometry.CompactRectangle;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * Append-only store of validated rectangles kept outside the garbage-collected heap.
+ * <p>
+ * Rectangles are stored as packed records of five native-order ints
+ * {@code (id, minX, minY, maxX, maxY)} in direct memory chunks, so holding tens of millions
+ * of rectangles costs 20 bytes each and adds no objects for the garbage collector to trace.
+ * Only the bounds of a rectangle are stored; rectangles are expected to have been validated
+ * beforehand, typically by creating a {@link CompactRectangle}.
+ * </p>
+ * <p>
+ * Two kinds of containment query are supported:
+ * <ul>
+ *   <li>{@link #forEachContaining} scans every record</li>
+ *   <li>{@link #forEachContainingIndexed} uses the index built by {@link #buildIndex()}, which
+ *       sorts the records by {@code minX} and keeps per-block bound summaries so that whole
+ *       blocks of records can be skipped. Records appended after the index was built are
+ *       scanned linearly until the index is rebuilt.</li>
+ * </ul>
+ * Containment has the same strict semantics as {@link CompactRectangle#containsPoint(int, int)}:
+ * points on the edges are not considered inside.
+ * </p>
+ * <p>
+ * The memory is owned by the store and given up by {@link #close()}; any use of a closed
+ * store throws {@link IllegalStateException}. Appends and index builds are not thread-safe,
+ * whereas concurrent queries on a store that is no longer modified are.
+ * </p>
+ */
+public final class OffHeapRectangleStore implements AutoCloseable {
+
+    /**
+     * The number of int fields per record.
+     */
+    private static final int FIELDS = 5;
+
+    /**
+     * The size of a record in bytes.
+     */
+    private static final int RECORD_BYTES = FIELDS * Integer.BYTES;
+
+    private static final int ID = 0;
+    private static final int MIN_X = Integer.BYTES;
+    private static final int MIN_Y = 2 * Integer.BYTES;
+    private static final int MAX_X = 3 * Integer.BYTES;
+    private static final int MAX_Y = 4 * Integer.BYTES;
+
+    /**
+     * The number of records per memory chunk, as a power of two (2^20 records, 20 MiB per chunk).
+     */
+    private static final int CHUNK_SHIFT = 20;
+    private static final int CHUNK_RECORDS = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_RECORDS - 1;
+
+    /**
+     * The number of records summarised by one index block.
+     */
+    private static final int BLOCK_SHIFT = 6;
+    private static final int BLOCK_RECORDS = 1 << BLOCK_SHIFT;
+
+    /**
+     * The number of int fields per index block summary: max of maxX, min of minY, max of maxY.
+     */
+    private static final int BLOCK_FIELDS = 3;
+
+    private List<ByteBuffer> chunks = new ArrayList<>();
+
+    private long size;
+
+    private long indexedSize;
+
+    private ByteBuffer blockSummaries;
+
+    private boolean closed;
+
+    /**
+     * Returns the number of rectangles in the store.
+     *
+     * @return the number of stored rectangles
+     * @throws IllegalStateException if the store has been closed
+     */
+    public long size() {
+        ensureOpen();
+        return size;
+    }
+
+    /**
+     * Returns the number of rectangles covered by the index.
+     *
+     * @return the number of rectangles covered by the last {@link #buildIndex()}, or 0 if no index was built
+     * @throws IllegalStateException if the store has been closed
+     */
+    public long indexedSize() {
+        ensureOpen();
+        return indexedSize;
+    }
+
+    /**
+     * Appends a rectangle to the store.
+     *
+     * @param id the identifier reported by queries for this rectangle
+     * @param rectangle the validated rectangle to store
+     * @throws GeometryValidationException if the rectangle is null
+     * @throws IllegalStateException if the store has been closed
+     */
+    public void append(int id, CompactRectangle rectangle) {
+        ensureOpen();
+        if (rectangle == null) {
+            throw new GeometryValidationException("Rectangle cannot be null");
+        }
+        write(size++, id, rectangle.getMinX(), rectangle.getMinY(), rectangle.getMaxX(), rectangle.getMaxY());
+    }
+
+    /**
+     * Appends a batch of rectangles to the store.
+     * <p>
+     * The batch is checked before anything is written, so a rejected batch leaves the store unchanged.
+     * </p>
+     *
+     * @param ids the identifiers of the rectangles, in the same order as {@code rectangles}
+     * @param rectangles the validated rectangles to store
+     * @throws GeometryValidationException if either array is null, their lengths differ or a rectangle is null
+     * @throws IllegalStateException if the store has been closed
+     */
+    public void appendAll(int[] ids, CompactRectangle[] rectangles) {
+        ensureOpen();
+        if (ids == null || rectangles == null) {
+            throw new GeometryValidationException("Ids and rectangles cannot be null");
+        }
+        if (ids.length != rectangles.length) {
+            throw new GeometryValidationException(
+                "Ids and rectangles must have the same length, found: " + ids.length + " and " + rectangles.length);
+        }
+        for (CompactRectangle rectangle : rectangles) {
+            if (rectangle == null) {
+                throw new GeometryValidationException("Rectangle cannot be null");
+            }
+        }
+        for (int i = 0; i < ids.length; i++) {
+            CompactRectangle rectangle = rectangles[i];
+            write(size++, ids[i], rectangle.getMinX(), rectangle.getMinY(), rectangle.getMaxX(), rectangle.getMaxY());
+        }
+    }
+
+    /**
+     * Returns the rectangle stored at the given position.
+     *
+     * @param position the position of the record, between 0 (inclusive) and {@link #size()} (exclusive)
+     * @return the stored rectangle
+     * @throws IndexOutOfBoundsException if the position is out of range
+     * @throws IllegalStateException if the store has been closed
+     */
+    public CompactRectangle get(long position) {
+        ensureOpen();
+        checkPosition(position);
+        return CompactRectangle.ofBounds(
+                field(position, MIN_X), field(position, MIN_Y), field(position, MAX_X), field(position, MAX_Y));
+    }
+
+    /**
+     * Returns the identifier of the rectangle stored at the given position.
+     *
+     * @param position the position of the record, between 0 (inclusive) and {@link #size()} (exclusive)
+     * @return the identifier of the stored rectangle
+     * @throws IndexOutOfBoundsException if the position is out of range
+     * @throws IllegalStateException if the store has been closed
+     */
+    public int getId(long position) {
+        ensureOpen();
+        checkPosition(position);
+        return field(position, ID);
+    }
+
+    /**
+     * Reports the identifiers of all rectangles that strictly contain the point, by scanning every record.
+     *
+     * @param x the x coordinate of the point
+     * @param y the y coordinate of the point
+     * @param action the consumer receiving the identifier of each containing rectangle
+     * @return the number of containing rectangles
+     * @throws IllegalStateException if the store has been closed
+     */
+    public int forEachContaining(int x, int y, IntConsumer action) {
+        ensureOpen();
+        return scan(0, size, x, y, action);
+    }
+
+    /**
+     * Reports the identifiers of all rectangles that strictly contain the point, using the index.
+     * <p>
+     * Reports the same identifiers as {@link #forEachContaining}, although possibly in a different order.
+     * If no index has been built this is equivalent to a full scan.
+     * </p>
+     *
+     * @param x the x coordinate of the point
+     * @param y the y coordinate of the point
+     * @param action the consumer receiving the identifier of each containing rectangle
+     * @return the number of containing rectangles
+     * @throws IllegalStateException if the store has been closed
+     */
+    public int forEachContainingIndexed(int x, int y, IntConsumer action) {
+        ensureOpen();
+        int found = 0;
+        // Only records with minX < x can contain the point; they form a prefix of the sorted range
+        long end = firstIndexedWithMinXAtLeast(x);
+        long blocks = (end + BLOCK_RECORDS - 1) >>> BLOCK_SHIFT;
+        for (long block = 0; block < blocks; block++) {
+            int summary = (int) (block * BLOCK_FIELDS * Integer.BYTES);
+            if (blockSummaries.getInt(summary) <= x
+                    || blockSummaries.getInt(summary + Integer.BYTES) >= y
+                    || blockSummaries.getInt(summary + 2 * Integer.BYTES) <= y) {
+                continue;
+            }
+            long from = block << BLOCK_SHIFT;
+            found += scan(from, Math.min(end, from + BLOCK_RECORDS), x, y, action);
+        }
+        return found + scan(indexedSize, size, x, y, action);
+    }
+
+    /**
+     * Builds the containment index over all rectangles currently in the store.
+     * <p>
+     * The records are sorted in place by {@code minX}, which changes the positions reported by
+     * {@link #get(long)} and {@link #getId(long)}. The per-block summaries are kept in direct memory too.
+     * </p>
+     *
+     * @throws IllegalStateException if the store has been closed
+     */
+    public void buildIndex() {
+        ensureOpen();
+        sortByMinX(size);
+        long blocks = (size + BLOCK_RECORDS - 1) >>> BLOCK_SHIFT;
+        if (blocks * BLOCK_FIELDS * Integer.BYTES > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Too many rectangles to index: " + size);
+        }
+        ByteBuffer summaries = ByteBuffer.allocateDirect((int) (blocks * BLOCK_FIELDS * Integer.BYTES))
+                .order(ByteOrder.nativeOrder());
+        for (long block = 0; block < blocks; block++) {
+            long from = block << BLOCK_SHIFT;
+            long to = Math.min(size, from + BLOCK_RECORDS);
+            int maxX = Integer.MIN_VALUE, minY = Integer.MAX_VALUE, maxY = Integer.MIN_VALUE;
+            for (long position = from; position < to; position++) {
+                maxX = Math.max(maxX, field(position, MAX_X));
+                minY = Math.min(minY, field(position, MIN_Y));
+                maxY = Math.max(maxY, field(position, MAX_Y));
+            }
+            int summary = (int) (block * BLOCK_FIELDS * Integer.BYTES);
+            summaries.putInt(summary, maxX);
+            summaries.putInt(summary + Integer.BYTES, minY);
+            summaries.putInt(summary + 2 * Integer.BYTES, maxY);
+        }
+        blockSummaries = summaries;
+        indexedSize = size;
+    }
+
+    /**
+     * Closes the store and drops its references to the memory it holds.
+     * <p>
+     * The memory is direct {@link ByteBuffer}s, which Java 21 cannot free explicitly, so it is not
+     * released deterministically: it returns to the operating system once the garbage collector has
+     * collected the buffers, which may take an arbitrary time and counts against
+     * {@code -XX:MaxDirectMemorySize} until then. Closing an already closed store has no effect.
+     * </p>
+     */
+    @Override
+    public void close() {
+        closed = true;
+        chunks = List.of();
+        blockSummaries = null;
+        size = 0;
+        indexedSize = 0;
+    }
+
+    private int scan(long from, long to, int x, int y, IntConsumer action) {
+        int found = 0;
+        for (long position = from; position < to; position++) {
+            ByteBuffer chunk = chunks.get((int) (position >>> CHUNK_SHIFT));
+            int offset = (int) (position & CHUNK_MASK) * RECORD_BYTES;
+            if (x > chunk.getInt(offset + MIN_X) && x < chunk.getInt(offset + MAX_X)
+                    && y > chunk.getInt(offset + MIN_Y) && y < chunk.getInt(offset + MAX_Y)) {
+                action.accept(chunk.getInt(offset + ID));
+                found++;
+            }
+        }
+        return found;
+    }
+
+    private long firstIndexedWithMinXAtLeast(int x) {
+        long low = 0, high = indexedSize;
+        while (low < high) {
+            long mid = (low + high) >>> 1;
+            if (field(mid, MIN_X) < x) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Sorts the first {@code count} records by minX using an in-place heapsort, so no
+     * on-heap copy of the records is needed.
+     */
+    private void sortByMinX(long count) {
+        for (long i = count / 2 - 1; i >= 0; i--) {
+            siftDown(i, count);
+        }
+        for (long end = count - 1; end > 0; end--) {
+            swap(0, end);
+            siftDown(0, end);
+        }
+    }
+
+    private void siftDown(long root, long count) {
+        while (true) {
+            long child = 2 * root + 1;
+            if (child >= count) {
+                return;
+            }
+            if (child + 1 < count && field(child + 1, MIN_X) > field(child, MIN_X)) {
+                child++;
+            }
+            if (field(root, MIN_X) >= field(child, MIN_X)) {
+                return;
+            }
+            swap(root, child);
+            root = child;
+        }
+    }
+
+    private void swap(long a, long b) {
+        for (int offset = 0; offset < RECORD_BYTES; offset += Integer.BYTES) {
+            int value = field(a, offset);
+            setField(a, offset, field(b, offset));
+            setField(b, offset, value);
+        }
+    }
+
+    private void write(long position, int id, int minX, int minY, int maxX, int maxY) {
+        int chunkIndex = (int) (position >>> CHUNK_SHIFT);
+        if (chunkIndex == chunks.size()) {
+            chunks.add(ByteBuffer.allocateDirect(CHUNK_RECORDS * RECORD_BYTES).order(ByteOrder.nativeOrder()));
+        }
+        ByteBuffer chunk = chunks.get(chunkIndex);
+        int offset = (int) (position & CHUNK_MASK) * RECORD_BYTES;
+        chunk.putInt(offset + ID, id);
+        chunk.putInt(offset + MIN_X, minX);
+        chunk.putInt(offset + MIN_Y, minY);
+        chunk.putInt(offset + MAX_X, maxX);
+        chunk.putInt(offset + MAX_Y, maxY);
+    }
+
+    private int field(long position, int fieldOffset) {
+        return chunks.get((int) (position >>> CHUNK_SHIFT))
+                .getInt((int) (position & CHUNK_MASK) * RECORD_BYTES + fieldOffset);
+    }
+
+    private void setField(long position, int fieldOffset, int value) {
+        chunks.get((int) (position >>> CHUNK_SHIFT))
+                .putInt((int) (position & CHUNK_MASK) * RECORD_BYTES + fieldOffset, value);
+    }
+
+    private void checkPosition(long position) {
+        if (position < 0 || position >= size) {
+            throw new IndexOutOfBoundsException("Position " + position + " is out of range [0, " + size + ")");
+        }
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("Rectangle store has been closed");
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.envitia.tracking;
+
+/**
+ * Enum representing a change in whether a tracked object is inside a geofence.
+ */
+public enum GeofenceEvent {
+    /**
+     * The object moved strictly inside the geofence.
+     */
+    ENTER,
+
+    /**
+     * The object is no longer strictly inside the geofence.
+     */
+    EXIT
+}
@@ -0,0 +1,17 @@
+package com.envitia.tracking;
+
+/**
+ * Callback receiving the transitions detected by a {@link GeofenceTracker}.
+ */
+@FunctionalInterface
+public interface GeofenceListener {
+
+    /**
+     * Called once per object and geofence whose containment changed.
+     *
+     * @param objectId the identifier of the tracked object
+     * @param fenceId the identifier of the geofence, its position in the list given to the tracker
+     * @param event whether the object entered or left the geofence
+     */
+    void onTransition(int objectId, int fenceId, GeofenceEvent event);
+}
@@ -0,0 +1,297 @@
+package com.envitia.tracking;
+
+import com.envitia.exception.GeometryValidationException;
+import com.envitia.geometry.CompactRectangle;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * Stateful tracker reporting when moving objects enter or leave rectangular geofences.
+ * <p>
+ * Instead of re-checking every object against every fence on every tick, the tracker remembers
+ * the fences currently containing each object and only reports {@link GeofenceEvent#ENTER} and
+ * {@link GeofenceEvent#EXIT} transitions. The fences are bucketed into a uniform grid: each cell
+ * lists the fences overlapping it, and a cell is <em>uniform</em> when every listed fence strictly
+ * contains the whole cell. While an object stays within the same uniform cell its containment
+ * cannot change, so the update is answered from the previous result without looking at any fence.
+ * Otherwise only the fences listed for the object's cell are evaluated, so the per-tick cost
+ * scales with movement rather than with the number of objects times the number of fences.
+ * </p>
+ * <p>
+ * Containment is strict, as in {@link CompactRectangle#containsPoint(int, int)}: an object on a
+ * fence's edge is outside it. Objects are identified by non-negative ints, which are expected to be
+ * dense since per-object state is kept in arrays indexed by identifier. This class is not
+ * thread-safe; partition objects across trackers to update them in parallel.
+ * </p>
+ */
+public class GeofenceTracker {
+
+    private static final int[] NO_FENCES = new int[0];
+
+    /**
+     * The maximum number of grid cells.
+     */
+    private static final long MAX_CELLS = 1L << 24;
+
+    private final CompactRectangle[] fences;
+
+    private final long originX;
+
+    private final long originY;
+
+    private final int cellSize;
+
+    private final int cellsX;
+
+    private final int cellsY;
+
+    /**
+     * Fence identifiers of cell {@code c} are {@code cellFences[cellStart[c]]} to {@code cellFences[cellStart[c + 1] - 1]}.
+     */
+    private final int[] cellStart;
+
+    private final int[] cellFences;
+
+    private final BitSet uniformCells;
+
+    /**
+     * The cell of each object at its last update, or -1 if it was outside the grid or never seen.
+     */
+    private int[] objectCells = new int[0];
+
+    /**
+     * The sorted identifiers of the fences containing each object, or null if the object is not tracked.
+     */
+    private int[][] objectFences = new int[0][];
+
+    private long reusedUpdates;
+
+    private long evaluatedUpdates;
+
+    /**
+     * Constructs a GeofenceTracker.
+     *
+     * @param fences the validated geofences; their identifiers are their positions in the list
+     * @param cellSize the side of the grid cells, in coordinate units
+     * @throws GeometryValidationException if the list or one of its elements is null
+     * @throws IllegalArgumentException if cellSize is not positive or the grid would have more than 2^24 cells
+     */
+    public GeofenceTracker(List<CompactRectangle> fences, int cellSize) {
+        if (fences == null) {
+            throw new GeometryValidationException("Fences cannot be null");
+        }
+        if (cellSize < 1) {
+            throw new IllegalArgumentException("Cell size must be positive, found: " + cellSize);
+        }
+        this.fences = fences.toArray(CompactRectangle[]::new);
+        long minX = Long.MAX_VALUE, minY = Long.MAX_VALUE, maxX = Long.MIN_VALUE, maxY = Long.MIN_VALUE;
+        for (CompactRectangle fence : this.fences) {
+            if (fence == null) {
+                throw new GeometryValidationException("Fence cannot be null");
+            }
+            minX = Math.min(minX, fence.getMinX());
+            minY = Math.min(minY, fence.getMinY());
+            maxX = Math.max(maxX, fence.getMaxX());
+            maxY = Math.max(maxY, fence.getMaxY());
+        }
+        if (this.fences.length == 0) {
+            minX = minY = maxX = maxY = 0;
+        }
+        this.originX = minX;
+        this.originY = minY;
+        this.cellSize = cellSize;
+        long columns = (maxX - minX) / cellSize + 1;
+        long rows = (maxY - minY) / cellSize + 1;
+        if (columns > MAX_CELLS || rows > MAX_CELLS || columns * rows > MAX_CELLS) {
+            throw new IllegalArgumentException("Cell size " + cellSize + " gives too many cells: " + columns + " x " + rows);
+        }
+        this.cellsX = (int) columns;
+        this.cellsY = (int) rows;
+
+        int cells = cellsX * cellsY;
+        this.cellStart = new int[cells + 1];
+        for (CompactRectangle fence : this.fences) {
+            forEachCell(fence, cell -> cellStart[cell + 1]++);
+        }
+        for (int cell = 0; cell < cells; cell++) {
+            cellStart[cell + 1] += cellStart[cell];
+        }
+        this.cellFences = new int[cellStart[cells]];
+        int[] fill = Arrays.copyOf(cellStart, cells);
+        for (int fenceId = 0; fenceId < this.fences.length; fenceId++) {
+            int id = fenceId;
+            forEachCell(this.fences[fenceId], cell -> cellFences[fill[cell]++] = id);
+        }
+        this.uniformCells = new BitSet(cells);
+        for (int cell = 0; cell < cells; cell++) {
+            if (isUniform(cell)) {
+                uniformCells.set(cell);
+            }
+        }
+    }
+
+    /**
+     * Updates the position of an object and reports the resulting transitions.
+     * <p>
+     * The first update of an object reports an {@link GeofenceEvent#ENTER} for every fence containing it.
+     * </p>
+     *
+     * @param objectId the identifier of the object, non-negative
+     * @param x the new x coordinate of the object
+     * @param y the new y coordinate of the object
+     * @param listener the listener receiving the transitions
+     * @return the number of transitions reported
+     * @throws IllegalArgumentException if objectId is negative
+     */
+    public int update(int objectId, int x, int y, GeofenceListener listener) {
+        if (objectId < 0) {
+            throw new IllegalArgumentException("Object id cannot be negative: " + objectId);
+        }
+        ensureCapacity(objectId);
+        int cell = cellOf(x, y);
+        int[] previous = objectFences[objectId];
+        if (previous != null && cell >= 0 && cell == objectCells[objectId] && uniformCells.get(cell)) {
+            reusedUpdates++;
+            return 0;
+        }
+        evaluatedUpdates++;
+        int[] current = containingFences(cell, x, y);
+        objectCells[objectId] = cell;
+        objectFences[objectId] = current;
+        return reportTransitions(objectId, previous == null ? NO_FENCES : previous, current, listener);
+    }
+
+    /**
+     * Stops tracking an object, reporting an {@link GeofenceEvent#EXIT} for every fence it was in.
+     *
+     * @param objectId the identifier of the object
+     * @param listener the listener receiving the transitions
+     * @return the number of transitions reported
+     */
+    public int remove(int objectId, GeofenceListener listener) {
+        if (objectId < 0 || objectId >= objectFences.length || objectFences[objectId] == null) {
+            return 0;
+        }
+        int[] previous = objectFences[objectId];
+        objectFences[objectId] = null;
+        objectCells[objectId] = -1;
+        return reportTransitions(objectId, previous, NO_FENCES, listener);
+    }
+
+    /**
+     * Returns the fences currently containing an object.
+     *
+     * @param objectId the identifier of the object
+     * @return the sorted identifiers of the containing fences, empty if the object is not tracked
+     */
+    public int[] getContainingFences(int objectId) {
+        if (objectId < 0 || objectId >= objectFences.length || objectFences[objectId] == null) {
+            return NO_FENCES.clone();
+        }
+        return objectFences[objectId].clone();
+    }
+
+    /**
+     * Returns the number of updates answered from the previous result without evaluating any fence.
+     *
+     * @return the number of reused updates
+     */
+    public long getReusedUpdates() {
+        return reusedUpdates;
+    }
+
+    /**
+     * Returns the number of updates that evaluated the fences of the object's cell.
+     *
+     * @return the number of evaluated updates
+     */
+    public long getEvaluatedUpdates() {
+        return evaluatedUpdates;
+    }
+
+    private int[] containingFences(int cell, int x, int y) {
+        if (cell < 0) {
+            return NO_FENCES;
+        }
+        int from = cellStart[cell];
+        int to = cellStart[cell + 1];
+        int[] found = new int[to - from];
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            int fenceId = cellFences[i];
+            if (fences[fenceId].containsPoint(x, y)) {
+                found[count++] = fenceId;
+            }
+        }
+        // Fences were added to cells in identifier order, so the result is already sorted
+        return count == 0 ? NO_FENCES : Arrays.copyOf(found, count);
+    }
+
+    private static int reportTransitions(int objectId, int[] previous, int[] current, GeofenceListener listener) {
+        int transitions = 0;
+        int i = 0, j = 0;
+        while (i < previous.length || j < current.length) {
+            if (j == current.length || (i < previous.length && previous[i] < current[j])) {
+                listener.onTransition(objectId, previous[i++], GeofenceEvent.EXIT);
+                transitions++;
+            } else if (i == previous.length || current[j] < previous[i]) {
+                listener.onTransition(objectId, current[j++], GeofenceEvent.ENTER);
+                transitions++;
+            } else {
+                i++;
+                j++;
+            }
+        }
+        return transitions;
+    }
+
+    private int cellOf(int x, int y) {
+        long column = Math.floorDiv((long) x - originX, cellSize);
+        long row = Math.floorDiv((long) y - originY, cellSize);
+        if (column < 0 || column >= cellsX || row < 0 || row >= cellsY) {
+            return -1;
+        }
+        return (int) (row * cellsX + column);
+    }
+
+    private boolean isUniform(int cell) {
+        long cellMinX = originX + (long) (cell % cellsX) * cellSize;
+        long cellMinY = originY + (long) (cell / cellsX) * cellSize;
+        long cellMaxX = cellMinX + cellSize - 1;
+        long cellMaxY = cellMinY + cellSize - 1;
+        for (int i = cellStart[cell]; i < cellStart[cell + 1]; i++) {
+            CompactRectangle fence = fences[cellFences[i]];
+            if (fence.getMinX() >= cellMinX || fence.getMaxX() <= cellMaxX
+                    || fence.getMinY() >= cellMinY || fence.getMaxY() <= cellMaxY) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void forEachCell(CompactRectangle fence, IntConsumer action) {
+        int fromColumn = (int) ((fence.getMinX() - originX) / cellSize);
+        int toColumn = (int) ((fence.getMaxX() - originX) / cellSize);
+        int fromRow = (int) ((fence.getMinY() - originY) / cellSize);
+        int toRow = (int) ((fence.getMaxY() - originY) / cellSize);
+        for (int row = fromRow; row <= toRow; row++) {
+            for (int column = fromColumn; column <= toColumn; column++) {
+                action.accept(row * cellsX + column);
+            }
+        }
+    }
+
+    private void ensureCapacity(int objectId) {
+        if (objectId < objectFences.length) {
+            return;
+        }
+        int capacity = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(objectId + 1L, objectFences.length * 2L));
+        int oldLength = objectCells.length;
+        objectCells = Arrays.copyOf(objectCells, capacity);
+        Arrays.fill(objectCells, oldLength, capacity, -1);
+        objectFences = Arrays.copyOf(objectFences, capacity);
+    }
+}
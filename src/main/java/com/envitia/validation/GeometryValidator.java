@@ -1,11 +1,18 @@
 package com.envitia.validation;
 
 import com.envitia.exception.GeometryValidationException;
+import com.envitia.geometry.CompactRectangle;
+import com.envitia.geometry.CompressedVertexList;
 import com.envitia.geometry.CornerType;
+import com.envitia.geometry.DoubleRectangle;
+import com.envitia.geometry.LongRectangle;
 import com.envitia.geometry.Point;
 import com.envitia.geometry.Rectangle;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
 
 import static com.envitia.geometry.CornerType.*;
 import static java.util.Objects.isNull;
@@ -22,6 +29,32 @@ public class GeometryValidator {
      */
     private static final int MINIMUM_RECTANGLE_VERTICES = 4;
 
+    /**
+     * The vertex count from which {@link #validateRectangleVertices} splits the vertex range
+     * across the common fork-join pool. Below it, validation runs sequentially on the calling thread.
+     */
+    public static final int PARALLEL_VALIDATION_THRESHOLD = 1 << 16;
+
+    /**
+     * The number of vertex chunks per common pool worker for parallel validation.
+     */
+    private static final int CHUNKS_PER_WORKER = 4;
+
+    /**
+     * The corner mask value once all four corners have been seen.
+     */
+    private static final int ALL_CORNERS_MASK = (1 << CornerType.values().length) - 1;
+
+    /**
+     * The corner mask bit marking a vertex that is not on the rectangle's edges.
+     */
+    private static final int OFF_EDGE_MASK = 1 << CornerType.values().length;
+
+    /**
+     * The log receiving rejected shapes, or null if rejections are not recorded.
+     */
+    private static volatile RejectionEventLog rejectionEventLog;
+
     /**
      * Private constructor to prevent instantiation.
      */
@@ -95,12 +128,57 @@ public class GeometryValidator {
         Point maxPoint = rectangle.getMaxPoint();
 
         if (vertices.size() < MINIMUM_RECTANGLE_VERTICES) {
-            return false;
+            return reject(RejectionReason.TOO_FEW_VERTICES, vertices.size(),
+                    minPoint.x(), minPoint.y(), maxPoint.x(), maxPoint.y());
+        }
+
+        // Compressed vertices record both properties while encoding
+        if (vertices instanceof CompressedVertexList compressed) {
+            if (!compressed.isOnEdges()) {
+                return reject(RejectionReason.VERTEX_OFF_EDGES, vertices.size(),
+                        minPoint.x(), minPoint.y(), maxPoint.x(), maxPoint.y());
+            }
+            if (!compressed.hasAllCorners()) {
+                return reject(RejectionReason.MISSING_CORNER, vertices.size(),
+                        minPoint.x(), minPoint.y(), maxPoint.x(), maxPoint.y());
+            }
+            return true;
         }
 
         // Check if all points are on the edges of the rectangle, and we have all four corners
-        return areAllPointsOnRectangleEdges(vertices, minPoint, maxPoint) &&
-                hasAllFourRectangleCorners(vertices, minPoint, maxPoint);
+        if (!areAllPointsOnRectangleEdges(vertices, minPoint, maxPoint)) {
+            return reject(RejectionReason.VERTEX_OFF_EDGES, vertices.size(),
+                    minPoint.x(), minPoint.y(), maxPoint.x(), maxPoint.y());
+        }
+        if (!hasAllFourRectangleCorners(vertices, minPoint, maxPoint)) {
+            return reject(RejectionReason.MISSING_CORNER, vertices.size(),
+                    minPoint.x(), minPoint.y(), maxPoint.x(), maxPoint.y());
+        }
+        return true;
+    }
+
+    /**
+     * Installs the log recording the shapes rejected by this validator, replacing any previous one.
+     * <p>
+     * While no log is installed, rejecting a shape costs nothing beyond returning false. The log is
+     * not started or closed by the validator.
+     * </p>
+     *
+     * @param log the log receiving rejected shapes, or null to stop recording them
+     */
+    public static void setRejectionEventLog(RejectionEventLog log) {
+        rejectionEventLog = log;
+    }
+
+    /**
+     * Offers a rejected shape to the installed log, if any, and returns false.
+     */
+    private static boolean reject(RejectionReason reason, int vertexCount, int minX, int minY, int maxX, int maxY) {
+        RejectionEventLog log = rejectionEventLog;
+        if (log != null) {
+            log.record(reason, vertexCount, minX, minY, maxX, maxY);
+        }
+        return false;
     }
 
     private static boolean areAllPointsOnRectangleEdges(List<Point> vertices, Point minPoint, Point maxPoint) {
@@ -148,4 +226,504 @@ public class GeometryValidator {
             case TOP_RIGHT -> point.x() == maxPoint.x() && point.y() == maxPoint.y();
         };
     }
+
+    /**
+     * Validates rectangle coordinates and returns the bounds of the rectangle they describe.
+     * <p>
+     * This method combines {@link #validateRectangleCoordinates} with the rectangle rules of
+     * {@link #isValidRectangle(Rectangle)}, so that callers evaluating many points against the
+     * same rectangle can validate it once and keep only its bounds. Coordinates with at least
+     * {@link #PARALLEL_VALIDATION_THRESHOLD} vertices are validated with
+     * {@link #validateRectangleVertices}.
+     * </p>
+     *
+     * @param coordinates a 2D array where each element is a point [x, y] defining the rectangle
+     * @return the bounds of the rectangle if the coordinates form a valid rectangle, empty otherwise
+     * @throws GeometryValidationException if the coordinates are null or any point is invalid
+     */
+    public static Optional<CompactRectangle> validateRectangle(int[][] coordinates) {
+        if (isNull(coordinates) || coordinates.length < PARALLEL_VALIDATION_THRESHOLD) {
+            Rectangle rectangle = Rectangle.fromCoordinateArray(coordinates);
+            return isValidRectangle(rectangle)
+                    ? Optional.of(CompactRectangle.ofBounds(rectangle.getMinPoint().x(), rectangle.getMinPoint().y(),
+                            rectangle.getMaxPoint().x(), rectangle.getMaxPoint().y()))
+                    : Optional.empty();
+        }
+        validateRectangleCoordinates(coordinates);
+        int[] xCoordinates = new int[coordinates.length];
+        int[] yCoordinates = new int[coordinates.length];
+        for (int i = 0; i < coordinates.length; i++) {
+            xCoordinates[i] = coordinates[i][0];
+            yCoordinates[i] = coordinates[i][1];
+        }
+        return validateRectangleVertices(xCoordinates, yCoordinates);
+    }
+
+    /**
+     * Validates a rectangle given as primitive coordinate arrays and returns its bounds.
+     * <p>
+     * This method applies the same rules as {@link #isValidRectangle(Rectangle)} without creating
+     * a {@link Point} per vertex, which matters for rectangles described by densified outlines with
+     * hundreds of thousands of edge points. From {@link #PARALLEL_VALIDATION_THRESHOLD} vertices
+     * onwards the vertex range is split into chunks processed on the common fork-join pool: a first
+     * pass reduces the per-chunk bounds, and a second pass combines per-chunk corner masks, where one
+     * bit is set per {@link CornerType} seen and an extra bit marks a vertex that is off the edges.
+     * The {@code int}, {@code long} and {@code double} variants share these passes and the rejection
+     * rules; only the loops over the primitive arrays are written once per coordinate type.
+     * </p>
+     *
+     * @param xCoordinates the x coordinates of the vertices
+     * @param yCoordinates the y coordinates of the vertices, in the same order as {@code xCoordinates}
+     * @return the bounds of the rectangle if the vertices form a valid rectangle, empty otherwise
+     * @throws GeometryValidationException if either array is null or the arrays differ in length
+     */
+    public static Optional<CompactRectangle> validateRectangleVertices(int[] xCoordinates, int[] yCoordinates) {
+        if (isNull(xCoordinates) || isNull(yCoordinates)) {
+            throw new GeometryValidationException("Rectangle coordinates cannot be null");
+        }
+        return validateVertices(new IntVertexArrays(xCoordinates, yCoordinates));
+    }
+
+    /**
+     * Determines if the vertices given as primitive coordinate arrays form a valid rectangle.
+     *
+     * @param xCoordinates the x coordinates of the vertices
+     * @param yCoordinates the y coordinates of the vertices, in the same order as {@code xCoordinates}
+     * @return true if the vertices form a valid rectangle, false otherwise
+     * @throws GeometryValidationException if either array is null or the arrays differ in length
+     * @see #validateRectangleVertices(int[], int[])
+     */
+    public static boolean isValidRectangle(int[] xCoordinates, int[] yCoordinates) {
+        return validateRectangleVertices(xCoordinates, yCoordinates).isPresent();
+    }
+
+    /**
+     * Validates a rectangle given as {@code long} coordinate arrays and returns its bounds.
+     * <p>
+     * This is the {@code long} counterpart of {@link #validateRectangleVertices(int[], int[])}, with the
+     * same rules, parallel threshold and rejection reasons. Coordinates are only compared, so the whole
+     * {@code long} range is supported; bounds offered to the rejection log are saturated to the
+     * {@code int} range.
+     * </p>
+     *
+     * @param xCoordinates the x coordinates of the vertices
+     * @param yCoordinates the y coordinates of the vertices, in the same order as {@code xCoordinates}
+     * @return the bounds of the rectangle if the vertices form a valid rectangle, empty otherwise
+     * @throws GeometryValidationException if either array is null or the arrays differ in length
+     */
+    public static Optional<LongRectangle> validateRectangleVertices(long[] xCoordinates, long[] yCoordinates) {
+        if (isNull(xCoordinates) || isNull(yCoordinates)) {
+            throw new GeometryValidationException("Rectangle coordinates cannot be null");
+        }
+        return validateVertices(new LongVertexArrays(xCoordinates, yCoordinates));
+    }
+
+    /**
+     * Determines if the vertices given as {@code long} coordinate arrays form a valid rectangle.
+     *
+     * @param xCoordinates the x coordinates of the vertices
+     * @param yCoordinates the y coordinates of the vertices, in the same order as {@code xCoordinates}
+     * @return true if the vertices form a valid rectangle, false otherwise
+     * @throws GeometryValidationException if either array is null or the arrays differ in length
+     * @see #validateRectangleVertices(long[], long[])
+     */
+    public static boolean isValidRectangle(long[] xCoordinates, long[] yCoordinates) {
+        return validateRectangleVertices(xCoordinates, yCoordinates).isPresent();
+    }
+
+    /**
+     * Validates a rectangle given as {@code double} coordinate arrays and returns its bounds.
+     * <p>
+     * This is the {@code double} counterpart of {@link #validateRectangleVertices(int[], int[])}, with the
+     * same rules, parallel threshold and rejection reasons. Coordinates must be finite; they are only
+     * compared, never combined arithmetically, so no rounding is involved. Bounds offered to the
+     * rejection log are rounded outwards and saturated to the {@code int} range.
+     * </p>
+     *
+     * @param xCoordinates the x coordinates of the vertices
+     * @param yCoordinates the y coordinates of the vertices, in the same order as {@code xCoordinates}
+     * @return the bounds of the rectangle if the vertices form a valid rectangle, empty otherwise
+     * @throws GeometryValidationException if either array is null, the arrays differ in length or a coordinate is not finite
+     */
+    public static Optional<DoubleRectangle> validateRectangleVertices(double[] xCoordinates, double[] yCoordinates) {
+        if (isNull(xCoordinates) || isNull(yCoordinates)) {
+            throw new GeometryValidationException("Rectangle coordinates cannot be null");
+        }
+        return validateVertices(new DoubleVertexArrays(xCoordinates, yCoordinates));
+    }
+
+    /**
+     * Determines if the vertices given as {@code double} coordinate arrays form a valid rectangle.
+     *
+     * @param xCoordinates the x coordinates of the vertices
+     * @param yCoordinates the y coordinates of the vertices, in the same order as {@code xCoordinates}
+     * @return true if the vertices form a valid rectangle, false otherwise
+     * @throws GeometryValidationException if either array is null, the arrays differ in length or a coordinate is not finite
+     * @see #validateRectangleVertices(double[], double[])
+     */
+    public static boolean isValidRectangle(double[] xCoordinates, double[] yCoordinates) {
+        return validateRectangleVertices(xCoordinates, yCoordinates).isPresent();
+    }
+
+    /**
+     * Validates the vertices behind a {@link VertexArrays}: the chunking, the two passes and the
+     * rejection rules shared by every coordinate type.
+     */
+    private static <R> Optional<R> validateVertices(VertexArrays<R> vertices) {
+        int vertexCount = vertices.vertexCount;
+        if (vertexCount < MINIMUM_RECTANGLE_VERTICES) {
+            if (vertexCount > 0) {
+                vertices.startChunks(1);
+                vertices.reduceChunk(0, 0, vertexCount);
+                vertices.combineChunks(1);
+            }
+            vertices.reject(RejectionReason.TOO_FEW_VERTICES);
+            return Optional.empty();
+        }
+
+        int chunks = vertexCount < PARALLEL_VALIDATION_THRESHOLD
+                ? 1
+                : Math.max(1, ForkJoinPool.getCommonPoolParallelism() * CHUNKS_PER_WORKER);
+        int chunkSize = (vertexCount + chunks - 1) / chunks;
+
+        vertices.startChunks(chunks);
+        chunkRange(chunks).forEach(chunk ->
+                vertices.reduceChunk(chunk, chunk * chunkSize, Math.min(vertexCount, (chunk + 1) * chunkSize)));
+        vertices.combineChunks(chunks);
+
+        int mask = chunkRange(chunks)
+                .map(chunk -> vertices.cornerMask(chunk * chunkSize, Math.min(vertexCount, (chunk + 1) * chunkSize)))
+                .reduce(0, (left, right) -> left | right);
+
+        if (mask != ALL_CORNERS_MASK) {
+            vertices.reject((mask & OFF_EDGE_MASK) != 0 ? RejectionReason.VERTEX_OFF_EDGES : RejectionReason.MISSING_CORNER);
+            return Optional.empty();
+        }
+        return Optional.of(vertices.rectangle());
+    }
+
+    private static IntStream chunkRange(int chunks) {
+        IntStream range = IntStream.range(0, chunks);
+        return chunks > 1 ? range.parallel() : range;
+    }
+
+    /**
+     * Returns the corner mask bits of every corner a vertex on both a vertical and a horizontal edge
+     * coincides with; a vertex can match several corners when the rectangle has zero width or height.
+     */
+    private static int cornerBits(boolean atMinX, boolean atMaxX, boolean atMinY, boolean atMaxY) {
+        int bits = 0;
+        if (atMinX && atMinY) {
+            bits |= 1 << BOTTOM_LEFT.ordinal();
+        }
+        if (atMinX && atMaxY) {
+            bits |= 1 << TOP_LEFT.ordinal();
+        }
+        if (atMaxX && atMinY) {
+            bits |= 1 << BOTTOM_RIGHT.ordinal();
+        }
+        if (atMaxX && atMaxY) {
+            bits |= 1 << TOP_RIGHT.ordinal();
+        }
+        return bits;
+    }
+
+    private static void requireFinite(double x, double y) {
+        if (!Double.isFinite(x) || !Double.isFinite(y)) {
+            throw new GeometryValidationException("Rectangle coordinates must be finite, found: [" + x + ", " + y + "]");
+        }
+    }
+
+    private static int saturate(long value) {
+        return Math.clamp(value, Integer.MIN_VALUE, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Rounds towards negative infinity; the narrowing conversion saturates at the int range.
+     */
+    private static int saturateDown(double value) {
+        return (int) Math.floor(value);
+    }
+
+    /**
+     * Rounds towards positive infinity; the narrowing conversion saturates at the int range.
+     */
+    private static int saturateUp(double value) {
+        return (int) Math.ceil(value);
+    }
+
+    /**
+     * The steps of {@link #validateVertices} that depend on the coordinate type: the loops over the
+     * primitive arrays, and the bounds they produce.
+     * <p>
+     * Bounds are zero until {@link #combineChunks} has run, which it does for any non-empty array.
+     * </p>
+     *
+     * @param <R> the type of the validated rectangle
+     */
+    private abstract static class VertexArrays<R> {
+
+        final int vertexCount;
+
+        VertexArrays(int xLength, int yLength) {
+            if (xLength != yLength) {
+                throw new GeometryValidationException("Rectangle x and y coordinates must have the same length, found: "
+                        + xLength + " and " + yLength);
+            }
+            this.vertexCount = xLength;
+        }
+
+        /**
+         * Allocates room for the bounds of the given number of chunks.
+         */
+        abstract void startChunks(int chunks);
+
+        /**
+         * Stores the bounds of the vertices from {@code from} inclusive to {@code to} exclusive as those of the chunk.
+         */
+        abstract void reduceChunk(int chunk, int from, int to);
+
+        /**
+         * Combines the bounds of all chunks into the bounds of the rectangle.
+         */
+        abstract void combineChunks(int chunks);
+
+        /**
+         * Returns the corners of the bounds among the vertices from {@code from} inclusive to {@code to}
+         * exclusive, or {@link #OFF_EDGE_MASK} as soon as one of them is off the edges.
+         */
+        abstract int cornerMask(int from, int to);
+
+        /**
+         * Offers the rejection to the log, with the bounds in the {@code int} range.
+         */
+        abstract void reject(RejectionReason reason);
+
+        abstract R rectangle();
+    }
+
+    private static final class IntVertexArrays extends VertexArrays<CompactRectangle> {
+
+        private final int[] xCoordinates;
+        private final int[] yCoordinates;
+        private int[] chunkBounds;
+        private int minX, minY, maxX, maxY;
+
+        IntVertexArrays(int[] xCoordinates, int[] yCoordinates) {
+            super(xCoordinates.length, yCoordinates.length);
+            this.xCoordinates = xCoordinates;
+            this.yCoordinates = yCoordinates;
+        }
+
+        @Override
+        void startChunks(int chunks) {
+            chunkBounds = new int[chunks * 4];
+        }
+
+        @Override
+        void reduceChunk(int chunk, int from, int to) {
+            int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE;
+            int maxX = Integer.MIN_VALUE, maxY = Integer.MIN_VALUE;
+            for (int i = from; i < to; i++) {
+                minX = Math.min(minX, xCoordinates[i]);
+                maxX = Math.max(maxX, xCoordinates[i]);
+                minY = Math.min(minY, yCoordinates[i]);
+                maxY = Math.max(maxY, yCoordinates[i]);
+            }
+            chunkBounds[chunk * 4] = minX;
+            chunkBounds[chunk * 4 + 1] = minY;
+            chunkBounds[chunk * 4 + 2] = maxX;
+            chunkBounds[chunk * 4 + 3] = maxY;
+        }
+
+        @Override
+        void combineChunks(int chunks) {
+            minX = minY = Integer.MAX_VALUE;
+            maxX = maxY = Integer.MIN_VALUE;
+            for (int chunk = 0; chunk < chunks; chunk++) {
+                minX = Math.min(minX, chunkBounds[chunk * 4]);
+                minY = Math.min(minY, chunkBounds[chunk * 4 + 1]);
+                maxX = Math.max(maxX, chunkBounds[chunk * 4 + 2]);
+                maxY = Math.max(maxY, chunkBounds[chunk * 4 + 3]);
+            }
+        }
+
+        @Override
+        int cornerMask(int from, int to) {
+            int mask = 0;
+            for (int i = from; i < to; i++) {
+                int x = xCoordinates[i];
+                int y = yCoordinates[i];
+                boolean atMinX = x == minX, atMaxX = x == maxX, atMinY = y == minY, atMaxY = y == maxY;
+                // Bounds were computed from these vertices, so every vertex already lies within them
+                if (!(atMinX || atMaxX) && !(atMinY || atMaxY)) {
+                    return OFF_EDGE_MASK;
+                }
+                if ((atMinX || atMaxX) && (atMinY || atMaxY)) {
+                    mask |= cornerBits(atMinX, atMaxX, atMinY, atMaxY);
+                }
+            }
+            return mask;
+        }
+
+        @Override
+        void reject(RejectionReason reason) {
+            GeometryValidator.reject(reason, vertexCount, minX, minY, maxX, maxY);
+        }
+
+        @Override
+        CompactRectangle rectangle() {
+            return CompactRectangle.ofBounds(minX, minY, maxX, maxY);
+        }
+    }
+
+    private static final class LongVertexArrays extends VertexArrays<LongRectangle> {
+
+        private final long[] xCoordinates;
+        private final long[] yCoordinates;
+        private long[] chunkBounds;
+        private long minX, minY, maxX, maxY;
+
+        LongVertexArrays(long[] xCoordinates, long[] yCoordinates) {
+            super(xCoordinates.length, yCoordinates.length);
+            this.xCoordinates = xCoordinates;
+            this.yCoordinates = yCoordinates;
+        }
+
+        @Override
+        void startChunks(int chunks) {
+            chunkBounds = new long[chunks * 4];
+        }
+
+        @Override
+        void reduceChunk(int chunk, int from, int to) {
+            long minX = Long.MAX_VALUE, minY = Long.MAX_VALUE;
+            long maxX = Long.MIN_VALUE, maxY = Long.MIN_VALUE;
+            for (int i = from; i < to; i++) {
+                minX = Math.min(minX, xCoordinates[i]);
+                maxX = Math.max(maxX, xCoordinates[i]);
+                minY = Math.min(minY, yCoordinates[i]);
+                maxY = Math.max(maxY, yCoordinates[i]);
+            }
+            chunkBounds[chunk * 4] = minX;
+            chunkBounds[chunk * 4 + 1] = minY;
+            chunkBounds[chunk * 4 + 2] = maxX;
+            chunkBounds[chunk * 4 + 3] = maxY;
+        }
+
+        @Override
+        void combineChunks(int chunks) {
+            minX = minY = Long.MAX_VALUE;
+            maxX = maxY = Long.MIN_VALUE;
+            for (int chunk = 0; chunk < chunks; chunk++) {
+                minX = Math.min(minX, chunkBounds[chunk * 4]);
+                minY = Math.min(minY, chunkBounds[chunk * 4 + 1]);
+                maxX = Math.max(maxX, chunkBounds[chunk * 4 + 2]);
+                maxY = Math.max(maxY, chunkBounds[chunk * 4 + 3]);
+            }
+        }
+
+        @Override
+        int cornerMask(int from, int to) {
+            int mask = 0;
+            for (int i = from; i < to; i++) {
+                long x = xCoordinates[i];
+                long y = yCoordinates[i];
+                boolean atMinX = x == minX, atMaxX = x == maxX, atMinY = y == minY, atMaxY = y == maxY;
+                if (!(atMinX || atMaxX) && !(atMinY || atMaxY)) {
+                    return OFF_EDGE_MASK;
+                }
+                if ((atMinX || atMaxX) && (atMinY || atMaxY)) {
+                    mask |= cornerBits(atMinX, atMaxX, atMinY, atMaxY);
+                }
+            }
+            return mask;
+        }
+
+        @Override
+        void reject(RejectionReason reason) {
+            GeometryValidator.reject(reason, vertexCount, saturate(minX), saturate(minY), saturate(maxX), saturate(maxY));
+        }
+
+        @Override
+        LongRectangle rectangle() {
+            return LongRectangle.ofBounds(minX, minY, maxX, maxY);
+        }
+    }
+
+    private static final class DoubleVertexArrays extends VertexArrays<DoubleRectangle> {
+
+        private final double[] xCoordinates;
+        private final double[] yCoordinates;
+        private double[] chunkBounds;
+        private double minX, minY, maxX, maxY;
+
+        DoubleVertexArrays(double[] xCoordinates, double[] yCoordinates) {
+            super(xCoordinates.length, yCoordinates.length);
+            this.xCoordinates = xCoordinates;
+            this.yCoordinates = yCoordinates;
+        }
+
+        @Override
+        void startChunks(int chunks) {
+            chunkBounds = new double[chunks * 4];
+        }
+
+        @Override
+        void reduceChunk(int chunk, int from, int to) {
+            double minX = Double.POSITIVE_INFINITY, minY = Double.POSITIVE_INFINITY;
+            double maxX = Double.NEGATIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY;
+            for (int i = from; i < to; i++) {
+                requireFinite(xCoordinates[i], yCoordinates[i]);
+                minX = Math.min(minX, xCoordinates[i]);
+                maxX = Math.max(maxX, xCoordinates[i]);
+                minY = Math.min(minY, yCoordinates[i]);
+                maxY = Math.max(maxY, yCoordinates[i]);
+            }
+            chunkBounds[chunk * 4] = minX;
+            chunkBounds[chunk * 4 + 1] = minY;
+            chunkBounds[chunk * 4 + 2] = maxX;
+            chunkBounds[chunk * 4 + 3] = maxY;
+        }
+
+        @Override
+        void combineChunks(int chunks) {
+            minX = minY = Double.POSITIVE_INFINITY;
+            maxX = maxY = Double.NEGATIVE_INFINITY;
+            for (int chunk = 0; chunk < chunks; chunk++) {
+                minX = Math.min(minX, chunkBounds[chunk * 4]);
+                minY = Math.min(minY, chunkBounds[chunk * 4 + 1]);
+                maxX = Math.max(maxX, chunkBounds[chunk * 4 + 2]);
+                maxY = Math.max(maxY, chunkBounds[chunk * 4 + 3]);
+            }
+        }
+
+        @Override
+        int cornerMask(int from, int to) {
+            int mask = 0;
+            for (int i = from; i < to; i++) {
+                double x = xCoordinates[i];
+                double y = yCoordinates[i];
+                boolean atMinX = x == minX, atMaxX = x == maxX, atMinY = y == minY, atMaxY = y == maxY;
+                if (!(atMinX || atMaxX) && !(atMinY || atMaxY)) {
+                    return OFF_EDGE_MASK;
+                }
+                if ((atMinX || atMaxX) && (atMinY || atMaxY)) {
+                    mask |= cornerBits(atMinX, atMaxX, atMinY, atMaxY);
+                }
+            }
+            return mask;
+        }
+
+        @Override
+        void reject(RejectionReason reason) {
+            GeometryValidator.reject(reason, vertexCount, saturateDown(minX), saturateDown(minY),
+                    saturateUp(maxX), saturateUp(maxY));
+        }
+
+        @Override
+        DoubleRectangle rectangle() {
+            return DoubleRectangle.ofBounds(minX, minY, maxX, maxY);
+        }
+    }
 }
@@ -0,0 +1,16 @@
+package com.envitia.validation;
+
+/**
+ * A shape rejected by {@link GeometryValidator}, as recorded by a {@link RejectionEventLog}.
+ *
+ * @param sequence the position of the event among all recorded events, starting at 0
+ * @param reason why the shape is not a valid rectangle
+ * @param vertexCount the number of vertices of the shape
+ * @param minX the minimum x coordinate of the shape's bounding box
+ * @param minY the minimum y coordinate of the shape's bounding box
+ * @param maxX the maximum x coordinate of the shape's bounding box
+ * @param maxY the maximum y coordinate of the shape's bounding box
+ */
+public record RejectionEvent(long sequence, RejectionReason reason, int vertexCount,
+                             int minX, int minY, int maxX, int maxY) {
+}
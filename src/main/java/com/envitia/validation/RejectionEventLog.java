@@ -0,0 +1,227 @@
+package com.envitia.validation;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Preallocated, lock-free ring buffer of rectangle rejection events, drained asynchronously to SLF4J.
+ * <p>
+ * Once installed with {@link GeometryValidator#setRejectionEventLog}, every shape rejected by the
+ * validator is offered to the log. Recording must stay cheap enough for the validation hot path, so:
+ * <ul>
+ *   <li>only one in {@code sampleRate} rejections is recorded, chosen with a thread-local random number</li>
+ *   <li>a recorded event claims a slot with a single compare-and-set and is written into preallocated
+ *       int arrays, so recording never locks and never allocates</li>
+ *   <li>when the buffer is full the new event is dropped and counted, instead of waiting for the consumer</li>
+ * </ul>
+ * Events are turned into {@link RejectionEvent} objects and logged only by the consumer, either a
+ * background thread started with {@link #start} or a direct call to {@link #drain}.
+ * </p>
+ * <p>
+ * Any number of threads may record concurrently; draining is serialized.
+ * </p>
+ */
+@Slf4j
+public class RejectionEventLog implements AutoCloseable {
+
+    private static final int FIELDS = 6;
+
+    private static final RejectionReason[] REASONS = RejectionReason.values();
+
+    private final int mask;
+
+    private final int sampleRate;
+
+    /**
+     * The event fields of slot {@code s} are {@code fields[s * FIELDS]} to {@code fields[s * FIELDS + FIELDS - 1]}.
+     */
+    private final int[] fields;
+
+    /**
+     * The sequence number plus one of the event last published in each slot, zero if none.
+     */
+    private final AtomicLongArray published;
+
+    /**
+     * The sequence number of the next event to claim a slot.
+     */
+    private final AtomicLong claimed = new AtomicLong();
+
+    /**
+     * The sequence number of the next event to drain; only written by the consumer.
+     */
+    private volatile long drained;
+
+    private final LongAdder dropped = new LongAdder();
+
+    private long reportedDropped;
+
+    private ScheduledExecutorService drainer;
+
+    /**
+     * Constructs a RejectionEventLog.
+     *
+     * @param capacity the number of events the buffer holds, rounded up to a power of two
+     * @param sampleRate record one in this many rejections; 1 records every rejection
+     * @throws IllegalArgumentException if capacity or sampleRate is not positive, or capacity exceeds 2^24
+     */
+    public RejectionEventLog(int capacity, int sampleRate) {
+        if (capacity < 1 || capacity > 1 << 24 || sampleRate < 1) {
+            throw new IllegalArgumentException("Capacity must be between 1 and 2^24 and sample rate positive, found: "
+                    + capacity + " and " + sampleRate);
+        }
+        int slots = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.mask = slots - 1;
+        this.sampleRate = sampleRate;
+        this.fields = new int[slots * FIELDS];
+        this.published = new AtomicLongArray(slots);
+    }
+
+    /**
+     * Offers a rejection to the log, recording it if it is sampled and the buffer has room.
+     *
+     * @param reason why the shape was rejected
+     * @param vertexCount the number of vertices of the shape
+     * @param minX the minimum x coordinate of the shape's bounding box
+     * @param minY the minimum y coordinate of the shape's bounding box
+     * @param maxX the maximum x coordinate of the shape's bounding box
+     * @param maxY the maximum y coordinate of the shape's bounding box
+     */
+    public void record(RejectionReason reason, int vertexCount, int minX, int minY, int maxX, int maxY) {
+        if (sampleRate > 1 && ThreadLocalRandom.current().nextInt(sampleRate) != 0) {
+            return;
+        }
+        long sequence;
+        do {
+            sequence = claimed.get();
+            if (sequence - drained > mask) {
+                dropped.increment();
+                return;
+            }
+        } while (!claimed.compareAndSet(sequence, sequence + 1));
+
+        // The slot is ours until the consumer has drained it
+        int slot = (int) sequence & mask;
+        int base = slot * FIELDS;
+        fields[base] = reason.ordinal();
+        fields[base + 1] = vertexCount;
+        fields[base + 2] = minX;
+        fields[base + 3] = minY;
+        fields[base + 4] = maxX;
+        fields[base + 5] = maxY;
+        published.setRelease(slot, sequence + 1);
+    }
+
+    /**
+     * Passes the recorded events, oldest first, to a consumer and frees their slots.
+     * <p>
+     * Draining stops at the first event whose slot was claimed but is still being written; it is
+     * picked up by the next drain.
+     * </p>
+     *
+     * @param consumer the consumer receiving the events
+     * @return the number of events drained
+     */
+    public synchronized int drain(Consumer<RejectionEvent> consumer) {
+        long sequence = drained;
+        long end = claimed.get();
+        int count = 0;
+        while (sequence < end) {
+            int slot = (int) sequence & mask;
+            if (published.getAcquire(slot) != sequence + 1) {
+                break;
+            }
+            int base = slot * FIELDS;
+            RejectionEvent event = new RejectionEvent(sequence, REASONS[fields[base]], fields[base + 1],
+                    fields[base + 2], fields[base + 3], fields[base + 4], fields[base + 5]);
+            sequence++;
+            drained = sequence;
+            consumer.accept(event);
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Starts a daemon thread draining the buffer to the log at a fixed delay.
+     *
+     * @param interval the delay between two drains
+     * @throws IllegalStateException if the log has already been started
+     */
+    public synchronized void start(Duration interval) {
+        if (drainer != null) {
+            throw new IllegalStateException("Rejection event log already started");
+        }
+        drainer = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "rejection-event-drainer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long nanos = interval.toNanos();
+        drainer.scheduleWithFixedDelay(this::drainToLog, nanos, nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Drains the buffer to the log, reporting events dropped since the previous call.
+     *
+     * @return the number of events logged
+     */
+    public synchronized int drainToLog() {
+        int count = drain(event -> log.info("Rejected rectangle #{}: {}, {} vertices, bounds [{}, {}] - [{}, {}]",
+                event.sequence(), event.reason(), event.vertexCount(),
+                event.minX(), event.minY(), event.maxX(), event.maxY()));
+        long totalDropped = dropped.sum();
+        if (totalDropped > reportedDropped) {
+            log.warn("{} rejection events dropped because the buffer was full", totalDropped - reportedDropped);
+            reportedDropped = totalDropped;
+        }
+        return count;
+    }
+
+    /**
+     * Returns the number of events recorded so far, including those already drained.
+     *
+     * @return the number of recorded events
+     */
+    public long getRecordedCount() {
+        return claimed.get();
+    }
+
+    /**
+     * Returns the number of sampled events dropped because the buffer was full.
+     *
+     * @return the number of dropped events
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * Stops the background drainer, if any, and drains the remaining events to the log.
+     */
+    @Override
+    public void close() {
+        ScheduledExecutorService running;
+        synchronized (this) {
+            running = drainer;
+        }
+        if (running != null) {
+            running.shutdown();
+            try {
+                running.awaitTermination(1, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        drainToLog();
+    }
+}
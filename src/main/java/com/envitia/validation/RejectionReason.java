@@ -0,0 +1,21 @@
+package com.envitia.validation;
+
+/**
+ * Enum representing why a shape was rejected as a rectangle by {@link GeometryValidator}.
+ */
+public enum RejectionReason {
+    /**
+     * The shape has fewer than four vertices.
+     */
+    TOO_FEW_VERTICES,
+
+    /**
+     * At least one vertex lies strictly inside the bounding box instead of on its edges.
+     */
+    VERTEX_OFF_EDGES,
+
+    /**
+     * All vertices lie on the edges, but at least one corner of the bounding box is not a vertex.
+     */
+    MISSING_CORNER
+}
@@ -0,0 +1,97 @@
+package com.envitia.analysis;
+
+import com.envitia.exception.GeometryValidationException;
+import com.envitia.geometry.CompactRectangle;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the CoverageAnalyzer class.
+ */
+public class CoverageAnalyzerTest {
+
+    @Test
+    void testUnionArea_OverlappingRectangles() {
+        List<CompactRectangle> rectangles = List.of(
+                CompactRectangle.ofBounds(0, 0, 4, 4),
+                CompactRectangle.ofBounds(2, 2, 6, 6));
+
+        assertEquals(28, CoverageAnalyzer.unionArea(rectangles));
+    }
+
+    @Test
+    void testAnalyze_DepthAndPairwiseOverlap() {
+        List<CompactRectangle> rectangles = List.of(
+                CompactRectangle.ofBounds(0, 0, 4, 4),
+                CompactRectangle.ofBounds(2, 2, 6, 6),
+                CompactRectangle.ofBounds(3, 3, 5, 5));
+
+        CoverageReport report = CoverageAnalyzer.analyze(rectangles, 3);
+
+        assertEquals(28, report.unionArea());
+        assertEquals(4 + 1 + 4, report.pairwiseOverlapArea());
+        assertEquals(7, report.areaAtLeast(2));
+        assertEquals(1, report.areaAtLeast(3));
+        assertEquals(3, report.maxDepth());
+    }
+
+    @Test
+    void testAnalyze_DegenerateAndEmptyInput() {
+        assertEquals(0, CoverageAnalyzer.unionArea(List.of()));
+        assertEquals(0, CoverageAnalyzer.unionArea(List.of(CompactRectangle.ofBounds(0, 0, 0, 5))));
+    }
+
+    @Test
+    void testAnalyze_ExtremeCoordinates() {
+        CompactRectangle wide = CompactRectangle.ofBounds(Integer.MIN_VALUE, 0, Integer.MAX_VALUE, 2);
+
+        assertEquals(2L * (1L << 32) - 2, CoverageAnalyzer.unionArea(List.of(wide, wide)));
+    }
+
+    @Test
+    void testAnalyze_MatchesCellCounting() {
+        Random random = new Random(3);
+        List<CompactRectangle> rectangles = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            int minX = random.nextInt(40), minY = random.nextInt(40);
+            rectangles.add(CompactRectangle.ofBounds(minX, minY, minX + random.nextInt(15), minY + random.nextInt(15)));
+        }
+        int depth = 4;
+        long[] expectedAtLeast = new long[depth];
+        long expectedPairs = 0;
+        int expectedMax = 0;
+        for (int x = 0; x < 60; x++) {
+            for (int y = 0; y < 60; y++) {
+                int cellDepth = 0;
+                for (CompactRectangle rectangle : rectangles) {
+                    if (x >= rectangle.getMinX() && x < rectangle.getMaxX()
+                            && y >= rectangle.getMinY() && y < rectangle.getMaxY()) {
+                        cellDepth++;
+                    }
+                }
+                for (int k = 1; k <= Math.min(depth, cellDepth); k++) {
+                    expectedAtLeast[k - 1]++;
+                }
+                expectedPairs += (long) cellDepth * (cellDepth - 1) / 2;
+                expectedMax = Math.max(expectedMax, cellDepth);
+            }
+        }
+
+        CoverageReport report = CoverageAnalyzer.analyze(rectangles, depth);
+
+        assertArrayEquals(expectedAtLeast, report.areaAtLeastDepth());
+        assertEquals(expectedPairs, report.pairwiseOverlapArea());
+        assertEquals(expectedMax, report.maxDepth());
+    }
+
+    @Test
+    void testAnalyze_InvalidArgumentsThrowException() {
+        assertThrows(GeometryValidationException.class, () -> CoverageAnalyzer.analyze(null, 1));
+        assertThrows(IllegalArgumentException.class, () -> CoverageAnalyzer.analyze(List.of(), 0));
+    }
+}
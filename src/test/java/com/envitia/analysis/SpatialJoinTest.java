@@ -0,0 +1,146 @@
+package com.envitia.analysis;
+
+import com.envitia.exception.GeometryValidationException;
+import com.envitia.geometry.CompactRectangle;
+import com.envitia.geometry.Rectangle;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the SpatialJoin class.
+ */
+public class SpatialJoinTest {
+
+    @Test
+    void testRelate_StrictContainmentAndEdges() {
+        CompactRectangle outer = CompactRectangle.ofBounds(0, 0, 10, 10);
+
+        assertEquals(JoinRelation.CONTAINS, SpatialJoin.relate(outer, CompactRectangle.ofBounds(1, 1, 9, 9)));
+        assertEquals(JoinRelation.WITHIN, SpatialJoin.relate(CompactRectangle.ofBounds(1, 1, 9, 9), outer));
+        // Sharing an edge is not strict containment
+        assertEquals(JoinRelation.INTERSECTS, SpatialJoin.relate(outer, CompactRectangle.ofBounds(0, 1, 9, 9)));
+        assertEquals(JoinRelation.INTERSECTS, SpatialJoin.relate(outer, outer));
+        // A segment strictly inside is contained although it has no interior
+        assertEquals(JoinRelation.CONTAINS, SpatialJoin.relate(outer, CompactRectangle.ofBounds(5, 1, 5, 9)));
+        assertNull(SpatialJoin.relate(outer, CompactRectangle.ofBounds(10, 0, 20, 10)));
+        assertNull(SpatialJoin.relate(outer, CompactRectangle.ofBounds(10, 10, 20, 20)));
+        assertNull(SpatialJoin.relate(outer, CompactRectangle.ofBounds(0, 5, 10, 5)));
+    }
+
+    @Test
+    void testJoinBounds_MatchesNestedLoops() {
+        Random random = new Random(43);
+        for (int round = 0; round < 5; round++) {
+            List<CompactRectangle> left = randomLayer(random, 1500 + 500 * round);
+            List<CompactRectangle> right = randomLayer(random, 2500);
+
+            Map<Long, JoinRelation> expected = new HashMap<>();
+            for (int l = 0; l < left.size(); l++) {
+                for (int r = 0; r < right.size(); r++) {
+                    JoinRelation relation = SpatialJoin.relate(left.get(l), right.get(r));
+                    if (relation != null) {
+                        expected.put(pair(l, r), relation);
+                    }
+                }
+            }
+            Map<Long, JoinRelation> actual = new HashMap<>();
+            long reported = SpatialJoin.joinBounds(left, right, (l, r, relation) ->
+                    assertNull(actual.put(pair(l, r), relation), "Pair reported twice"));
+
+            assertEquals(expected, actual);
+            assertEquals(expected.size(), reported);
+        }
+    }
+
+    @Test
+    void testJoinBounds_LargeRectanglesAreReportedOnce() {
+        List<CompactRectangle> left = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            left.add(CompactRectangle.ofBounds(i * 10, 0, i * 10 + 5, 5));
+        }
+        List<CompactRectangle> right = List.of(
+                CompactRectangle.ofBounds(-1, -1, 200_000, 6),
+                CompactRectangle.ofBounds(0, 0, 200_000, 5));
+        int[] counts = new int[JoinRelation.values().length];
+
+        long reported = SpatialJoin.joinBounds(left, right, (l, r, relation) -> counts[relation.ordinal()]++);
+
+        assertEquals(40_000, reported);
+        assertEquals(20_000, counts[JoinRelation.WITHIN.ordinal()]);
+        assertEquals(20_000, counts[JoinRelation.INTERSECTS.ordinal()]);
+    }
+
+    @Test
+    void testJoinBounds_DisjointAndEmptyLayers() {
+        List<CompactRectangle> left = List.of(CompactRectangle.ofBounds(0, 0, 10, 10));
+        JoinListener failing = (l, r, relation) -> fail("Unexpected pair " + l + ", " + r);
+
+        assertEquals(0, SpatialJoin.joinBounds(left, List.of(), failing));
+        assertEquals(0, SpatialJoin.joinBounds(List.of(), left, failing));
+        assertEquals(0, SpatialJoin.joinBounds(left, List.of(CompactRectangle.ofBounds(20, 20, 30, 30)), failing));
+        assertEquals(0, SpatialJoin.joinBounds(left, List.of(CompactRectangle.ofBounds(10, 0, 20, 10)), failing));
+    }
+
+    @Test
+    void testJoinBounds_ExtremeCoordinates() {
+        List<CompactRectangle> left = List.of(CompactRectangle.ofBounds(Integer.MIN_VALUE, Integer.MIN_VALUE,
+                Integer.MAX_VALUE, Integer.MAX_VALUE));
+        List<CompactRectangle> right = List.of(
+                CompactRectangle.ofBounds(Integer.MIN_VALUE + 1, -5, Integer.MAX_VALUE - 1, 5),
+                CompactRectangle.ofBounds(Integer.MIN_VALUE, 0, 0, Integer.MAX_VALUE));
+        JoinRelation[] relations = new JoinRelation[right.size()];
+
+        SpatialJoin.joinBounds(left, right, (l, r, relation) -> relations[r] = relation);
+
+        assertArrayEquals(new JoinRelation[]{JoinRelation.CONTAINS, JoinRelation.INTERSECTS}, relations);
+    }
+
+    @Test
+    void testJoin_UsesRectangleBounds() {
+        Rectangle outer = Rectangle.fromCoordinateArray(new int[][]{{0, 0}, {10, 0}, {10, 10}, {0, 10}});
+        Rectangle inner = Rectangle.fromCoordinateArray(new int[][]{{2, 2}, {5, 2}, {8, 2}, {8, 8}, {2, 8}});
+        List<String> pairs = new ArrayList<>();
+
+        SpatialJoin.join(List.of(outer), List.of(inner, outer), (l, r, relation) -> pairs.add(l + "-" + r + ":" + relation));
+
+        assertEquals(2, pairs.size());
+        assertTrue(pairs.contains("0-0:CONTAINS"));
+        assertTrue(pairs.contains("0-1:INTERSECTS"));
+    }
+
+    @Test
+    void testJoin_NullInput() {
+        List<CompactRectangle> layer = List.of(CompactRectangle.ofBounds(0, 0, 1, 1));
+        List<CompactRectangle> withNull = new ArrayList<>();
+        withNull.add(null);
+
+        assertThrows(GeometryValidationException.class, () -> SpatialJoin.joinBounds(null, layer, (l, r, x) -> { }));
+        assertThrows(GeometryValidationException.class, () -> SpatialJoin.joinBounds(layer, withNull, (l, r, x) -> { }));
+        assertThrows(GeometryValidationException.class, () -> SpatialJoin.joinBounds(layer, layer, null));
+        assertThrows(GeometryValidationException.class, () -> SpatialJoin.join(null, List.of(), (l, r, x) -> { }));
+    }
+
+    private static List<CompactRectangle> randomLayer(Random random, int count) {
+        List<CompactRectangle> layer = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            // Small coordinates so that shared edges, equal bounds and segments are frequent
+            int minX = random.nextInt(400) - 200;
+            int minY = random.nextInt(400) - 200;
+            int width = random.nextInt(10) == 0 ? random.nextInt(300) : random.nextInt(20);
+            int height = random.nextInt(10) == 0 ? random.nextInt(300) : random.nextInt(20);
+            layer.add(CompactRectangle.ofBounds(minX, minY, minX + width, minY + height));
+        }
+        return layer;
+    }
+
+    private static long pair(int left, int right) {
+        return (long) left << 32 | right;
+    }
+}
@@ -0,0 +1,31 @@
+package com.envitia.benchmark;
+
+import com.envitia.analysis.CoverageAnalyzer;
+import com.envitia.analysis.CoverageReport;
+import com.envitia.geometry.CompactRectangle;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Reports the time {@link CoverageAnalyzer} takes on growing random rectangle layers.
+ */
+public class CoverageAnalyzerBenchmark {
+
+    public static void main(String[] args) {
+        System.out.printf("%12s %12s %22s %22s%n", "rectangles", "ms", "union area", "pairwise overlap");
+        for (int count : new int[]{10_000, 100_000, 1_000_000, 2_000_000}) {
+            Random random = new Random(count);
+            List<CompactRectangle> rectangles = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                int minX = random.nextInt(1_000_000), minY = random.nextInt(1_000_000);
+                rectangles.add(CompactRectangle.ofBounds(minX, minY, minX + random.nextInt(5_000), minY + random.nextInt(5_000)));
+            }
+            long start = System.nanoTime();
+            CoverageReport report = CoverageAnalyzer.analyze(rectangles, 2);
+            long elapsed = System.nanoTime() - start;
+            System.out.printf("%12d %12.1f %22d %22d%n", count, elapsed / 1e6, report.unionArea(), report.pairwiseOverlapArea());
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.envitia.benchmark;
+
+import com.envitia.geometry.CompactRectangle;
+import com.envitia.index.CoverageBitmap;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Reports build time, memory and lookup throughput of {@link CoverageBitmap} on a 65536 x 65536 domain,
+ * compared to a linear scan over the same rectangles.
+ */
+public class CoverageBitmapBenchmark {
+
+    private static final int DOMAIN = 1 << 16;
+
+    private static final int QUERIES = 5_000_000;
+
+    public static void main(String[] args) {
+        System.out.printf("%12s %10s %12s %14s %14s %14s%n",
+                "rectangles", "build ms", "memory KB", "tiles E/F/A/B", "bitmap ns/op", "scan ns/op");
+        for (int count : new int[]{100, 1_000, 10_000, 100_000}) {
+            List<CompactRectangle> rectangles = randomRectangles(count, new Random(count));
+
+            long start = System.nanoTime();
+            CoverageBitmap coverage = CoverageBitmap.buildFromBounds(rectangles, 0, 0, DOMAIN, DOMAIN);
+            long buildNanos = System.nanoTime() - start;
+
+            int[] xs = new int[QUERIES];
+            int[] ys = new int[QUERIES];
+            Random random = new Random(1);
+            for (int i = 0; i < QUERIES; i++) {
+                xs[i] = random.nextInt(DOMAIN);
+                ys[i] = random.nextInt(DOMAIN);
+            }
+            double bitmapNanos = timeBitmap(coverage, xs, ys);
+            double scanNanos = count <= 1_000 ? timeScan(rectangles, xs, ys) : Double.NaN;
+            int[] kinds = coverage.getContainerCounts();
+            System.out.printf("%12d %10.1f %12d %14s %14.1f %14.1f%n", count, buildNanos / 1e6,
+                    coverage.getMemoryBytes() / 1024, kinds[0] + "/" + kinds[1] + "/" + kinds[2] + "/" + kinds[3],
+                    bitmapNanos, scanNanos);
+        }
+    }
+
+    private static List<CompactRectangle> randomRectangles(int count, Random random) {
+        List<CompactRectangle> rectangles = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int minX = random.nextInt(DOMAIN), minY = random.nextInt(DOMAIN);
+            rectangles.add(CompactRectangle.ofBounds(minX, minY,
+                    Math.min(DOMAIN - 1, minX + random.nextInt(2_000)), Math.min(DOMAIN - 1, minY + random.nextInt(2_000))));
+        }
+        return rectangles;
+    }
+
+    private static double timeBitmap(CoverageBitmap coverage, int[] xs, int[] ys) {
+        int hits = 0;
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < xs.length; i++) {
+                hits += coverage.containsPoint(xs[i], ys[i]) ? 1 : 0;
+            }
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < xs.length; i++) {
+            hits += coverage.containsPoint(xs[i], ys[i]) ? 1 : 0;
+        }
+        double nanos = (double) (System.nanoTime() - start) / xs.length;
+        return hits < 0 ? -1 : nanos;
+    }
+
+    private static double timeScan(List<CompactRectangle> rectangles, int[] xs, int[] ys) {
+        int queries = xs.length / 50;
+        int hits = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < queries; i++) {
+            for (CompactRectangle rectangle : rectangles) {
+                if (rectangle.containsPoint(xs[i], ys[i])) {
+                    hits++;
+                    break;
+                }
+            }
+        }
+        double nanos = (double) (System.nanoTime() - start) / queries;
+        return hits < 0 ? -1 : nanos;
+    }
+}
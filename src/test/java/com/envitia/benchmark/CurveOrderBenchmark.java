@@ -0,0 +1,79 @@
+package com.envitia.benchmark;
+
+import com.envitia.geometry.CompactRectangle;
+import com.envitia.index.RectangleTree;
+import com.envitia.index.SpaceFillingCurve;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Compares batch containment queries against a {@link RectangleTree} in random input order with
+ * the same queries sorted along a Hilbert or Z-order curve, sort time included.
+ */
+public class CurveOrderBenchmark {
+
+    private static final int DOMAIN = 1 << 24;
+
+    private static final int QUERIES = 4_000_000;
+
+    public static void main(String[] args) {
+        System.out.printf("%12s %14s %14s %14s %14s%n",
+                "rectangles", "random ns/op", "hilbert ns/op", "z-order ns/op", "sort ns/op");
+        for (int count : new int[]{10_000, 100_000, 1_000_000, 4_000_000}) {
+            Random random = new Random(count);
+            RectangleTree tree = RectangleTree.build(randomRectangles(count, random));
+            int[] xs = new int[QUERIES];
+            int[] ys = new int[QUERIES];
+            for (int i = 0; i < QUERIES; i++) {
+                xs[i] = random.nextInt(DOMAIN);
+                ys[i] = random.nextInt(DOMAIN);
+            }
+            double randomNanos = Double.MAX_VALUE, hilbertNanos = Double.MAX_VALUE;
+            double zOrderNanos = Double.MAX_VALUE, sortNanos = Double.MAX_VALUE;
+            long hits = 0;
+            for (int round = 0; round < 3; round++) {
+                long start = System.nanoTime();
+                for (int i = 0; i < QUERIES; i++) {
+                    hits += tree.anyContains(xs[i], ys[i]) ? 1 : 0;
+                }
+                randomNanos = Math.min(randomNanos, (System.nanoTime() - start) / (double) QUERIES);
+
+                start = System.nanoTime();
+                hits += count(tree.containsPoints(xs, ys, SpaceFillingCurve.HILBERT));
+                hilbertNanos = Math.min(hilbertNanos, (System.nanoTime() - start) / (double) QUERIES);
+
+                start = System.nanoTime();
+                hits += count(tree.containsPoints(xs, ys, SpaceFillingCurve.Z_ORDER));
+                zOrderNanos = Math.min(zOrderNanos, (System.nanoTime() - start) / (double) QUERIES);
+
+                start = System.nanoTime();
+                hits += SpaceFillingCurve.HILBERT.order(xs, ys)[0];
+                sortNanos = Math.min(sortNanos, (System.nanoTime() - start) / (double) QUERIES);
+            }
+            System.out.printf("%12d %14.1f %14.1f %14.1f %14.1f%n", count, randomNanos, hilbertNanos, zOrderNanos, sortNanos);
+            if (hits < 0) {
+                System.out.println(hits);
+            }
+        }
+    }
+
+    private static int count(boolean[] results) {
+        int count = 0;
+        for (boolean result : results) {
+            count += result ? 1 : 0;
+        }
+        return count;
+    }
+
+    private static List<CompactRectangle> randomRectangles(int count, Random random) {
+        List<CompactRectangle> rectangles = new ArrayList<>(count);
+        int side = (int) (4L * DOMAIN / (long) Math.sqrt(count));
+        for (int i = 0; i < count; i++) {
+            int minX = random.nextInt(DOMAIN), minY = random.nextInt(DOMAIN);
+            rectangles.add(CompactRectangle.ofBounds(minX, minY, minX + random.nextInt(side), minY + random.nextInt(side)));
+        }
+        return rectangles;
+    }
+}
@@ -0,0 +1,152 @@
+package com.envitia.benchmark;
+
+import com.envitia.RectanglePointChecker;
+import com.envitia.geometry.PointLocation;
+import com.envitia.service.GeometryService;
+import com.envitia.service.impl.CachingGeometryService;
+import com.envitia.service.impl.CoalescingGeometryService;
+import com.envitia.service.impl.GeometryServiceImpl;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Load generator measuring saturation throughput and tail latency of {@link RectanglePointChecker}
+ * and {@link GeometryService}.
+ * <p>
+ * Operations run back to back for a warm-up period, whose measurements are discarded, and then for
+ * the measured duration. Every call is timed with {@link System#nanoTime()} and recorded in a
+ * per-thread {@link LatencyHistogram}, so the reported latencies include the few tens of
+ * nanoseconds that timing itself costs. In batch mode a call checks {@code batchSize} points: the
+ * latencies are per call while the throughput counts points.
+ * </p>
+ * <p>
+ * Example: {@code --mode=concurrent --threads=8 --invalid=0.2 --inside=1 --edge=1 --outside=1 --vertices=12}.
+ * See {@link LoadTestConfig#fromArgs} for all options.
+ * </p>
+ */
+public class LoadTest {
+
+    public static void main(String[] args) throws InterruptedException {
+        LoadTestConfig config = LoadTestConfig.fromArgs(args);
+        GeometryService service = switch (config.getService()) {
+            case DEFAULT -> new GeometryServiceImpl();
+            case COALESCING -> new CoalescingGeometryService(Duration.ofNanos(50_000), 64);
+            case CACHING -> new CachingGeometryService(1 << 18);
+        };
+        int pointsPerRectangle = config.getMode() == LoadTestConfig.Mode.BATCH ? config.getBatchSize() : 64;
+        LoadWorkload workload = LoadWorkload.generate(config, pointsPerRectangle);
+
+        System.out.println(config);
+        run(config, workload, service, config.getWarmup());
+        Result result = run(config, workload, service, config.getDuration());
+
+        LatencyHistogram latencies = result.latencies();
+        System.out.printf("%-10s %8s %14s %14s %10s %10s %10s %10s %10s%n",
+                "mode", "threads", "ops", "ops/s", "mean ns", "p50 ns", "p99 ns", "p99.9 ns", "max ns");
+        System.out.printf("%-10s %8d %14d %14.0f %10.0f %10d %10d %10d %10d%n",
+                config.getMode(), result.threads(), result.operations(),
+                result.operations() / (result.elapsedNanos() / 1e9), latencies.getMean(),
+                latencies.getValueAtPercentile(50), latencies.getValueAtPercentile(99),
+                latencies.getValueAtPercentile(99.9), latencies.getMax());
+        System.out.printf("points inside: %.1f%%%n", 100.0 * result.inside() / result.operations());
+        if (service instanceof CachingGeometryService caching) {
+            System.out.printf("cache hit rate: %.1f%%%n", 100.0 * caching.getMetrics().hitRate());
+        }
+    }
+
+    private static Result run(LoadTestConfig config, LoadWorkload workload, GeometryService service, Duration duration)
+            throws InterruptedException {
+        int threads = config.getMode() == LoadTestConfig.Mode.CONCURRENT ? config.getThreads() : 1;
+        Worker[] workers = new Worker[threads];
+        Thread[] runners = new Thread[threads];
+        CountDownLatch start = new CountDownLatch(1);
+        long[] deadline = new long[1];
+        for (int t = 0; t < threads; t++) {
+            Worker worker = new Worker(config, workload, service, t);
+            workers[t] = worker;
+            runners[t] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                worker.run(deadline[0]);
+            }, "load-" + t);
+            runners[t].start();
+        }
+        long begin = System.nanoTime();
+        deadline[0] = begin + duration.toNanos();
+        start.countDown();
+        for (Thread runner : runners) {
+            runner.join();
+        }
+        long elapsed = System.nanoTime() - begin;
+
+        LatencyHistogram latencies = new LatencyHistogram();
+        long operations = 0, inside = 0;
+        for (Worker worker : workers) {
+            latencies.merge(worker.latencies);
+            operations += worker.operations;
+            inside += worker.inside;
+        }
+        return new Result(threads, operations, inside, elapsed, latencies);
+    }
+
+    private record Result(int threads, long operations, long inside, long elapsedNanos, LatencyHistogram latencies) {
+    }
+
+    /**
+     * Issues operations from one thread until the deadline.
+     */
+    private static final class Worker {
+
+        private final LoadTestConfig config;
+
+        private final LoadWorkload workload;
+
+        private final GeometryService service;
+
+        private final RectanglePointChecker checker;
+
+        private final int threadIndex;
+
+        private final LatencyHistogram latencies = new LatencyHistogram();
+
+        private long operations;
+
+        private long inside;
+
+        Worker(LoadTestConfig config, LoadWorkload workload, GeometryService service, int threadIndex) {
+            this.config = config;
+            this.workload = workload;
+            this.service = service;
+            this.checker = new RectanglePointChecker(service);
+            this.threadIndex = threadIndex;
+        }
+
+        void run(long deadline) {
+            int rectangles = workload.rectangleCount();
+            // Threads start at different rectangles so they do not march in lockstep
+            long k = (long) threadIndex * 7_919;
+            long now;
+            do {
+                int r = (int) (k % rectangles);
+                int[][] rectangle = workload.rectangle(r);
+                int[][] points = workload.points(r);
+                long begin = System.nanoTime();
+                if (config.getMode() == LoadTestConfig.Mode.BATCH) {
+                    inside += service.classifyPoints(rectangle, points).count(PointLocation.INSIDE);
+                    operations += points.length;
+                } else {
+                    inside += checker.isInsideRectangle(rectangle, points[(int) ((k / rectangles) % points.length)]) ? 1 : 0;
+                    operations++;
+                }
+                now = System.nanoTime();
+                latencies.record(now - begin);
+                k++;
+            } while (now < deadline);
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.envitia.benchmark;
+
+import java.time.Duration;
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Configuration of a {@link LoadTest} run.
+ * <p>
+ * The workload mix is given as ratios: {@code invalidShapeRatio} of the rectangles are not valid
+ * rectangles, and the points are drawn strictly inside, on an edge or outside their rectangle in
+ * proportion to {@code insideWeight}, {@code edgeWeight} and {@code outsideWeight}.
+ * </p>
+ */
+@Value
+@Builder
+public class LoadTestConfig {
+
+    /**
+     * How the operations are issued.
+     */
+    public enum Mode {
+        /**
+         * One thread calling {@code RectanglePointChecker.isInsideRectangle} per point.
+         */
+        SINGLE,
+        /**
+         * One thread calling {@code GeometryService.classifyPoints} with {@code batchSize} points per call.
+         */
+        BATCH,
+        /**
+         * {@code threads} threads calling {@code RectanglePointChecker.isInsideRectangle} per point.
+         */
+        CONCURRENT
+    }
+
+    /**
+     * The service driven by the load test.
+     */
+    public enum Service {
+        /**
+         * {@link com.envitia.service.impl.GeometryServiceImpl}.
+         */
+        DEFAULT,
+        /**
+         * {@link com.envitia.service.impl.CoalescingGeometryService} with a 50 microsecond wait.
+         */
+        COALESCING,
+        /**
+         * {@link com.envitia.service.impl.CachingGeometryService} holding 2^18 results.
+         */
+        CACHING
+    }
+
+    @Builder.Default
+    Mode mode = Mode.SINGLE;
+
+    @Builder.Default
+    Service service = Service.DEFAULT;
+
+    @Builder.Default
+    int threads = Runtime.getRuntime().availableProcessors();
+
+    @Builder.Default
+    int batchSize = 256;
+
+    @Builder.Default
+    Duration warmup = Duration.ofSeconds(3);
+
+    @Builder.Default
+    Duration duration = Duration.ofSeconds(10);
+
+    /**
+     * The fraction of rectangles that are not valid rectangles, between 0 and 1.
+     */
+    @Builder.Default
+    double invalidShapeRatio = 0.1;
+
+    @Builder.Default
+    double insideWeight = 0.6;
+
+    @Builder.Default
+    double edgeWeight = 0.2;
+
+    @Builder.Default
+    double outsideWeight = 0.2;
+
+    /**
+     * The number of vertices describing each rectangle, at least 4; extra vertices lie on the edges.
+     */
+    @Builder.Default
+    int vertices = 4;
+
+    /**
+     * The number of distinct rectangles the operations cycle through.
+     */
+    @Builder.Default
+    int rectangles = 1024;
+
+    @Builder.Default
+    long seed = 42;
+
+    /**
+     * Parses {@code --name=value} arguments, for example {@code --mode=concurrent --threads=8 --duration=30s}.
+     * Durations accept a number of seconds followed by {@code s}, or of milliseconds followed by {@code ms}.
+     *
+     * @param args the command-line arguments
+     * @return the configuration, with defaults for the options that are not given
+     * @throws IllegalArgumentException if an argument is malformed or unknown
+     */
+    public static LoadTestConfig fromArgs(String[] args) {
+        LoadTestConfigBuilder builder = builder();
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            if (!arg.startsWith("--") || equals < 0) {
+                throw new IllegalArgumentException("Expected --name=value, found: " + arg);
+            }
+            String name = arg.substring(2, equals);
+            String value = arg.substring(equals + 1);
+            switch (name) {
+                case "mode" -> builder.mode(Mode.valueOf(value.toUpperCase()));
+                case "service" -> builder.service(Service.valueOf(value.toUpperCase()));
+                case "threads" -> builder.threads(Integer.parseInt(value));
+                case "batch-size" -> builder.batchSize(Integer.parseInt(value));
+                case "warmup" -> builder.warmup(parseDuration(value));
+                case "duration" -> builder.duration(parseDuration(value));
+                case "invalid" -> builder.invalidShapeRatio(Double.parseDouble(value));
+                case "inside" -> builder.insideWeight(Double.parseDouble(value));
+                case "edge" -> builder.edgeWeight(Double.parseDouble(value));
+                case "outside" -> builder.outsideWeight(Double.parseDouble(value));
+                case "vertices" -> builder.vertices(Integer.parseInt(value));
+                case "rectangles" -> builder.rectangles(Integer.parseInt(value));
+                case "seed" -> builder.seed(Long.parseLong(value));
+                default -> throw new IllegalArgumentException("Unknown option: " + name);
+            }
+        }
+        LoadTestConfig config = builder.build();
+        config.validate();
+        return config;
+    }
+
+    private void validate() {
+        if (threads < 1 || batchSize < 1 || rectangles < 1 || vertices < 4) {
+            throw new IllegalArgumentException("Threads, batch size and rectangles must be positive and vertices at least 4");
+        }
+        if (invalidShapeRatio < 0 || invalidShapeRatio > 1
+                || insideWeight < 0 || edgeWeight < 0 || outsideWeight < 0
+                || insideWeight + edgeWeight + outsideWeight <= 0) {
+            throw new IllegalArgumentException("Invalid workload mix");
+        }
+    }
+
+    private static Duration parseDuration(String value) {
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        if (value.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        throw new IllegalArgumentException("Expected a duration such as 10s or 500ms, found: " + value);
+    }
+}
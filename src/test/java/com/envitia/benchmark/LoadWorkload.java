@@ -0,0 +1,105 @@
+package com.envitia.benchmark;
+
+import java.util.Random;
+
+/**
+ * Pregenerated rectangles and query points of a {@link LoadTest}, so that generating the
+ * workload does not add to the measured latencies.
+ * <p>
+ * Each rectangle has its own pool of points; operation {@code k} of a run uses rectangle
+ * {@code k % rectangleCount()} and the next point of that rectangle's pool.
+ * </p>
+ */
+final class LoadWorkload {
+
+    private static final int COORDINATE_RANGE = 1_000_000;
+
+    private static final int MAX_SIDE = 10_000;
+
+    private final int[][][] rectangles;
+
+    private final int[][][] points;
+
+    private LoadWorkload(int[][][] rectangles, int[][][] points) {
+        this.rectangles = rectangles;
+        this.points = points;
+    }
+
+    /**
+     * Generates the workload described by a configuration.
+     *
+     * @param config the load test configuration
+     * @param pointsPerRectangle the size of each rectangle's point pool
+     * @return the generated workload
+     */
+    static LoadWorkload generate(LoadTestConfig config, int pointsPerRectangle) {
+        Random random = new Random(config.getSeed());
+        double totalWeight = config.getInsideWeight() + config.getEdgeWeight() + config.getOutsideWeight();
+        double insideLimit = config.getInsideWeight() / totalWeight;
+        double edgeLimit = insideLimit + config.getEdgeWeight() / totalWeight;
+
+        int[][][] rectangles = new int[config.getRectangles()][][];
+        int[][][] points = new int[config.getRectangles()][pointsPerRectangle][];
+        for (int r = 0; r < rectangles.length; r++) {
+            int minX = random.nextInt(2 * COORDINATE_RANGE) - COORDINATE_RANGE;
+            int minY = random.nextInt(2 * COORDINATE_RANGE) - COORDINATE_RANGE;
+            int maxX = minX + 2 + random.nextInt(MAX_SIDE);
+            int maxY = minY + 2 + random.nextInt(MAX_SIDE);
+            boolean invalid = random.nextDouble() < config.getInvalidShapeRatio();
+            rectangles[r] = vertices(random, minX, minY, maxX, maxY, config.getVertices(), invalid);
+            for (int p = 0; p < pointsPerRectangle; p++) {
+                double kind = random.nextDouble();
+                if (kind < insideLimit) {
+                    points[r][p] = new int[]{minX + 1 + random.nextInt(maxX - minX - 1), minY + 1 + random.nextInt(maxY - minY - 1)};
+                } else if (kind < edgeLimit) {
+                    points[r][p] = edgePoint(random, minX, minY, maxX, maxY);
+                } else {
+                    points[r][p] = new int[]{maxX + 1 + random.nextInt(MAX_SIDE), minY - 1 - random.nextInt(MAX_SIDE)};
+                }
+            }
+        }
+        return new LoadWorkload(rectangles, points);
+    }
+
+    int rectangleCount() {
+        return rectangles.length;
+    }
+
+    int[][] rectangle(int index) {
+        return rectangles[index];
+    }
+
+    /**
+     * Returns the point pool of a rectangle.
+     */
+    int[][] points(int index) {
+        return points[index];
+    }
+
+    /**
+     * Returns the four corners followed by {@code count - 4} points on the edges; an invalid shape
+     * has its top-right corner moved right, which leaves the bottom-right corner missing.
+     */
+    private static int[][] vertices(Random random, int minX, int minY, int maxX, int maxY, int count, boolean invalid) {
+        int[][] vertices = new int[count][];
+        vertices[0] = new int[]{minX, minY};
+        vertices[1] = new int[]{maxX, minY};
+        vertices[2] = new int[]{invalid ? maxX + 1 + random.nextInt(10) : maxX, maxY};
+        vertices[3] = new int[]{minX, maxY};
+        for (int i = 4; i < count; i++) {
+            vertices[i] = edgePoint(random, minX, minY, maxX, maxY);
+        }
+        return vertices;
+    }
+
+    private static int[] edgePoint(Random random, int minX, int minY, int maxX, int maxY) {
+        int x = minX + random.nextInt(maxX - minX + 1);
+        int y = minY + random.nextInt(maxY - minY + 1);
+        return switch (random.nextInt(4)) {
+            case 0 -> new int[]{minX, y};
+            case 1 -> new int[]{maxX, y};
+            case 2 -> new int[]{x, minY};
+            default -> new int[]{x, maxY};
+        };
+    }
+}
@@ -0,0 +1,92 @@
+package com.envitia.benchmark;
+
+import com.envitia.geometry.CompactRectangle;
+import com.envitia.planner.ExecutionStrategy;
+import com.envitia.planner.QueryPlan;
+import com.envitia.planner.QueryPlanner;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Compares the strategies chosen by {@link QueryPlanner} with every strategy forced, on layers and
+ * batch sizes favouring each of them. Every run answers the same sequence of batches on a fresh
+ * planner, so the times include building the engines once. Strategies that are not feasible for a
+ * layer are shown as {@code -}, and those estimated to take more than {@value #SKIP_NANOS} ns per
+ * batch are skipped.
+ */
+public class PlannerBenchmark {
+
+    private static final int BATCHES = 5;
+
+    /**
+     * Forced strategies estimated to take longer than this per batch are not run.
+     */
+    private static final double SKIP_NANOS = 20e9;
+
+    public static void main(String[] args) {
+        System.out.printf("%-28s %-24s %12s", "scenario", "chosen", "planner ms");
+        for (ExecutionStrategy strategy : ExecutionStrategy.values()) {
+            System.out.printf(" %12s", strategy);
+        }
+        System.out.println();
+        run("10 rectangles, 100 points", layer(new Random(1), 10, 10_000, 1_000), 100, 10_000);
+        run("500 sparse, 1M points", layer(new Random(2), 500, 100_000_000, 10_000_000), 1_000_000, 100_000_000);
+        run("5k dense, 1M points", layer(new Random(3), 5_000, 2_000, 200), 1_000_000, 2_000);
+        run("1M sparse, 100k points", layer(new Random(4), 1_000_000, 100_000_000, 20_000), 100_000, 100_000_000);
+        run("1M sparse, 10 points", layer(new Random(5), 1_000_000, 100_000_000, 20_000), 10, 100_000_000);
+    }
+
+    private static void run(String scenario, List<CompactRectangle> layer, int batchSize, int extent) {
+        Random random = new Random(batchSize);
+        int[][] xs = new int[BATCHES][], ys = new int[BATCHES][];
+        for (int batch = 0; batch < BATCHES; batch++) {
+            xs[batch] = coordinates(random, batchSize, extent);
+            ys[batch] = coordinates(random, batchSize, extent);
+        }
+
+        QueryPlanner planner = QueryPlanner.forBounds(layer);
+        StringBuilder chosen = new StringBuilder();
+        long nanos = 0;
+        for (int batch = 0; batch < BATCHES; batch++) {
+            QueryPlan plan = planner.execute(xs[batch], ys[batch]).plan();
+            chosen.append(batch == 0 ? "" : ",").append(plan.strategy().name().charAt(0));
+            nanos += plan.measuredCost();
+        }
+        System.out.printf("%-28s %-24s %12.1f", scenario, chosen, nanos / 1e6);
+
+        for (ExecutionStrategy strategy : ExecutionStrategy.values()) {
+            QueryPlanner forced = QueryPlanner.forBounds(layer);
+            Double estimate = forced.plan(xs[0], ys[0]).estimatedNanos().get(strategy);
+            if (estimate == null || estimate > SKIP_NANOS) {
+                System.out.printf(" %12s", estimate == null ? "-" : "skipped");
+                continue;
+            }
+            nanos = 0;
+            for (int batch = 0; batch < BATCHES; batch++) {
+                nanos += forced.execute(xs[batch], ys[batch], strategy).plan().measuredCost();
+            }
+            System.out.printf(" %12.1f", nanos / 1e6);
+        }
+        System.out.println();
+    }
+
+    private static List<CompactRectangle> layer(Random random, int count, int extent, int maxSize) {
+        List<CompactRectangle> rectangles = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int minX = random.nextInt(extent - maxSize), minY = random.nextInt(extent - maxSize);
+            rectangles.add(CompactRectangle.ofBounds(minX, minY, minX + 1 + random.nextInt(maxSize),
+                    minY + 1 + random.nextInt(maxSize)));
+        }
+        return rectangles;
+    }
+
+    private static int[] coordinates(Random random, int count, int extent) {
+        int[] coordinates = new int[count];
+        for (int i = 0; i < count; i++) {
+            coordinates[i] = random.nextInt(extent);
+        }
+        return coordinates;
+    }
+}
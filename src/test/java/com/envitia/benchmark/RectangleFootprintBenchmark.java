@@ -0,0 +1,72 @@
+package com.envitia.benchmark;
+
+import com.envitia.geometry.CompactRectangle;
+import com.envitia.geometry.Rectangle;
+
+import java.util.function.IntFunction;
+
+/**
+ * Measures the retained heap per rectangle for {@link Rectangle} and {@link CompactRectangle}.
+ * <p>
+ * For each vertex count, a batch of rectangles is kept reachable and the heap usage is
+ * compared before and after allocation (with a garbage collection on each side). The
+ * result is an approximation; run with a fixed heap and the serial collector
+ * (e.g. {@code -XX:+UseSerialGC -Xms2g -Xmx2g}) for stable numbers.
+ * </p>
+ */
+public class RectangleFootprintBenchmark {
+
+    private static final int RECTANGLES = 200_000;
+
+    private static final int[] VERTEX_COUNTS = {4, 16, 100, 1_000};
+
+    public static void main(String[] args) {
+        System.out.printf("%10s %20s %20s%n", "vertices", "Rectangle B/obj", "CompactRectangle B/obj");
+        for (int vertexCount : VERTEX_COUNTS) {
+            int rectangles = Math.max(1_000, RECTANGLES * 4 / vertexCount);
+            long full = retainedBytesPerObject(rectangles, i -> Rectangle.fromCoordinateArray(outline(i, vertexCount)));
+            long compact = retainedBytesPerObject(rectangles,
+                    i -> CompactRectangle.fromRectangle(Rectangle.fromCoordinateArray(outline(i, vertexCount))));
+            System.out.printf("%10d %20d %20d%n", vertexCount, full, compact);
+        }
+    }
+
+    private static long retainedBytesPerObject(int count, IntFunction<Object> factory) {
+        Object[] retained = new Object[count];
+        long before = usedHeap();
+        for (int i = 0; i < count; i++) {
+            retained[i] = factory.apply(i);
+        }
+        long after = usedHeap();
+        if (retained[count - 1] == null) {
+            throw new IllegalStateException();
+        }
+        return (after - before) / count;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * Builds a square outline with the requested number of vertices, distributed along the four edges.
+     */
+    static int[][] outline(int offset, int vertexCount) {
+        int perEdge = vertexCount / 4;
+        int size = perEdge * 2 + 2;
+        int[][] coordinates = new int[perEdge * 4][];
+        int index = 0;
+        for (int i = 0; i < perEdge; i++) {
+            int step = i * size / perEdge;
+            coordinates[index++] = new int[]{offset, offset + step};
+            coordinates[index++] = new int[]{offset + step, offset + size};
+            coordinates[index++] = new int[]{offset + size, offset + size - step};
+            coordinates[index++] = new int[]{offset + size - step, offset};
+        }
+        return coordinates;
+    }
+}
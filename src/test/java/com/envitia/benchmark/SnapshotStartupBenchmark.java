@@ -0,0 +1,76 @@
+package com.envitia.benchmark;
+
+import com.envitia.geometry.CompactRectangle;
+import com.envitia.index.RectangleTree;
+import com.envitia.index.RectangleTreeSnapshot;
+import com.envitia.validation.GeometryValidator;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Compares the time to a first query answer when the index is rebuilt from raw vertex arrays,
+ * validating every rectangle, with opening a {@link RectangleTreeSnapshot} with and without
+ * checksum verification.
+ */
+public class SnapshotStartupBenchmark {
+
+    private static final int DOMAIN = 1 << 20;
+
+    public static void main(String[] args) throws IOException {
+        Path directory = Files.createTempDirectory("snapshot-benchmark");
+        System.out.printf("%12s %12s %12s %16s %16s %14s%n",
+                "rectangles", "file MB", "rebuild ms", "open+crc ms", "open ms", "1st query us");
+        for (int count : new int[]{10_000, 100_000, 1_000_000, 5_000_000}) {
+            int[][][] raw = randomRawRectangles(count, new Random(count));
+            Path path = directory.resolve("tree-" + count + ".snapshot");
+
+            long start = System.nanoTime();
+            RectangleTree tree = rebuild(raw);
+            boolean rebuiltAnswer = tree.anyContains(DOMAIN / 2, DOMAIN / 2);
+            long rebuildNanos = System.nanoTime() - start;
+            RectangleTreeSnapshot.write(tree, path);
+            tree = null;
+
+            start = System.nanoTime();
+            RectangleTreeSnapshot verified = RectangleTreeSnapshot.open(path);
+            long verifiedNanos = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            RectangleTreeSnapshot mapped = RectangleTreeSnapshot.open(path, false);
+            long openNanos = System.nanoTime() - start;
+            start = System.nanoTime();
+            boolean mappedAnswer = mapped.anyContains(DOMAIN / 2, DOMAIN / 2);
+            long queryNanos = System.nanoTime() - start;
+            if (rebuiltAnswer != mappedAnswer || verified.size() != count) {
+                throw new IllegalStateException("Snapshot disagrees with the rebuilt tree");
+            }
+            System.out.printf("%12d %12.1f %12.1f %16.2f %16.3f %14.1f%n", count, Files.size(path) / 1e6,
+                    rebuildNanos / 1e6, verifiedNanos / 1e6, openNanos / 1e6, queryNanos / 1e3);
+            Files.delete(path);
+        }
+        Files.delete(directory);
+    }
+
+    private static RectangleTree rebuild(int[][][] raw) {
+        List<CompactRectangle> rectangles = new ArrayList<>(raw.length);
+        for (int[][] coordinates : raw) {
+            GeometryValidator.validateRectangle(coordinates).ifPresent(rectangles::add);
+        }
+        return RectangleTree.build(rectangles);
+    }
+
+    private static int[][][] randomRawRectangles(int count, Random random) {
+        int[][][] raw = new int[count][][];
+        for (int i = 0; i < count; i++) {
+            int minX = random.nextInt(DOMAIN), minY = random.nextInt(DOMAIN);
+            int maxX = minX + 1 + random.nextInt(5_000), maxY = minY + 1 + random.nextInt(5_000);
+            raw[i] = new int[][]{{minX, minY}, {maxX, minY}, {maxX, maxY}, {minX, maxY}};
+        }
+        return raw;
+    }
+}
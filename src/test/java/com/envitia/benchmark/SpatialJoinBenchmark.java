@@ -0,0 +1,65 @@
+package com.envitia.benchmark;
+
+import com.envitia.analysis.JoinRelation;
+import com.envitia.analysis.SpatialJoin;
+import com.envitia.geometry.CompactRectangle;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Compares {@link SpatialJoin} with nested loops over growing pairs of random rectangle layers.
+ * Nested loops are only timed while they take a few seconds.
+ */
+public class SpatialJoinBenchmark {
+
+    private static final int NESTED_LOOP_LIMIT = 20_000;
+
+    public static void main(String[] args) {
+        System.out.printf("%12s %12s %14s %12s %12s%n", "rectangles", "pairs", "contains", "join ms", "nested ms");
+        for (int count : new int[]{10_000, 20_000, 100_000, 1_000_000, 2_000_000}) {
+            List<CompactRectangle> left = layer(new Random(count), count);
+            List<CompactRectangle> right = layer(new Random(-count), count);
+
+            long[] containing = new long[1];
+            long start = System.nanoTime();
+            long pairs = SpatialJoin.joinBounds(left, right, (l, r, relation) -> {
+                if (relation == JoinRelation.CONTAINS) {
+                    containing[0]++;
+                }
+            });
+            double joinMillis = (System.nanoTime() - start) / 1e6;
+
+            String nestedMillis = "-";
+            if (count <= NESTED_LOOP_LIMIT) {
+                start = System.nanoTime();
+                long nestedPairs = 0;
+                for (CompactRectangle l : left) {
+                    for (CompactRectangle r : right) {
+                        if (SpatialJoin.relate(l, r) != null) {
+                            nestedPairs++;
+                        }
+                    }
+                }
+                nestedMillis = String.format("%.1f", (System.nanoTime() - start) / 1e6);
+                if (nestedPairs != pairs) {
+                    throw new IllegalStateException("Join found " + pairs + " pairs, nested loops " + nestedPairs);
+                }
+            }
+            System.out.printf("%12d %12d %14d %12.1f %12s%n", count, pairs, containing[0], joinMillis, nestedMillis);
+        }
+    }
+
+    private static List<CompactRectangle> layer(Random random, int count) {
+        // Constant density: the extent grows with the number of rectangles
+        int extent = (int) Math.sqrt(count) * 1_000;
+        List<CompactRectangle> rectangles = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int minX = random.nextInt(extent), minY = random.nextInt(extent);
+            int size = random.nextInt(50) == 0 ? 20_000 : 2_000;
+            rectangles.add(CompactRectangle.ofBounds(minX, minY, minX + random.nextInt(size), minY + random.nextInt(size)));
+        }
+        return rectangles;
+    }
+}
@@ -0,0 +1,110 @@
+package com.envitia.benchmark;
+
+import com.envitia.geometry.CompressedVertexList;
+import com.envitia.geometry.Point;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Compares the retained heap and access time of vertex lists stored as {@link Point}s and as a
+ * {@link CompressedVertexList}.
+ * <p>
+ * Heap usage is compared before and after allocating a batch of lists, as in
+ * {@link RectangleFootprintBenchmark}; run with {@code -XX:+UseSerialGC -Xms2g -Xmx2g} for stable numbers.
+ * </p>
+ */
+public class VertexStorageBenchmark {
+
+    private static final int VERTICES_PER_BATCH = 4_000_000;
+
+    private static final int[] VERTEX_COUNTS = {64, 256, 1_000, 10_000};
+
+    public static void main(String[] args) {
+        System.out.printf("%10s %14s %16s %14s %16s %16s%n", "vertices", "points B/vtx", "compressed B/vtx",
+                "points iter ns", "compressed iter", "compressed get");
+        for (int vertexCount : VERTEX_COUNTS) {
+            int lists = VERTICES_PER_BATCH / vertexCount;
+            List<int[][]> outlines = new ArrayList<>(lists);
+            for (int i = 0; i < lists; i++) {
+                outlines.add(RectangleFootprintBenchmark.outline(i, vertexCount));
+            }
+            double pointBytes = retainedBytesPerVertex(outlines, coordinates -> List.copyOf(toPoints(coordinates)));
+            double compressedBytes = retainedBytesPerVertex(outlines, CompressedVertexList::fromCoordinateArray);
+
+            List<Point> points = toPoints(outlines.getFirst());
+            List<Point> compressed = CompressedVertexList.of(points);
+            System.out.printf("%10d %14.1f %16.1f %14.2f %16.2f %16.2f%n", vertexCount, pointBytes, compressedBytes,
+                    iterationNanos(points), iterationNanos(compressed), getNanos(compressed));
+        }
+    }
+
+    private static List<Point> toPoints(int[][] coordinates) {
+        List<Point> points = new ArrayList<>(coordinates.length);
+        for (int[] coordinate : coordinates) {
+            points.add(new Point(coordinate[0], coordinate[1]));
+        }
+        return points;
+    }
+
+    private static double retainedBytesPerVertex(List<int[][]> outlines, Function<int[][], List<Point>> storage) {
+        Object[] retained = new Object[outlines.size()];
+        long vertices = 0;
+        long before = usedHeap();
+        for (int i = 0; i < retained.length; i++) {
+            List<Point> stored = storage.apply(outlines.get(i));
+            vertices += stored.size();
+            retained[i] = stored;
+        }
+        long after = usedHeap();
+        if (retained[retained.length - 1] == null) {
+            throw new IllegalStateException();
+        }
+        return (double) (after - before) / vertices;
+    }
+
+    private static double iterationNanos(List<Point> vertices) {
+        long checksum = 0;
+        int rounds = Math.max(10, 20_000_000 / vertices.size());
+        long start = 0;
+        for (int round = -rounds; round < rounds; round++) {
+            if (round == 0) {
+                start = System.nanoTime();
+            }
+            for (Point vertex : vertices) {
+                checksum += vertex.x() ^ vertex.y();
+            }
+        }
+        return consume(checksum, (double) (System.nanoTime() - start) / rounds / vertices.size());
+    }
+
+    private static double getNanos(List<Point> vertices) {
+        long checksum = 0;
+        int lookups = 5_000_000;
+        long start = 0;
+        for (int i = -lookups; i < lookups; i++) {
+            if (i == 0) {
+                start = System.nanoTime();
+            }
+            Point vertex = vertices.get((int) ((i & 0x7FFFFFFFL) * 0x9E3779B1L % vertices.size()));
+            checksum += vertex.x() ^ vertex.y();
+        }
+        return consume(checksum, (double) (System.nanoTime() - start) / lookups);
+    }
+
+    private static double consume(long checksum, double value) {
+        if (checksum == 42) {
+            System.out.print("");
+        }
+        return value;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
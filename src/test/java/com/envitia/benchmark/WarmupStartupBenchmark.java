@@ -0,0 +1,126 @@
+package com.envitia.benchmark;
+
+import com.envitia.RectanglePointChecker;
+import com.envitia.service.impl.GeometryServiceImpl;
+import com.envitia.service.impl.GeometryServiceWarmup;
+import com.envitia.service.impl.GeometryServiceWarmupReport;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures the time to steady-state latency of a freshly started JVM, with and without
+ * {@link GeometryServiceWarmup}.
+ * <p>
+ * Every run is a new JVM, started with the current java executable and class path, that creates a
+ * {@link GeometryServiceImpl}, optionally warms it up, and then serves the {@link LoadTest} workload
+ * through {@link RectanglePointChecker} for {@value #SERVE_MILLIS} ms in windows of
+ * {@value #WINDOW_MILLIS} ms. The steady-state p99 is the median p99 of the last quarter of the
+ * windows. Steady state is reached at the start of the first {@value #STEADY_WINDOWS} consecutive
+ * windows whose p99 is at most half above it, measured from the first request; the time at which
+ * traffic starts is measured from JVM start, so it includes the warm-up.
+ * </p>
+ */
+public class WarmupStartupBenchmark {
+
+    private static final int RUNS = 3;
+
+    private static final int SERVE_MILLIS = 8_000;
+
+    private static final int WINDOW_MILLIS = 100;
+
+    private static final double STEADY_TOLERANCE = 1.5;
+
+    private static final int STEADY_WINDOWS = 5;
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length == 1) {
+            serve(Boolean.parseBoolean(args[0]));
+            return;
+        }
+        System.out.printf("%-8s %4s %12s %14s %14s %16s %16s %16s%n", "warm-up", "run", "warm-up ms",
+                "traffic at ms", "1st call us", "1st window p99", "steady p99 ns", "steady after ms");
+        for (boolean warmup : new boolean[]{false, true}) {
+            for (int run = 0; run < RUNS; run++) {
+                System.out.printf("%-8s %4d %s%n", warmup ? "yes" : "no", run, fork(warmup));
+            }
+        }
+    }
+
+    /**
+     * Runs this class in a new JVM and returns the line it prints.
+     */
+    private static String fork(boolean warmup) throws IOException, InterruptedException {
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        Process process = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+                WarmupStartupBenchmark.class.getName(), Boolean.toString(warmup))
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+        String line;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+            line = reader.readLine();
+        }
+        if (process.waitFor() != 0 || line == null) {
+            throw new IllegalStateException("Benchmark JVM failed");
+        }
+        return line;
+    }
+
+    /**
+     * Serves the workload in this JVM and prints one result line.
+     */
+    private static void serve(boolean warmup) {
+        GeometryServiceImpl service = new GeometryServiceImpl();
+        long warmupMillis = 0;
+        if (warmup) {
+            GeometryServiceWarmupReport report = GeometryServiceWarmup.run(service);
+            warmupMillis = report.elapsed().toMillis();
+        }
+        RectanglePointChecker checker = new RectanglePointChecker(service);
+        LoadWorkload workload = LoadWorkload.generate(LoadTestConfig.builder().vertices(8).build(), 64);
+        long trafficStart = ManagementFactory.getRuntimeMXBean().getUptime();
+
+        List<Long> windowP99s = new ArrayList<>();
+        long firstCallNanos = -1;
+        long inside = 0;
+        long k = 0;
+        long end = System.nanoTime() + SERVE_MILLIS * 1_000_000L;
+        while (System.nanoTime() - end < 0) {
+            LatencyHistogram window = new LatencyHistogram();
+            long windowEnd = System.nanoTime() + WINDOW_MILLIS * 1_000_000L;
+            do {
+                int r = (int) (k % workload.rectangleCount());
+                int[][] points = workload.points(r);
+                int[] point = points[(int) (k / workload.rectangleCount() % points.length)];
+                long begin = System.nanoTime();
+                inside += checker.isInsideRectangle(workload.rectangle(r), point) ? 1 : 0;
+                long latency = System.nanoTime() - begin;
+                window.record(latency);
+                if (firstCallNanos < 0) {
+                    firstCallNanos = latency;
+                }
+                k++;
+            } while (System.nanoTime() - windowEnd < 0);
+            windowP99s.add(window.getValueAtPercentile(99));
+        }
+
+        long[] tail = windowP99s.subList(windowP99s.size() * 3 / 4, windowP99s.size()).stream()
+                .mapToLong(Long::longValue).sorted().toArray();
+        long steadyP99 = tail[tail.length / 2];
+        int steadyWindow = 0;
+        for (int w = 0, run = 0; w < windowP99s.size() && run < STEADY_WINDOWS; w++) {
+            run = windowP99s.get(w) > STEADY_TOLERANCE * steadyP99 ? 0 : run + 1;
+            steadyWindow = w + 1 - run;
+        }
+        if (inside == 0) {
+            throw new IllegalStateException("No point was inside");
+        }
+        System.out.printf("%12d %14d %14.1f %16d %16d %16d%n", warmupMillis, trafficStart, firstCallNanos / 1e3,
+                windowP99s.getFirst(), steadyP99, (long) steadyWindow * WINDOW_MILLIS);
+    }
+}
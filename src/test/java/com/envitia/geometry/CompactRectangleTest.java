@@ -0,0 +1,86 @@
+package com.envitia.geometry;
+
+import com.envitia.exception.GeometryValidationException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the CompactRectangle class.
+ */
+public class CompactRectangleTest {
+
+    @Test
+    void testFromRectangle_KeepsBounds() {
+        Rectangle rectangle = Rectangle.fromCoordinateArray(new int[][]{{0, 0}, {0, 2}, {0, 5}, {5, 5}, {5, 0}});
+        CompactRectangle compact = CompactRectangle.fromRectangle(rectangle);
+
+        assertEquals(rectangle.getMinPoint(), compact.getMinPoint());
+        assertEquals(rectangle.getMaxPoint(), compact.getMaxPoint());
+    }
+
+    @Test
+    void testFromRectangle_InvalidRectangleThrowsException() {
+        Rectangle rectangle = Rectangle.fromCoordinateArray(new int[][]{{0, 0}, {0, 5}, {3, 3}, {5, 0}});
+
+        assertThrows(GeometryValidationException.class, () -> CompactRectangle.fromRectangle(rectangle));
+    }
+
+    @Test
+    void testFromRectangle_NullRectangleThrowsException() {
+        assertThrows(GeometryValidationException.class, () -> CompactRectangle.fromRectangle(null));
+    }
+
+    @Test
+    void testOfBounds_InvertedBoundsThrowsException() {
+        assertThrows(GeometryValidationException.class, () -> CompactRectangle.ofBounds(5, 0, 0, 5));
+    }
+
+    @Test
+    void testContainsPoint_MatchesRectangle() {
+        Rectangle rectangle = Rectangle.fromCoordinateArray(new int[][]{{-2, -1}, {-2, 5}, {5, 5}, {5, -1}});
+        CompactRectangle compact = CompactRectangle.fromRectangle(rectangle);
+
+        for (int x = -4; x <= 7; x++) {
+            for (int y = -3; y <= 7; y++) {
+                Point point = new Point(x, y);
+                assertEquals(rectangle.containsPoint(point), compact.containsPoint(point), "Mismatch at " + point);
+            }
+        }
+    }
+
+    @Test
+    void testContainsPoint_PointOnEdge() {
+        CompactRectangle compact = CompactRectangle.ofBounds(0, 0, 5, 5);
+
+        assertFalse(compact.containsPoint(new Point(0, 2)));
+        assertFalse(compact.containsPoint(5, 5));
+        assertTrue(compact.containsPoint(2, 2));
+    }
+
+    @Test
+    void testEqualsAndHashCode_IgnoreVertexCount() {
+        CompactRectangle fourPoints = CompactRectangle.fromRectangle(
+                Rectangle.fromCoordinateArray(new int[][]{{0, 0}, {0, 5}, {5, 5}, {5, 0}}));
+        CompactRectangle sixPoints = CompactRectangle.fromRectangle(
+                Rectangle.fromCoordinateArray(new int[][]{{0, 0}, {0, 2}, {0, 5}, {5, 5}, {5, 2}, {5, 0}}));
+
+        assertEquals(fourPoints, sixPoints);
+        assertEquals(fourPoints.hashCode(), sixPoints.hashCode());
+        assertNotEquals(fourPoints, CompactRectangle.ofBounds(0, 0, 5, 6));
+    }
+
+    @Test
+    void testClassifyPoint_MatchesRectangle() {
+        Rectangle rectangle = Rectangle.fromCoordinateArray(new int[][]{{-2, -1}, {-2, 5}, {5, 5}, {5, -1}});
+        CompactRectangle compact = CompactRectangle.fromRectangle(rectangle);
+
+        for (int x = -4; x <= 7; x++) {
+            for (int y = -3; y <= 7; y++) {
+                Point point = new Point(x, y);
+                assertEquals(rectangle.classifyPoint(point), compact.classifyPoint(point), "Mismatch at " + point);
+                assertEquals(compact.containsPoint(point), compact.classifyPoint(point) == PointLocation.INSIDE);
+            }
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.envitia.geometry;
+
+import com.envitia.exception.GeometryValidationException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the CompressedVertexList class.
+ */
+public class CompressedVertexListTest {
+
+    @Test
+    void testOf_RoundTripsDensifiedOutlines() {
+        Random random = new Random(44);
+        for (int round = 0; round < 50; round++) {
+            int minX = random.nextInt(2_000_000) - 1_000_000;
+            int minY = random.nextInt(2_000_000) - 1_000_000;
+            List<Point> vertices = outline(random, minX, minY, minX + 1 + random.nextInt(100_000),
+                    minY + 1 + random.nextInt(100_000), 4 + random.nextInt(1_000));
+
+            CompressedVertexList compressed = CompressedVertexList.of(vertices);
+
+            assertEquals(vertices, compressed);
+            assertEquals(vertices.hashCode(), compressed.hashCode());
+            for (int i = 0; i < vertices.size(); i++) {
+                assertEquals(vertices.get(i), compressed.get(i));
+            }
+            assertTrue(compressed.isOnEdges());
+            assertTrue(compressed.hasAllCorners());
+        }
+    }
+
+    @Test
+    void testOf_ExtremeCoordinates() {
+        List<Point> vertices = List.of(
+                new Point(Integer.MIN_VALUE, Integer.MIN_VALUE), new Point(Integer.MAX_VALUE, Integer.MIN_VALUE),
+                new Point(0, Integer.MIN_VALUE), new Point(Integer.MAX_VALUE, Integer.MAX_VALUE),
+                new Point(Integer.MIN_VALUE, Integer.MAX_VALUE), new Point(Integer.MIN_VALUE, 7));
+
+        CompressedVertexList compressed = CompressedVertexList.of(vertices);
+
+        assertEquals(vertices, compressed);
+        assertEquals(new Point(Integer.MIN_VALUE, Integer.MIN_VALUE), compressed.getMinPoint());
+        assertEquals(new Point(Integer.MAX_VALUE, Integer.MAX_VALUE), compressed.getMaxPoint());
+        assertTrue(compressed.hasAllCorners());
+    }
+
+    @Test
+    void testOf_OffEdgeVerticesAndMissingCorners() {
+        List<Point> offEdge = List.of(new Point(0, 0), new Point(0, 10), new Point(5, 5), new Point(6, 4),
+                new Point(10, 10), new Point(10, 0));
+        List<Point> missingCorner = List.of(new Point(0, 0), new Point(0, 10), new Point(10, 10), new Point(10, 5));
+
+        CompressedVertexList compressedOffEdge = CompressedVertexList.of(offEdge);
+        CompressedVertexList compressedMissingCorner = CompressedVertexList.of(missingCorner);
+
+        assertEquals(offEdge, compressedOffEdge);
+        assertFalse(compressedOffEdge.isOnEdges());
+        assertTrue(compressedOffEdge.hasAllCorners());
+        assertEquals(missingCorner, compressedMissingCorner);
+        assertTrue(compressedMissingCorner.isOnEdges());
+        assertFalse(compressedMissingCorner.hasAllCorners());
+    }
+
+    @Test
+    void testGetEncodedSize_DensifiedOutlineTakesFewBytesPerVertex() {
+        List<Point> vertices = new ArrayList<>();
+        for (int x = 0; x < 10_000; x += 10) {
+            vertices.add(new Point(x, 0));
+        }
+        for (int x = 10_000; x > 0; x -= 10) {
+            vertices.add(new Point(x, 5_000));
+        }
+        vertices.add(new Point(0, 5_000));
+        vertices.add(new Point(10_000, 0));
+
+        CompressedVertexList compressed = CompressedVertexList.fromCoordinateArray(
+                vertices.stream().map(p -> new int[]{p.x(), p.y()}).toArray(int[][]::new));
+
+        assertEquals(vertices, compressed);
+        assertTrue(compressed.getEncodedSize() < 2 * vertices.size(), "Encoded size " + compressed.getEncodedSize());
+    }
+
+    @Test
+    void testIterator_DecodesSequentially() {
+        List<Point> vertices = outline(new Random(7), 0, 0, 500, 300, 200);
+        Iterator<Point> iterator = CompressedVertexList.of(vertices).iterator();
+
+        for (Point vertex : vertices) {
+            assertTrue(iterator.hasNext());
+            assertEquals(vertex, iterator.next());
+        }
+        assertFalse(iterator.hasNext());
+        assertThrows(NoSuchElementException.class, iterator::next);
+    }
+
+    @Test
+    void testOf_InvalidInputAndImmutability() {
+        List<Point> withNull = new ArrayList<>(List.of(new Point(0, 0)));
+        withNull.add(null);
+        CompressedVertexList compressed = CompressedVertexList.of(List.of(new Point(0, 0), new Point(1, 1)));
+
+        assertThrows(GeometryValidationException.class, () -> CompressedVertexList.of(null));
+        assertThrows(GeometryValidationException.class, () -> CompressedVertexList.of(List.of()));
+        assertThrows(GeometryValidationException.class, () -> CompressedVertexList.of(withNull));
+        assertThrows(GeometryValidationException.class, () -> CompressedVertexList.fromCoordinateArray(new int[0][]));
+        assertThrows(IndexOutOfBoundsException.class, () -> compressed.get(2));
+        assertThrows(UnsupportedOperationException.class, () -> compressed.add(new Point(2, 2)));
+    }
+
+    /**
+     * Builds an outline with the four corners and random edge points, including steps backwards along an edge.
+     */
+    private static List<Point> outline(Random random, int minX, int minY, int maxX, int maxY, int vertexCount) {
+        List<Point> vertices = new ArrayList<>(List.of(new Point(minX, minY), new Point(maxX, minY),
+                new Point(maxX, maxY), new Point(minX, maxY)));
+        while (vertices.size() < vertexCount) {
+            int edge = random.nextInt(4);
+            int runLength = 1 + random.nextInt(150);
+            for (int i = 0; i < runLength && vertices.size() < vertexCount; i++) {
+                int x = minX + random.nextInt(maxX - minX + 1);
+                int y = minY + random.nextInt(maxY - minY + 1);
+                vertices.add(switch (edge) {
+                    case 0 -> new Point(x, minY);
+                    case 1 -> new Point(maxX, y);
+                    case 2 -> new Point(x, maxY);
+                    default -> new Point(minX, y);
+                });
+            }
+        }
+        return vertices;
+    }
+}
@@ -0,0 +1,76 @@
+package com.envitia.geometry;
+
+import com.envitia.exception.GeometryValidationException;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the DoubleRectangle class.
+ */
+public class DoubleRectangleTest {
+
+    @Test
+    void testContainsPoint_StrictEdgesWithFractionalCoordinates() {
+        DoubleRectangle rectangle = DoubleRectangle.ofBounds(0.5, 0.5, 2.5, 1.5);
+
+        assertTrue(rectangle.containsPoint(0.75, 1.0));
+        assertTrue(rectangle.containsPoint(new DoublePoint(Math.nextUp(0.5), Math.nextDown(1.5))));
+        assertFalse(rectangle.containsPoint(0.5, 1.0));
+        assertFalse(rectangle.containsPoint(1.0, 1.5));
+        assertEquals(PointLocation.BOUNDARY, rectangle.classifyPoint(2.5, 0.5));
+        assertEquals(PointLocation.OUTSIDE, rectangle.classifyPoint(new DoublePoint(2.6, 1.0)));
+    }
+
+    @Test
+    void testContainsPoint_NaNIsOutside() {
+        DoubleRectangle rectangle = DoubleRectangle.ofBounds(-1, -1, 1, 1);
+
+        assertFalse(rectangle.containsPoint(Double.NaN, 0));
+        assertEquals(PointLocation.OUTSIDE, rectangle.classifyPoint(0, Double.NaN));
+        assertFalse(rectangle.containsPoints(new double[]{Double.NaN}, new double[]{0})[0]);
+    }
+
+    @Test
+    void testOfBounds_NegativeZeroEqualsZero() {
+        DoubleRectangle negative = DoubleRectangle.ofBounds(-0.0, -0.0, 1, 1);
+        DoubleRectangle positive = DoubleRectangle.ofBounds(0.0, 0.0, 1, 1);
+
+        assertEquals(positive, negative);
+        assertEquals(positive.hashCode(), negative.hashCode());
+        assertEquals(PointLocation.BOUNDARY, negative.classifyPoint(0.0, 0.5));
+    }
+
+    @Test
+    void testBatchKernels_MatchSinglePointQueries() {
+        DoubleRectangle rectangle = DoubleRectangle.ofBounds(-250.125, 10.5, 380.75, 900.25);
+        Random random = new Random(45);
+        double[] xs = new double[1_000];
+        double[] ys = new double[1_000];
+        for (int i = 0; i < xs.length; i++) {
+            xs[i] = random.nextInt(4) == 0 ? rectangle.getMaxX() : random.nextDouble(-500, 500);
+            ys[i] = random.nextDouble(0, 1_000);
+        }
+
+        boolean[] contained = rectangle.containsPoints(xs, ys);
+        PackedPointLocations locations = rectangle.classifyPoints(xs, ys);
+
+        for (int i = 0; i < xs.length; i++) {
+            assertEquals(rectangle.containsPoint(xs[i], ys[i]), contained[i]);
+            assertEquals(rectangle.classifyPoint(xs[i], ys[i]), locations.get(i));
+        }
+        assertTrue(locations.count(PointLocation.BOUNDARY) > 0);
+    }
+
+    @Test
+    void testOfBounds_InvalidInput() {
+        DoubleRectangle rectangle = DoubleRectangle.ofBounds(0, 0, 1, 1);
+
+        assertThrows(GeometryValidationException.class, () -> DoubleRectangle.ofBounds(1, 0, 0, 1));
+        assertThrows(GeometryValidationException.class, () -> DoubleRectangle.ofBounds(Double.NaN, 0, 1, 1));
+        assertThrows(GeometryValidationException.class, () -> rectangle.containsPoints(new double[1], null));
+        assertThrows(GeometryValidationException.class, () -> rectangle.classifyPoints(new double[2], new double[1]));
+    }
+}
@@ -0,0 +1,70 @@
+package com.envitia.geometry;
+
+import com.envitia.exception.GeometryValidationException;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the LongRectangle class.
+ */
+public class LongRectangleTest {
+
+    private static final long BILLION = 1_000_000_000L;
+
+    @Test
+    void testContainsPoint_StrictEdgesBeyondIntRange() {
+        LongRectangle rectangle = LongRectangle.ofBounds(10 * BILLION, -10 * BILLION, 20 * BILLION, 10 * BILLION);
+
+        assertTrue(rectangle.containsPoint(15 * BILLION, 0));
+        assertTrue(rectangle.containsPoint(new LongPoint(10 * BILLION + 1, 10 * BILLION - 1)));
+        assertFalse(rectangle.containsPoint(10 * BILLION, 0));
+        assertFalse(rectangle.containsPoint(15 * BILLION, 10 * BILLION));
+        assertFalse(rectangle.containsPoint(20 * BILLION + 1, 0));
+    }
+
+    @Test
+    void testContainsPoint_ExtremeBoundsDoNotOverflow() {
+        LongRectangle rectangle = LongRectangle.ofBounds(Long.MIN_VALUE, Long.MIN_VALUE, Long.MAX_VALUE, Long.MAX_VALUE);
+
+        assertTrue(rectangle.containsPoint(0, 0));
+        assertTrue(rectangle.containsPoint(Long.MAX_VALUE - 1, Long.MIN_VALUE + 1));
+        assertFalse(rectangle.containsPoint(Long.MAX_VALUE, 0));
+        assertEquals(PointLocation.BOUNDARY, rectangle.classifyPoint(Long.MIN_VALUE, Long.MIN_VALUE));
+        assertEquals(PointLocation.INSIDE, rectangle.classifyPoint(new LongPoint(-1, 1)));
+    }
+
+    @Test
+    void testBatchKernels_MatchSinglePointQueries() {
+        LongRectangle rectangle = LongRectangle.ofBounds(-5 * BILLION, -5 * BILLION, 5 * BILLION, 5 * BILLION);
+        Random random = new Random(45);
+        long[] xs = new long[1_000];
+        long[] ys = new long[1_000];
+        for (int i = 0; i < xs.length; i++) {
+            xs[i] = random.nextInt(4) == 0 ? 5 * BILLION * (random.nextInt(3) - 1) : random.nextLong(-8 * BILLION, 8 * BILLION);
+            ys[i] = random.nextLong(-6 * BILLION, 6 * BILLION);
+        }
+
+        boolean[] contained = rectangle.containsPoints(xs, ys);
+        PackedPointLocations locations = rectangle.classifyPoints(xs, ys);
+
+        for (int i = 0; i < xs.length; i++) {
+            assertEquals(rectangle.containsPoint(xs[i], ys[i]), contained[i]);
+            assertEquals(rectangle.classifyPoint(xs[i], ys[i]), locations.get(i));
+        }
+        assertTrue(locations.count(PointLocation.BOUNDARY) > 0);
+    }
+
+    @Test
+    void testOfBounds_InvalidInput() {
+        LongRectangle rectangle = LongRectangle.ofBounds(0, 0, 1, 1);
+
+        assertThrows(GeometryValidationException.class, () -> LongRectangle.ofBounds(1, 0, 0, 1));
+        assertThrows(GeometryValidationException.class, () -> rectangle.containsPoints(null, new long[0]));
+        assertThrows(GeometryValidationException.class, () -> rectangle.classifyPoints(new long[1], new long[2]));
+        assertEquals(LongRectangle.ofBounds(0, 0, 1, 1), rectangle);
+        assertEquals(LongRectangle.ofBounds(0, 0, 1, 1).hashCode(), rectangle.hashCode());
+    }
+}
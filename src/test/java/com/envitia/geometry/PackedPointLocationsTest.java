@@ -0,0 +1,45 @@
+package com.envitia.geometry;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the PackedPointLocations class.
+ */
+public class PackedPointLocationsTest {
+
+    @Test
+    void testSetAndGet_AcrossWordBoundaries() {
+        PackedPointLocations locations = new PackedPointLocations(100);
+        PointLocation[] values = PointLocation.values();
+
+        for (int i = 0; i < locations.size(); i++) {
+            locations.set(i, values[i % values.length]);
+        }
+        for (int i = 0; i < locations.size(); i++) {
+            assertEquals(values[i % values.length], locations.get(i));
+        }
+        assertEquals(4, locations.toLongArray().length);
+    }
+
+    @Test
+    void testSet_OverwritesPreviousValue() {
+        PackedPointLocations locations = PackedPointLocations.filled(40, PointLocation.INVALID_SHAPE);
+
+        locations.set(33, PointLocation.BOUNDARY);
+
+        assertEquals(PointLocation.BOUNDARY, locations.get(33));
+        assertEquals(PointLocation.INVALID_SHAPE, locations.get(32));
+        assertEquals(PointLocation.INVALID_SHAPE, locations.get(34));
+        assertEquals(39, locations.count(PointLocation.INVALID_SHAPE));
+    }
+
+    @Test
+    void testGet_IndexOutOfRangeThrowsException() {
+        PackedPointLocations locations = new PackedPointLocations(3);
+
+        assertThrows(IndexOutOfBoundsException.class, () -> locations.get(3));
+        assertThrows(IndexOutOfBoundsException.class, () -> locations.set(-1, PointLocation.INSIDE));
+    }
+}
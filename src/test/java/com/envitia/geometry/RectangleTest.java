@@ -1,5 +1,6 @@
 package com.envitia.geometry;
 
+import com.envitia.validation.GeometryValidator;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -105,4 +106,42 @@ public class RectangleTest {
         assertTrue(rectangle.getMinPoint().x() < rectangle.getMaxPoint().x());
         assertTrue(rectangle.getMinPoint().y() < rectangle.getMaxPoint().y());
     }
+
+    @Test
+    void testClassifyPoint_InsideBoundaryOutside() {
+        int[][] coordinates = {{0, 0}, {0, 5}, {5, 5}, {5, 0}};
+        Rectangle rectangle = Rectangle.fromCoordinateArray(coordinates);
+
+        assertEquals(PointLocation.INSIDE, rectangle.classifyPoint(new Point(2, 2)));
+        assertEquals(PointLocation.BOUNDARY, rectangle.classifyPoint(new Point(0, 2)));
+        assertEquals(PointLocation.BOUNDARY, rectangle.classifyPoint(new Point(5, 5)));
+        assertEquals(PointLocation.OUTSIDE, rectangle.classifyPoint(new Point(6, 2)));
+        assertEquals(PointLocation.OUTSIDE, rectangle.classifyPoint(new Point(0, 6)));
+    }
+
+    @Test
+    void testFromCoordinateArray_ManyVerticesAreCompressed() {
+        int[][] coordinates = new int[Rectangle.COMPRESSION_THRESHOLD + 4][];
+        coordinates[0] = new int[]{0, 0};
+        coordinates[1] = new int[]{0, 50};
+        coordinates[2] = new int[]{100, 50};
+        coordinates[3] = new int[]{100, 0};
+        for (int i = 4; i < coordinates.length; i++) {
+            coordinates[i] = new int[]{i, 0};
+        }
+        Rectangle rectangle = Rectangle.fromCoordinateArray(coordinates);
+
+        assertInstanceOf(CompressedVertexList.class, rectangle.getVertices());
+        assertEquals(coordinates.length, rectangle.getVertices().size());
+        assertEquals(new Point(5, 0), rectangle.getVertices().get(5));
+        assertEquals(new Point(0, 0), rectangle.getMinPoint());
+        assertEquals(new Point(100, 50), rectangle.getMaxPoint());
+        assertTrue(GeometryValidator.isValidRectangle(rectangle));
+
+        coordinates[coordinates.length - 1] = new int[]{30, 20};
+        assertFalse(GeometryValidator.isValidRectangle(Rectangle.fromCoordinateArray(coordinates)));
+        coordinates[coordinates.length - 1] = new int[]{30, 0};
+        coordinates[2] = new int[]{100, 40};
+        assertFalse(GeometryValidator.isValidRectangle(Rectangle.fromCoordinateArray(coordinates)));
+    }
 }
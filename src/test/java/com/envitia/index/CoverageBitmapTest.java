@@ -0,0 +1,89 @@
+package com.envitia.index;
+
+import com.envitia.exception.GeometryValidationException;
+import com.envitia.geometry.CompactRectangle;
+import com.envitia.geometry.Point;
+import com.envitia.geometry.Rectangle;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the CoverageBitmap class.
+ */
+public class CoverageBitmapTest {
+
+    @Test
+    void testContainsPoint_StrictInteriorOnly() {
+        Rectangle rectangle = Rectangle.fromCoordinateArray(new int[][]{{0, 0}, {0, 5}, {5, 5}, {5, 0}});
+        CoverageBitmap coverage = CoverageBitmap.build(List.of(rectangle), 0, 0, 16, 16);
+
+        assertTrue(coverage.containsPoint(new Point(2, 2)));
+        assertFalse(coverage.containsPoint(new Point(0, 2)));
+        assertFalse(coverage.containsPoint(new Point(5, 5)));
+        assertFalse(coverage.containsPoint(new Point(6, 6)));
+    }
+
+    @Test
+    void testBuild_InvalidRectanglesAreSkipped() {
+        Rectangle invalid = Rectangle.fromCoordinateArray(new int[][]{{0, 0}, {0, 5}, {3, 3}, {5, 0}});
+        CoverageBitmap coverage = CoverageBitmap.build(List.of(invalid), 0, 0, 16, 16);
+
+        assertFalse(coverage.containsPoint(1, 1));
+    }
+
+    @Test
+    void testContainsPoint_OutsideDomainReturnsFalse() {
+        CoverageBitmap coverage = CoverageBitmap.buildFromBounds(
+                List.of(CompactRectangle.ofBounds(-100, -100, 100, 100)), -10, -10, 20, 20);
+
+        assertTrue(coverage.containsPoint(-10, -10));
+        assertTrue(coverage.containsPoint(9, 9));
+        assertFalse(coverage.containsPoint(10, 0));
+        assertFalse(coverage.containsPoint(Integer.MIN_VALUE, Integer.MAX_VALUE));
+    }
+
+    @Test
+    void testContainsPoint_MatchesLinearScan() {
+        Random random = new Random(11);
+        List<CompactRectangle> rectangles = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            int minX = random.nextInt(2_000), minY = random.nextInt(2_000);
+            rectangles.add(CompactRectangle.ofBounds(minX, minY, minX + random.nextInt(600), minY + random.nextInt(600)));
+        }
+        CoverageBitmap coverage = CoverageBitmap.buildFromBounds(rectangles, 0, 0, 2_048, 2_048);
+
+        for (int i = 0; i < 20_000; i++) {
+            int x = random.nextInt(2_100), y = random.nextInt(2_100);
+            boolean expected = x < 2_048 && y < 2_048 && rectangles.stream().anyMatch(r -> r.containsPoint(x, y));
+            assertEquals(expected, coverage.containsPoint(x, y), "Mismatch at " + x + "," + y);
+        }
+        int[] counts = coverage.getContainerCounts();
+        assertEquals(64, counts[0] + counts[1] + counts[2] + counts[3]);
+    }
+
+    @Test
+    void testBuild_UsesCompactContainers() {
+        CoverageBitmap coverage = CoverageBitmap.buildFromBounds(List.of(
+                CompactRectangle.ofBounds(-1, -1, 512, 512),
+                CompactRectangle.ofBounds(600, 600, 603, 603)), 0, 0, 1_024, 1_024);
+
+        int[] counts = coverage.getContainerCounts();
+        assertEquals(4, counts[1], "Tiles covered by the first rectangle should be full");
+        assertEquals(1, counts[2], "The small rectangle should use an array container");
+        assertTrue(coverage.containsPoint(601, 602));
+        assertFalse(coverage.containsPoint(603, 601));
+    }
+
+    @Test
+    void testBuild_InvalidArgumentsThrowException() {
+        assertThrows(GeometryValidationException.class, () -> CoverageBitmap.build(null, 0, 0, 10, 10));
+        assertThrows(IllegalArgumentException.class, () -> CoverageBitmap.buildFromBounds(List.of(), 0, 0, 0, 10));
+        assertThrows(IllegalArgumentException.class, () ->
+                CoverageBitmap.buildFromBounds(List.of(), Integer.MAX_VALUE, 0, 10, 10));
+    }
+}
@@ -0,0 +1,136 @@
+package com.envitia.index;
+
+import com.envitia.geometry.CompactRectangle;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the RectangleTreeSnapshot class.
+ */
+public class RectangleTreeSnapshotTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testOpen_AnswersLikeTheOriginalTree() throws IOException {
+        Random random = new Random(17);
+        List<CompactRectangle> rectangles = RectangleTreeTest.randomRectangles(random, 5_000);
+        RectangleTree tree = RectangleTree.build(rectangles);
+        Path path = directory.resolve("tree.snapshot");
+
+        RectangleTreeSnapshot.write(tree, path);
+        RectangleTreeSnapshot snapshot = RectangleTreeSnapshot.open(path);
+
+        assertEquals(tree.size(), snapshot.size());
+        for (int i = 0; i < 2_000; i++) {
+            int x = random.nextInt(10_500), y = random.nextInt(10_500);
+            Set<Integer> expected = new HashSet<>();
+            Set<Integer> actual = new HashSet<>();
+            assertEquals(tree.forEachContaining(x, y, expected::add), snapshot.forEachContaining(x, y, actual::add));
+            assertEquals(expected, actual);
+            assertEquals(tree.anyContains(x, y), snapshot.anyContains(x, y));
+        }
+    }
+
+    @Test
+    void testOpen_EmptyTree() throws IOException {
+        Path path = directory.resolve("empty.snapshot");
+
+        RectangleTreeSnapshot.write(RectangleTree.build(List.of()), path);
+        RectangleTreeSnapshot snapshot = RectangleTreeSnapshot.open(path);
+
+        assertEquals(0, snapshot.size());
+        assertFalse(snapshot.anyContains(0, 0));
+    }
+
+    @Test
+    void testWrite_ReplacesExistingSnapshot() throws IOException {
+        Path path = directory.resolve("tree.snapshot");
+        RectangleTreeSnapshot.write(RectangleTree.build(List.of(CompactRectangle.ofBounds(0, 0, 10, 10))), path);
+
+        RectangleTreeSnapshot.write(RectangleTree.build(List.of(CompactRectangle.ofBounds(20, 20, 30, 30))), path);
+        RectangleTreeSnapshot snapshot = RectangleTreeSnapshot.open(path);
+
+        assertFalse(snapshot.anyContains(5, 5));
+        assertTrue(snapshot.anyContains(25, 25));
+        assertFalse(Files.exists(directory.resolve("tree.snapshot.tmp")));
+    }
+
+    @Test
+    void testWrite_FailureRemovesTemporaryFile() throws IOException {
+        // A non-empty directory in place of the snapshot makes the final move fail
+        Path path = directory.resolve("tree.snapshot");
+        Files.createDirectory(path);
+        Files.writeString(path.resolve("occupied"), "x");
+
+        assertThrows(IOException.class, () ->
+                RectangleTreeSnapshot.write(RectangleTree.build(List.of(CompactRectangle.ofBounds(0, 0, 10, 10))), path));
+
+        assertFalse(Files.exists(directory.resolve("tree.snapshot.tmp")));
+        assertTrue(Files.isDirectory(path));
+    }
+
+    @Test
+    void testOpen_CorruptedPayloadFailsChecksum() throws IOException {
+        Path path = writeSmallSnapshot();
+        byte[] bytes = Files.readAllBytes(path);
+        bytes[bytes.length - 1] ^= 1;
+        Files.write(path, bytes);
+
+        IOException exception = assertThrows(IOException.class, () -> RectangleTreeSnapshot.open(path));
+        assertTrue(exception.getMessage().contains("checksum"));
+        assertEquals(1, RectangleTreeSnapshot.open(path, false).size());
+    }
+
+    @Test
+    void testOpen_RejectsWrongMagic() throws IOException {
+        Path path = writeSmallSnapshot();
+        byte[] bytes = Files.readAllBytes(path);
+        bytes[0] = 'X';
+        Files.write(path, bytes);
+
+        assertThrows(IOException.class, () -> RectangleTreeSnapshot.open(path));
+    }
+
+    @Test
+    void testOpen_RejectsUnsupportedVersion() throws IOException {
+        Path path = writeSmallSnapshot();
+        byte[] bytes = Files.readAllBytes(path);
+        ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).putInt(8, RectangleTreeSnapshot.VERSION + 1);
+        Files.write(path, bytes);
+
+        IOException exception = assertThrows(IOException.class, () -> RectangleTreeSnapshot.open(path));
+        assertTrue(exception.getMessage().contains("version"));
+    }
+
+    @Test
+    void testOpen_RejectsTruncatedFile() throws IOException {
+        Path path = writeSmallSnapshot();
+        byte[] bytes = Files.readAllBytes(path);
+        Files.write(path, Arrays.copyOf(bytes, bytes.length - 4));
+
+        assertThrows(IOException.class, () -> RectangleTreeSnapshot.open(path, false));
+        Files.write(path, new byte[10]);
+        assertThrows(IOException.class, () -> RectangleTreeSnapshot.open(path, false));
+    }
+
+    private Path writeSmallSnapshot() throws IOException {
+        Path path = directory.resolve("small.snapshot");
+        RectangleTreeSnapshot.write(RectangleTree.build(List.of(CompactRectangle.ofBounds(0, 0, 10, 10))), path);
+        return path;
+    }
+}
@@ -0,0 +1,137 @@
+package com.envitia.index;
+
+import com.envitia.exception.GeometryValidationException;
+import com.envitia.geometry.CompactRectangle;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the RectangleTree class.
+ */
+public class RectangleTreeTest {
+
+    @Test
+    void testForEachContaining_MatchesLinearScan() {
+        Random random = new Random(5);
+        List<CompactRectangle> rectangles = randomRectangles(random, 3_000);
+        RectangleTree tree = RectangleTree.build(rectangles);
+
+        assertEquals(rectangles.size(), tree.size());
+        for (int i = 0; i < 2_000; i++) {
+            int x = random.nextInt(10_500), y = random.nextInt(10_500);
+            Set<Integer> expected = new HashSet<>();
+            for (int id = 0; id < rectangles.size(); id++) {
+                if (rectangles.get(id).containsPoint(x, y)) {
+                    expected.add(id);
+                }
+            }
+            Set<Integer> actual = new HashSet<>();
+            assertEquals(expected.size(), tree.forEachContaining(x, y, actual::add));
+            assertEquals(expected, actual);
+            assertEquals(!expected.isEmpty(), tree.anyContains(x, y));
+        }
+    }
+
+    @Test
+    void testForEachContaining_PointOnEdgeIsNotReported() {
+        RectangleTree tree = RectangleTree.build(List.of(CompactRectangle.ofBounds(0, 0, 5, 5)));
+
+        assertFalse(tree.anyContains(0, 2));
+        assertTrue(tree.anyContains(2, 2));
+    }
+
+    @Test
+    void testNearest_MatchesSortedDistances() {
+        Random random = new Random(9);
+        List<CompactRectangle> rectangles = randomRectangles(random, 2_000);
+        RectangleTree tree = RectangleTree.build(rectangles);
+
+        for (int i = 0; i < 200; i++) {
+            int x = random.nextInt(12_000) - 1_000, y = random.nextInt(12_000) - 1_000;
+            List<Long> expected = new ArrayList<>();
+            for (CompactRectangle r : rectangles) {
+                expected.add(RectangleTree.squaredDistance(x, y, r.getMinX(), r.getMinY(), r.getMaxX(), r.getMaxY()));
+            }
+            expected.sort(Comparator.naturalOrder());
+
+            List<NearestRectangle> nearest = tree.nearest(x, y, 5);
+            assertEquals(5, nearest.size());
+            for (int k = 0; k < 5; k++) {
+                NearestRectangle found = nearest.get(k);
+                assertEquals(expected.get(k), found.squaredDistance());
+                assertEquals(rectangles.get(found.id()), found.rectangle());
+            }
+        }
+    }
+
+    @Test
+    void testNearest_InteriorPointHasZeroDistance() {
+        RectangleTree tree = RectangleTree.build(List.of(
+                CompactRectangle.ofBounds(0, 0, 5, 5),
+                CompactRectangle.ofBounds(10, 10, 20, 20)));
+
+        List<NearestRectangle> nearest = tree.nearest(12, 15, 2);
+
+        assertEquals(1, nearest.get(0).id());
+        assertEquals(0, nearest.get(0).squaredDistance());
+        assertEquals(7L * 7 + 10L * 10, nearest.get(1).squaredDistance());
+    }
+
+    @Test
+    void testNearest_EmptyTreeAndZeroK() {
+        assertTrue(RectangleTree.build(List.of()).nearest(0, 0, 3).isEmpty());
+        assertTrue(RectangleTree.build(List.of(CompactRectangle.ofBounds(0, 0, 1, 1))).nearest(0, 0, 0).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> RectangleTree.build(List.of()).nearest(0, 0, -1));
+    }
+
+    @Test
+    void testSquaredDistance_ExtremeCoordinates() {
+        assertEquals((1L << 31) * (1L << 31), RectangleTree.squaredDistance(Integer.MIN_VALUE, 0, 0, 0, 1, 1));
+        assertEquals(Long.MAX_VALUE, RectangleTree.squaredDistance(
+                Integer.MIN_VALUE, Integer.MIN_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE));
+    }
+
+    @Test
+    void testContainsPoints_CurveOrderedBatchMatchesSingleQueries() {
+        Random random = new Random(13);
+        RectangleTree tree = RectangleTree.build(randomRectangles(random, 3_000));
+        int[] xs = new int[5_000], ys = new int[5_000];
+        for (int i = 0; i < xs.length; i++) {
+            xs[i] = random.nextInt(10_500);
+            ys[i] = random.nextInt(10_500);
+        }
+
+        for (SpaceFillingCurve curve : SpaceFillingCurve.values()) {
+            boolean[] results = tree.containsPoints(xs, ys, curve);
+            for (int i = 0; i < xs.length; i++) {
+                assertEquals(tree.anyContains(xs[i], ys[i]), results[i]);
+            }
+        }
+        assertFalse(RectangleTree.build(List.of()).containsPoints(new int[]{1}, new int[]{1})[0]);
+        assertThrows(GeometryValidationException.class, () -> tree.containsPoints(new int[1], new int[2]));
+    }
+
+    @Test
+    void testBuild_InvalidArgumentsThrowException() {
+        assertThrows(GeometryValidationException.class, () -> RectangleTree.build(null));
+        assertThrows(GeometryValidationException.class, () ->
+                RectangleTree.build(new int[]{1}, new CompactRectangle[0]));
+    }
+
+    static List<CompactRectangle> randomRectangles(Random random, int count) {
+        List<CompactRectangle> rectangles = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int minX = random.nextInt(10_000), minY = random.nextInt(10_000);
+            rectangles.add(CompactRectangle.ofBounds(minX, minY, minX + random.nextInt(500), minY + random.nextInt(500)));
+        }
+        return rectangles;
+    }
+}
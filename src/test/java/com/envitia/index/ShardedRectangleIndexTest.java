@@ -0,0 +1,120 @@
+package com.envitia.index;
+
+import com.envitia.exception.GeometryValidationException;
+import com.envitia.geometry.CompactRectangle;
+import com.envitia.geometry.Point;
+import com.envitia.geometry.Rectangle;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the ShardedRectangleIndex class.
+ */
+public class ShardedRectangleIndexTest {
+
+    @Test
+    void testContainsPoint_MatchesRectangleScan() {
+        Random random = new Random(21);
+        List<Rectangle> rectangles = randomRectangles(random, 2_000);
+
+        try (ShardedRectangleIndex index = ShardedRectangleIndex.build(rectangles, 256, 4)) {
+            for (int i = 0; i < 5_000; i++) {
+                Point point = new Point(random.nextInt(12_000) - 6_000, random.nextInt(12_000) - 6_000);
+                Set<Integer> expected = new HashSet<>();
+                for (int id = 0; id < rectangles.size(); id++) {
+                    if (rectangles.get(id).containsPoint(point)) {
+                        expected.add(id);
+                    }
+                }
+                Set<Integer> actual = new HashSet<>();
+                assertEquals(expected.size(), index.forEachContaining(point.x(), point.y(), actual::add));
+                assertEquals(expected, actual);
+                assertEquals(!expected.isEmpty(), index.containsPoint(point));
+            }
+        }
+    }
+
+    @Test
+    void testContainsPoints_ParallelBatchMatchesRectangleScan() {
+        Random random = new Random(22);
+        List<Rectangle> rectangles = randomRectangles(random, 1_000);
+        int count = 20_000;
+        int[] xs = new int[count], ys = new int[count];
+        for (int i = 0; i < count; i++) {
+            xs[i] = random.nextInt(12_000) - 6_000;
+            ys[i] = random.nextInt(12_000) - 6_000;
+        }
+
+        try (ShardedRectangleIndex index = ShardedRectangleIndex.build(rectangles, 512, 3)) {
+            boolean[] results = index.containsPoints(xs, ys);
+
+            for (int i = 0; i < count; i++) {
+                Point point = new Point(xs[i], ys[i]);
+                assertEquals(rectangles.stream().anyMatch(r -> r.containsPoint(point)), results[i], "Point " + i);
+            }
+        }
+    }
+
+    @Test
+    void testContainsPoint_NonRectangularShapeUsesItsBounds() {
+        Rectangle skewed = Rectangle.fromCoordinateArray(new int[][]{{0, 0}, {10, 2}, {12, 10}, {1, 9}});
+
+        try (ShardedRectangleIndex index = ShardedRectangleIndex.build(List.of(skewed), 4, 2)) {
+            assertEquals(skewed.containsPoint(new Point(5, 5)), index.containsPoint(5, 5));
+            assertEquals(skewed.containsPoint(new Point(0, 5)), index.containsPoint(0, 5));
+        }
+    }
+
+    @Test
+    void testBuild_LargeRectangleIsAddedToEveryShard() {
+        List<CompactRectangle> rectangles = List.of(
+                CompactRectangle.ofBounds(-1_000_000, -1_000_000, 1_000_000, 1_000_000),
+                CompactRectangle.ofBounds(0, 0, 10, 10));
+
+        try (ShardedRectangleIndex index = ShardedRectangleIndex.buildFromBounds(rectangles, 16, 4)) {
+            assertTrue(Arrays.stream(index.getShardSizes()).allMatch(size -> size >= 1));
+            assertTrue(index.containsPoint(-999_999, 999_999));
+            assertEquals(2, index.forEachContaining(5, 5, id -> { }));
+            assertFalse(index.containsPoint(1_000_000, 0));
+        }
+    }
+
+    @Test
+    void testContainsPoints_AfterCloseThrowsException() {
+        ShardedRectangleIndex index = ShardedRectangleIndex.buildFromBounds(
+                List.of(CompactRectangle.ofBounds(0, 0, 10, 10)), 8, 2);
+        index.close();
+
+        int[] coordinates = new int[ShardedRectangleIndex.PARALLEL_BATCH_THRESHOLD];
+        assertThrows(IllegalStateException.class, () -> index.containsPoints(coordinates, coordinates));
+        assertTrue(index.containsPoint(5, 5));
+    }
+
+    @Test
+    void testBuild_InvalidArgumentsThrowException() {
+        assertThrows(GeometryValidationException.class, () -> ShardedRectangleIndex.build(null, 8, 2));
+        assertThrows(IllegalArgumentException.class, () -> ShardedRectangleIndex.buildFromBounds(List.of(), 0, 2));
+        assertThrows(IllegalArgumentException.class, () -> ShardedRectangleIndex.buildFromBounds(List.of(), 8, 0));
+        try (ShardedRectangleIndex index = ShardedRectangleIndex.buildFromBounds(List.of(), 8, 2)) {
+            assertThrows(GeometryValidationException.class, () -> index.containsPoints(new int[1], new int[2]));
+        }
+    }
+
+    private static List<Rectangle> randomRectangles(Random random, int count) {
+        List<Rectangle> rectangles = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int minX = random.nextInt(10_000) - 5_000, minY = random.nextInt(10_000) - 5_000;
+            int maxX = minX + random.nextInt(800), maxY = minY + random.nextInt(800);
+            rectangles.add(Rectangle.fromCoordinateArray(new int[][]{{minX, minY}, {maxX, minY}, {maxX, maxY}, {minX, maxY}}));
+        }
+        return rectangles;
+    }
+}
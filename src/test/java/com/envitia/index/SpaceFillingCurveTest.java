@@ -0,0 +1,112 @@
+package com.envitia.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the SpaceFillingCurve enum.
+ */
+public class SpaceFillingCurveTest {
+
+    @Test
+    void testHilbertKey_ConsecutiveKeysAreAdjacentCells() {
+        // Walk the 16 x 16 block at the origin of the unsigned grid, whose keys are 0 to 255
+        int[] xs = new int[256];
+        int[] ys = new int[256];
+        for (int x = 0; x < 16; x++) {
+            for (int y = 0; y < 16; y++) {
+                long key = SpaceFillingCurve.HILBERT.key(x ^ Integer.MIN_VALUE, y ^ Integer.MIN_VALUE);
+                assertTrue(key >= 0 && key < 256);
+                xs[(int) key] = x;
+                ys[(int) key] = y;
+            }
+        }
+        for (int key = 1; key < 256; key++) {
+            assertEquals(1, Math.abs(xs[key] - xs[key - 1]) + Math.abs(ys[key] - ys[key - 1]), "Key " + key);
+        }
+    }
+
+    @Test
+    void testZOrderKey_InterleavesBits() {
+        assertEquals(0L, SpaceFillingCurve.Z_ORDER.key(Integer.MIN_VALUE, Integer.MIN_VALUE));
+        assertEquals(0b01L, SpaceFillingCurve.Z_ORDER.key(Integer.MIN_VALUE + 1, Integer.MIN_VALUE));
+        assertEquals(0b10L, SpaceFillingCurve.Z_ORDER.key(Integer.MIN_VALUE, Integer.MIN_VALUE + 1));
+        assertEquals(-1L, SpaceFillingCurve.Z_ORDER.key(Integer.MAX_VALUE, Integer.MAX_VALUE));
+    }
+
+    @Test
+    void testOrder_HilbertVisitsGridCellsContiguously() {
+        int[] xs = new int[256];
+        int[] ys = new int[256];
+        for (int i = 0; i < 256; i++) {
+            xs[i] = -500 + i % 16;
+            ys[i] = 700 + i / 16;
+        }
+        shuffle(xs, ys, new Random(3));
+
+        int[] order = SpaceFillingCurve.HILBERT.order(xs, ys);
+
+        assertPermutation(order);
+        for (int i = 1; i < order.length; i++) {
+            int distance = Math.abs(xs[order[i]] - xs[order[i - 1]]) + Math.abs(ys[order[i]] - ys[order[i - 1]]);
+            assertEquals(1, distance, "Step " + i);
+        }
+    }
+
+    @Test
+    void testOrder_ShortensThePathThroughRandomPoints() {
+        Random random = new Random(42);
+        int[] xs = new int[20_000];
+        int[] ys = new int[20_000];
+        for (int i = 0; i < xs.length; i++) {
+            xs[i] = random.nextInt();
+            ys[i] = random.nextInt();
+        }
+        long inputLength = pathLength(xs, ys, null);
+
+        for (SpaceFillingCurve curve : SpaceFillingCurve.values()) {
+            int[] order = curve.order(xs, ys);
+
+            assertPermutation(order);
+            assertTrue(pathLength(xs, ys, order) * 20 < inputLength, curve.name());
+        }
+    }
+
+    @Test
+    void testOrder_EmptyAndMismatchedInput() {
+        assertEquals(0, SpaceFillingCurve.HILBERT.order(new int[0], new int[0]).length);
+        assertThrows(IllegalArgumentException.class, () -> SpaceFillingCurve.HILBERT.order(new int[1], new int[2]));
+    }
+
+    private static void assertPermutation(int[] order) {
+        boolean[] seen = new boolean[order.length];
+        for (int position : order) {
+            assertFalse(seen[position]);
+            seen[position] = true;
+        }
+    }
+
+    private static long pathLength(int[] xs, int[] ys, int[] order) {
+        long length = 0;
+        for (int i = 1; i < xs.length; i++) {
+            int previous = order == null ? i - 1 : order[i - 1];
+            int current = order == null ? i : order[i];
+            length += Math.abs((long) xs[current] - xs[previous]) + Math.abs((long) ys[current] - ys[previous]);
+        }
+        return length;
+    }
+
+    private static void shuffle(int[] xs, int[] ys, Random random) {
+        for (int i = xs.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int x = xs[i], y = ys[i];
+            xs[i] = xs[j];
+            ys[i] = ys[j];
+            xs[j] = x;
+            ys[j] = y;
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.envitia.index;
+
+import com.envitia.exception.GeometryValidationException;
+import com.envitia.geometry.CompactRectangle;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the StabbingTable class.
+ */
+public class StabbingTableTest {
+
+    @Test
+    void testForEachContaining_MatchesLinearScan() {
+        Random random = new Random(41);
+        List<CompactRectangle> rectangles = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            int minX = random.nextInt(1_000), minY = random.nextInt(1_000);
+            rectangles.add(CompactRectangle.ofBounds(minX, minY, minX + random.nextInt(200), minY + random.nextInt(200)));
+        }
+        StabbingTable table = StabbingTable.build(rectangles);
+
+        for (int i = 0; i < 20_000; i++) {
+            // Small coordinate range, so many queries land exactly on rectangle bounds
+            int x = random.nextInt(1_300) - 50, y = random.nextInt(1_300) - 50;
+            List<Integer> expected = new ArrayList<>();
+            for (int id = 0; id < rectangles.size(); id++) {
+                if (rectangles.get(id).containsPoint(x, y)) {
+                    expected.add(id);
+                }
+            }
+            List<Integer> actual = new ArrayList<>();
+            assertEquals(expected.size(), table.forEachContaining(x, y, actual::add));
+            assertEquals(expected, actual, "Point " + x + ", " + y);
+            assertEquals(!expected.isEmpty(), table.anyContains(x, y));
+        }
+    }
+
+    @Test
+    void testForEachContaining_HeavilyOverlappingMatchesLinearScan() {
+        Random random = new Random(7);
+        List<CompactRectangle> rectangles = new ArrayList<>();
+        for (int i = 0; i < 150; i++) {
+            int minX = random.nextInt(1_000), minY = random.nextInt(1_000);
+            rectangles.add(CompactRectangle.ofBounds(minX, minY, minX + random.nextInt(1_000), minY + random.nextInt(1_000)));
+        }
+        StabbingTable table = StabbingTable.build(rectangles);
+
+        for (int i = 0; i < 5_000; i++) {
+            int x = random.nextInt(2_000), y = random.nextInt(2_000);
+            int expected = 0;
+            for (CompactRectangle rectangle : rectangles) {
+                expected += rectangle.containsPoint(x, y) ? 1 : 0;
+            }
+            assertEquals(expected, table.forEachContaining(x, y, id -> assertTrue(rectangles.get(id).containsPoint(x, y))));
+        }
+    }
+
+    @Test
+    void testForEachContaining_PointsOnEdgesAndCorners() {
+        StabbingTable table = StabbingTable.build(List.of(
+                CompactRectangle.ofBounds(0, 0, 10, 10),
+                CompactRectangle.ofBounds(5, 5, 15, 15)));
+
+        assertFalse(table.anyContains(0, 5));
+        assertFalse(table.anyContains(15, 15));
+        assertEquals(1, table.forEachContaining(10, 10, id -> assertEquals(1, id)));
+        assertTrue(table.anyContains(5, 2));
+        assertEquals(2, table.forEachContaining(6, 6, id -> { }));
+        assertEquals(1, table.forEachContaining(5, 5, id -> { }));
+        assertEquals(1, table.forEachContaining(10, 7, id -> assertEquals(1, id)));
+        assertFalse(table.anyContains(-1, 3));
+        assertFalse(table.anyContains(16, 3));
+    }
+
+    @Test
+    void testBuild_SharesIdenticalLists() {
+        // Four disjoint rectangles inside one large one: many cells share the same lists
+        List<CompactRectangle> rectangles = List.of(
+                CompactRectangle.ofBounds(0, 0, 100, 100),
+                CompactRectangle.ofBounds(10, 10, 20, 20),
+                CompactRectangle.ofBounds(30, 30, 40, 40),
+                CompactRectangle.ofBounds(50, 50, 60, 60),
+                CompactRectangle.ofBounds(70, 70, 80, 80));
+        StabbingTable table = StabbingTable.build(rectangles);
+
+        assertEquals(81, table.getCellCount());
+        assertEquals(5, table.getDistinctListCount());
+    }
+
+    @Test
+    void testBuild_EmptyAndDegenerateRectangles() {
+        StabbingTable empty = StabbingTable.build(List.of());
+        StabbingTable degenerate = StabbingTable.build(List.of(CompactRectangle.ofBounds(3, 3, 3, 9)));
+
+        assertFalse(empty.anyContains(0, 0));
+        assertFalse(degenerate.anyContains(3, 5));
+        assertEquals(0, degenerate.getDistinctListCount());
+    }
+
+    @Test
+    void testBuild_InvalidArgumentsThrowException() {
+        assertThrows(GeometryValidationException.class, () -> StabbingTable.build(null));
+        List<CompactRectangle> withNull = new ArrayList<>();
+        withNull.add(null);
+        assertThrows(GeometryValidationException.class, () -> StabbingTable.build(withNull));
+    }
+
+    @Test
+    void testBuild_TooManyListIdentifiersThrowsException() {
+        // Wide rectangles over a domain of their own size: nearly every cell has a long list of its own
+        Random random = new Random(2000);
+        List<CompactRectangle> rectangles = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            int minX = random.nextInt(100_000), minY = random.nextInt(100_000);
+            rectangles.add(CompactRectangle.ofBounds(minX, minY,
+                    minX + 1 + random.nextInt(100_000), minY + 1 + random.nextInt(100_000)));
+        }
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> StabbingTable.build(rectangles));
+        assertTrue(exception.getMessage().contains("identifiers"), exception.getMessage());
+    }
+
+    @Test
+    void testBuild_TooManyCellsThrowsException() {
+        List<CompactRectangle> rectangles = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            rectangles.add(CompactRectangle.ofBounds(2 * i, 2 * i, 2 * i + 1, 2 * i + 1));
+        }
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> StabbingTable.build(rectangles));
+        assertTrue(exception.getMessage().contains("cells"), exception.getMessage());
+    }
+}
@@ -0,0 +1,199 @@
+package com.envitia.integration;
+
+import com.envitia.RectanglePointChecker;
+import com.envitia.geometry.CompactRectangle;
+import com.envitia.geometry.Point;
+import com.envitia.geometry.Rectangle;
+import com.envitia.index.CoverageBitmap;
+import com.envitia.index.RectangleTree;
+import com.envitia.service.GeometryService;
+import com.envitia.service.impl.GeometryServiceImpl;
+import com.envitia.tracking.GeofenceTracker;
+import com.envitia.validation.GeometryValidator;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.IntSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Allocation regression tests for the public entry points on hot paths.
+ * <p>
+ * Each test runs an operation until it is compiled, then measures the bytes allocated by the
+ * current thread per operation with {@link com.sun.management.ThreadMXBean} and fails when they
+ * exceed the committed budget. The budgets were measured with escape analysis disabled
+ * ({@code -XX:-DoEscapeAnalysis}), so they hold whether or not the JIT scalar-replaces short-lived
+ * objects, plus about 25% headroom. A change that legitimately needs more memory per operation
+ * must raise the budget in the same commit.
+ * </p>
+ * <p>
+ * The tests are skipped on JVMs that do not support per-thread allocation accounting.
+ * </p>
+ */
+public class AllocationBudgetTest {
+
+    private static final int WARMUP_OPERATIONS = 50_000;
+
+    private static final int MEASURED_OPERATIONS = 100_000;
+
+    private static final int[][] RECTANGLE = {{0, 0}, {0, 50}, {80, 50}, {80, 0}};
+
+    private static final int[][] RECTANGLE_WITH_EDGE_POINTS =
+            {{0, 0}, {0, 25}, {0, 50}, {40, 50}, {80, 50}, {80, 25}, {80, 0}, {40, 0}};
+
+    private static final int[] POINT = {30, 20};
+
+    /*
+     * Committed budgets, in bytes per operation.
+     */
+    private static final long BUDGET_CHECKER = 944;
+
+    private static final long BUDGET_SERVICE_EDGE_POINTS = 1_120;
+
+    private static final long BUDGET_CLASSIFY = 1_040;
+
+    private static final long BUDGET_CLASSIFY_POINTS_PER_POINT = 8;
+
+    private static final long BUDGET_FROM_COORDINATE_ARRAY = 712;
+
+    private static final long BUDGET_IS_VALID_RECTANGLE = 200;
+
+    private static final long BUDGET_VALIDATE_RECTANGLE = 976;
+
+    private static final long BUDGET_TREE_QUERY = 344;
+
+    private static com.sun.management.ThreadMXBean threads;
+
+    private static long sink;
+
+    @BeforeAll
+    static void setUp() {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+        threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+    }
+
+    @Test
+    void testRectanglePointChecker_IsInsideRectangle() {
+        RectanglePointChecker checker = new RectanglePointChecker();
+
+        assertAllocationWithin(BUDGET_CHECKER, () -> checker.isInsideRectangle(RECTANGLE, POINT) ? 1 : 0);
+    }
+
+    @Test
+    void testGeometryService_IsPointInRectangleWithEdgePoints() {
+        GeometryService service = new GeometryServiceImpl();
+
+        assertAllocationWithin(BUDGET_SERVICE_EDGE_POINTS,
+                () -> service.isPointInRectangle(RECTANGLE_WITH_EDGE_POINTS, POINT) ? 1 : 0);
+    }
+
+    @Test
+    void testGeometryService_ClassifyPoint() {
+        GeometryService service = new GeometryServiceImpl();
+
+        assertAllocationWithin(BUDGET_CLASSIFY, () -> service.classifyPoint(RECTANGLE, POINT).ordinal());
+    }
+
+    @Test
+    void testGeometryService_ClassifyPointsPerPoint() {
+        GeometryService service = new GeometryServiceImpl();
+        int[][] points = new int[256][];
+        for (int i = 0; i < points.length; i++) {
+            points[i] = new int[]{i % 100, i % 60};
+        }
+
+        long perCall = measure(() -> service.classifyPoints(RECTANGLE, points).size(), MEASURED_OPERATIONS / 100);
+        assertWithinBudget(BUDGET_CLASSIFY_POINTS_PER_POINT, perCall / points.length);
+    }
+
+    @Test
+    void testRectangle_FromCoordinateArray() {
+        assertAllocationWithin(BUDGET_FROM_COORDINATE_ARRAY, () -> Rectangle.fromCoordinateArray(RECTANGLE).hashCode());
+    }
+
+    @Test
+    void testGeometryValidator_IsValidRectangle() {
+        Rectangle rectangle = Rectangle.fromCoordinateArray(RECTANGLE);
+
+        assertAllocationWithin(BUDGET_IS_VALID_RECTANGLE, () -> GeometryValidator.isValidRectangle(rectangle) ? 1 : 0);
+    }
+
+    @Test
+    void testGeometryValidator_ValidateRectangle() {
+        assertAllocationWithin(BUDGET_VALIDATE_RECTANGLE,
+                () -> GeometryValidator.validateRectangle(RECTANGLE).isPresent() ? 1 : 0);
+    }
+
+    @Test
+    void testCompactRectangle_ContainsPointDoesNotAllocate() {
+        CompactRectangle rectangle = CompactRectangle.ofBounds(0, 0, 80, 50);
+        Point point = new Point(30, 20);
+
+        assertAllocationWithin(0, () -> (rectangle.containsPoint(30, 20) ? 1 : 0) + rectangle.classifyPoint(point).ordinal());
+    }
+
+    @Test
+    void testCoverageBitmap_ContainsPointDoesNotAllocate() {
+        CoverageBitmap coverage = CoverageBitmap.buildFromBounds(randomRectangles(1_000), 0, 0, 10_500, 10_500);
+        int[] counter = new int[1];
+
+        assertAllocationWithin(0, () -> coverage.containsPoint(counter[0]++ % 10_000, 5_000) ? 1 : 0);
+    }
+
+    @Test
+    void testRectangleTree_ForEachContaining() {
+        RectangleTree tree = RectangleTree.build(randomRectangles(10_000));
+        int[] counter = new int[1];
+
+        assertAllocationWithin(BUDGET_TREE_QUERY, () -> tree.forEachContaining(counter[0]++ % 10_000, 5_000, id -> { }));
+    }
+
+    @Test
+    void testGeofenceTracker_StationaryUpdateInUniformCellDoesNotAllocate() {
+        GeofenceTracker tracker = new GeofenceTracker(List.of(CompactRectangle.ofBounds(0, 0, 10_000, 10_000)), 64);
+        tracker.update(0, 5_000, 5_000, (objectId, fenceId, event) -> { });
+
+        assertAllocationWithin(0, () -> tracker.update(0, 5_000, 5_000, (objectId, fenceId, event) -> { }));
+    }
+
+    private static void assertAllocationWithin(long budget, IntSupplier operation) {
+        assertWithinBudget(budget, measure(operation, MEASURED_OPERATIONS));
+    }
+
+    private static void assertWithinBudget(long budget, long bytesPerOperation) {
+        assertTrue(bytesPerOperation <= budget,
+                "Allocated " + bytesPerOperation + " bytes per operation, budget is " + budget);
+    }
+
+    /**
+     * Returns the bytes allocated per operation, rounded down, after warming the operation up.
+     */
+    private static long measure(IntSupplier operation, int operations) {
+        for (int i = 0; i < WARMUP_OPERATIONS; i++) {
+            sink += operation.getAsInt();
+        }
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < operations; i++) {
+            sink += operation.getAsInt();
+        }
+        return (threads.getCurrentThreadAllocatedBytes() - before) / operations;
+    }
+
+    private static List<CompactRectangle> randomRectangles(int count) {
+        Random random = new Random(count);
+        List<CompactRectangle> rectangles = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int minX = random.nextInt(10_000), minY = random.nextInt(10_000);
+            rectangles.add(CompactRectangle.ofBounds(minX, minY, minX + random.nextInt(500), minY + random.nextInt(500)));
+        }
+        return rectangles;
+    }
+}
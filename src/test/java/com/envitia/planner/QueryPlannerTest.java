@@ -0,0 +1,246 @@
+package com.envitia.planner;
+
+import com.envitia.exception.GeometryValidationException;
+import com.envitia.geometry.CompactRectangle;
+import com.envitia.service.GeometryService;
+import com.envitia.service.impl.GeometryServiceImpl;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the QueryPlanner class.
+ */
+public class QueryPlannerTest {
+
+    @Test
+    void testExecute_EveryStrategyMatchesGeometryService() {
+        Random random = new Random(46);
+        List<int[][]> shapes = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            int minX = random.nextInt(500), minY = random.nextInt(500);
+            int maxX = minX + random.nextInt(80), maxY = minY + random.nextInt(80);
+            shapes.add(new int[][]{{minX, minY}, {maxX, minY}, {maxX, maxY}, {minX, maxY}});
+        }
+        // Shapes that are not valid rectangles contain nothing
+        shapes.add(new int[][]{{0, 0}, {600, 0}, {300, 600}});
+        shapes.add(new int[][]{{0, 0}, {600, 0}, {600, 600}, {0, 600}, {300, 300}});
+        int[] xs = new int[20_000], ys = new int[20_000];
+        for (int i = 0; i < xs.length; i++) {
+            xs[i] = random.nextInt(700) - 50;
+            ys[i] = random.nextInt(700) - 50;
+        }
+        GeometryService service = new GeometryServiceImpl();
+        boolean[] expected = new boolean[xs.length];
+        for (int i = 0; i < xs.length; i++) {
+            for (int[][] shape : shapes) {
+                expected[i] |= service.isPointInRectangle(shape, new int[]{xs[i], ys[i]});
+            }
+        }
+        QueryPlanner planner = QueryPlanner.forRectangles(shapes);
+
+        for (ExecutionStrategy strategy : ExecutionStrategy.values()) {
+            QueryResult result = planner.execute(xs, ys, strategy);
+
+            assertEquals(strategy, result.plan().strategy());
+            assertArrayEquals(expected, result.contained(), strategy.name());
+        }
+        assertArrayEquals(expected, planner.execute(xs, ys).contained());
+    }
+
+    @Test
+    void testPlan_SmallBatchOnTinyLayerScans() {
+        QueryPlanner planner = QueryPlanner.forBounds(List.of(CompactRectangle.ofBounds(0, 0, 100, 100),
+                CompactRectangle.ofBounds(50, 50, 150, 150), CompactRectangle.ofBounds(200, 0, 300, 100)));
+
+        QueryPlan plan = planner.plan(new int[]{10, 60, 250}, new int[]{10, 60, 50});
+
+        assertEquals(ExecutionStrategy.LINEAR_SCAN, plan.strategy());
+        assertFalse(plan.isExecuted());
+        assertEquals(-1, plan.measuredCost());
+        assertEquals(ExecutionStrategy.values().length, plan.estimatedNanos().size());
+    }
+
+    @Test
+    void testPlan_LargeSparseLayerUsesTree() {
+        Random random = new Random(1);
+        List<CompactRectangle> rectangles = randomLayer(random, 100_000, 100_000_000, 10_000);
+        QueryPlanner planner = QueryPlanner.forBounds(rectangles);
+
+        QueryPlan plan = planner.plan(randomCoordinates(random, 100_000, 100_000_000),
+                randomCoordinates(random, 100_000, 100_000_000));
+
+        assertEquals(ExecutionStrategy.R_TREE, plan.strategy());
+        // Neither the grid nor the bitmap fits a layer this large
+        assertEquals(2, plan.estimatedNanos().size());
+    }
+
+    @Test
+    void testPlan_FewRectanglesAndLargeBatchUseGrid() {
+        Random random = new Random(2);
+        QueryPlanner planner = QueryPlanner.forBounds(randomLayer(random, 500, 100_000_000, 10_000_000));
+
+        QueryPlan plan = planner.plan(randomCoordinates(random, 1_000_000, 100_000_000),
+                randomCoordinates(random, 1_000_000, 100_000_000));
+
+        assertEquals(ExecutionStrategy.GRID, plan.strategy());
+    }
+
+    @Test
+    void testPlan_OverlappingLayerChargesGridListStorage() {
+        Random random = new Random(6);
+        // Same count and extent, mean depth about 0.1 and about 12
+        QueryPlanner sparse = QueryPlanner.forBounds(randomLayer(random, 4_000, 110_000, 1_200));
+        QueryPlanner overlapping = QueryPlanner.forBounds(randomLayer(random, 4_000, 110_000, 12_000));
+        int[] xs = randomCoordinates(random, 1_000, 110_000);
+        int[] ys = randomCoordinates(random, 1_000, 110_000);
+
+        double sparseGrid = sparse.plan(xs, ys).estimatedNanos().get(ExecutionStrategy.GRID);
+        double overlappingGrid = overlapping.plan(xs, ys).estimatedNanos().get(ExecutionStrategy.GRID);
+
+        assertTrue(overlapping.getStatistics().meanDepth() > 10);
+        assertTrue(overlappingGrid > 2 * sparseGrid, overlappingGrid + " vs " + sparseGrid);
+    }
+
+    @Test
+    void testPlan_HeavilyOverlappingLayerExcludesGrid() {
+        Random random = new Random(7);
+        List<CompactRectangle> rectangles = randomLayer(random, 2_000, 200_000, 100_000);
+        QueryPlanner planner = QueryPlanner.forBounds(rectangles);
+        int[] xs = randomCoordinates(random, 20_000, 200_000);
+        int[] ys = randomCoordinates(random, 20_000, 200_000);
+
+        QueryPlan plan = planner.plan(xs, ys);
+        QueryResult result = planner.execute(xs, ys);
+
+        assertFalse(plan.estimatedNanos().containsKey(ExecutionStrategy.GRID));
+        assertThrows(IllegalArgumentException.class, () -> planner.execute(xs, ys, ExecutionStrategy.GRID));
+        for (int i = 0; i < xs.length; i++) {
+            boolean expected = false;
+            for (CompactRectangle rectangle : rectangles) {
+                expected |= rectangle.containsPoint(xs[i], ys[i]);
+            }
+            assertEquals(expected, result.contained()[i]);
+        }
+    }
+
+    @Test
+    void testExecute_GridBeyondTableLimitsBecomesInfeasible() {
+        Random random = new Random(8);
+        // A far away rectangle spreads the extent, so the mean depth hides the overlap of the others
+        List<CompactRectangle> rectangles = randomLayer(random, 1_500, 200_000, 100_000);
+        rectangles.add(CompactRectangle.ofBounds(1_000_000_000, 1_000_000_000, 1_000_000_001, 1_000_000_001));
+        QueryPlanner planner = QueryPlanner.forBounds(rectangles);
+        int[] xs = randomCoordinates(random, 100, 200_000);
+        int[] ys = randomCoordinates(random, 100, 200_000);
+        assertTrue(planner.plan(xs, ys).estimatedNanos().containsKey(ExecutionStrategy.GRID));
+
+        assertThrows(IllegalArgumentException.class, () -> planner.execute(xs, ys, ExecutionStrategy.GRID));
+
+        assertFalse(planner.plan(xs, ys).estimatedNanos().containsKey(ExecutionStrategy.GRID));
+        assertNotEquals(ExecutionStrategy.GRID, planner.execute(xs, ys).plan().strategy());
+    }
+
+    @Test
+    void testPlan_DenseSmallDomainUsesBitmap() {
+        Random random = new Random(3);
+        QueryPlanner planner = QueryPlanner.forBounds(randomLayer(random, 5_000, 2_000, 200));
+
+        QueryPlan plan = planner.plan(randomCoordinates(random, 1_000_000, 2_000),
+                randomCoordinates(random, 1_000_000, 2_000));
+
+        assertEquals(ExecutionStrategy.BITMAP, plan.strategy());
+    }
+
+    @Test
+    void testGetStatistics_SinglePass() {
+        QueryPlanner planner = QueryPlanner.forRectangles(List.of(
+                new int[][]{{0, 0}, {10, 0}, {10, 10}, {0, 10}},
+                new int[][]{{10, 10}, {20, 10}, {30, 10}, {30, 20}, {10, 20}},
+                new int[][]{{0, 0}, {5, 5}, {0, 10}}));
+
+        LayerStatistics statistics = planner.getStatistics();
+
+        assertEquals(2, statistics.rectangleCount());
+        assertEquals(1, statistics.rejectedCount());
+        assertEquals(0, statistics.minX());
+        assertEquals(0, statistics.minY());
+        assertEquals(30, statistics.maxX());
+        assertEquals(20, statistics.maxY());
+        assertEquals(300, statistics.totalArea());
+        assertEquals(0.5, statistics.meanDepth());
+        assertEquals(12, statistics.totalVertexCount());
+        assertEquals(5, statistics.maxVertexCount());
+        assertEquals(31 * 21, statistics.extentCells());
+        assertEquals(0, QueryPlanner.forBounds(List.of()).getStatistics().extentCells());
+    }
+
+    @Test
+    void testExecute_MeasuresCostsAndReusesEngines() {
+        Random random = new Random(4);
+        QueryPlanner planner = QueryPlanner.forBounds(randomLayer(random, 1_000, 10_000, 500));
+        // Fewer points than needed for feedback, so the estimates only change by building the engine
+        int[] xs = randomCoordinates(random, QueryPlanner.FEEDBACK_MIN_POINTS - 1, 10_000);
+        int[] ys = randomCoordinates(random, QueryPlanner.FEEDBACK_MIN_POINTS - 1, 10_000);
+        double unbuilt = planner.plan(xs, ys).estimatedNanos().get(ExecutionStrategy.R_TREE);
+
+        QueryPlan first = planner.execute(xs, ys, ExecutionStrategy.R_TREE).plan();
+        QueryPlan second = planner.execute(xs, ys, ExecutionStrategy.R_TREE).plan();
+
+        assertTrue(first.isExecuted());
+        assertTrue(first.buildNanos() > 0);
+        assertTrue(first.queryNanos() > 0);
+        assertEquals(first.buildNanos() + first.queryNanos(), first.measuredCost());
+        assertEquals(0, second.buildNanos());
+        assertTrue(second.estimatedCost() < unbuilt, "A built engine is not charged again");
+    }
+
+    @Test
+    void testExecute_PointsOutsideExtentAndEmptyLayer() {
+        QueryPlanner planner = QueryPlanner.forBounds(List.of(CompactRectangle.ofBounds(0, 0, 10, 10)));
+        QueryPlanner empty = QueryPlanner.forRectangles(List.of());
+
+        QueryResult result = planner.execute(new int[]{5, 0, 50, -5}, new int[]{5, 5, 5, 5});
+
+        assertArrayEquals(new boolean[]{true, false, false, false}, result.contained());
+        assertEquals(1, result.plan().batch().pointsInExtent());
+        for (ExecutionStrategy strategy : List.of(ExecutionStrategy.LINEAR_SCAN, ExecutionStrategy.R_TREE)) {
+            assertArrayEquals(new boolean[]{false}, empty.execute(new int[]{0}, new int[]{0}, strategy).contained());
+        }
+    }
+
+    @Test
+    void testExecute_InvalidInput() {
+        QueryPlanner planner = QueryPlanner.forBounds(randomLayer(new Random(5), 100_000, 100_000_000, 10_000));
+        List<CompactRectangle> withNull = new ArrayList<>();
+        withNull.add(null);
+
+        assertThrows(IllegalArgumentException.class, () -> planner.execute(new int[]{1}, new int[]{1}, ExecutionStrategy.GRID));
+        assertThrows(GeometryValidationException.class, () -> planner.execute(null, new int[0]));
+        assertThrows(GeometryValidationException.class, () -> planner.plan(new int[1], new int[2]));
+        assertThrows(GeometryValidationException.class, () -> QueryPlanner.forRectangles(null));
+        assertThrows(GeometryValidationException.class, () -> QueryPlanner.forBounds(withNull));
+    }
+
+    private static List<CompactRectangle> randomLayer(Random random, int count, int extent, int maxSize) {
+        List<CompactRectangle> rectangles = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int minX = random.nextInt(extent - maxSize), minY = random.nextInt(extent - maxSize);
+            rectangles.add(CompactRectangle.ofBounds(minX, minY, minX + 1 + random.nextInt(maxSize),
+                    minY + 1 + random.nextInt(maxSize)));
+        }
+        return rectangles;
+    }
+
+    private static int[] randomCoordinates(Random random, int count, int extent) {
+        int[] coordinates = new int[count];
+        for (int i = 0; i < count; i++) {
+            coordinates[i] = random.nextInt(extent);
+        }
+        return coordinates;
+    }
+}
@@ -0,0 +1,218 @@
+package com.envitia.service.impl;
+
+import com.envitia.exception.GeometryValidationException;
+import com.envitia.service.GeometryService;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the AsyncGeometryServiceImpl class.
+ */
+public class AsyncGeometryServiceImplTest {
+
+    private static final int[][] RECTANGLE = {{0, 0}, {0, 5}, {5, 5}, {5, 0}};
+
+    @Test
+    void testIsPointInRectangle_CompletesWithResult() throws Exception {
+        try (AsyncGeometryServiceImpl service = new AsyncGeometryServiceImpl()) {
+            assertTrue(service.isPointInRectangle(RECTANGLE, new int[]{2, 2}).get(5, TimeUnit.SECONDS));
+            assertFalse(service.isPointInRectangle(RECTANGLE, new int[]{0, 2}).get(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    void testIsPointInRectangle_ValidationErrorCompletesExceptionally() {
+        try (AsyncGeometryServiceImpl service = new AsyncGeometryServiceImpl()) {
+            CompletableFuture<Boolean> result = service.isPointInRectangle(null, new int[]{2, 2});
+
+            ExecutionException exception = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(GeometryValidationException.class, exception.getCause());
+        }
+    }
+
+    @Test
+    void testIsPointInRectangle_ErrorCompletesExceptionally() {
+        GeometryService failing = (rectangle, point) -> {
+            throw new StackOverflowError();
+        };
+        try (AsyncGeometryServiceImpl service = new AsyncGeometryServiceImpl(failing,
+                AsyncGeometryServiceConfig.builder().build())) {
+            CompletableFuture<Boolean> result = service.isPointInRectangle(RECTANGLE, new int[]{2, 2});
+
+            ExecutionException exception = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(StackOverflowError.class, exception.getCause());
+        }
+    }
+
+    @Test
+    void testIsPointInRectangle_WorkersAreNamed() throws Exception {
+        for (boolean virtualThreads : new boolean[]{false, true}) {
+            AsyncGeometryServiceConfig config = AsyncGeometryServiceConfig.builder()
+                    .virtualThreads(virtualThreads)
+                    .build();
+            GeometryService naming = (rectangle, point) -> Thread.currentThread().getName().startsWith("geometry-async-");
+            try (AsyncGeometryServiceImpl service = new AsyncGeometryServiceImpl(naming, config)) {
+                assertTrue(service.isPointInRectangle(RECTANGLE, new int[]{2, 2}).get(5, TimeUnit.SECONDS));
+            }
+        }
+    }
+
+    @Test
+    void testIsPointInRectangle_VirtualThreads() throws Exception {
+        AsyncGeometryServiceConfig config = AsyncGeometryServiceConfig.builder()
+                .virtualThreads(true)
+                .workerThreads(64)
+                .build();
+        try (AsyncGeometryServiceImpl service = new AsyncGeometryServiceImpl(new GeometryServiceImpl(), config)) {
+            assertTrue(service.isPointInRectangle(RECTANGLE, new int[]{1, 1}).get(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    void testRejectPolicy_FullQueueRejectsAndCountsMetrics() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        GeometryService blocking = blockingService(release);
+        AsyncGeometryServiceConfig config = AsyncGeometryServiceConfig.builder()
+                .workerThreads(1)
+                .queueCapacity(1)
+                .backpressurePolicy(BackpressurePolicy.REJECT)
+                .build();
+        try (AsyncGeometryServiceImpl service = new AsyncGeometryServiceImpl(blocking, config)) {
+            CompletableFuture<Boolean> running = service.isPointInRectangle(RECTANGLE, new int[]{2, 2});
+            waitForActiveWorker(service);
+            CompletableFuture<Boolean> queued = service.isPointInRectangle(RECTANGLE, new int[]{2, 2});
+            CompletableFuture<Boolean> overflow = service.isPointInRectangle(RECTANGLE, new int[]{2, 2});
+
+            ExecutionException exception = assertThrows(ExecutionException.class, overflow::get);
+            assertInstanceOf(RejectedExecutionException.class, exception.getCause());
+            AsyncGeometryServiceMetrics metrics = service.getMetrics();
+            assertEquals(1, metrics.queueDepth());
+            assertEquals(1, metrics.maxQueueDepth());
+            assertEquals(3, metrics.submitted());
+            assertEquals(1, metrics.rejected());
+
+            release.countDown();
+            assertTrue(running.get(5, TimeUnit.SECONDS));
+            assertTrue(queued.get(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    void testCallerRunsPolicy_FullQueueRunsOnCaller() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        Thread caller = Thread.currentThread();
+        GeometryService service = (rectangle, point) -> {
+            if (Thread.currentThread() != caller) {
+                awaitQuietly(release);
+            }
+            return true;
+        };
+        AsyncGeometryServiceConfig config = AsyncGeometryServiceConfig.builder()
+                .workerThreads(1)
+                .queueCapacity(1)
+                .backpressurePolicy(BackpressurePolicy.CALLER_RUNS)
+                .build();
+        try (AsyncGeometryServiceImpl async = new AsyncGeometryServiceImpl(service, config)) {
+            async.isPointInRectangle(RECTANGLE, new int[]{2, 2});
+            waitForActiveWorker(async);
+            async.isPointInRectangle(RECTANGLE, new int[]{2, 2});
+
+            CompletableFuture<Boolean> overflow = async.isPointInRectangle(RECTANGLE, new int[]{2, 2});
+            assertTrue(overflow.isDone());
+            assertEquals(0, async.getMetrics().rejected());
+            release.countDown();
+        }
+    }
+
+    @Test
+    void testBlockPolicy_TimesOutWhenQueueStaysFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AsyncGeometryServiceConfig config = AsyncGeometryServiceConfig.builder()
+                .workerThreads(1)
+                .queueCapacity(1)
+                .backpressurePolicy(BackpressurePolicy.BLOCK)
+                .blockTimeout(Duration.ofMillis(20))
+                .build();
+        try (AsyncGeometryServiceImpl service = new AsyncGeometryServiceImpl(blockingService(release), config)) {
+            service.isPointInRectangle(RECTANGLE, new int[]{2, 2});
+            waitForActiveWorker(service);
+            service.isPointInRectangle(RECTANGLE, new int[]{2, 2});
+
+            CompletableFuture<Boolean> overflow = service.isPointInRectangle(RECTANGLE, new int[]{2, 2});
+            assertTrue(overflow.isCompletedExceptionally());
+            assertEquals(1, service.getMetrics().rejected());
+            release.countDown();
+        }
+    }
+
+    @Test
+    void testBlockPolicy_CloseWhileWaitingNeverLosesRequest() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AsyncGeometryServiceConfig config = AsyncGeometryServiceConfig.builder()
+                .workerThreads(1)
+                .queueCapacity(1)
+                .backpressurePolicy(BackpressurePolicy.BLOCK)
+                .blockTimeout(Duration.ofSeconds(5))
+                .build();
+        AsyncGeometryServiceImpl service = new AsyncGeometryServiceImpl(blockingService(release), config);
+        service.isPointInRectangle(RECTANGLE, new int[]{2, 2});
+        waitForActiveWorker(service);
+        service.isPointInRectangle(RECTANGLE, new int[]{2, 2});
+        CompletableFuture<CompletableFuture<Boolean>> waiting = CompletableFuture.supplyAsync(() ->
+                service.isPointInRectangle(RECTANGLE, new int[]{2, 2}));
+        Thread.sleep(50);
+
+        Thread closer = Thread.ofPlatform().start(service::close);
+        Thread.sleep(50);
+        release.countDown();
+        closer.join(TimeUnit.SECONDS.toMillis(10));
+
+        // Whether it ran or was rejected, the request blocked across close() must complete
+        CompletableFuture<Boolean> result = waiting.get(10, TimeUnit.SECONDS);
+        try {
+            assertTrue(result.get(10, TimeUnit.SECONDS));
+        } catch (ExecutionException e) {
+            assertInstanceOf(RejectedExecutionException.class, e.getCause());
+        }
+    }
+
+    @Test
+    void testClose_LaterRequestsAreRejected() {
+        AsyncGeometryServiceImpl service = new AsyncGeometryServiceImpl();
+        service.close();
+
+        CompletableFuture<Boolean> result = service.isPointInRectangle(RECTANGLE, new int[]{2, 2});
+        ExecutionException exception = assertThrows(ExecutionException.class, result::get);
+        assertInstanceOf(RejectedExecutionException.class, exception.getCause());
+    }
+
+    private static GeometryService blockingService(CountDownLatch release) {
+        return (rectangle, point) -> {
+            awaitQuietly(release);
+            return true;
+        };
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void waitForActiveWorker(AsyncGeometryServiceImpl service) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (service.getMetrics().activeWorkers() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.envitia.service.impl;
+
+import com.envitia.RectanglePointChecker;
+import com.envitia.exception.GeometryValidationException;
+import com.envitia.geometry.PointLocation;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the CachingGeometryService class.
+ */
+public class CachingGeometryServiceTest {
+
+    @Test
+    void testIsPointInRectangle_MatchesDefaultServiceOnRepeatedCalls() {
+        // 40 rectangles and 196 points make 7840 keys, which fit
+        CachingGeometryService service = new CachingGeometryService(1 << 14);
+        GeometryServiceImpl reference = new GeometryServiceImpl();
+        int[][][] rectangles = randomRectangles(new Random(47), 40);
+        Random random = new Random(1);
+
+        for (int i = 0; i < 20_000; i++) {
+            int[][] rectangle = rectangles[random.nextInt(rectangles.length)];
+            int[] point = {random.nextInt(14) - 2, random.nextInt(14) - 2};
+            assertEquals(reference.isPointInRectangle(rectangle, point), service.isPointInRectangle(rectangle, point));
+        }
+        CachingGeometryServiceMetrics metrics = service.getMetrics();
+        assertEquals(20_000, metrics.hits() + metrics.misses());
+        assertTrue(metrics.hitRate() > 0.5, "Hit rate " + metrics.hitRate());
+        assertEquals(1 << 14, metrics.capacity());
+    }
+
+    @Test
+    void testIsPointInRectangle_HitsOnEqualContent() {
+        CachingGeometryService service = new CachingGeometryService(16);
+
+        assertTrue(service.isPointInRectangle(new int[][]{{0, 0}, {0, 5}, {5, 5}, {5, 0}}, new int[]{2, 2}));
+        assertTrue(service.isPointInRectangle(new int[][]{{0, 0}, {0, 5}, {5, 5}, {5, 0}}, new int[]{2, 2}));
+        // Another vertex order or another point is another key
+        assertTrue(service.isPointInRectangle(new int[][]{{0, 5}, {0, 0}, {5, 5}, {5, 0}}, new int[]{2, 2}));
+        assertFalse(service.isPointInRectangle(new int[][]{{0, 0}, {0, 5}, {5, 5}, {5, 0}}, new int[]{0, 2}));
+
+        assertEquals(new CachingGeometryServiceMetrics(1, 3, 0, 16), service.getMetrics());
+        assertEquals(0.25, service.getMetrics().hitRate());
+    }
+
+    @Test
+    void testIsPointInRectangle_FullBucketEvictsAndStaysCorrect() {
+        CachingGeometryService service = new CachingGeometryService(1);
+        int[][] rectangle = {{0, 0}, {0, 10}, {10, 10}, {10, 0}};
+
+        for (int round = 0; round < 2; round++) {
+            for (int x = -1; x <= 11; x++) {
+                assertEquals(x > 0 && x < 10, service.isPointInRectangle(rectangle, new int[]{x, 5}));
+            }
+        }
+        service.clear();
+        assertTrue(service.isPointInRectangle(rectangle, new int[]{5, 5}));
+
+        CachingGeometryServiceMetrics metrics = service.getMetrics();
+        assertEquals(CachingGeometryService.WAYS, metrics.capacity());
+        assertEquals(27, metrics.hits() + metrics.misses());
+        assertTrue(metrics.evictions() >= 26 - 2 * CachingGeometryService.WAYS);
+    }
+
+    @Test
+    void testIsPointInRectangle_InvalidInputIsNotCached() {
+        CachingGeometryService service = new CachingGeometryService(16);
+        int[][] rectangle = {{0, 0}, {0, 5}, {5, 5}, {5, 0}};
+
+        for (int i = 0; i < 2; i++) {
+            assertThrows(GeometryValidationException.class, () -> service.isPointInRectangle(null, new int[]{2, 2}));
+            assertThrows(GeometryValidationException.class, () -> service.isPointInRectangle(rectangle, new int[]{2}));
+            assertThrows(GeometryValidationException.class, () ->
+                    service.isPointInRectangle(new int[][]{{0, 0}, {0}, {5, 5}, {5, 0}}, new int[]{2, 2}));
+        }
+        assertEquals(0, service.getMetrics().hits() + service.getMetrics().misses());
+    }
+
+    @Test
+    void testIsPointInRectangle_ConcurrentCallersThroughChecker() throws Exception {
+        CachingGeometryService service = new CachingGeometryService(1 << 10);
+        RectanglePointChecker checker = new RectanglePointChecker(service);
+        GeometryServiceImpl reference = new GeometryServiceImpl();
+        int[][][] rectangles = randomRectangles(new Random(2), 100);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Integer>> mismatches = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                long seed = t;
+                mismatches.add(executor.submit(() -> {
+                    Random random = new Random(seed);
+                    int count = 0;
+                    for (int i = 0; i < 20_000; i++) {
+                        int[][] rectangle = rectangles[random.nextInt(rectangles.length)];
+                        int[] point = {random.nextInt(14) - 2, random.nextInt(14) - 2};
+                        if (checker.isInsideRectangle(rectangle, point) != reference.isPointInRectangle(rectangle, point)) {
+                            count++;
+                        }
+                    }
+                    return count;
+                }));
+            }
+            for (Future<Integer> future : mismatches) {
+                assertEquals(0, future.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(160_000, service.getMetrics().hits() + service.getMetrics().misses());
+    }
+
+    @Test
+    void testClassifyPoint_ForwardedToDelegate() {
+        CachingGeometryService service = new CachingGeometryService(16);
+        int[][] rectangle = {{0, 0}, {0, 5}, {5, 5}, {5, 0}};
+
+        assertEquals(PointLocation.BOUNDARY, service.classifyPoint(rectangle, new int[]{0, 2}));
+        assertEquals(PointLocation.INSIDE, service.classifyPoints(rectangle, new int[][]{{2, 2}}).get(0));
+        assertEquals(0, service.getMetrics().misses());
+    }
+
+    @Test
+    void testConstructor_InvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new CachingGeometryService(0));
+        assertThrows(IllegalArgumentException.class, () -> new CachingGeometryService(null, 16));
+        // One above the limit would round up to 2^30 slots, whose array size overflows
+        assertThrows(IllegalArgumentException.class, () -> new CachingGeometryService(CachingGeometryService.MAX_CAPACITY + 1));
+        assertThrows(IllegalArgumentException.class, () -> new CachingGeometryService(1 << 30));
+        assertThrows(IllegalArgumentException.class, () -> new CachingGeometryService(Integer.MAX_VALUE));
+        assertEquals(1 << 10, new CachingGeometryService(1000).getMetrics().capacity());
+    }
+
+    @Test
+    void testHashRectangle_DependsOnEveryCoordinate() {
+        int[][] rectangle = {{0, 0}, {0, 5}, {5, 5}, {5, 0}};
+        long hash = CachingGeometryService.hashRectangle(rectangle);
+
+        for (int vertex = 0; vertex < rectangle.length; vertex++) {
+            for (int axis = 0; axis < 2; axis++) {
+                int[][] changed = {rectangle[0].clone(), rectangle[1].clone(), rectangle[2].clone(), rectangle[3].clone()};
+                changed[vertex][axis]++;
+                assertNotEquals(hash, CachingGeometryService.hashRectangle(changed));
+            }
+        }
+        assertEquals(hash, CachingGeometryService.hashRectangle(new int[][]{{0, 0}, {0, 5}, {5, 5}, {5, 0}}));
+    }
+
+    /**
+     * Builds small rectangles, a quarter of them not valid, so that points often hit their edges.
+     */
+    private static int[][][] randomRectangles(Random random, int count) {
+        int[][][] rectangles = new int[count][][];
+        for (int i = 0; i < count; i++) {
+            int minX = random.nextInt(5), minY = random.nextInt(5);
+            int maxX = minX + 1 + random.nextInt(5), maxY = minY + 1 + random.nextInt(5);
+            rectangles[i] = i % 4 == 0
+                    ? new int[][]{{minX, minY}, {maxX, minY}, {maxX, maxY}}
+                    : new int[][]{{minX, minY}, {maxX, minY}, {maxX, maxY}, {minX, maxY}};
+        }
+        return rectangles;
+    }
+}
@@ -0,0 +1,114 @@
+package com.envitia.service.impl;
+
+import com.envitia.RectanglePointChecker;
+import com.envitia.exception.GeometryValidationException;
+import com.envitia.geometry.PackedPointLocations;
+import com.envitia.geometry.PointLocation;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the CoalescingGeometryService class.
+ */
+public class CoalescingGeometryServiceTest {
+
+    @Test
+    void testIsPointInRectangle_SingleCallerMatchesDefaultService() {
+        CoalescingGeometryService service = new CoalescingGeometryService(Duration.ZERO, 16);
+        GeometryServiceImpl reference = new GeometryServiceImpl();
+        int[][][] rectangles = {
+                {{0, 0}, {0, 5}, {5, 5}, {5, 0}},
+                {{0, 0}, {0, 5}, {3, 3}, {5, 0}},
+                {{0, 0}, {0, 5}, {5, 5}}
+        };
+        int[][] points = {{2, 2}, {0, 2}, {6, 6}};
+
+        for (int[][] rectangle : rectangles) {
+            for (int[] point : points) {
+                assertEquals(reference.isPointInRectangle(rectangle, point), service.isPointInRectangle(rectangle, point));
+            }
+        }
+    }
+
+    @Test
+    void testIsPointInRectangle_InvalidInputThrowsException() {
+        CoalescingGeometryService service = new CoalescingGeometryService(Duration.ZERO, 16);
+        int[][] rectangle = {{0, 0}, {0, 5}, {5, 5}, {5, 0}};
+
+        assertThrows(GeometryValidationException.class, () -> service.isPointInRectangle(null, new int[]{2, 2}));
+        assertThrows(GeometryValidationException.class, () -> service.isPointInRectangle(rectangle, new int[]{2}));
+        assertThrows(GeometryValidationException.class, () ->
+                service.isPointInRectangle(new int[][]{{0, 0}, {0}, {5, 5}, {5, 0}}, new int[]{2, 2}));
+    }
+
+    @Test
+    void testIsPointInRectangle_MalformedInputFailsLikeDefaultService() {
+        CoalescingGeometryService service = new CoalescingGeometryService(Duration.ZERO, 16);
+        GeometryServiceImpl reference = new GeometryServiceImpl();
+        int[][][] rectangles = {null, {{0, 0}, {0}, {5, 5}, {5, 0}}, {{0, 0}, null, {5, 5}, {5, 0}}};
+        int[][] points = {null, {2}, {1, 2, 3}};
+
+        for (int[][] rectangle : rectangles) {
+            for (int[] point : points) {
+                GeometryValidationException expected = assertThrows(GeometryValidationException.class,
+                        () -> reference.isPointInRectangle(rectangle, point));
+                GeometryValidationException actual = assertThrows(GeometryValidationException.class,
+                        () -> service.isPointInRectangle(rectangle, point));
+                assertEquals(expected.getMessage(), actual.getMessage());
+            }
+        }
+    }
+
+    @Test
+    void testClassifyPoints_DefaultMethodsAreNotBatched() {
+        CoalescingGeometryService service = new CoalescingGeometryService(Duration.ofSeconds(10), 16);
+        int[][] rectangle = {{0, 0}, {0, 5}, {5, 5}, {5, 0}};
+
+        assertEquals(PointLocation.INSIDE, service.classifyPoint(rectangle, new int[]{2, 2}));
+        PackedPointLocations locations = service.classifyPoints(rectangle, new int[][]{{0, 2}, {6, 6}});
+        assertEquals(PointLocation.BOUNDARY, locations.get(0));
+        assertEquals(PointLocation.OUTSIDE, locations.get(1));
+        assertEquals(0, service.getRequestCount());
+        assertThrows(GeometryValidationException.class, () -> service.classifyPoints(rectangle, null));
+    }
+
+    @Test
+    void testIsPointInRectangle_ConcurrentCallersAreCoalesced() throws Exception {
+        int callers = 32;
+        CoalescingGeometryService service = new CoalescingGeometryService(Duration.ofMillis(200), callers);
+        RectanglePointChecker checker = new RectanglePointChecker(service);
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                int x = i % 7;
+                // Each caller passes its own copy of the rectangle, equal by content
+                int[][] rectangle = {{0, 0}, {0, 5}, {5, 5}, {5, 0}};
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return checker.isInsideRectangle(rectangle, new int[]{x, 2});
+                }));
+            }
+            start.countDown();
+
+            for (int i = 0; i < callers; i++) {
+                int x = i % 7;
+                assertEquals(x > 0 && x < 5, results.get(i).get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(callers, service.getRequestCount());
+        assertTrue(service.getBatchCount() < callers, "Expected requests to share batches");
+    }
+}
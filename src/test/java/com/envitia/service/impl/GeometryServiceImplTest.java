@@ -1,7 +1,10 @@
 package com.envitia.service.impl;
 
 import com.envitia.exception.GeometryValidationException;
+import com.envitia.geometry.PackedPointLocations;
+import com.envitia.geometry.PointLocation;
 import com.envitia.service.GeometryService;
+import com.envitia.validation.GeometryValidator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -155,6 +158,79 @@ public class GeometryServiceImplTest {
                 geometryService.isPointInRectangle(rectangle, point));
     }
 
+    @Test
+    void testIsPointInRectangle_LargeRectangleUsesSameSemantics() {
+        int perEdge = GeometryValidator.PARALLEL_VALIDATION_THRESHOLD / 4 + 1;
+        int[][] rectangle = new int[perEdge * 4][];
+        for (int i = 0; i < perEdge; i++) {
+            rectangle[4 * i] = new int[]{0, i};
+            rectangle[4 * i + 1] = new int[]{i, perEdge};
+            rectangle[4 * i + 2] = new int[]{perEdge, perEdge - i};
+            rectangle[4 * i + 3] = new int[]{perEdge - i, 0};
+        }
+
+        assertTrue(geometryService.isPointInRectangle(rectangle, new int[]{1, 1}));
+        assertFalse(geometryService.isPointInRectangle(rectangle, new int[]{0, 1}));
+        assertFalse(geometryService.isPointInRectangle(rectangle, new int[]{perEdge + 1, 1}));
+
+        rectangle[5] = new int[]{2, 2}; // Off the edges
+        assertFalse(geometryService.isPointInRectangle(rectangle, new int[]{1, 1}));
+    }
+
+    @Test
+    void testClassifyPoint_AllLocations() {
+        int[][] rectangle = {{0, 0}, {0, 5}, {5, 5}, {5, 0}};
+
+        assertEquals(PointLocation.INSIDE, geometryService.classifyPoint(rectangle, new int[]{2, 2}));
+        assertEquals(PointLocation.BOUNDARY, geometryService.classifyPoint(rectangle, new int[]{0, 2}));
+        assertEquals(PointLocation.OUTSIDE, geometryService.classifyPoint(rectangle, new int[]{6, 6}));
+        assertEquals(PointLocation.INVALID_SHAPE,
+                geometryService.classifyPoint(new int[][]{{0, 0}, {0, 5}, {3, 3}, {5, 0}}, new int[]{2, 2}));
+    }
+
+    @Test
+    void testClassifyPoint_InvalidPointThrowsException() {
+        int[][] rectangle = {{0, 0}, {0, 5}, {5, 5}, {5, 0}};
+
+        assertThrows(GeometryValidationException.class, () -> geometryService.classifyPoint(rectangle, new int[]{2}));
+        assertThrows(GeometryValidationException.class, () -> geometryService.classifyPoint(null, new int[]{2, 2}));
+    }
+
+    @Test
+    void testClassifyPoints_Batch() {
+        int[][] rectangle = {{0, 0}, {0, 5}, {5, 5}, {5, 0}};
+        int[][] points = new int[100][];
+        for (int i = 0; i < points.length; i++) {
+            points[i] = new int[]{i % 7, 2};
+        }
+
+        PackedPointLocations locations = geometryService.classifyPoints(rectangle, points);
+
+        assertEquals(points.length, locations.size());
+        for (int i = 0; i < points.length; i++) {
+            assertEquals(geometryService.classifyPoint(rectangle, points[i]), locations.get(i));
+        }
+    }
+
+    @Test
+    void testClassifyPoints_InvalidShapeMarksEveryPoint() {
+        int[][] rectangle = {{0, 0}, {0, 5}, {5, 5}};
+        int[][] points = {{2, 2}, {0, 0}, {9, 9}};
+
+        PackedPointLocations locations = geometryService.classifyPoints(rectangle, points);
+
+        assertEquals(3, locations.count(PointLocation.INVALID_SHAPE));
+    }
+
+    @Test
+    void testClassifyPoints_NullPointThrowsException() {
+        int[][] rectangle = {{0, 0}, {0, 5}, {5, 5}, {5, 0}};
+
+        assertThrows(GeometryValidationException.class, () -> geometryService.classifyPoints(rectangle, null));
+        assertThrows(GeometryValidationException.class, () ->
+                geometryService.classifyPoints(rectangle, new int[][]{{2, 2}, null}));
+    }
+
     @ParameterizedTest
     @MethodSource("validPointsProvider")
     void testValidPoints(int[][] shape, int[] point, String message) {
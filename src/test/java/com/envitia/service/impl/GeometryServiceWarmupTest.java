@@ -0,0 +1,101 @@
+package com.envitia.service.impl;
+
+import com.envitia.geometry.PackedPointLocations;
+import com.envitia.geometry.PointLocation;
+import com.envitia.service.GeometryService;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the GeometryServiceWarmup class.
+ */
+public class GeometryServiceWarmupTest {
+
+    @Test
+    void testRun_ExercisesEveryServiceMethodUntilSettled() {
+        CountingService service = new CountingService();
+
+        GeometryServiceWarmupReport report = GeometryServiceWarmup.run(service, Duration.ofSeconds(60));
+
+        assertTrue(report.settled(), report.toString());
+        assertTrue(report.rounds() >= GeometryServiceWarmup.STABLE_ROUNDS);
+        assertEquals(report.operations(), service.single.sum() + service.classified.sum() + service.batches.sum());
+        assertTrue(service.single.sum() > 0);
+        assertTrue(service.classified.sum() > 0);
+        assertTrue(service.batches.sum() > 0);
+        assertTrue(service.malformed.sum() > 0);
+        assertTrue(service.inside.sum() > 0);
+        assertTrue(service.inside.sum() < service.single.sum());
+    }
+
+    @Test
+    void testRun_StopsAtMaxDuration() {
+        GeometryServiceWarmupReport report = GeometryServiceWarmup.run(new GeometryServiceImpl(), Duration.ZERO);
+
+        assertEquals(0, report.rounds());
+        assertEquals(0, report.operations());
+        assertFalse(report.settled());
+    }
+
+    @Test
+    void testRun_CachingServiceIsWarmedThroughItsDelegate() {
+        CountingService delegate = new CountingService();
+        CachingGeometryService service = new CachingGeometryService(delegate, 1 << 10);
+
+        GeometryServiceWarmupReport report = GeometryServiceWarmup.run(service, Duration.ofMillis(200));
+
+        assertTrue(report.rounds() > 0);
+        assertTrue(service.getMetrics().hitRate() < 0.01, "Hit rate " + service.getMetrics().hitRate());
+        assertTrue(delegate.single.sum() > 0);
+    }
+
+    @Test
+    void testRun_InvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> GeometryServiceWarmup.run(null));
+        assertThrows(IllegalArgumentException.class, () ->
+                GeometryServiceWarmup.run(new GeometryServiceImpl(), Duration.ofSeconds(-1)));
+    }
+
+    /**
+     * Default service counting the calls made to each method.
+     */
+    private static final class CountingService implements GeometryService {
+
+        private final GeometryServiceImpl delegate = new GeometryServiceImpl();
+
+        private final LongAdder single = new LongAdder();
+        private final LongAdder inside = new LongAdder();
+        private final LongAdder malformed = new LongAdder();
+        private final LongAdder classified = new LongAdder();
+        private final LongAdder batches = new LongAdder();
+
+        @Override
+        public boolean isPointInRectangle(int[][] rectangleCoordinates, int[] pointCoordinates) {
+            single.increment();
+            if (pointCoordinates == null || pointCoordinates.length != 2) {
+                malformed.increment();
+            }
+            boolean result = delegate.isPointInRectangle(rectangleCoordinates, pointCoordinates);
+            if (result) {
+                inside.increment();
+            }
+            return result;
+        }
+
+        @Override
+        public PointLocation classifyPoint(int[][] rectangleCoordinates, int[] pointCoordinates) {
+            classified.increment();
+            return delegate.classifyPoint(rectangleCoordinates, pointCoordinates);
+        }
+
+        @Override
+        public PackedPointLocations classifyPoints(int[][] rectangleCoordinates, int[][] pointsCoordinates) {
+            batches.increment();
+            return delegate.classifyPoints(rectangleCoordinates, pointsCoordinates);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.envitia.store;
+
+import com.envitia.exception.GeometryValidationException;
+import com.envitia.geometry.CompactRectangle;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the OffHeapRectangleStore class.
+ */
+public class OffHeapRectangleStoreTest {
+
+    private OffHeapRectangleStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new OffHeapRectangleStore();
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.close();
+    }
+
+    @Test
+    void testAppend_StoresRecord() {
+        store.append(42, CompactRectangle.ofBounds(0, 1, 5, 6));
+
+        assertEquals(1, store.size());
+        assertEquals(42, store.getId(0));
+        assertEquals(CompactRectangle.ofBounds(0, 1, 5, 6), store.get(0));
+    }
+
+    @Test
+    void testAppendAll_MismatchedLengthsThrowsException() {
+        int[] ids = {1, 2};
+        CompactRectangle[] rectangles = {CompactRectangle.ofBounds(0, 0, 5, 5)};
+
+        assertThrows(GeometryValidationException.class, () -> store.appendAll(ids, rectangles));
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    void testAppendAll_NullRectangleLeavesStoreUnchanged() {
+        int[] ids = {1, 2};
+        CompactRectangle[] rectangles = {CompactRectangle.ofBounds(0, 0, 5, 5), null};
+
+        assertThrows(GeometryValidationException.class, () -> store.appendAll(ids, rectangles));
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    void testForEachContaining_PointOnEdgeIsNotReported() {
+        store.append(1, CompactRectangle.ofBounds(0, 0, 5, 5));
+
+        assertEquals(0, store.forEachContaining(0, 2, id -> fail("Point on edge must not be reported")));
+        assertEquals(1, store.forEachContaining(2, 2, id -> assertEquals(1, id)));
+    }
+
+    @Test
+    void testIndexedQuery_MatchesScan() {
+        Random random = new Random(7);
+        int count = 5_000;
+        int[] ids = new int[count];
+        CompactRectangle[] rectangles = new CompactRectangle[count];
+        for (int i = 0; i < count; i++) {
+            int minX = random.nextInt(1_000), minY = random.nextInt(1_000);
+            ids[i] = i;
+            rectangles[i] = CompactRectangle.ofBounds(minX, minY, minX + random.nextInt(50), minY + random.nextInt(50));
+        }
+        store.appendAll(ids, rectangles);
+        store.buildIndex();
+        // Records appended after the index was built must still be found
+        store.append(count, CompactRectangle.ofBounds(-10, -10, 1_100, 1_100));
+
+        for (int i = 0; i < 500; i++) {
+            int x = random.nextInt(1_100), y = random.nextInt(1_100);
+            assertEquals(collect(store, x, y, false), collect(store, x, y, true), "Mismatch at " + x + "," + y);
+        }
+        assertEquals(count, store.indexedSize());
+    }
+
+    @Test
+    void testClose_FurtherUseThrowsException() {
+        store.append(1, CompactRectangle.ofBounds(0, 0, 5, 5));
+        store.close();
+
+        assertThrows(IllegalStateException.class, () -> store.size());
+        assertThrows(IllegalStateException.class, () -> store.forEachContaining(2, 2, id -> { }));
+        assertThrows(IllegalStateException.class, () -> store.append(2, CompactRectangle.ofBounds(0, 0, 5, 5)));
+    }
+
+    private static Set<Integer> collect(OffHeapRectangleStore store, int x, int y, boolean indexed) {
+        List<Integer> ids = new ArrayList<>();
+        if (indexed) {
+            store.forEachContainingIndexed(x, y, ids::add);
+        } else {
+            store.forEachContaining(x, y, ids::add);
+        }
+        Set<Integer> unique = new HashSet<>(ids);
+        assertEquals(ids.size(), unique.size());
+        return unique;
+    }
+}
@@ -0,0 +1,122 @@
+package com.envitia.tracking;
+
+import com.envitia.exception.GeometryValidationException;
+import com.envitia.geometry.CompactRectangle;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the GeofenceTracker class.
+ */
+public class GeofenceTrackerTest {
+
+    private static final List<CompactRectangle> FENCES = List.of(
+            CompactRectangle.ofBounds(0, 0, 100, 100),
+            CompactRectangle.ofBounds(50, 50, 150, 150));
+
+    @Test
+    void testUpdate_EmitsEnterAndExit() {
+        GeofenceTracker tracker = new GeofenceTracker(FENCES, 10);
+        List<String> events = new ArrayList<>();
+        GeofenceListener listener = (objectId, fenceId, event) -> events.add(objectId + ":" + fenceId + ":" + event);
+
+        assertEquals(1, tracker.update(7, 10, 10, listener));
+        assertEquals(1, tracker.update(7, 75, 75, listener));
+        assertEquals(1, tracker.update(7, 120, 120, listener));
+        assertEquals(1, tracker.update(7, 200, 200, listener));
+
+        assertEquals(List.of("7:0:ENTER", "7:1:ENTER", "7:0:EXIT", "7:1:EXIT"), events);
+    }
+
+    @Test
+    void testUpdate_EdgeIsOutside() {
+        GeofenceTracker tracker = new GeofenceTracker(FENCES, 10);
+        List<GeofenceEvent> events = new ArrayList<>();
+
+        tracker.update(1, 0, 50, (objectId, fenceId, event) -> events.add(event));
+
+        assertTrue(events.isEmpty());
+        assertArrayEquals(new int[0], tracker.getContainingFences(1));
+    }
+
+    @Test
+    void testUpdate_ReusesResultWithinUniformCell() {
+        GeofenceTracker tracker = new GeofenceTracker(FENCES, 10);
+        GeofenceListener listener = (objectId, fenceId, event) -> fail("No transition expected");
+
+        tracker.update(3, 21, 21, (objectId, fenceId, event) -> { });
+        tracker.update(3, 22, 23, listener);
+        tracker.update(3, 28, 25, listener);
+
+        assertEquals(2, tracker.getReusedUpdates());
+        assertEquals(1, tracker.getEvaluatedUpdates());
+        assertArrayEquals(new int[]{0}, tracker.getContainingFences(3));
+    }
+
+    @Test
+    void testRemove_EmitsExitForCurrentFences() {
+        GeofenceTracker tracker = new GeofenceTracker(FENCES, 10);
+        tracker.update(0, 75, 75, (objectId, fenceId, event) -> { });
+        List<GeofenceEvent> events = new ArrayList<>();
+
+        assertEquals(2, tracker.remove(0, (objectId, fenceId, event) -> events.add(event)));
+        assertEquals(List.of(GeofenceEvent.EXIT, GeofenceEvent.EXIT), events);
+        assertEquals(0, tracker.remove(0, (objectId, fenceId, event) -> fail("Object is no longer tracked")));
+    }
+
+    @Test
+    void testUpdate_RandomWalkMatchesBruteForce() {
+        Random random = new Random(13);
+        List<CompactRectangle> fences = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            int minX = random.nextInt(1_000), minY = random.nextInt(1_000);
+            fences.add(CompactRectangle.ofBounds(minX, minY, minX + random.nextInt(200), minY + random.nextInt(200)));
+        }
+        GeofenceTracker tracker = new GeofenceTracker(fences, 16);
+        int objects = 50;
+        int[] xs = new int[objects], ys = new int[objects];
+        List<Set<Integer>> inside = new ArrayList<>();
+        for (int i = 0; i < objects; i++) {
+            xs[i] = random.nextInt(1_200) - 100;
+            ys[i] = random.nextInt(1_200) - 100;
+            inside.add(new HashSet<>());
+        }
+        GeofenceListener listener = (objectId, fenceId, event) -> {
+            boolean changed = event == GeofenceEvent.ENTER
+                    ? inside.get(objectId).add(fenceId)
+                    : inside.get(objectId).remove(fenceId);
+            assertTrue(changed, "Transition must change membership");
+        };
+
+        for (int tick = 0; tick < 200; tick++) {
+            for (int i = 0; i < objects; i++) {
+                xs[i] += random.nextInt(7) - 3;
+                ys[i] += random.nextInt(7) - 3;
+                tracker.update(i, xs[i], ys[i], listener);
+                Set<Integer> expected = new HashSet<>();
+                for (int fenceId = 0; fenceId < fences.size(); fenceId++) {
+                    if (fences.get(fenceId).containsPoint(xs[i], ys[i])) {
+                        expected.add(fenceId);
+                    }
+                }
+                assertEquals(expected, inside.get(i));
+            }
+        }
+        assertTrue(tracker.getReusedUpdates() > 0);
+    }
+
+    @Test
+    void testConstructor_InvalidArgumentsThrowException() {
+        assertThrows(GeometryValidationException.class, () -> new GeofenceTracker(null, 10));
+        assertThrows(IllegalArgumentException.class, () -> new GeofenceTracker(FENCES, 0));
+        assertThrows(IllegalArgumentException.class, () -> new GeofenceTracker(
+                List.of(CompactRectangle.ofBounds(Integer.MIN_VALUE, Integer.MIN_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE)), 1));
+    }
+}
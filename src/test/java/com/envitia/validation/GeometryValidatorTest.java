@@ -1,9 +1,14 @@
 package com.envitia.validation;
 
 import com.envitia.exception.GeometryValidationException;
+import com.envitia.geometry.CompactRectangle;
+import com.envitia.geometry.DoubleRectangle;
+import com.envitia.geometry.LongRectangle;
 import com.envitia.geometry.Rectangle;
 import org.junit.jupiter.api.Test;
 
+import java.util.Optional;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -96,4 +101,157 @@ public class GeometryValidatorTest {
         // Should not throw an exception
         GeometryValidator.validatePointCoordinates(coordinates);
     }
-}
\ No newline at end of file
+
+    @Test
+    void testValidateRectangleVertices_MatchesRectangleValidation() {
+        int[][][] shapes = {
+                {{0, 0}, {0, 5}, {5, 5}, {5, 0}},
+                {{0, 0}, {0, 5}, {3, 3}, {5, 0}},
+                {{0, 0}, {0, 5}, {5, 5}},
+                {{0, 0}, {0, 5}, {5, 5}, {5, 0}, {5, 5}},
+                {{0, 0}, {0, 5}, {0, 5}, {0, 0}},
+                {{1, 1}, {1, 3}, {3, 3}, {5, 3}, {5, 2}, {5, 1}}
+        };
+        for (int[][] shape : shapes) {
+            boolean expected = GeometryValidator.isValidRectangle(Rectangle.fromCoordinateArray(shape));
+            assertEquals(expected, GeometryValidator.isValidRectangle(xs(shape), ys(shape)));
+        }
+    }
+
+    @Test
+    void testValidateRectangleVertices_LargeOutlineAboveThreshold() {
+        int perEdge = GeometryValidator.PARALLEL_VALIDATION_THRESHOLD / 2;
+        int[] xs = new int[perEdge * 4];
+        int[] ys = new int[perEdge * 4];
+        for (int i = 0; i < perEdge; i++) {
+            // Left, top, right and bottom edges
+            xs[i] = 0;
+            ys[i] = i;
+            xs[perEdge + i] = i;
+            ys[perEdge + i] = perEdge;
+            xs[2 * perEdge + i] = perEdge;
+            ys[2 * perEdge + i] = perEdge - i;
+            xs[3 * perEdge + i] = perEdge - i;
+            ys[3 * perEdge + i] = 0;
+        }
+
+        Optional<CompactRectangle> rectangle = GeometryValidator.validateRectangleVertices(xs, ys);
+        assertEquals(Optional.of(CompactRectangle.ofBounds(0, 0, perEdge, perEdge)), rectangle);
+
+        // Move a single vertex off the edges
+        xs[perEdge / 2] = 1;
+        assertFalse(GeometryValidator.isValidRectangle(xs, ys));
+    }
+
+    @Test
+    void testValidateRectangleVertices_MismatchedLengthsThrowsException() {
+        assertThrows(GeometryValidationException.class, () ->
+                GeometryValidator.validateRectangleVertices(new int[]{0, 0, 5, 5}, new int[]{0, 5, 5}));
+    }
+
+    @Test
+    void testValidateRectangleVertices_NullCoordinatesThrowsException() {
+        assertThrows(GeometryValidationException.class, () ->
+                GeometryValidator.validateRectangleVertices(null, new int[]{0, 5, 5, 0}));
+    }
+
+    @Test
+    void testValidateRectangleVertices_LongVariantMatchesIntVariant() {
+        int[][][] shapes = {
+                {{0, 0}, {0, 5}, {5, 5}, {5, 0}},
+                {{0, 0}, {0, 5}, {3, 3}, {5, 0}},
+                {{0, 0}, {0, 5}, {5, 5}},
+                {{0, 0}, {0, 5}, {5, 5}, {5, 0}, {5, 5}},
+                {{0, 0}, {0, 5}, {0, 5}, {0, 0}},
+                {{1, 1}, {1, 3}, {3, 3}, {5, 3}, {5, 2}, {5, 1}}
+        };
+        long offset = 1L << 40;
+        for (int[][] shape : shapes) {
+            long[] xs = new long[shape.length];
+            long[] ys = new long[shape.length];
+            double[] fractionalXs = new double[shape.length];
+            double[] fractionalYs = new double[shape.length];
+            for (int i = 0; i < shape.length; i++) {
+                xs[i] = shape[i][0] + offset;
+                ys[i] = shape[i][1] - offset;
+                fractionalXs[i] = shape[i][0] * 0.1;
+                fractionalYs[i] = shape[i][1] * 0.1;
+            }
+            boolean expected = GeometryValidator.isValidRectangle(xs(shape), ys(shape));
+            assertEquals(expected, GeometryValidator.isValidRectangle(xs, ys));
+            assertEquals(expected, GeometryValidator.isValidRectangle(fractionalXs, fractionalYs));
+        }
+    }
+
+    @Test
+    void testValidateRectangleVertices_LongExtremeBounds() {
+        long[] xs = {Long.MIN_VALUE, Long.MIN_VALUE, Long.MAX_VALUE, Long.MAX_VALUE, 0};
+        long[] ys = {Long.MIN_VALUE, Long.MAX_VALUE, Long.MAX_VALUE, Long.MIN_VALUE, Long.MIN_VALUE};
+
+        Optional<LongRectangle> rectangle = GeometryValidator.validateRectangleVertices(xs, ys);
+
+        assertEquals(Optional.of(LongRectangle.ofBounds(Long.MIN_VALUE, Long.MIN_VALUE, Long.MAX_VALUE, Long.MAX_VALUE)),
+                rectangle);
+        assertTrue(rectangle.get().containsPoint(Long.MAX_VALUE - 1, 0));
+        assertFalse(rectangle.get().containsPoint(Long.MAX_VALUE, 0));
+    }
+
+    @Test
+    void testValidateRectangleVertices_LongAndDoubleAboveThreshold() {
+        int perEdge = GeometryValidator.PARALLEL_VALIDATION_THRESHOLD / 2;
+        long[] xs = new long[perEdge * 4];
+        long[] ys = new long[perEdge * 4];
+        double[] metersX = new double[perEdge * 4];
+        double[] metersY = new double[perEdge * 4];
+        long scale = 1L << 33;
+        for (int i = 0; i < perEdge; i++) {
+            int[][] vertices = {{0, i}, {i, perEdge}, {perEdge, perEdge - i}, {perEdge - i, 0}};
+            for (int edge = 0; edge < 4; edge++) {
+                xs[edge * perEdge + i] = vertices[edge][0] * scale;
+                ys[edge * perEdge + i] = vertices[edge][1] * scale;
+                metersX[edge * perEdge + i] = vertices[edge][0] * 0.25;
+                metersY[edge * perEdge + i] = vertices[edge][1] * 0.25;
+            }
+        }
+
+        assertEquals(Optional.of(LongRectangle.ofBounds(0, 0, perEdge * scale, perEdge * scale)),
+                GeometryValidator.validateRectangleVertices(xs, ys));
+        assertEquals(Optional.of(DoubleRectangle.ofBounds(0, 0, perEdge * 0.25, perEdge * 0.25)),
+                GeometryValidator.validateRectangleVertices(metersX, metersY));
+
+        xs[perEdge / 2] = 1;
+        metersX[perEdge / 2] = 0.125;
+        assertFalse(GeometryValidator.isValidRectangle(xs, ys));
+        assertFalse(GeometryValidator.isValidRectangle(metersX, metersY));
+    }
+
+    @Test
+    void testValidateRectangleVertices_DoubleRejectsNonFiniteCoordinates() {
+        double[] ys = {0, 1, 1, 0};
+
+        assertThrows(GeometryValidationException.class, () ->
+                GeometryValidator.validateRectangleVertices(new double[]{0, 0, Double.NaN, 1}, ys));
+        assertThrows(GeometryValidationException.class, () ->
+                GeometryValidator.validateRectangleVertices(new double[]{0, 0, Double.POSITIVE_INFINITY}, new double[]{0, 1, 1}));
+        assertThrows(GeometryValidationException.class, () ->
+                GeometryValidator.validateRectangleVertices(new double[]{0, 0, 1}, ys));
+        assertThrows(GeometryValidationException.class, () ->
+                GeometryValidator.validateRectangleVertices((long[]) null, new long[]{0, 1, 1, 0}));
+    }
+
+    private static int[] xs(int[][] shape) {
+        int[] xs = new int[shape.length];
+        for (int i = 0; i < shape.length; i++) {
+            xs[i] = shape[i][0];
+        }
+        return xs;
+    }
+
+    private static int[] ys(int[][] shape) {
+        int[] ys = new int[shape.length];
+        for (int i = 0; i < shape.length; i++) {
+            ys[i] = shape[i][1];
+        }
+        return ys;
+    }
+}
@@ -0,0 +1,136 @@
+package com.envitia.validation;
+
+import com.envitia.geometry.Rectangle;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the RejectionEventLog class.
+ */
+public class RejectionEventLogTest {
+
+    @Test
+    void testDrain_ReturnsEventsInOrder() {
+        RejectionEventLog log = new RejectionEventLog(8, 1);
+        log.record(RejectionReason.MISSING_CORNER, 4, 0, 0, 5, 5);
+        log.record(RejectionReason.VERTEX_OFF_EDGES, 6, -1, -2, 3, 4);
+
+        List<RejectionEvent> events = new ArrayList<>();
+        assertEquals(2, log.drain(events::add));
+
+        assertEquals(List.of(
+                new RejectionEvent(0, RejectionReason.MISSING_CORNER, 4, 0, 0, 5, 5),
+                new RejectionEvent(1, RejectionReason.VERTEX_OFF_EDGES, 6, -1, -2, 3, 4)), events);
+        assertEquals(0, log.drain(events::add));
+    }
+
+    @Test
+    void testRecord_FullBufferDropsNewEvents() {
+        RejectionEventLog log = new RejectionEventLog(3, 1);
+        for (int i = 0; i < 10; i++) {
+            log.record(RejectionReason.TOO_FEW_VERTICES, i, 0, 0, 0, 0);
+        }
+
+        List<RejectionEvent> events = new ArrayList<>();
+        log.drain(events::add);
+
+        // Capacity 3 is rounded up to 4 slots
+        assertEquals(4, events.size());
+        assertEquals(3, events.getLast().vertexCount());
+        assertEquals(6, log.getDroppedCount());
+        assertEquals(4, log.getRecordedCount());
+
+        log.record(RejectionReason.TOO_FEW_VERTICES, 42, 0, 0, 0, 0);
+        assertEquals(1, log.drain(event -> assertEquals(42, event.vertexCount())));
+    }
+
+    @Test
+    void testRecord_SamplingRecordsAFraction() {
+        RejectionEventLog log = new RejectionEventLog(1 << 16, 10);
+        for (int i = 0; i < 100_000; i++) {
+            log.record(RejectionReason.MISSING_CORNER, 4, 0, 0, 1, 1);
+        }
+
+        long recorded = log.getRecordedCount();
+        assertTrue(recorded > 8_000 && recorded < 12_000, "Recorded " + recorded);
+    }
+
+    @Test
+    void testRecord_ConcurrentProducersLoseNothingBelowCapacity() throws InterruptedException {
+        RejectionEventLog log = new RejectionEventLog(1 << 10, 1);
+        int threads = 4, perThread = 50_000;
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            new Thread(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    log.record(RejectionReason.MISSING_CORNER, thread, i, i, i, i);
+                }
+                done.countDown();
+            }).start();
+        }
+        long[] drained = new long[1];
+        int[] lastPerThread = {-1, -1, -1, -1};
+        while (done.getCount() > 0 || drained[0] + log.getDroppedCount() < (long) threads * perThread) {
+            log.drain(event -> {
+                drained[0]++;
+                int thread = event.vertexCount();
+                // Events of one producer are drained in the order it recorded them
+                assertTrue(event.minX() > lastPerThread[thread]);
+                assertEquals(event.minX(), event.maxY());
+                lastPerThread[thread] = event.minX();
+            });
+        }
+
+        assertEquals((long) threads * perThread, drained[0] + log.getDroppedCount());
+        assertEquals(drained[0], log.getRecordedCount());
+    }
+
+    @Test
+    void testGeometryValidator_RecordsRejectionReasons() {
+        RejectionEventLog log = new RejectionEventLog(16, 1);
+        GeometryValidator.setRejectionEventLog(log);
+        try {
+            assertFalse(GeometryValidator.isValidRectangle(
+                    Rectangle.fromCoordinateArray(new int[][]{{0, 0}, {5, 0}, {5, 5}, {2, 3}})));
+            assertFalse(GeometryValidator.isValidRectangle(
+                    Rectangle.fromCoordinateArray(new int[][]{{0, 0}, {5, 0}, {5, 5}, {0, 2}})));
+            assertFalse(GeometryValidator.isValidRectangle(new int[]{1, 2}, new int[]{3, 4}));
+            assertTrue(GeometryValidator.isValidRectangle(
+                    Rectangle.fromCoordinateArray(new int[][]{{0, 0}, {5, 0}, {5, 5}, {0, 5}})));
+        } finally {
+            GeometryValidator.setRejectionEventLog(null);
+        }
+
+        List<RejectionEvent> events = new ArrayList<>();
+        log.drain(events::add);
+        assertEquals(List.of(
+                new RejectionEvent(0, RejectionReason.VERTEX_OFF_EDGES, 4, 0, 0, 5, 5),
+                new RejectionEvent(1, RejectionReason.MISSING_CORNER, 4, 0, 0, 5, 5),
+                new RejectionEvent(2, RejectionReason.TOO_FEW_VERTICES, 2, 1, 3, 2, 4)), events);
+    }
+
+    @Test
+    void testClose_DrainsRemainingEventsAfterStart() {
+        RejectionEventLog log = new RejectionEventLog(16, 1);
+        log.start(Duration.ofSeconds(60));
+        log.record(RejectionReason.MISSING_CORNER, 4, 0, 0, 1, 1);
+
+        log.close();
+
+        assertEquals(0, log.drain(event -> fail("Event should have been drained on close")));
+        assertThrows(IllegalStateException.class, () -> log.start(Duration.ofSeconds(1)));
+    }
+
+    @Test
+    void testConstructor_InvalidArgumentsThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> new RejectionEventLog(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new RejectionEventLog(8, 0));
+    }
+}